@@ -88,6 +88,7 @@ public class GwtGL20 implements GL20 {
 	final IntMap<WebGLTexture> textures = IntMap.create();
 	final IntMap<IntMap<WebGLUniformLocation>> uniforms = IntMap.create();
 	int currProgram = 0;
+	int currFramebuffer = 0;
 
 	Float32Array floatBuffer = TypedArrays.createFloat32Array(2000 * 20);
 	Int32Array intBuffer = TypedArrays.createInt32Array(2000 * 6);
@@ -191,6 +192,7 @@ public class GwtGL20 implements GL20 {
 	@Override
 	public void glBindFramebuffer (int target, int framebuffer) {
 		gl.bindFramebuffer(target, frameBuffers.get(framebuffer));
+		currFramebuffer = framebuffer;
 	}
 
 	@Override
@@ -344,6 +346,7 @@ public class GwtGL20 implements GL20 {
 	public void glDeleteFramebuffer (int id) {
 		WebGLFramebuffer fb = this.frameBuffers.remove(id);
 		gl.deleteFramebuffer(fb);
+		if (id == currFramebuffer) currFramebuffer = 0;
 	}
 
 	@Override
@@ -352,6 +355,7 @@ public class GwtGL20 implements GL20 {
 			int id = framebuffers.get();
 			WebGLFramebuffer fb = this.frameBuffers.remove(id);
 			gl.deleteFramebuffer(fb);
+			if (id == currFramebuffer) currFramebuffer = 0;
 		}
 	}
 
@@ -626,6 +630,12 @@ public class GwtGL20 implements GL20 {
 				|| pname == GL20.GL_STENCIL_PASS_DEPTH_PASS || pname == GL20.GL_STENCIL_REF || pname == GL20.GL_STENCIL_VALUE_MASK
 				|| pname == GL20.GL_STENCIL_WRITEMASK || pname == GL20.GL_SUBPIXEL_BITS || pname == GL20.GL_UNPACK_ALIGNMENT)
 			params.put(0, gl.getParameteri(pname));
+		else if (pname == GL20.GL_VIEWPORT || pname == GL20.GL_SCISSOR_BOX) {
+			Int32Array array = gl.getParameterv(pname);
+			for (int i = 0; i < 4; i++)
+				params.put(i, array.get(i));
+		} else if (pname == GL20.GL_FRAMEBUFFER_BINDING)
+			params.put(0, currFramebuffer);
 		else
 			throw new GdxRuntimeException("glGetFloat not supported by GWT WebGL backend");
 	}
@@ -1463,6 +1463,92 @@ public class Matrix4 implements Serializable {
 		return matrix4_det(values);
 	}
 
+	/** Multiplies each matrix of mata with the matrix at the same index of matb, storing the results in out. The arrays are assumed
+	 * to hold consecutive 4x4 column major matrices as you can get from {@link Matrix4#val}. This is the same as
+	 * {@link Matrix4#mul(Matrix4)} applied to multiple matrices, but doesn't need a native call per matrix. The out array may be
+	 * the same as mata or matb, as long as the matrices are at the same offsets.
+	 * 
+	 * @param mata the left matrices
+	 * @param mataOffset the offset into mata
+	 * @param matb the right matrices
+	 * @param matbOffset the offset into matb
+	 * @param out the resulting matrices
+	 * @param outOffset the offset into out
+	 * @param numMats the number of matrices */
+	public static void mul (float[] mata, int mataOffset, float[] matb, int matbOffset, float[] out, int outOffset, int numMats) {
+		for (int i = 0; i < numMats; i++, mataOffset += 16, matbOffset += 16, outOffset += 16)
+			mul(mata, mataOffset, matb, matbOffset, out, outOffset);
+	}
+
+	/** Multiplies the matrix mat with each of the matrices in matb, storing the results in out. For example to transform the local
+	 * transforms of many nodes by the same world transform. The out array may be the same as matb, as long as the matrices are at
+	 * the same offsets.
+	 * 
+	 * @param mat the left matrix
+	 * @param matb the right matrices
+	 * @param matbOffset the offset into matb
+	 * @param out the resulting matrices
+	 * @param outOffset the offset into out
+	 * @param numMats the number of matrices */
+	public static void mul (float[] mat, float[] matb, int matbOffset, float[] out, int outOffset, int numMats) {
+		for (int i = 0; i < numMats; i++, matbOffset += 16, outOffset += 16)
+			mul(mat, 0, matb, matbOffset, out, outOffset);
+	}
+
+	private static void mul (float[] a, int ao, float[] b, int bo, float[] out, int oo) {
+		final float a00 = a[ao + M00], a01 = a[ao + M01], a02 = a[ao + M02], a03 = a[ao + M03];
+		final float a10 = a[ao + M10], a11 = a[ao + M11], a12 = a[ao + M12], a13 = a[ao + M13];
+		final float a20 = a[ao + M20], a21 = a[ao + M21], a22 = a[ao + M22], a23 = a[ao + M23];
+		final float a30 = a[ao + M30], a31 = a[ao + M31], a32 = a[ao + M32], a33 = a[ao + M33];
+		for (int c = 0; c < 16; c += 4) {
+			final float b0 = b[bo + c], b1 = b[bo + c + 1], b2 = b[bo + c + 2], b3 = b[bo + c + 3];
+			out[oo + c] = a00 * b0 + a01 * b1 + a02 * b2 + a03 * b3;
+			out[oo + c + 1] = a10 * b0 + a11 * b1 + a12 * b2 + a13 * b3;
+			out[oo + c + 2] = a20 * b0 + a21 * b1 + a22 * b2 + a23 * b3;
+			out[oo + c + 3] = a30 * b0 + a31 * b1 + a32 * b2 + a33 * b3;
+		}
+	}
+
+	/** Sets the matrices from packed translations, rotations and scales. Each entry of the trs array holds 10 floats: the
+	 * translation x, y, z, the normalized rotation quaternion x, y, z, w and the scale x, y, z. This is the same as
+	 * {@link #set(float, float, float, float, float, float, float, float, float, float)} applied to multiple matrices.
+	 * 
+	 * @param trs the packed translations, rotations and scales
+	 * @param trsOffset the offset into the trs array
+	 * @param out the resulting 4x4 column major matrices
+	 * @param outOffset the offset into out
+	 * @param numMats the number of matrices */
+	public static void setTRS (float[] trs, int trsOffset, float[] out, int outOffset, int numMats) {
+		for (int i = 0, t = trsOffset, o = outOffset; i < numMats; i++, t += 10, o += 16) {
+			final float quaternionX = trs[t + 3], quaternionY = trs[t + 4], quaternionZ = trs[t + 5], quaternionW = trs[t + 6];
+			final float scaleX = trs[t + 7], scaleY = trs[t + 8], scaleZ = trs[t + 9];
+			final float xs = quaternionX * 2f, ys = quaternionY * 2f, zs = quaternionZ * 2f;
+			final float wx = quaternionW * xs, wy = quaternionW * ys, wz = quaternionW * zs;
+			final float xx = quaternionX * xs, xy = quaternionX * ys, xz = quaternionX * zs;
+			final float yy = quaternionY * ys, yz = quaternionY * zs, zz = quaternionZ * zs;
+
+			out[o + M00] = scaleX * (1.0f - (yy + zz));
+			out[o + M01] = scaleY * (xy - wz);
+			out[o + M02] = scaleZ * (xz + wy);
+			out[o + M03] = trs[t];
+
+			out[o + M10] = scaleX * (xy + wz);
+			out[o + M11] = scaleY * (1.0f - (xx + zz));
+			out[o + M12] = scaleZ * (yz - wx);
+			out[o + M13] = trs[t + 1];
+
+			out[o + M20] = scaleX * (xz - wy);
+			out[o + M21] = scaleY * (yz + wx);
+			out[o + M22] = scaleZ * (1.0f - (xx + yy));
+			out[o + M23] = trs[t + 2];
+
+			out[o + M30] = 0.f;
+			out[o + M31] = 0.f;
+			out[o + M32] = 0.f;
+			out[o + M33] = 1.0f;
+		}
+	}
+
 	/** Postmultiplies this matrix by a translation matrix. Postmultiplication is also used by OpenGL ES'
 	 * glTranslate/glRotate/glScale
 	 * @param translation
@@ -16,9 +16,11 @@
 
 package com.badlogic.gdx.physics.box2d;
 
+import java.nio.FloatBuffer;
 import java.util.Iterator;
 
 import org.jbox2d.collision.AABB;
+import org.jbox2d.collision.WorldManifold;
 import org.jbox2d.common.Settings;
 import org.jbox2d.common.Vec2;
 import org.jbox2d.dynamics.joints.JointEdge;
@@ -42,6 +44,7 @@ import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Disposable;
 import com.badlogic.gdx.utils.GdxRuntimeException;
 import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
 
 /** The world class manages all physics entities, dynamic simulation, and asynchronous queries. The world also contains efficient
  * memory management facilities.
@@ -86,9 +89,13 @@ public final class World implements Disposable {
 	Manifold tmpManifold = new Manifold();
 	ContactImpulse tmpImpulse = new ContactImpulse();
 
+	org.jbox2d.callbacks.ContactListener contactListener;
+	ContactEvents contactEvents;
+	final WorldManifold worldManifold = new WorldManifold();
+
 	public void setContactListener (final ContactListener listener) {
 		if (listener != null) {
-			world.setContactListener(new org.jbox2d.callbacks.ContactListener() {
+			contactListener = new org.jbox2d.callbacks.ContactListener() {
 				@Override
 				public void beginContact (org.jbox2d.dynamics.contacts.Contact contact) {
 					tmpContact.contact = contact;
@@ -114,10 +121,80 @@ public final class World implements Disposable {
 					tmpImpulse.impulse = impulse;
 					listener.postSolve(tmpContact, tmpImpulse);
 				}
-			});
+			};
 		} else {
-			world.setContactListener(null);
+			contactListener = null;
+		}
+		world.setContactListener(contactEvents != null ? recordingListener : contactListener);
+	}
+
+	/** Records the contact events of each step in the given events instead of calling the {@link ContactListener}. Only
+	 * {@link ContactListener#preSolve(Contact, Manifold)} is still called, if enabled with {@link ContactEvents#preSolve}.
+	 * <p>
+	 * Destroying or deactivating a body and destroying a fixture record the {@link ContactEvents#END} events of their contacts as
+	 * well. The fixtures of these events are already destroyed when the events are handled.
+	 * @param events the events to append to, null to call the contact listener again */
+	public void setContactEvents (ContactEvents events) {
+		this.contactEvents = events;
+		world.setContactListener(events != null ? recordingListener : contactListener);
+	}
+
+	/** @return the events set with {@link #setContactEvents(ContactEvents)} or null */
+	public ContactEvents getContactEvents () {
+		return contactEvents;
+	}
+
+	/** Solves the islands of each step in parallel on the executor, split in the given number of tasks with the first one running
+	 * on the calling thread. Each island is solved by a single task, so the simulation is the same for any number of tasks. The
+	 * {@link ContactListener#postSolve(Contact, ContactImpulse)} calls are made on the calling thread once all islands are
+	 * solved. A world with a single large island doesn't gain anything.
+	 * @param executor null to solve the islands on the calling thread */
+	public void setIslandExecutor (AsyncExecutor executor, int tasks) {
+		world.setIslandExecutor(executor, tasks);
+	}
+
+	private final org.jbox2d.callbacks.ContactListener recordingListener = new org.jbox2d.callbacks.ContactListener() {
+		@Override
+		public void beginContact (org.jbox2d.dynamics.contacts.Contact contact) {
+			record(ContactEvents.BEGIN, contact, null);
+		}
+
+		@Override
+		public void endContact (org.jbox2d.dynamics.contacts.Contact contact) {
+			record(ContactEvents.END, contact, null);
+		}
+
+		@Override
+		public void preSolve (org.jbox2d.dynamics.contacts.Contact contact, org.jbox2d.collision.Manifold oldManifold) {
+			if (contactEvents.preSolve && contactListener != null) contactListener.preSolve(contact, oldManifold);
+		}
+
+		@Override
+		public void postSolve (org.jbox2d.dynamics.contacts.Contact contact, org.jbox2d.callbacks.ContactImpulse impulse) {
+			if (contactEvents.recordImpulses) record(ContactEvents.POST_SOLVE, contact, impulse);
+		}
+	};
+
+	private void record (int type, org.jbox2d.dynamics.contacts.Contact contact, org.jbox2d.callbacks.ContactImpulse impulse) {
+		float normalX = 0, normalY = 0, pointX = 0, pointY = 0, normalImpulse = 0, tangentImpulse = 0;
+		final int pointCount = contact.getManifold().pointCount;
+		if (pointCount > 0) {
+			contact.getWorldManifold(worldManifold);
+			normalX = worldManifold.normal.x;
+			normalY = worldManifold.normal.y;
+			for (int i = 0; i < pointCount; i++) {
+				pointX += worldManifold.points[i].x / pointCount;
+				pointY += worldManifold.points[i].y / pointCount;
+			}
+		}
+		if (impulse != null) {
+			for (int i = 0; i < impulse.count; i++) {
+				normalImpulse += impulse.normalImpulses[i];
+				tangentImpulse += impulse.tangentImpulses[i];
+			}
 		}
+		contactEvents.add(type, fixtures.get(contact.getFixtureA()), fixtures.get(contact.getFixtureB()), normalX, normalY, pointX,
+			pointY, normalImpulse, tangentImpulse);
 	}
 
 	/** Create a rigid body given a definition. No reference to the definition is retained.
@@ -325,6 +402,93 @@ public final class World implements Disposable {
 		}
 	}
 
+	/** The number of floats per body written by {@link #getBodyStates(Array, float[])}: the position of the origin on x and y, the
+	 * angle in radians, the linear velocity of the center of mass on x and y and the angular velocity. */
+	public static final int BODY_STATE_SIZE = 6;
+	/** The number of floats per body read by {@link #setBodyVelocities(Array, float[])} and
+	 * {@link #applyForcesToCenter(Array, float[], boolean)}: the linear component on x and y and the angular component. */
+	public static final int BODY_VECTOR_SIZE = 3;
+
+	private static void checkSize (Array<Body> bodies, int size, int available) {
+		if (available < bodies.size * size)
+			throw new IllegalArgumentException("Need " + bodies.size * size + " floats for " + bodies.size + " bodies: " + available);
+	}
+
+	/** Copies the state of the bodies to the array, {@link #BODY_STATE_SIZE} floats per body in the order of the bodies. */
+	public void getBodyStates (Array<Body> bodies, float[] states) {
+		checkSize(bodies, BODY_STATE_SIZE, states.length);
+		for (int i = 0, o = 0; i < bodies.size; i++, o += BODY_STATE_SIZE) {
+			final org.jbox2d.dynamics.Body body = bodies.get(i).body;
+			final Vec2 p = body.getPosition(), v = body.getLinearVelocity();
+			states[o] = p.x;
+			states[o + 1] = p.y;
+			states[o + 2] = body.getAngle();
+			states[o + 3] = v.x;
+			states[o + 4] = v.y;
+			states[o + 5] = body.getAngularVelocity();
+		}
+	}
+
+	/** Like {@link #getBodyStates(Array, float[])}, writing to the buffer starting at its position. The position of the buffer is
+	 * not changed. */
+	public void getBodyStates (Array<Body> bodies, FloatBuffer states) {
+		checkSize(bodies, BODY_STATE_SIZE, states.remaining());
+		for (int i = 0, o = states.position(); i < bodies.size; i++, o += BODY_STATE_SIZE) {
+			final org.jbox2d.dynamics.Body body = bodies.get(i).body;
+			final Vec2 p = body.getPosition(), v = body.getLinearVelocity();
+			states.put(o, p.x);
+			states.put(o + 1, p.y);
+			states.put(o + 2, body.getAngle());
+			states.put(o + 3, v.x);
+			states.put(o + 4, v.y);
+			states.put(o + 5, body.getAngularVelocity());
+		}
+	}
+
+	/** Sets the linear and angular velocities of the bodies, {@link #BODY_VECTOR_SIZE} floats per body in the order of the
+	 * bodies. */
+	public void setBodyVelocities (Array<Body> bodies, float[] velocities) {
+		checkSize(bodies, BODY_VECTOR_SIZE, velocities.length);
+		for (int i = 0, o = 0; i < bodies.size; i++, o += BODY_VECTOR_SIZE) {
+			final Body body = bodies.get(i);
+			body.setLinearVelocity(velocities[o], velocities[o + 1]);
+			body.setAngularVelocity(velocities[o + 2]);
+		}
+	}
+
+	/** Like {@link #setBodyVelocities(Array, float[])}, reading from the buffer starting at its position. The position of the
+	 * buffer is not changed. */
+	public void setBodyVelocities (Array<Body> bodies, FloatBuffer velocities) {
+		checkSize(bodies, BODY_VECTOR_SIZE, velocities.remaining());
+		for (int i = 0, o = velocities.position(); i < bodies.size; i++, o += BODY_VECTOR_SIZE) {
+			final Body body = bodies.get(i);
+			body.setLinearVelocity(velocities.get(o), velocities.get(o + 1));
+			body.setAngularVelocity(velocities.get(o + 2));
+		}
+	}
+
+	/** Applies a force to the center of mass and a torque to each body, {@link #BODY_VECTOR_SIZE} floats per body in the order of
+	 * the bodies. Bodies with a zero force and torque are skipped. */
+	public void applyForcesToCenter (Array<Body> bodies, float[] forces, boolean wake) {
+		checkSize(bodies, BODY_VECTOR_SIZE, forces.length);
+		for (int i = 0, o = 0; i < bodies.size; i++, o += BODY_VECTOR_SIZE)
+			applyForceToCenter(bodies.get(i), forces[o], forces[o + 1], forces[o + 2], wake);
+	}
+
+	/** Like {@link #applyForcesToCenter(Array, float[], boolean)}, reading from the buffer starting at its position. The position
+	 * of the buffer is not changed. */
+	public void applyForcesToCenter (Array<Body> bodies, FloatBuffer forces, boolean wake) {
+		checkSize(bodies, BODY_VECTOR_SIZE, forces.remaining());
+		for (int i = 0, o = forces.position(); i < bodies.size; i++, o += BODY_VECTOR_SIZE)
+			applyForceToCenter(bodies.get(i), forces.get(o), forces.get(o + 1), forces.get(o + 2), wake);
+	}
+
+	private static void applyForceToCenter (Body body, float forceX, float forceY, float torque, boolean wake) {
+		if (forceX == 0 && forceY == 0 && torque == 0) return;
+		body.applyForceToCenter(forceX, forceY, wake);
+		body.applyTorque(torque, wake);
+	}
+
 	public void dispose () {
 	}
 
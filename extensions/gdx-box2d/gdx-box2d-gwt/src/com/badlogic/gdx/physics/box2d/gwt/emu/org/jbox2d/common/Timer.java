@@ -39,7 +39,7 @@ public class Timer {
     return (float) (now() - resetMillis);
   }
 
-  private static native double now() /*-{
-    return Date.now();
-  }-*/;
+  private static double now() {
+    return System.currentTimeMillis();
+  }
 }
@@ -180,6 +180,12 @@ public class Island {
   public int m_contactCapacity;
   public int m_jointCapacity;
 
+  /**
+   * Whether the static bodies are shared with islands solved at the same time. They keep their
+   * island index and are not put to sleep by {@link #solve}.
+   */
+  public boolean m_sharedStatics;
+
   public Island() {
 
   }
@@ -246,15 +252,18 @@ public class Island {
     // Integrate velocities and apply damping. Initialize the body state.
     for (int i = 0; i < m_bodyCount; ++i) {
       final Body b = m_bodies[i];
+      final int index = b.m_islandIndex;
       final Sweep bm_sweep = b.m_sweep;
       final Vec2 c = bm_sweep.c;
       float a = bm_sweep.a;
       final Vec2 v = b.m_linearVelocity;
       float w = b.m_angularVelocity;
 
-      // Store positions for continuous collision.
-      bm_sweep.c0.set(bm_sweep.c);
-      bm_sweep.a0 = bm_sweep.a;
+      // Store positions for continuous collision, static bodies always have them stored.
+      if (b.m_type != BodyType.STATIC) {
+        bm_sweep.c0.set(bm_sweep.c);
+        bm_sweep.a0 = bm_sweep.a;
+      }
 
       if (b.m_type == BodyType.DYNAMIC) {
         // Integrate velocities.
@@ -276,12 +285,12 @@ public class Island {
         w *= 1.0f / (1.0f + h * b.m_angularDamping);
       }
 
-      m_positions[i].c.x = c.x;
-      m_positions[i].c.y = c.y;
-      m_positions[i].a = a;
-      m_velocities[i].v.x = v.x;
-      m_velocities[i].v.y = v.y;
-      m_velocities[i].w = w;
+      m_positions[index].c.x = c.x;
+      m_positions[index].c.y = c.y;
+      m_positions[index].a = a;
+      m_velocities[index].v.x = v.x;
+      m_velocities[index].v.y = v.y;
+      m_velocities[index].w = w;
     }
 
     timer.reset();
@@ -330,10 +339,11 @@ public class Island {
 
     // Integrate positions
     for (int i = 0; i < m_bodyCount; ++i) {
-      final Vec2 c = m_positions[i].c;
-      float a = m_positions[i].a;
-      final Vec2 v = m_velocities[i].v;
-      float w = m_velocities[i].w;
+      final int index = m_bodies[i].m_islandIndex;
+      final Vec2 c = m_positions[index].c;
+      float a = m_positions[index].a;
+      final Vec2 v = m_velocities[index].v;
+      float w = m_velocities[index].w;
 
       // Check for large velocities
       float translationx = v.x * h;
@@ -357,8 +367,8 @@ public class Island {
       c.y += h * v.y;
       a += h * w;
 
-      m_positions[i].a = a;
-      m_velocities[i].w = w;
+      m_positions[index].a = a;
+      m_velocities[index].w = w;
     }
 
     // Solve position constraints
@@ -380,15 +390,19 @@ public class Island {
       }
     }
 
-    // Copy state buffers back to the bodies
+    // Copy state buffers back to the bodies, static bodies don't move.
     for (int i = 0; i < m_bodyCount; ++i) {
       Body body = m_bodies[i];
-      body.m_sweep.c.x = m_positions[i].c.x;
-      body.m_sweep.c.y = m_positions[i].c.y;
-      body.m_sweep.a = m_positions[i].a;
-      body.m_linearVelocity.x = m_velocities[i].v.x;
-      body.m_linearVelocity.y = m_velocities[i].v.y;
-      body.m_angularVelocity = m_velocities[i].w;
+      if (body.m_type == BodyType.STATIC) {
+        continue;
+      }
+      final int index = body.m_islandIndex;
+      body.m_sweep.c.x = m_positions[index].c.x;
+      body.m_sweep.c.y = m_positions[index].c.y;
+      body.m_sweep.a = m_positions[index].a;
+      body.m_linearVelocity.x = m_velocities[index].v.x;
+      body.m_linearVelocity.y = m_velocities[index].v.y;
+      body.m_angularVelocity = m_velocities[index].w;
       body.synchronizeTransform();
     }
 
@@ -422,6 +436,9 @@ public class Island {
       if (minSleepTime >= Settings.timeToSleep && positionSolved) {
         for (int i = 0; i < m_bodyCount; ++i) {
           Body b = m_bodies[i];
+          if (m_sharedStatics && b.m_type == BodyType.STATIC) {
+            continue;
+          }
           b.setAwake(false);
         }
       }
@@ -574,6 +591,14 @@ public class Island {
     m_contacts[m_contactCount++] = contact;
   }
 
+  /**
+   * Adds a body without changing its island index, for islands sharing the static bodies.
+   */
+  public void addIndexed(Body body) {
+    assert (m_bodyCount < m_bodyCapacity);
+    m_bodies[m_bodyCount++] = body;
+  }
+
   public void add(Joint joint) {
     assert (m_jointCount < m_jointCapacity);
     m_joints[m_jointCount++] = joint;
@@ -23,7 +23,13 @@
  ******************************************************************************/
 package org.jbox2d.dynamics;
 
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.badlogic.gdx.utils.async.AsyncTask;
+
 import org.jbox2d.callbacks.ContactFilter;
+import org.jbox2d.callbacks.ContactImpulse;
 import org.jbox2d.callbacks.ContactListener;
 import org.jbox2d.callbacks.DebugDraw;
 import org.jbox2d.callbacks.DestructionListener;
@@ -35,6 +41,7 @@ import org.jbox2d.callbacks.RayCastCallback;
 import org.jbox2d.callbacks.TreeCallback;
 import org.jbox2d.callbacks.TreeRayCastCallback;
 import org.jbox2d.collision.AABB;
+import org.jbox2d.collision.Manifold;
 import org.jbox2d.collision.RayCastInput;
 import org.jbox2d.collision.RayCastOutput;
 import org.jbox2d.collision.TimeOfImpact.TOIInput;
@@ -1060,6 +1067,49 @@ public class World {
   private Body[] stack = new Body[10]; // TODO djm find a good initial stack number;
   private final Timer broadphaseTimer = new Timer();
 
+  // The islands of the current step, stored one after the other. Island i has the bodies, contacts
+  // and joints up to islandBodyEnds[i], islandContactEnds[i] and islandJointEnds[i].
+  private int islandCount;
+  private int[] islandBodyEnds = new int[16];
+  private int[] islandContactEnds = new int[16];
+  private int[] islandJointEnds = new int[16];
+  private Body[] islandBodies = new Body[16];
+  private Contact[] islandContacts = new Contact[16];
+  private Joint[] islandJoints = new Joint[16];
+  private int islandBodyCount, islandContactCount, islandJointCount;
+
+  private AsyncExecutor islandExecutor;
+  private IslandTask[] islandTasks;
+  private final Array<AsyncResult<Void>> islandResults = new Array<AsyncResult<Void>>();
+  private final ContactImpulse islandImpulse = new ContactImpulse();
+
+  /**
+   * Sets the executor solving the islands of each step in parallel, split in the given number of
+   * tasks with the first one running on the calling thread. The islands are found on the calling
+   * thread and each one is solved by a single task, so the results are the same for any number of
+   * tasks. The post solve callbacks are made on the calling thread after all islands are solved.
+   * 
+   * @param executor null to solve the islands on the calling thread
+   */
+  public void setIslandExecutor(AsyncExecutor executor, int tasks) {
+    if (executor != null && tasks < 1) {
+      throw new IllegalArgumentException("tasks must be at least 1: " + tasks);
+    }
+    islandExecutor = executor;
+    if (executor == null) {
+      islandTasks = null;
+      return;
+    }
+    islandTasks = new IslandTask[tasks];
+    for (int i = 0; i < tasks; i++) {
+      islandTasks[i] = new IslandTask(this, i, tasks);
+    }
+  }
+
+  public AsyncExecutor getIslandExecutor() {
+    return islandExecutor;
+  }
+
   private void solve(TimeStep step) {
     m_profile.solveInit.startAccum();
     m_profile.solveVelocity.startAccum();
@@ -1070,10 +1120,6 @@ public class World {
       b.m_xf0.set(b.m_xf);
     }
 
-    // Size the island for the worst case.
-    island.init(m_bodyCount, m_contactManager.m_contactCount, m_jointCount,
-        m_contactManager.m_contactListener);
-
     // Clear all the island flags.
     for (Body b = m_bodyList; b != null; b = b.m_next) {
       b.m_flags &= ~Body.e_islandFlag;
@@ -1085,7 +1131,11 @@ public class World {
       j.m_islandFlag = false;
     }
 
-    // Build and simulate all awake islands.
+    // Build all awake islands.
+    islandCount = 0;
+    islandBodyCount = 0;
+    islandContactCount = 0;
+    islandJointCount = 0;
     int stackSize = m_bodyCount;
     if (stack.length < stackSize) {
       stack = new Body[stackSize];
@@ -1104,8 +1154,8 @@ public class World {
         continue;
       }
 
-      // Reset island and stack.
-      island.clear();
+      // Reset stack.
+      final int bodyStart = islandBodyCount;
       int stackCount = 0;
       stack[stackCount++] = seed;
       seed.m_flags |= Body.e_islandFlag;
@@ -1115,7 +1165,7 @@ public class World {
         // Grab the next body off the stack and add it to the island.
         Body b = stack[--stackCount];
         assert (b.isActive() == true);
-        island.add(b);
+        addIslandBody(b);
 
         // Make sure the body is awake.
         b.setAwake(true);
@@ -1147,7 +1197,7 @@ public class World {
             continue;
           }
 
-          island.add(contact);
+          addIslandContact(contact);
           contact.m_flags |= Contact.ISLAND_FLAG;
 
           Body other = ce.other;
@@ -1175,7 +1225,7 @@ public class World {
             continue;
           }
 
-          island.add(je.joint);
+          addIslandJoint(je.joint);
           je.joint.m_islandFlag = true;
 
           if ((other.m_flags & Body.e_islandFlag) == Body.e_islandFlag) {
@@ -1187,16 +1237,21 @@ public class World {
           other.m_flags |= Body.e_islandFlag;
         }
       }
-      island.solve(m_profile, step, m_gravity, m_allowSleep);
 
-      // Post solve cleanup.
-      for (int i = 0; i < island.m_bodyCount; ++i) {
+      for (int i = bodyStart; i < islandBodyCount; ++i) {
         // Allow static bodies to participate in other islands.
-        Body b = island.m_bodies[i];
+        Body b = islandBodies[i];
         if (b.getType() == BodyType.STATIC) {
           b.m_flags &= ~Body.e_islandFlag;
         }
       }
+      endIsland();
+    }
+
+    if (islandExecutor != null && islandCount > 1) {
+      solveIslandsParallel(step);
+    } else {
+      solveIslands(step);
     }
     m_profile.solveInit.endAccum();
     m_profile.solveVelocity.endAccum();
@@ -1223,6 +1278,229 @@ public class World {
     m_profile.broadphase.record(broadphaseTimer.getMilliseconds());
   }
 
+  private void addIslandBody(Body body) {
+    if (islandBodyCount == islandBodies.length) {
+      Body[] old = islandBodies;
+      islandBodies = new Body[old.length * 2];
+      System.arraycopy(old, 0, islandBodies, 0, old.length);
+    }
+    islandBodies[islandBodyCount++] = body;
+  }
+
+  private void addIslandContact(Contact contact) {
+    if (islandContactCount == islandContacts.length) {
+      Contact[] old = islandContacts;
+      islandContacts = new Contact[old.length * 2];
+      System.arraycopy(old, 0, islandContacts, 0, old.length);
+    }
+    islandContacts[islandContactCount++] = contact;
+  }
+
+  private void addIslandJoint(Joint joint) {
+    if (islandJointCount == islandJoints.length) {
+      Joint[] old = islandJoints;
+      islandJoints = new Joint[old.length * 2];
+      System.arraycopy(old, 0, islandJoints, 0, old.length);
+    }
+    islandJoints[islandJointCount++] = joint;
+  }
+
+  private void endIsland() {
+    if (islandCount == islandBodyEnds.length) {
+      final int capacity = islandCount * 2;
+      int[] old = islandBodyEnds;
+      islandBodyEnds = new int[capacity];
+      System.arraycopy(old, 0, islandBodyEnds, 0, islandCount);
+      old = islandContactEnds;
+      islandContactEnds = new int[capacity];
+      System.arraycopy(old, 0, islandContactEnds, 0, islandCount);
+      old = islandJointEnds;
+      islandJointEnds = new int[capacity];
+      System.arraycopy(old, 0, islandJointEnds, 0, islandCount);
+    }
+    islandBodyEnds[islandCount] = islandBodyCount;
+    islandContactEnds[islandCount] = islandContactCount;
+    islandJointEnds[islandCount] = islandJointCount;
+    islandCount++;
+  }
+
+  /** Solves the islands one after the other on the calling thread. */
+  private void solveIslands(TimeStep step) {
+    // Size the island for the worst case.
+    island.init(m_bodyCount, m_contactManager.m_contactCount, m_jointCount,
+        m_contactManager.m_contactListener);
+
+    int bodyStart = 0, contactStart = 0, jointStart = 0;
+    for (int i = 0; i < islandCount; ++i) {
+      island.clear();
+      final int bodyEnd = islandBodyEnds[i], contactEnd = islandContactEnds[i], jointEnd =
+          islandJointEnds[i];
+      for (int j = bodyStart; j < bodyEnd; ++j) {
+        island.add(islandBodies[j]);
+      }
+      for (int j = contactStart; j < contactEnd; ++j) {
+        island.add(islandContacts[j]);
+      }
+      for (int j = jointStart; j < jointEnd; ++j) {
+        island.add(islandJoints[j]);
+      }
+      island.solve(m_profile, step, m_gravity, m_allowSleep);
+      bodyStart = bodyEnd;
+      contactStart = contactEnd;
+      jointStart = jointEnd;
+    }
+  }
+
+  /**
+   * Solves the islands with the island executor. The static bodies can be part of several islands,
+   * they get an island index shared by all islands, followed by the indices of the other bodies in
+   * their island.
+   */
+  private void solveIslandsParallel(TimeStep step) {
+    for (int i = 0; i < islandBodyCount; ++i) {
+      Body b = islandBodies[i];
+      if (b.getType() == BodyType.STATIC) {
+        b.m_islandIndex = -1;
+      }
+    }
+    int staticCount = 0;
+    for (int i = 0; i < islandBodyCount; ++i) {
+      Body b = islandBodies[i];
+      if (b.getType() == BodyType.STATIC && b.m_islandIndex == -1) {
+        b.m_islandIndex = staticCount++;
+      }
+    }
+    int maxBodies = 0, maxContacts = 0, maxJoints = 0;
+    int bodyStart = 0, contactStart = 0, jointStart = 0;
+    for (int i = 0; i < islandCount; ++i) {
+      int index = staticCount;
+      for (int j = bodyStart; j < islandBodyEnds[i]; ++j) {
+        Body b = islandBodies[j];
+        if (b.getType() != BodyType.STATIC) {
+          b.m_islandIndex = index++;
+        }
+      }
+      maxBodies = MathUtils.max(maxBodies, islandBodyEnds[i] - bodyStart);
+      maxContacts = MathUtils.max(maxContacts, islandContactEnds[i] - contactStart);
+      maxJoints = MathUtils.max(maxJoints, islandJointEnds[i] - jointStart);
+      bodyStart = islandBodyEnds[i];
+      contactStart = islandContactEnds[i];
+      jointStart = islandJointEnds[i];
+    }
+    // The static bodies come first, followed by the other bodies of the largest island.
+    final int bodyCapacity = staticCount + maxBodies;
+
+    final IslandTask[] tasks = islandTasks;
+    for (int i = 0; i < tasks.length; i++) {
+      tasks[i].island.init(bodyCapacity, maxContacts, maxJoints, null);
+      tasks[i].step = step;
+      tasks[i].profile.solveInit.startAccum();
+      tasks[i].profile.solveVelocity.startAccum();
+      tasks[i].profile.solvePosition.startAccum();
+    }
+    for (int i = 1; i < tasks.length; i++) {
+      islandResults.add(islandExecutor.submit(tasks[i]));
+    }
+    tasks[0].call();
+    for (int i = 0; i < islandResults.size; i++) {
+      islandResults.get(i).get();
+    }
+    islandResults.clear();
+
+    // The solve times are the sums over all islands, as if they were solved on the calling thread.
+    for (int i = 0; i < tasks.length; i++) {
+      final Profile profile = tasks[i].profile;
+      m_profile.solveInit.accum(profile.solveInit.accum);
+      m_profile.solveVelocity.accum(profile.solveVelocity.accum);
+      m_profile.solvePosition.accum(profile.solvePosition.accum);
+    }
+
+    // Put the static bodies of sleeping islands to sleep and report the impulses, as done by the
+    // islands solved on the calling thread.
+    final ContactListener listener = m_contactManager.m_contactListener;
+    bodyStart = 0;
+    contactStart = 0;
+    for (int i = 0; i < islandCount; ++i) {
+      final int bodyEnd = islandBodyEnds[i], contactEnd = islandContactEnds[i];
+      boolean asleep = false;
+      for (int j = bodyStart; j < bodyEnd; ++j) {
+        Body b = islandBodies[j];
+        if (b.getType() != BodyType.STATIC) {
+          asleep = !b.isAwake();
+          break;
+        }
+      }
+      if (asleep) {
+        for (int j = bodyStart; j < bodyEnd; ++j) {
+          Body b = islandBodies[j];
+          if (b.getType() == BodyType.STATIC) {
+            b.setAwake(false);
+          }
+        }
+      }
+      if (listener != null) {
+        for (int j = contactStart; j < contactEnd; ++j) {
+          Contact c = islandContacts[j];
+          final Manifold manifold = c.getManifold();
+          islandImpulse.count = manifold.pointCount;
+          for (int k = 0; k < manifold.pointCount; ++k) {
+            islandImpulse.normalImpulses[k] = manifold.points[k].normalImpulse;
+            islandImpulse.tangentImpulses[k] = manifold.points[k].tangentImpulse;
+          }
+          listener.postSolve(c, islandImpulse);
+        }
+      }
+      bodyStart = bodyEnd;
+      contactStart = contactEnd;
+    }
+  }
+
+  /** Solves every n-th island of the step with its own island, profile and pool. */
+  static private class IslandTask implements AsyncTask<Void> {
+    final World world;
+    final int first, stride;
+    final Island island = new Island();
+    final Profile profile = new Profile();
+    final IWorldPool pool = new DefaultWorldPool(WORLD_POOL_SIZE, WORLD_POOL_CONTAINER_SIZE);
+    TimeStep step;
+
+    IslandTask(World world, int first, int stride) {
+      this.world = world;
+      this.first = first;
+      this.stride = stride;
+      island.m_sharedStatics = true;
+    }
+
+    @Override
+    public Void call() {
+      final World world = this.world;
+      final Island island = this.island;
+      for (int i = first; i < world.islandCount; i += stride) {
+        final int bodyStart = i == 0 ? 0 : world.islandBodyEnds[i - 1];
+        final int contactStart = i == 0 ? 0 : world.islandContactEnds[i - 1];
+        final int jointStart = i == 0 ? 0 : world.islandJointEnds[i - 1];
+        final int jointEnd = world.islandJointEnds[i];
+        island.clear();
+        for (int j = bodyStart; j < world.islandBodyEnds[i]; ++j) {
+          island.addIndexed(world.islandBodies[j]);
+        }
+        for (int j = contactStart; j < world.islandContactEnds[i]; ++j) {
+          island.add(world.islandContacts[j]);
+        }
+        for (int j = jointStart; j < jointEnd; ++j) {
+          Joint joint = world.islandJoints[j];
+          joint.setPool(pool);
+          island.add(joint);
+        }
+        island.solve(profile, step, world.m_gravity, world.m_allowSleep);
+        for (int j = jointStart; j < jointEnd; ++j) {
+          world.islandJoints[j].setPool(world.pool);
+        }
+      }
+      return null;
+    }
+  }
+
   private final Island toiIsland = new Island();
   private final TOIInput toiInput = new TOIInput();
   private final TOIOutput toiOutput = new TOIOutput();
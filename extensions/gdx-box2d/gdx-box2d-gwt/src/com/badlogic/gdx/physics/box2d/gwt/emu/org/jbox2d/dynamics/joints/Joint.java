@@ -95,6 +95,14 @@ public abstract class Joint {
   // float m_invMassA, m_invIA;
   // float m_invMassB, m_invIB;
 
+  /**
+   * Internal, sets the pool used for temporaries while solving, joints solved at the same time
+   * need their own pool.
+   */
+  public void setPool(IWorldPool pool) {
+    this.pool = pool;
+  }
+
   protected Joint(IWorldPool worldPool, JointDef def) {
     assert (def.bodyA != def.bodyB);
 
@@ -0,0 +1,118 @@
+
+package com.badlogic.gdx.physics.box2d;
+
+import static org.junit.Assert.*;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.BodyDef.BodyType;
+
+public class ContactEventsTest {
+	private World world;
+	private Fixture ground;
+	private final ContactEvents events = new ContactEvents();
+
+	@Before
+	public void setUp () {
+		world = new World(new Vector2(0, -10), false);
+		EdgeShape edge = new EdgeShape();
+		edge.set(-50, 0, 50, 0);
+		ground = world.createBody(new BodyDef()).createFixture(edge, 0);
+		edge.dispose();
+		world.setContactEvents(events);
+		// The contact listener is only called for pre-solve while events are recorded.
+		world.setContactListener(new ContactListener() {
+			public void beginContact (Contact contact) {
+				fail();
+			}
+
+			public void endContact (Contact contact) {
+				fail();
+			}
+
+			public void preSolve (Contact contact, Manifold oldManifold) {
+				fail();
+			}
+
+			public void postSolve (Contact contact, ContactImpulse impulse) {
+				fail();
+			}
+		});
+	}
+
+	@After
+	public void tearDown () {
+		world.dispose();
+	}
+
+	private Body createBox (float x) {
+		BodyDef def = new BodyDef();
+		def.type = BodyType.DynamicBody;
+		def.position.set(x, 1);
+		Body body = world.createBody(def);
+		PolygonShape box = new PolygonShape();
+		box.setAsBox(0.5f, 0.5f);
+		body.createFixture(box, 1);
+		box.dispose();
+		return body;
+	}
+
+	private int count (int type) {
+		int count = 0;
+		for (int i = 0; i < events.size(); i++)
+			if (events.getType(i) == type) count++;
+		return count;
+	}
+
+	private void assertEnd (Fixture fixture) {
+		assertEquals(1, events.size());
+		assertEquals(ContactEvents.END, events.getType(0));
+		assertTrue(events.getFixtureA(0) == fixture || events.getFixtureB(0) == fixture);
+		assertTrue(events.getFixtureA(0) == ground || events.getFixtureB(0) == ground);
+		events.clear();
+	}
+
+	@Test
+	public void stepTest () {
+		Body body = createBox(0);
+		for (int i = 0; i < 60; i++)
+			world.step(1 / 60f, 8, 3);
+		assertEquals(1, count(ContactEvents.BEGIN));
+		assertEquals(0, count(ContactEvents.END));
+		assertTrue(count(ContactEvents.POST_SOLVE) > 0);
+		Fixture fixture = body.getFixtureList().first();
+		assertTrue(events.getFixtureA(0) == fixture || events.getFixtureB(0) == fixture);
+		// The box rests on the ground, so the last event is the impulse holding it up.
+		final int last = events.size() - 1;
+		assertEquals(ContactEvents.POST_SOLVE, events.getType(last));
+		assertEquals(1, Math.abs(events.getNormalY(last)), 0.0001f);
+		assertTrue(events.getNormalImpulse(last) > 0);
+	}
+
+	@Test
+	public void destroyTest () {
+		Body destroyed = createBox(-5), withoutFixture = createBox(0), deactivated = createBox(5);
+		for (int i = 0; i < 60; i++)
+			world.step(1 / 60f, 8, 3);
+		assertEquals(3, count(ContactEvents.BEGIN));
+		events.clear();
+
+		Fixture fixture = destroyed.getFixtureList().first();
+		world.destroyBody(destroyed);
+		assertEnd(fixture);
+
+		fixture = withoutFixture.getFixtureList().first();
+		withoutFixture.destroyFixture(fixture);
+		assertEnd(fixture);
+
+		fixture = deactivated.getFixtureList().first();
+		deactivated.setActive(false);
+		assertEnd(fixture);
+
+		world.step(1 / 60f, 8, 3);
+		assertEquals(0, events.size());
+	}
+}
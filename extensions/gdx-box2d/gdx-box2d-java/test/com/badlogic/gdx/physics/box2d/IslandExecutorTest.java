@@ -0,0 +1,78 @@
+
+package com.badlogic.gdx.physics.box2d;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.BodyDef.BodyType;
+import com.badlogic.gdx.physics.box2d.joints.RevoluteJointDef;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+
+public class IslandExecutorTest {
+	/** Steps 8 pyramids of 15 boxes and 8 chains of 5 boxes, 16 islands, and returns the bits of the state of every body. */
+	private static int[] simulate (int tasks) {
+		World world = new World(new Vector2(0, -10), true);
+		AsyncExecutor executor = tasks > 0 ? new AsyncExecutor(tasks) : null;
+		world.setIslandExecutor(executor, tasks);
+		Body ground = world.createBody(new BodyDef());
+		EdgeShape edge = new EdgeShape();
+		edge.set(-100, 0, 100, 0);
+		ground.createFixture(edge, 0);
+		edge.dispose();
+		PolygonShape box = new PolygonShape();
+		box.setAsBox(0.5f, 0.5f);
+		BodyDef def = new BodyDef();
+		def.type = BodyType.DynamicBody;
+		RevoluteJointDef jointDef = new RevoluteJointDef();
+		Array<Body> bodies = new Array<Body>();
+		for (int p = 0; p < 8; p++) {
+			float x = -80 + p * 20;
+			for (int row = 0; row < 5; row++) {
+				for (int i = 0; i < 5 - row; i++) {
+					def.position.set(x + i * 1.05f + row * 0.52f, 0.5f + row * 1.02f);
+					Body body = world.createBody(def);
+					body.createFixture(box, 1);
+					bodies.add(body);
+				}
+			}
+			Body previous = ground;
+			for (int i = 0; i < 5; i++) {
+				def.position.set(x + 12 + i, 20);
+				Body body = world.createBody(def);
+				body.createFixture(box, 1);
+				jointDef.initialize(previous, body, new Vector2(x + 11.5f + i, 20));
+				world.createJoint(jointDef);
+				bodies.add(body);
+				previous = body;
+			}
+		}
+		box.dispose();
+		assertEquals(160, bodies.size);
+
+		for (int i = 0; i < 400; i++)
+			world.step(1 / 60f, 8, 3);
+		int[] state = new int[bodies.size * 6];
+		for (int i = 0, o = 0; i < bodies.size; i++) {
+			Body body = bodies.get(i);
+			state[o++] = Float.floatToRawIntBits(body.getPosition().x);
+			state[o++] = Float.floatToRawIntBits(body.getPosition().y);
+			state[o++] = Float.floatToRawIntBits(body.getAngle());
+			state[o++] = Float.floatToRawIntBits(body.getLinearVelocity().x);
+			state[o++] = Float.floatToRawIntBits(body.getLinearVelocity().y);
+			state[o++] = body.isAwake() ? 1 : 0;
+		}
+		world.dispose();
+		if (executor != null) executor.dispose();
+		return state;
+	}
+
+	@Test
+	public void determinismTest () {
+		int[] expected = simulate(0);
+		for (int tasks : new int[] {1, 2, 3, 4, 7})
+			assertArrayEquals("tasks: " + tasks, expected, simulate(tasks));
+	}
+}
@@ -1,8 +1,10 @@
 #include <com.badlogic.gdx.physics.box2d.World.h>
 
-//@line:56
+//@line:58
 
 #include <Box2D/Box2D.h>
+#include <stdlib.h>
+#include <string.h>
 
 static jclass worldClass = 0;
 static jmethodID shouldCollideID = 0;
@@ -97,6 +99,103 @@ public:
 		}
 };
 
+class BufferedContactListener: public b2ContactListener
+{
+public:
+	JNIEnv* env;
+	jobject obj;
+	bool recordImpulses;
+	bool preSolve;
+	int size;
+	int capacity;
+	int* types;
+	b2Fixture** fixtures;
+	float* data;
+
+	BufferedContactListener(): env(0), obj(0), recordImpulses(true), preSolve(false), size(0), capacity(0), types(0), fixtures(0), data(0)
+	{
+	}
+
+	~BufferedContactListener()
+	{
+		free(types);
+		free(fixtures);
+		free(data);
+	}
+
+	void add(int type, b2Contact* contact, const b2ContactImpulse* impulse)
+	{
+		if( size == capacity )
+		{
+			capacity = capacity == 0 ? 256 : capacity * 2;
+			types = (int*)realloc(types, capacity * sizeof(int));
+			fixtures = (b2Fixture**)realloc(fixtures, capacity * 2 * sizeof(b2Fixture*));
+			data = (float*)realloc(data, capacity * 6 * sizeof(float));
+		}
+		types[size] = type;
+		fixtures[size * 2] = contact->GetFixtureA();
+		fixtures[size * 2 + 1] = contact->GetFixtureB();
+		float* d = data + size * 6;
+		memset(d, 0, 6 * sizeof(float));
+		int32 pointCount = contact->GetManifold()->pointCount;
+		if( pointCount > 0 )
+		{
+			b2WorldManifold worldManifold;
+			contact->GetWorldManifold(&worldManifold);
+			d[0] = worldManifold.normal.x;
+			d[1] = worldManifold.normal.y;
+			for( int32 i = 0; i < pointCount; i++ )
+			{
+				d[2] += worldManifold.points[i].x / pointCount;
+				d[3] += worldManifold.points[i].y / pointCount;
+			}
+		}
+		if( impulse != 0 )
+		{
+			for( int32 i = 0; i < impulse->count; i++ )
+			{
+				d[4] += impulse->normalImpulses[i];
+				d[5] += impulse->tangentImpulses[i];
+			}
+		}
+		size++;
+	}
+
+	virtual void BeginContact(b2Contact* contact)
+	{
+		add(0, contact, 0);
+	}
+
+	virtual void EndContact(b2Contact* contact)
+	{
+		add(1, contact, 0);
+	}
+
+	virtual void PreSolve(b2Contact* contact, const b2Manifold* oldManifold)
+	{
+		if( preSolve && preSolveID != 0 )
+			env->CallVoidMethod(obj, preSolveID, (jlong)contact, (jlong)oldManifold);
+	}
+
+	virtual void PostSolve(b2Contact* contact, const b2ContactImpulse* impulse)
+	{
+		if( recordImpulses )
+			add(2, contact, impulse);
+	}
+};
+
+inline BufferedContactListener* beginContactEvents( JNIEnv* env, jobject obj, jlong eventsAddr )
+{
+	BufferedContactListener* listener = (BufferedContactListener*)eventsAddr;
+	if( listener != 0 )
+	{
+		listener->env = env;
+		listener->obj = obj;
+		listener->size = 0;
+	}
+	return listener;
+}
+
 class CustomQueryCallback: public b2QueryCallback
 {
 private:
@@ -132,7 +231,7 @@ b2ContactFilter defaultFilter;
 	 JNIEXPORT jlong JNICALL Java_com_badlogic_gdx_physics_box2d_World_newWorld(JNIEnv* env, jobject object, jfloat gravityX, jfloat gravityY, jboolean doSleep) {
 
 
-//@line:237
+//@line:342
 
 		// we leak one global ref. 
 		if(!worldClass) {
@@ -156,17 +255,27 @@ b2ContactFilter defaultFilter;
 JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_setUseDefaultContactFilter(JNIEnv* env, jobject object, jboolean use) {
 
 
-//@line:268
+//@line:373
 
 		// FIXME
 	
 
+}
+
+JNIEXPORT jlong JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniNewContactEvents(JNIEnv* env, jobject object) {
+
+
+//@line:407
+
+		return (jlong)new BufferedContactListener();
+	
+
 }
 
 JNIEXPORT jlong JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniCreateBody(JNIEnv* env, jobject object, jlong addr, jint type, jfloat positionX, jfloat positionY, jfloat angle, jfloat linearVelocityX, jfloat linearVelocityY, jfloat angularVelocity, jfloat linearDamping, jfloat angularDamping, jboolean allowSleep, jboolean awake, jboolean fixedRotation, jboolean bullet, jboolean active, jfloat inertiaScale) {
 
 
-//@line:294
+//@line:428
 
 		b2BodyDef bodyDef;
 		bodyDef.type = getBodyType(type);
@@ -190,28 +299,30 @@ JNIEXPORT jlong JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniCreateBody(
 
 }
 
-JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniDestroyBody(JNIEnv* env, jobject object, jlong addr, jlong bodyAddr) {
+JNIEXPORT jint JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniDestroyBody(JNIEnv* env, jobject object, jlong addr, jlong bodyAddr, jlong eventsAddr) {
 
 
-//@line:336
+//@line:470
 
 		b2World* world = (b2World*)addr;
 		b2Body* body = (b2Body*)bodyAddr;
 		CustomContactFilter contactFilter(env, object);
 		CustomContactListener contactListener(env,object);
 		world->SetContactFilter(&contactFilter);
-		world->SetContactListener(&contactListener);
+		BufferedContactListener* events = beginContactEvents(env, object, eventsAddr);
+		world->SetContactListener(events != 0 ? (b2ContactListener*)events : &contactListener);
 		world->DestroyBody(body);
 		world->SetContactFilter(&defaultFilter);
 		world->SetContactListener(0);
+		return events != 0 ? events->size : 0;
 	
 
 }
 
-JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniDestroyFixture(JNIEnv* env, jobject object, jlong addr, jlong bodyAddr, jlong fixtureAddr) {
+JNIEXPORT jint JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniDestroyFixture(JNIEnv* env, jobject object, jlong addr, jlong bodyAddr, jlong fixtureAddr, jlong eventsAddr) {
 
 
-//@line:356
+//@line:492
 
 		b2World* world = (b2World*)(addr);
 		b2Body* body = (b2Body*)(bodyAddr);
@@ -219,28 +330,32 @@ JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniDestroyFixtu
 		CustomContactFilter contactFilter(env, object);
 		CustomContactListener contactListener(env, object);
 		world->SetContactFilter(&contactFilter);
-		world->SetContactListener(&contactListener);
+		BufferedContactListener* events = beginContactEvents(env, object, eventsAddr);
+		world->SetContactListener(events != 0 ? (b2ContactListener*)events : &contactListener);
 		body->DestroyFixture(fixture);
 		world->SetContactFilter(&defaultFilter);
 		world->SetContactListener(0);
+		return events != 0 ? events->size : 0;
 	
 
 }
 
-JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniDeactivateBody(JNIEnv* env, jobject object, jlong addr, jlong bodyAddr) {
+JNIEXPORT jint JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniDeactivateBody(JNIEnv* env, jobject object, jlong addr, jlong bodyAddr, jlong eventsAddr) {
 
 
-//@line:376
+//@line:514
 
 		b2World* world = (b2World*)(addr);
 		b2Body* body = (b2Body*)(bodyAddr);	
 		CustomContactFilter contactFilter(env, object);
 		CustomContactListener contactListener(env, object);
 		world->SetContactFilter(&contactFilter);
-		world->SetContactListener(&contactListener);
+		BufferedContactListener* events = beginContactEvents(env, object, eventsAddr);
+		world->SetContactListener(events != 0 ? (b2ContactListener*)events : &contactListener);
 		body->SetActive(false);
 		world->SetContactFilter(&defaultFilter);
 		world->SetContactListener(0);
+		return events != 0 ? events->size : 0;
 	
 
 }
@@ -248,7 +363,7 @@ JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniDeactivateBo
 JNIEXPORT jlong JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniCreateWheelJoint(JNIEnv* env, jobject object, jlong addr, jlong bodyA, jlong bodyB, jboolean collideConnected, jfloat localAnchorAX, jfloat localAnchorAY, jfloat localAnchorBX, jfloat localAnchorBY, jfloat localAxisAX, jfloat localAxisAY, jboolean enableMotor, jfloat maxMotorTorque, jfloat motorSpeed, jfloat frequencyHz, jfloat dampingRatio) {
 
 
-//@line:481
+//@line:621
 
 		b2World* world = (b2World*)addr;
 		b2WheelJointDef def;
@@ -272,7 +387,7 @@ JNIEXPORT jlong JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniCreateWheel
 JNIEXPORT jlong JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniCreateRopeJoint(JNIEnv* env, jobject object, jlong addr, jlong bodyA, jlong bodyB, jboolean collideConnected, jfloat localAnchorAX, jfloat localAnchorAY, jfloat localAnchorBX, jfloat localAnchorBY, jfloat maxLength) {
 
 
-//@line:500
+//@line:640
 
 		b2World* world = (b2World*)addr;
 		b2RopeJointDef def;
@@ -291,7 +406,7 @@ JNIEXPORT jlong JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniCreateRopeJ
 JNIEXPORT jlong JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniCreateDistanceJoint(JNIEnv* env, jobject object, jlong addr, jlong bodyA, jlong bodyB, jboolean collideConnected, jfloat localAnchorAX, jfloat localAnchorAY, jfloat localAnchorBX, jfloat localAnchorBY, jfloat length, jfloat frequencyHz, jfloat dampingRatio) {
 
 
-//@line:514
+//@line:654
 
 		b2World* world = (b2World*)addr;
 		b2DistanceJointDef def;
@@ -312,7 +427,7 @@ JNIEXPORT jlong JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniCreateDista
 JNIEXPORT jlong JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniCreateFrictionJoint(JNIEnv* env, jobject object, jlong addr, jlong bodyA, jlong bodyB, jboolean collideConnected, jfloat localAnchorAX, jfloat localAnchorAY, jfloat localAnchorBX, jfloat localAnchorBY, jfloat maxForce, jfloat maxTorque) {
 
 
-//@line:530
+//@line:670
 
 		b2World* world = (b2World*)addr;
 		b2FrictionJointDef def;
@@ -331,7 +446,7 @@ JNIEXPORT jlong JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniCreateFrict
 JNIEXPORT jlong JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniCreateGearJoint(JNIEnv* env, jobject object, jlong addr, jlong bodyA, jlong bodyB, jboolean collideConnected, jlong joint1, jlong joint2, jfloat ratio) {
 
 
-//@line:544
+//@line:684
 
 		b2World* world = (b2World*)addr;
 		b2GearJointDef def;
@@ -349,7 +464,7 @@ JNIEXPORT jlong JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniCreateGearJ
 JNIEXPORT jlong JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniCreateMotorJoint(JNIEnv* env, jobject object, jlong addr, jlong bodyA, jlong bodyB, jboolean collideConnected, jfloat linearOffsetX, jfloat linearOffsetY, jfloat angularOffset, jfloat maxForce, jfloat maxTorque, jfloat correctionFactor) {
 
 
-//@line:557
+//@line:697
 
 		b2World* world = (b2World*)addr;
 		b2MotorJointDef def;
@@ -369,7 +484,7 @@ JNIEXPORT jlong JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniCreateMotor
 JNIEXPORT jlong JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniCreateMouseJoint(JNIEnv* env, jobject object, jlong addr, jlong bodyA, jlong bodyB, jboolean collideConnected, jfloat targetX, jfloat targetY, jfloat maxForce, jfloat frequencyHz, jfloat dampingRatio) {
 
 
-//@line:572
+//@line:712
 
 		b2World* world = (b2World*)addr;
 		b2MouseJointDef def;
@@ -388,7 +503,7 @@ JNIEXPORT jlong JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniCreateMouse
 JNIEXPORT jlong JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniCreatePrismaticJoint(JNIEnv* env, jobject object, jlong addr, jlong bodyA, jlong bodyB, jboolean collideConnected, jfloat localAnchorAX, jfloat localAnchorAY, jfloat localAnchorBX, jfloat localAnchorBY, jfloat localAxisAX, jfloat localAxisAY, jfloat referenceAngle, jboolean enableLimit, jfloat lowerTranslation, jfloat upperTranslation, jboolean enableMotor, jfloat maxMotorForce, jfloat motorSpeed) {
 
 
-//@line:588
+//@line:728
 
 		b2World* world = (b2World*)addr;
 		b2PrismaticJointDef def;
@@ -413,7 +528,7 @@ JNIEXPORT jlong JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniCreatePrism
 JNIEXPORT jlong JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniCreatePulleyJoint(JNIEnv* env, jobject object, jlong addr, jlong bodyA, jlong bodyB, jboolean collideConnected, jfloat groundAnchorAX, jfloat groundAnchorAY, jfloat groundAnchorBX, jfloat groundAnchorBY, jfloat localAnchorAX, jfloat localAnchorAY, jfloat localAnchorBX, jfloat localAnchorBY, jfloat lengthA, jfloat lengthB, jfloat ratio) {
 
 
-//@line:609
+//@line:749
 
 		b2World* world = (b2World*)addr;
 		b2PulleyJointDef def;
@@ -436,7 +551,7 @@ JNIEXPORT jlong JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniCreatePulle
 JNIEXPORT jlong JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniCreateRevoluteJoint(JNIEnv* env, jobject object, jlong addr, jlong bodyA, jlong bodyB, jboolean collideConnected, jfloat localAnchorAX, jfloat localAnchorAY, jfloat localAnchorBX, jfloat localAnchorBY, jfloat referenceAngle, jboolean enableLimit, jfloat lowerAngle, jfloat upperAngle, jboolean enableMotor, jfloat motorSpeed, jfloat maxMotorTorque) {
 
 
-//@line:628
+//@line:768
 
 		b2World* world = (b2World*)addr;
 		b2RevoluteJointDef def;
@@ -460,7 +575,7 @@ JNIEXPORT jlong JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniCreateRevol
 JNIEXPORT jlong JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniCreateWeldJoint(JNIEnv* env, jobject object, jlong addr, jlong bodyA, jlong bodyB, jboolean collideConnected, jfloat localAnchorAX, jfloat localAnchorAY, jfloat localAnchorBX, jfloat localAnchorBY, jfloat referenceAngle, jfloat frequencyHz, jfloat dampingRatio) {
 
 
-//@line:647
+//@line:787
 
 		b2World* world = (b2World*)addr;
 		b2WeldJointDef def;
@@ -481,7 +596,7 @@ JNIEXPORT jlong JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniCreateWeldJ
 JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniDestroyJoint(JNIEnv* env, jobject object, jlong addr, jlong jointAddr) {
 
 
-//@line:672
+//@line:812
 
 		b2World* world = (b2World*)addr;
 		b2Joint* joint = (b2Joint*)jointAddr;
@@ -499,7 +614,7 @@ JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniDestroyJoint
 JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniStep(JNIEnv* env, jobject object, jlong addr, jfloat timeStep, jint velocityIterations, jint positionIterations) {
 
 
-//@line:692
+//@line:852
 
 		b2World* world = (b2World*)addr;
 		CustomContactFilter contactFilter(env, object);
@@ -513,10 +628,51 @@ JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniStep(JNIEnv*
 
 }
 
+JNIEXPORT jint JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniStepRecording(JNIEnv* env, jobject object, jlong addr, jlong eventsAddr, jfloat timeStep, jint velocityIterations, jint positionIterations, jboolean recordImpulses, jboolean preSolve) {
+
+
+//@line:864
+
+		b2World* world = (b2World*)addr;
+		BufferedContactListener* listener = beginContactEvents(env, object, eventsAddr);
+		listener->recordImpulses = recordImpulses;
+		listener->preSolve = preSolve;
+		CustomContactFilter contactFilter(env, object);
+		world->SetContactFilter(&contactFilter);
+		world->SetContactListener(listener);
+		world->Step( timeStep, velocityIterations, positionIterations );
+		world->SetContactFilter(&defaultFilter);
+		world->SetContactListener(0);
+		return listener->size;
+	
+
+}
+
+JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniGetContactEvents(JNIEnv* env, jobject object, jlong eventsAddr, jintArray obj_types, jlongArray obj_fixtures, jfloatArray obj_data, jint offset) {
+	int* types = (int*)env->GetPrimitiveArrayCritical(obj_types, 0);
+	long long* fixtures = (long long*)env->GetPrimitiveArrayCritical(obj_fixtures, 0);
+	float* data = (float*)env->GetPrimitiveArrayCritical(obj_data, 0);
+
+
+//@line:879
+
+		BufferedContactListener* listener = (BufferedContactListener*)eventsAddr;
+		int size = listener->size;
+		memcpy(types + offset, listener->types, size * sizeof(int));
+		memcpy(data + offset * 6, listener->data, size * 6 * sizeof(float));
+		for( int i = 0; i < size * 2; i++ )
+			fixtures[i] = (long long)listener->fixtures[i];
+	
+	env->ReleasePrimitiveArrayCritical(obj_types, types, 0);
+	env->ReleasePrimitiveArrayCritical(obj_fixtures, fixtures, 0);
+	env->ReleasePrimitiveArrayCritical(obj_data, data, 0);
+
+}
+
 JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniClearForces(JNIEnv* env, jobject object, jlong addr) {
 
 
-//@line:712
+//@line:897
 
 		b2World* world = (b2World*)addr;
 		world->ClearForces();
@@ -527,7 +683,7 @@ JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniClearForces(
 JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniSetWarmStarting(JNIEnv* env, jobject object, jlong addr, jboolean flag) {
 
 
-//@line:722
+//@line:907
 
 		b2World* world = (b2World*)addr;
 		world->SetWarmStarting(flag);
@@ -538,7 +694,7 @@ JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniSetWarmStart
 JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniSetContiousPhysics(JNIEnv* env, jobject object, jlong addr, jboolean flag) {
 
 
-//@line:732
+//@line:917
 
 		b2World* world = (b2World*)addr;
 		world->SetContinuousPhysics(flag);
@@ -549,7 +705,7 @@ JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniSetContiousP
 JNIEXPORT jint JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniGetProxyCount(JNIEnv* env, jobject object, jlong addr) {
 
 
-//@line:742
+//@line:927
 
 		b2World* world = (b2World*)addr;
 		return world->GetProxyCount();
@@ -560,7 +716,7 @@ JNIEXPORT jint JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniGetProxyCoun
 JNIEXPORT jint JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniGetBodyCount(JNIEnv* env, jobject object, jlong addr) {
 
 
-//@line:752
+//@line:937
 
 		b2World* world = (b2World*)addr;
 		return world->GetBodyCount();
@@ -571,7 +727,7 @@ JNIEXPORT jint JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniGetBodyCount
 JNIEXPORT jint JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniGetJointcount(JNIEnv* env, jobject object, jlong addr) {
 
 
-//@line:767
+//@line:952
 
 		b2World* world = (b2World*)addr;
 		return world->GetJointCount();
@@ -582,7 +738,7 @@ JNIEXPORT jint JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniGetJointcoun
 JNIEXPORT jint JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniGetContactCount(JNIEnv* env, jobject object, jlong addr) {
 
 
-//@line:777
+//@line:962
 
 		b2World* world = (b2World*)addr;
 		return world->GetContactCount();
@@ -593,7 +749,7 @@ JNIEXPORT jint JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniGetContactCo
 JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniSetGravity(JNIEnv* env, jobject object, jlong addr, jfloat gravityX, jfloat gravityY) {
 
 
-//@line:787
+//@line:972
 
 		b2World* world = (b2World*)addr;
 		world->SetGravity( b2Vec2( gravityX, gravityY ) );
@@ -605,7 +761,7 @@ JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniGetGravity(J
 	float* gravity = (float*)env->GetPrimitiveArrayCritical(obj_gravity, 0);
 
 
-//@line:803
+//@line:988
 
 		b2World* world = (b2World*)addr;
 		b2Vec2 g = world->GetGravity();
@@ -619,7 +775,7 @@ JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniGetGravity(J
 JNIEXPORT jboolean JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniIsLocked(JNIEnv* env, jobject object, jlong addr) {
 
 
-//@line:815
+//@line:1000
 
 		b2World* world = (b2World*)addr;
 		return world->IsLocked();
@@ -630,7 +786,7 @@ JNIEXPORT jboolean JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniIsLocked
 JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniSetAutoClearForces(JNIEnv* env, jobject object, jlong addr, jboolean flag) {
 
 
-//@line:825
+//@line:1010
 
 		b2World* world = (b2World*)addr;
 		world->SetAutoClearForces(flag);
@@ -641,7 +797,7 @@ JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniSetAutoClear
 JNIEXPORT jboolean JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniGetAutoClearForces(JNIEnv* env, jobject object, jlong addr) {
 
 
-//@line:835
+//@line:1020
 
 		b2World* world = (b2World*)addr;
 		return world->GetAutoClearForces();
@@ -652,7 +808,7 @@ JNIEXPORT jboolean JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniGetAutoC
 JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniQueryAABB(JNIEnv* env, jobject object, jlong addr, jfloat lowX, jfloat lowY, jfloat upX, jfloat upY) {
 
 
-//@line:853
+//@line:1038
 
 		b2World* world = (b2World*)addr;
 		b2AABB aabb;
@@ -665,11 +821,136 @@ JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniQueryAABB(JN
 
 }
 
+JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniGetBodyStates(JNIEnv* env, jobject object, jlong addr, jlongArray obj_bodies, jint count, jfloatArray obj_states) {
+	long long* bodies = (long long*)env->GetPrimitiveArrayCritical(obj_bodies, 0);
+	float* states = (float*)env->GetPrimitiveArrayCritical(obj_states, 0);
+
+
+//@line:1169
+
+		for (int i = 0; i < count; i++) {
+			b2Body* body = (b2Body*)bodies[i];
+			const b2Vec2& p = body->GetPosition();
+			const b2Vec2& v = body->GetLinearVelocity();
+			float* state = states + i * 6;
+			state[0] = p.x;
+			state[1] = p.y;
+			state[2] = body->GetAngle();
+			state[3] = v.x;
+			state[4] = v.y;
+			state[5] = body->GetAngularVelocity();
+		}
+	
+	env->ReleasePrimitiveArrayCritical(obj_bodies, bodies, 0);
+	env->ReleasePrimitiveArrayCritical(obj_states, states, 0);
+
+}
+
+JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniGetBodyStatesBuffer(JNIEnv* env, jobject object, jlong addr, jlongArray obj_bodies, jint count, jobject obj_states, jint offset) {
+	float* states = (float*)(obj_states?env->GetDirectBufferAddress(obj_states):0);
+	long long* bodies = (long long*)env->GetPrimitiveArrayCritical(obj_bodies, 0);
+
+
+//@line:1184
+
+		for (int i = 0; i < count; i++) {
+			b2Body* body = (b2Body*)bodies[i];
+			const b2Vec2& p = body->GetPosition();
+			const b2Vec2& v = body->GetLinearVelocity();
+			float* state = states + offset + i * 6;
+			state[0] = p.x;
+			state[1] = p.y;
+			state[2] = body->GetAngle();
+			state[3] = v.x;
+			state[4] = v.y;
+			state[5] = body->GetAngularVelocity();
+		}
+	
+	env->ReleasePrimitiveArrayCritical(obj_bodies, bodies, 0);
+
+}
+
+JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniSetBodyVelocities(JNIEnv* env, jobject object, jlong addr, jlongArray obj_bodies, jint count, jfloatArray obj_velocities) {
+	long long* bodies = (long long*)env->GetPrimitiveArrayCritical(obj_bodies, 0);
+	float* velocities = (float*)env->GetPrimitiveArrayCritical(obj_velocities, 0);
+
+
+//@line:1215
+
+		for (int i = 0; i < count; i++) {
+			b2Body* body = (b2Body*)bodies[i];
+			const float* velocity = velocities + i * 3;
+			body->SetLinearVelocity(b2Vec2(velocity[0], velocity[1]));
+			body->SetAngularVelocity(velocity[2]);
+		}
+	
+	env->ReleasePrimitiveArrayCritical(obj_bodies, bodies, 0);
+	env->ReleasePrimitiveArrayCritical(obj_velocities, velocities, 0);
+
+}
+
+JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniSetBodyVelocitiesBuffer(JNIEnv* env, jobject object, jlong addr, jlongArray obj_bodies, jint count, jobject obj_velocities, jint offset) {
+	float* velocities = (float*)(obj_velocities?env->GetDirectBufferAddress(obj_velocities):0);
+	long long* bodies = (long long*)env->GetPrimitiveArrayCritical(obj_bodies, 0);
+
+
+//@line:1224
+
+		for (int i = 0; i < count; i++) {
+			b2Body* body = (b2Body*)bodies[i];
+			const float* velocity = velocities + offset + i * 3;
+			body->SetLinearVelocity(b2Vec2(velocity[0], velocity[1]));
+			body->SetAngularVelocity(velocity[2]);
+		}
+	
+	env->ReleasePrimitiveArrayCritical(obj_bodies, bodies, 0);
+
+}
+
+JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniApplyForcesToCenter(JNIEnv* env, jobject object, jlong addr, jlongArray obj_bodies, jint count, jfloatArray obj_forces, jboolean wake) {
+	long long* bodies = (long long*)env->GetPrimitiveArrayCritical(obj_bodies, 0);
+	float* forces = (float*)env->GetPrimitiveArrayCritical(obj_forces, 0);
+
+
+//@line:1249
+
+		for (int i = 0; i < count; i++) {
+			const float* force = forces + i * 3;
+			if (force[0] == 0 && force[1] == 0 && force[2] == 0) continue;
+			b2Body* body = (b2Body*)bodies[i];
+			body->ApplyForceToCenter(b2Vec2(force[0], force[1]), wake);
+			body->ApplyTorque(force[2], wake);
+		}
+	
+	env->ReleasePrimitiveArrayCritical(obj_bodies, bodies, 0);
+	env->ReleasePrimitiveArrayCritical(obj_forces, forces, 0);
+
+}
+
+JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniApplyForcesToCenterBuffer(JNIEnv* env, jobject object, jlong addr, jlongArray obj_bodies, jint count, jobject obj_forces, jint offset, jboolean wake) {
+	float* forces = (float*)(obj_forces?env->GetDirectBufferAddress(obj_forces):0);
+	long long* bodies = (long long*)env->GetPrimitiveArrayCritical(obj_bodies, 0);
+
+
+//@line:1260
+
+		for (int i = 0; i < count; i++) {
+			const float* force = forces + offset + i * 3;
+			if (force[0] == 0 && force[1] == 0 && force[2] == 0) continue;
+			b2Body* body = (b2Body*)bodies[i];
+			body->ApplyForceToCenter(b2Vec2(force[0], force[1]), wake);
+			body->ApplyTorque(force[2], wake);
+		}
+	
+	env->ReleasePrimitiveArrayCritical(obj_bodies, bodies, 0);
+
+}
+
 JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniGetContactList(JNIEnv* env, jobject object, jlong addr, jlongArray obj_contacts) {
 	long long* contacts = (long long*)env->GetPrimitiveArrayCritical(obj_contacts, 0);
 
 
-//@line:938
+//@line:1270
 
 		b2World* world = (b2World*)addr;
 	
@@ -685,10 +966,20 @@ JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniGetContactLi
 
 }
 
+JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniDisposeContactEvents(JNIEnv* env, jobject object, jlong eventsAddr) {
+
+
+//@line:1287
+
+		delete (BufferedContactListener*)eventsAddr;
+	
+
+}
+
 JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniDispose(JNIEnv* env, jobject object, jlong addr) {
 
 
-//@line:954
+//@line:1291
 
 		b2World* world = (b2World*)(addr);
 		delete world;
@@ -699,7 +990,7 @@ JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniDispose(JNIE
 JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_setVelocityThreshold(JNIEnv* env, jclass clazz, jfloat threshold) {
 
 
-//@line:1014
+//@line:1351
 
 		b2_velocityThreshold = threshold;
 	
@@ -709,7 +1000,7 @@ JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_setVelocityThre
 JNIEXPORT jfloat JNICALL Java_com_badlogic_gdx_physics_box2d_World_getVelocityThreshold(JNIEnv* env, jclass clazz) {
 
 
-//@line:1019
+//@line:1356
 
 		return b2_velocityThreshold;
 	
@@ -719,7 +1010,7 @@ JNIEXPORT jfloat JNICALL Java_com_badlogic_gdx_physics_box2d_World_getVelocityTh
 JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniRayCast(JNIEnv* env, jobject object, jlong addr, jfloat aX, jfloat aY, jfloat bX, jfloat bY) {
 
 
-//@line:1044
+//@line:1381
 
 		b2World *world = (b2World*)addr;
 		CustomRayCastCallback callback( env, object );	
@@ -7,6 +7,10 @@
 #ifdef __cplusplus
 extern "C" {
 #endif
+#undef com_badlogic_gdx_physics_box2d_World_BODY_STATE_SIZE
+#define com_badlogic_gdx_physics_box2d_World_BODY_STATE_SIZE 6L
+#undef com_badlogic_gdx_physics_box2d_World_BODY_VECTOR_SIZE
+#define com_badlogic_gdx_physics_box2d_World_BODY_VECTOR_SIZE 3L
 /*
  * Class:     com_badlogic_gdx_physics_box2d_World
  * Method:    newWorld
@@ -23,6 +27,14 @@ JNIEXPORT jlong JNICALL Java_com_badlogic_gdx_physics_box2d_World_newWorld
 JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_setUseDefaultContactFilter
   (JNIEnv *, jobject, jboolean);
 
+/*
+ * Class:     com_badlogic_gdx_physics_box2d_World
+ * Method:    jniNewContactEvents
+ * Signature: ()J
+ */
+JNIEXPORT jlong JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniNewContactEvents
+  (JNIEnv *, jobject);
+
 /*
  * Class:     com_badlogic_gdx_physics_box2d_World
  * Method:    jniCreateBody
@@ -34,26 +46,26 @@ JNIEXPORT jlong JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniCreateBody
 /*
  * Class:     com_badlogic_gdx_physics_box2d_World
  * Method:    jniDestroyBody
- * Signature: (JJ)V
+ * Signature: (JJJ)I
  */
-JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniDestroyBody
-  (JNIEnv *, jobject, jlong, jlong);
+JNIEXPORT jint JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniDestroyBody
+  (JNIEnv *, jobject, jlong, jlong, jlong);
 
 /*
  * Class:     com_badlogic_gdx_physics_box2d_World
  * Method:    jniDestroyFixture
- * Signature: (JJJ)V
+ * Signature: (JJJJ)I
  */
-JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniDestroyFixture
-  (JNIEnv *, jobject, jlong, jlong, jlong);
+JNIEXPORT jint JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniDestroyFixture
+  (JNIEnv *, jobject, jlong, jlong, jlong, jlong);
 
 /*
  * Class:     com_badlogic_gdx_physics_box2d_World
  * Method:    jniDeactivateBody
- * Signature: (JJ)V
+ * Signature: (JJJ)I
  */
-JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniDeactivateBody
-  (JNIEnv *, jobject, jlong, jlong);
+JNIEXPORT jint JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniDeactivateBody
+  (JNIEnv *, jobject, jlong, jlong, jlong);
 
 /*
  * Class:     com_badlogic_gdx_physics_box2d_World
@@ -159,6 +171,22 @@ JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniDestroyJoint
 JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniStep
   (JNIEnv *, jobject, jlong, jfloat, jint, jint);
 
+/*
+ * Class:     com_badlogic_gdx_physics_box2d_World
+ * Method:    jniStepRecording
+ * Signature: (JJFIIZZ)I
+ */
+JNIEXPORT jint JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniStepRecording
+  (JNIEnv *, jobject, jlong, jlong, jfloat, jint, jint, jboolean, jboolean);
+
+/*
+ * Class:     com_badlogic_gdx_physics_box2d_World
+ * Method:    jniGetContactEvents
+ * Signature: (J[I[J[FI)V
+ */
+JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniGetContactEvents
+  (JNIEnv *, jobject, jlong, jintArray, jlongArray, jfloatArray, jint);
+
 /*
  * Class:     com_badlogic_gdx_physics_box2d_World
  * Method:    jniClearForces
@@ -263,6 +291,54 @@ JNIEXPORT jboolean JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniGetAutoC
 JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniQueryAABB
   (JNIEnv *, jobject, jlong, jfloat, jfloat, jfloat, jfloat);
 
+/*
+ * Class:     com_badlogic_gdx_physics_box2d_World
+ * Method:    jniGetBodyStates
+ * Signature: (J[JI[F)V
+ */
+JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniGetBodyStates
+  (JNIEnv *, jobject, jlong, jlongArray, jint, jfloatArray);
+
+/*
+ * Class:     com_badlogic_gdx_physics_box2d_World
+ * Method:    jniGetBodyStatesBuffer
+ * Signature: (J[JILjava/nio/FloatBuffer;I)V
+ */
+JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniGetBodyStatesBuffer
+  (JNIEnv *, jobject, jlong, jlongArray, jint, jobject, jint);
+
+/*
+ * Class:     com_badlogic_gdx_physics_box2d_World
+ * Method:    jniSetBodyVelocities
+ * Signature: (J[JI[F)V
+ */
+JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniSetBodyVelocities
+  (JNIEnv *, jobject, jlong, jlongArray, jint, jfloatArray);
+
+/*
+ * Class:     com_badlogic_gdx_physics_box2d_World
+ * Method:    jniSetBodyVelocitiesBuffer
+ * Signature: (J[JILjava/nio/FloatBuffer;I)V
+ */
+JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniSetBodyVelocitiesBuffer
+  (JNIEnv *, jobject, jlong, jlongArray, jint, jobject, jint);
+
+/*
+ * Class:     com_badlogic_gdx_physics_box2d_World
+ * Method:    jniApplyForcesToCenter
+ * Signature: (J[JI[FZ)V
+ */
+JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniApplyForcesToCenter
+  (JNIEnv *, jobject, jlong, jlongArray, jint, jfloatArray, jboolean);
+
+/*
+ * Class:     com_badlogic_gdx_physics_box2d_World
+ * Method:    jniApplyForcesToCenterBuffer
+ * Signature: (J[JILjava/nio/FloatBuffer;IZ)V
+ */
+JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniApplyForcesToCenterBuffer
+  (JNIEnv *, jobject, jlong, jlongArray, jint, jobject, jint, jboolean);
+
 /*
  * Class:     com_badlogic_gdx_physics_box2d_World
  * Method:    jniGetContactList
@@ -271,6 +347,14 @@ JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniQueryAABB
 JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniGetContactList
   (JNIEnv *, jobject, jlong, jlongArray);
 
+/*
+ * Class:     com_badlogic_gdx_physics_box2d_World
+ * Method:    jniDisposeContactEvents
+ * Signature: (J)V
+ */
+JNIEXPORT void JNICALL Java_com_badlogic_gdx_physics_box2d_World_jniDisposeContactEvents
+  (JNIEnv *, jobject, jlong);
+
 /*
  * Class:     com_badlogic_gdx_physics_box2d_World
  * Method:    jniDispose
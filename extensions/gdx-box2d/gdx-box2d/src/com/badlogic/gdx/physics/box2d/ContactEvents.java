@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.physics.box2d;
+
+import java.util.Arrays;
+
+/** Contact events recorded by {@link World#step(float, int, int)} when set with {@link World#setContactEvents(ContactEvents)},
+ * instead of calling the {@link ContactListener} for every contact. The events of each step are appended in packed arrays, call
+ * {@link #clear()} after handling them.
+ * <p>
+ * Each event has a type, the two fixtures and {@link #DATA_SIZE} floats: the world normal pointing from fixture A to fixture B
+ * on x and y, the average world contact point on x and y, the sum of the normal impulses and the sum of the tangent impulses.
+ * The normal and point are 0 if the fixtures don't touch, the impulses are only set for {@link #POST_SOLVE} events. */
+public class ContactEvents {
+	/** Two fixtures began to touch, see {@link ContactListener#beginContact(Contact)}. */
+	public static final int BEGIN = 0;
+	/** Two fixtures ceased to touch, see {@link ContactListener#endContact(Contact)}. */
+	public static final int END = 1;
+	/** The solver finished a touching contact, see {@link ContactListener#postSolve(Contact, ContactImpulse)}. */
+	public static final int POST_SOLVE = 2;
+	/** The number of floats per event in {@link #getData()}. */
+	public static final int DATA_SIZE = 6;
+
+	/** Whether to record a {@link #POST_SOLVE} event for every touching contact in every step. */
+	public boolean recordImpulses = true;
+	/** Whether to call {@link ContactListener#preSolve(Contact, Manifold)} of the contact listener of the world during the step,
+	 * the only callback made while recording events. */
+	public boolean preSolve = false;
+
+	int size;
+	int[] types = new int[16];
+	Fixture[] fixtures = new Fixture[32];
+	float[] data = new float[16 * DATA_SIZE];
+	/** The fixture addresses copied from the native world, resolved to {@link #fixtures} */
+	long[] addrs = new long[32];
+
+	/** Makes room for the given number of additional events. */
+	void ensureCapacity (int additional) {
+		final int needed = size + additional;
+		if (needed <= types.length) return;
+		final int capacity = Math.max(needed, types.length * 2);
+		int[] newTypes = new int[capacity];
+		System.arraycopy(types, 0, newTypes, 0, size);
+		types = newTypes;
+		Fixture[] newFixtures = new Fixture[capacity * 2];
+		System.arraycopy(fixtures, 0, newFixtures, 0, size * 2);
+		fixtures = newFixtures;
+		float[] newData = new float[capacity * DATA_SIZE];
+		System.arraycopy(data, 0, newData, 0, size * DATA_SIZE);
+		data = newData;
+		addrs = new long[capacity * 2];
+	}
+
+	/** Appends an event, used by worlds which don't record the events in native code. */
+	void add (int type, Fixture fixtureA, Fixture fixtureB, float normalX, float normalY, float pointX, float pointY,
+		float normalImpulse, float tangentImpulse) {
+		ensureCapacity(1);
+		final int i = size++;
+		types[i] = type;
+		fixtures[i * 2] = fixtureA;
+		fixtures[i * 2 + 1] = fixtureB;
+		final float[] data = this.data;
+		final int o = i * DATA_SIZE;
+		data[o] = normalX;
+		data[o + 1] = normalY;
+		data[o + 2] = pointX;
+		data[o + 3] = pointY;
+		data[o + 4] = normalImpulse;
+		data[o + 5] = tangentImpulse;
+	}
+
+	/** Removes all events, clearing the references to the fixtures. */
+	public void clear () {
+		Arrays.fill(fixtures, 0, size * 2, null);
+		size = 0;
+	}
+
+	/** @return the number of events recorded since the last {@link #clear()} */
+	public int size () {
+		return size;
+	}
+
+	/** @return {@link #BEGIN}, {@link #END} or {@link #POST_SOLVE} */
+	public int getType (int event) {
+		return types[event];
+	}
+
+	public Fixture getFixtureA (int event) {
+		return fixtures[event * 2];
+	}
+
+	public Fixture getFixtureB (int event) {
+		return fixtures[event * 2 + 1];
+	}
+
+	public float getNormalX (int event) {
+		return data[event * DATA_SIZE];
+	}
+
+	public float getNormalY (int event) {
+		return data[event * DATA_SIZE + 1];
+	}
+
+	public float getPointX (int event) {
+		return data[event * DATA_SIZE + 2];
+	}
+
+	public float getPointY (int event) {
+		return data[event * DATA_SIZE + 3];
+	}
+
+	public float getNormalImpulse (int event) {
+		return data[event * DATA_SIZE + 4];
+	}
+
+	public float getTangentImpulse (int event) {
+		return data[event * DATA_SIZE + 5];
+	}
+
+	/** @return the types of the events, valid up to {@link #size()} */
+	public int[] getTypes () {
+		return types;
+	}
+
+	/** @return fixture A and B of each event, valid up to twice the {@link #size()} */
+	public Fixture[] getFixtures () {
+		return fixtures;
+	}
+
+	/** @return {@link #DATA_SIZE} floats per event, valid up to {@link #DATA_SIZE} times the {@link #size()} */
+	public float[] getData () {
+		return data;
+	}
+}
@@ -16,6 +16,7 @@
 
 package com.badlogic.gdx.physics.box2d;
 
+import java.nio.FloatBuffer;
 import java.util.Iterator;
 
 import com.badlogic.gdx.math.Vector2;
@@ -47,6 +48,7 @@ import com.badlogic.gdx.utils.Disposable;
 import com.badlogic.gdx.utils.LongMap;
 import com.badlogic.gdx.utils.Pool;
 import com.badlogic.gdx.utils.SharedLibraryLoader;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
 
 /** The world class manages all physics entities, dynamic simulation, and asynchronous queries. The world also contains efficient
  * memory management facilities.
@@ -55,6 +57,8 @@ public final class World implements Disposable {
 	// @off
 	/*JNI
 #include <Box2D/Box2D.h>
+#include <stdlib.h>
+#include <string.h>
 
 static jclass worldClass = 0;
 static jmethodID shouldCollideID = 0;
@@ -149,6 +153,103 @@ public:
 		}
 };
 
+class BufferedContactListener: public b2ContactListener
+{
+public:
+	JNIEnv* env;
+	jobject obj;
+	bool recordImpulses;
+	bool preSolve;
+	int size;
+	int capacity;
+	int* types;
+	b2Fixture** fixtures;
+	float* data;
+
+	BufferedContactListener(): env(0), obj(0), recordImpulses(true), preSolve(false), size(0), capacity(0), types(0), fixtures(0), data(0)
+	{
+	}
+
+	~BufferedContactListener()
+	{
+		free(types);
+		free(fixtures);
+		free(data);
+	}
+
+	void add(int type, b2Contact* contact, const b2ContactImpulse* impulse)
+	{
+		if( size == capacity )
+		{
+			capacity = capacity == 0 ? 256 : capacity * 2;
+			types = (int*)realloc(types, capacity * sizeof(int));
+			fixtures = (b2Fixture**)realloc(fixtures, capacity * 2 * sizeof(b2Fixture*));
+			data = (float*)realloc(data, capacity * 6 * sizeof(float));
+		}
+		types[size] = type;
+		fixtures[size * 2] = contact->GetFixtureA();
+		fixtures[size * 2 + 1] = contact->GetFixtureB();
+		float* d = data + size * 6;
+		memset(d, 0, 6 * sizeof(float));
+		int32 pointCount = contact->GetManifold()->pointCount;
+		if( pointCount > 0 )
+		{
+			b2WorldManifold worldManifold;
+			contact->GetWorldManifold(&worldManifold);
+			d[0] = worldManifold.normal.x;
+			d[1] = worldManifold.normal.y;
+			for( int32 i = 0; i < pointCount; i++ )
+			{
+				d[2] += worldManifold.points[i].x / pointCount;
+				d[3] += worldManifold.points[i].y / pointCount;
+			}
+		}
+		if( impulse != 0 )
+		{
+			for( int32 i = 0; i < impulse->count; i++ )
+			{
+				d[4] += impulse->normalImpulses[i];
+				d[5] += impulse->tangentImpulses[i];
+			}
+		}
+		size++;
+	}
+
+	virtual void BeginContact(b2Contact* contact)
+	{
+		add(0, contact, 0);
+	}
+
+	virtual void EndContact(b2Contact* contact)
+	{
+		add(1, contact, 0);
+	}
+
+	virtual void PreSolve(b2Contact* contact, const b2Manifold* oldManifold)
+	{
+		if( preSolve && preSolveID != 0 )
+			env->CallVoidMethod(obj, preSolveID, (jlong)contact, (jlong)oldManifold);
+	}
+
+	virtual void PostSolve(b2Contact* contact, const b2ContactImpulse* impulse)
+	{
+		if( recordImpulses )
+			add(2, contact, impulse);
+	}
+};
+
+inline BufferedContactListener* beginContactEvents( JNIEnv* env, jobject obj, jlong eventsAddr )
+{
+	BufferedContactListener* listener = (BufferedContactListener*)eventsAddr;
+	if( listener != 0 )
+	{
+		listener->env = env;
+		listener->obj = obj;
+		listener->size = 0;
+	}
+	return listener;
+}
+
 class CustomQueryCallback: public b2QueryCallback
 {
 private:
@@ -221,6 +322,10 @@ b2ContactFilter defaultFilter;
 	/** Contact listener **/
 	protected ContactListener contactListener = null;
 
+	/** Recorded contact events, replacing the contact listener if set **/
+	protected ContactEvents contactEvents = null;
+	private long contactEventsAddr;
+
 	/** Construct a world object.
 	 * @param gravity the world gravity vector.
 	 * @param doSleep improve performance by not simulating inactive bodies. */
@@ -274,6 +379,35 @@ b2ContactFilter defaultFilter;
 		this.contactListener = listener;
 	}
 
+	/** Records the contact events of each step in the given events instead of calling the {@link ContactListener}, avoiding a call
+	 * from native code to Java for every contact. Only {@link ContactListener#preSolve(Contact, Manifold)} is still called, if
+	 * enabled with {@link ContactEvents#preSolve}.
+	 * <p>
+	 * Destroying or deactivating a body and destroying a fixture record the {@link ContactEvents#END} events of their contacts as
+	 * well. The fixtures of these events are already destroyed when the events are handled.
+	 * @param events the events to append to, null to call the contact listener again */
+	public void setContactEvents (ContactEvents events) {
+		this.contactEvents = events;
+		if (events != null && contactEventsAddr == 0) contactEventsAddr = jniNewContactEvents();
+	}
+
+	/** @return the events set with {@link #setContactEvents(ContactEvents)} or null */
+	public ContactEvents getContactEvents () {
+		return contactEvents;
+	}
+
+	/** Solves the islands of each step in parallel on the executor with the pure Java world of gdx-box2d-java, see its
+	 * documentation.
+	 * <p>
+	 * Does nothing on the native world, which always solves the islands on the calling thread. It only exists so the same code
+	 * runs on both backends. */
+	public void setIslandExecutor (AsyncExecutor executor, int tasks) {
+	}
+
+	private native long jniNewContactEvents (); /*
+		return (jlong)new BufferedContactListener();
+	*/
+
 	/** Create a rigid body given a definition. No reference to the definition is retained.
 	 * Bodies created by this method are pooled internally by the World object.
 	 * They will be freed upon calling {@link World#destroyBody(Body)}
@@ -320,7 +454,7 @@ b2ContactFilter defaultFilter;
 		Array<JointEdge> jointList = body.getJointList();
 		while (jointList.size > 0)
 			destroyJoint(body.getJointList().get(0).joint);
-		jniDestroyBody(addr, body.addr);
+		readContactEvents(jniDestroyBody(addr, body.addr, contactEvents != null ? contactEventsAddr : 0));
 		body.setUserData(null);
 		this.bodies.remove(body.addr);
 		Array<Fixture> fixtureList = body.getFixtureList();
@@ -333,16 +467,18 @@ b2ContactFilter defaultFilter;
 		freeBodies.free(body);
 	}
 
-	private native void jniDestroyBody (long addr, long bodyAddr); /*
+	private native int jniDestroyBody (long addr, long bodyAddr, long eventsAddr); /*
 		b2World* world = (b2World*)addr;
 		b2Body* body = (b2Body*)bodyAddr;
 		CustomContactFilter contactFilter(env, object);
 		CustomContactListener contactListener(env,object);
 		world->SetContactFilter(&contactFilter);
-		world->SetContactListener(&contactListener);
+		BufferedContactListener* events = beginContactEvents(env, object, eventsAddr);
+		world->SetContactListener(events != 0 ? (b2ContactListener*)events : &contactListener);
 		world->DestroyBody(body);
 		world->SetContactFilter(&defaultFilter);
 		world->SetContactListener(0);
+		return events != 0 ? events->size : 0;
 	*/
 	
 	/** Internal method for fixture destruction with notifying custom
@@ -350,39 +486,43 @@ b2ContactFilter defaultFilter;
 	 * @param body
 	 * @param fixture */
 	void destroyFixture(Body body, Fixture fixture) {
-		jniDestroyFixture(addr, body.addr, fixture.addr);
+		readContactEvents(jniDestroyFixture(addr, body.addr, fixture.addr, contactEvents != null ? contactEventsAddr : 0));
 	}
 	
-	private native void jniDestroyFixture(long addr, long bodyAddr, long fixtureAddr); /*
+	private native int jniDestroyFixture(long addr, long bodyAddr, long fixtureAddr, long eventsAddr); /*
 		b2World* world = (b2World*)(addr);
 		b2Body* body = (b2Body*)(bodyAddr);
 		b2Fixture* fixture = (b2Fixture*)(fixtureAddr);
 		CustomContactFilter contactFilter(env, object);
 		CustomContactListener contactListener(env, object);
 		world->SetContactFilter(&contactFilter);
-		world->SetContactListener(&contactListener);
+		BufferedContactListener* events = beginContactEvents(env, object, eventsAddr);
+		world->SetContactListener(events != 0 ? (b2ContactListener*)events : &contactListener);
 		body->DestroyFixture(fixture);
 		world->SetContactFilter(&defaultFilter);
 		world->SetContactListener(0);
+		return events != 0 ? events->size : 0;
 	*/
 	
 	/** Internal method for body deactivation with notifying custom
 	 * contact listener
 	 * @param body */
 	void deactivateBody(Body body) {
-		jniDeactivateBody(addr, body.addr);
+		readContactEvents(jniDeactivateBody(addr, body.addr, contactEvents != null ? contactEventsAddr : 0));
 	}
 	
-	private native void jniDeactivateBody(long addr, long bodyAddr); /*
+	private native int jniDeactivateBody(long addr, long bodyAddr, long eventsAddr); /*
 		b2World* world = (b2World*)(addr);
 		b2Body* body = (b2Body*)(bodyAddr);	
 		CustomContactFilter contactFilter(env, object);
 		CustomContactListener contactListener(env, object);
 		world->SetContactFilter(&contactFilter);
-		world->SetContactListener(&contactListener);
+		BufferedContactListener* events = beginContactEvents(env, object, eventsAddr);
+		world->SetContactListener(events != 0 ? (b2ContactListener*)events : &contactListener);
 		body->SetActive(false);
 		world->SetContactFilter(&defaultFilter);
 		world->SetContactListener(0);
+		return events != 0 ? events->size : 0;
 	*/
 
 	/** Create a joint to constrain bodies together. No reference to the definition is retained. This may cause the connected bodies
@@ -686,7 +826,27 @@ b2ContactFilter defaultFilter;
 	 * @param velocityIterations for the velocity constraint solver.
 	 * @param positionIterations for the position constraint solver. */
 	public void step (float timeStep, int velocityIterations, int positionIterations) {
-		jniStep(addr, timeStep, velocityIterations, positionIterations);
+		final ContactEvents events = contactEvents;
+		if (events == null) {
+			jniStep(addr, timeStep, velocityIterations, positionIterations);
+			return;
+		}
+		readContactEvents(jniStepRecording(addr, contactEventsAddr, timeStep, velocityIterations, positionIterations,
+			events.recordImpulses, events.preSolve));
+	}
+
+	/** Appends the given number of events recorded by the last native call to the contact events, resolving their fixtures while
+	 * they still exist. */
+	private void readContactEvents (int count) {
+		if (count == 0) return;
+		final ContactEvents events = contactEvents;
+		events.ensureCapacity(count);
+		jniGetContactEvents(contactEventsAddr, events.types, events.addrs, events.data, events.size);
+		final long[] addrs = events.addrs;
+		final Fixture[] fixtures = events.fixtures;
+		for (int i = 0, o = events.size * 2, n = count * 2; i < n; i++)
+			fixtures[o + i] = this.fixtures.get(addrs[i]);
+		events.size += count;
 	}
 
 	private native void jniStep (long addr, float timeStep, int velocityIterations, int positionIterations); /*
@@ -700,6 +860,31 @@ b2ContactFilter defaultFilter;
 		world->SetContactListener(0);
 	*/
 
+	private native int jniStepRecording (long addr, long eventsAddr, float timeStep, int velocityIterations,
+		int positionIterations, boolean recordImpulses, boolean preSolve); /*
+		b2World* world = (b2World*)addr;
+		BufferedContactListener* listener = beginContactEvents(env, object, eventsAddr);
+		listener->recordImpulses = recordImpulses;
+		listener->preSolve = preSolve;
+		CustomContactFilter contactFilter(env, object);
+		world->SetContactFilter(&contactFilter);
+		world->SetContactListener(listener);
+		world->Step( timeStep, velocityIterations, positionIterations );
+		world->SetContactFilter(&defaultFilter);
+		world->SetContactListener(0);
+		return listener->size;
+	*/
+
+	/** Copies the events of the last step, the fixture addresses start at 0, the types and data at the given event offset */
+	private native void jniGetContactEvents (long eventsAddr, int[] types, long[] fixtures, float[] data, int offset); /*
+		BufferedContactListener* listener = (BufferedContactListener*)eventsAddr;
+		int size = listener->size;
+		memcpy(types + offset, listener->types, size * sizeof(int));
+		memcpy(data + offset * 6, listener->data, size * 6 * sizeof(float));
+		for( int i = 0; i < size * 2; i++ )
+			fixtures[i] = (long long)listener->fixtures[i];
+	*/
+
 	/** Manually clear the force buffer on all bodies. By default, forces are cleared automatically after each call to Step. The
 	 * default behavior is modified by calling SetAutoClearForces. The purpose of this function is to support sub-stepping.
 	 * Sub-stepping is often used to maintain a fixed sized time step under a variable frame-rate. When you perform sub-stepping
@@ -935,6 +1120,153 @@ b2ContactFilter defaultFilter;
 		}
 	}
 
+	/** The number of floats per body written by {@link #getBodyStates(Array, float[])}: the position of the origin on x and y, the
+	 * angle in radians, the linear velocity of the center of mass on x and y and the angular velocity. */
+	public static final int BODY_STATE_SIZE = 6;
+	/** The number of floats per body read by {@link #setBodyVelocities(Array, float[])} and
+	 * {@link #applyForcesToCenter(Array, float[], boolean)}: the linear component on x and y and the angular component. */
+	public static final int BODY_VECTOR_SIZE = 3;
+
+	private long[] bodyAddrs = new long[0];
+
+	/** @return the addresses of the bodies, in a reused array */
+	private long[] getBodyAddrs (Array<Body> bodies) {
+		final int n = bodies.size;
+		if (bodyAddrs.length < n) bodyAddrs = new long[Math.max(n, bodyAddrs.length * 2)];
+		final long[] addrs = bodyAddrs;
+		for (int i = 0; i < n; i++)
+			addrs[i] = bodies.get(i).addr;
+		return addrs;
+	}
+
+	private static void checkSize (Array<Body> bodies, int size, int available) {
+		if (available < bodies.size * size)
+			throw new IllegalArgumentException("Need " + bodies.size * size + " floats for " + bodies.size + " bodies: " + available);
+	}
+
+	/** The native code accesses the buffer through its address, so it must be direct. */
+	private static void checkBuffer (Array<Body> bodies, int size, FloatBuffer buffer) {
+		if (!buffer.isDirect()) throw new IllegalArgumentException("buffer must be direct");
+		checkSize(bodies, size, buffer.remaining());
+	}
+
+	/** Copies the state of the bodies to the array with a single native call, {@link #BODY_STATE_SIZE} floats per body in the
+	 * order of the bodies. Use after {@link #step(float, int, int)} instead of calling {@link Body#getPosition()},
+	 * {@link Body#getAngle()} and {@link Body#getLinearVelocity()} for every body.
+	 * @param bodies the bodies of this world, for example all bodies as returned by {@link #getBodies(Array)} */
+	public void getBodyStates (Array<Body> bodies, float[] states) {
+		checkSize(bodies, BODY_STATE_SIZE, states.length);
+		jniGetBodyStates(addr, getBodyAddrs(bodies), bodies.size, states);
+	}
+
+	/** Like {@link #getBodyStates(Array, float[])}, writing to a direct buffer starting at its position. The position of the buffer
+	 * is not changed. */
+	public void getBodyStates (Array<Body> bodies, FloatBuffer states) {
+		checkBuffer(bodies, BODY_STATE_SIZE, states);
+		jniGetBodyStatesBuffer(addr, getBodyAddrs(bodies), bodies.size, states, states.position());
+	}
+
+	private native void jniGetBodyStates (long addr, long[] bodies, int count, float[] states); /*
+		for (int i = 0; i < count; i++) {
+			b2Body* body = (b2Body*)bodies[i];
+			const b2Vec2& p = body->GetPosition();
+			const b2Vec2& v = body->GetLinearVelocity();
+			float* state = states + i * 6;
+			state[0] = p.x;
+			state[1] = p.y;
+			state[2] = body->GetAngle();
+			state[3] = v.x;
+			state[4] = v.y;
+			state[5] = body->GetAngularVelocity();
+		}
+	*/
+
+	private native void jniGetBodyStatesBuffer (long addr, long[] bodies, int count, FloatBuffer states, int offset); /*
+		for (int i = 0; i < count; i++) {
+			b2Body* body = (b2Body*)bodies[i];
+			const b2Vec2& p = body->GetPosition();
+			const b2Vec2& v = body->GetLinearVelocity();
+			float* state = states + offset + i * 6;
+			state[0] = p.x;
+			state[1] = p.y;
+			state[2] = body->GetAngle();
+			state[3] = v.x;
+			state[4] = v.y;
+			state[5] = body->GetAngularVelocity();
+		}
+	*/
+
+	/** Sets the linear and angular velocities of the bodies with a single native call, {@link #BODY_VECTOR_SIZE} floats per body
+	 * in the order of the bodies.
+	 * @see Body#setLinearVelocity(float, float)
+	 * @see Body#setAngularVelocity(float) */
+	public void setBodyVelocities (Array<Body> bodies, float[] velocities) {
+		checkSize(bodies, BODY_VECTOR_SIZE, velocities.length);
+		jniSetBodyVelocities(addr, getBodyAddrs(bodies), bodies.size, velocities);
+	}
+
+	/** Like {@link #setBodyVelocities(Array, float[])}, reading from a direct buffer starting at its position. The position of the
+	 * buffer is not changed. */
+	public void setBodyVelocities (Array<Body> bodies, FloatBuffer velocities) {
+		checkBuffer(bodies, BODY_VECTOR_SIZE, velocities);
+		jniSetBodyVelocitiesBuffer(addr, getBodyAddrs(bodies), bodies.size, velocities, velocities.position());
+	}
+
+	private native void jniSetBodyVelocities (long addr, long[] bodies, int count, float[] velocities); /*
+		for (int i = 0; i < count; i++) {
+			b2Body* body = (b2Body*)bodies[i];
+			const float* velocity = velocities + i * 3;
+			body->SetLinearVelocity(b2Vec2(velocity[0], velocity[1]));
+			body->SetAngularVelocity(velocity[2]);
+		}
+	*/
+
+	private native void jniSetBodyVelocitiesBuffer (long addr, long[] bodies, int count, FloatBuffer velocities, int offset); /*
+		for (int i = 0; i < count; i++) {
+			b2Body* body = (b2Body*)bodies[i];
+			const float* velocity = velocities + offset + i * 3;
+			body->SetLinearVelocity(b2Vec2(velocity[0], velocity[1]));
+			body->SetAngularVelocity(velocity[2]);
+		}
+	*/
+
+	/** Applies a force to the center of mass and a torque to each body with a single native call, {@link #BODY_VECTOR_SIZE} floats
+	 * per body in the order of the bodies. Bodies with a zero force and torque are skipped, so they are not woken up.
+	 * @see Body#applyForceToCenter(float, float, boolean)
+	 * @see Body#applyTorque(float, boolean) */
+	public void applyForcesToCenter (Array<Body> bodies, float[] forces, boolean wake) {
+		checkSize(bodies, BODY_VECTOR_SIZE, forces.length);
+		jniApplyForcesToCenter(addr, getBodyAddrs(bodies), bodies.size, forces, wake);
+	}
+
+	/** Like {@link #applyForcesToCenter(Array, float[], boolean)}, reading from a direct buffer starting at its position. The
+	 * position of the buffer is not changed. */
+	public void applyForcesToCenter (Array<Body> bodies, FloatBuffer forces, boolean wake) {
+		checkBuffer(bodies, BODY_VECTOR_SIZE, forces);
+		jniApplyForcesToCenterBuffer(addr, getBodyAddrs(bodies), bodies.size, forces, forces.position(), wake);
+	}
+
+	private native void jniApplyForcesToCenter (long addr, long[] bodies, int count, float[] forces, boolean wake); /*
+		for (int i = 0; i < count; i++) {
+			const float* force = forces + i * 3;
+			if (force[0] == 0 && force[1] == 0 && force[2] == 0) continue;
+			b2Body* body = (b2Body*)bodies[i];
+			body->ApplyForceToCenter(b2Vec2(force[0], force[1]), wake);
+			body->ApplyTorque(force[2], wake);
+		}
+	*/
+
+	private native void jniApplyForcesToCenterBuffer (long addr, long[] bodies, int count, FloatBuffer forces, int offset,
+		boolean wake); /*
+		for (int i = 0; i < count; i++) {
+			const float* force = forces + offset + i * 3;
+			if (force[0] == 0 && force[1] == 0 && force[2] == 0) continue;
+			b2Body* body = (b2Body*)bodies[i];
+			body->ApplyForceToCenter(b2Vec2(force[0], force[1]), wake);
+			body->ApplyTorque(force[2], wake);
+		}
+	*/
+
 	private native void jniGetContactList (long addr, long[] contacts); /*
 		b2World* world = (b2World*)addr;
 	
@@ -948,9 +1280,14 @@ b2ContactFilter defaultFilter;
 	*/
 
 	public void dispose () {
+		if (contactEventsAddr != 0) jniDisposeContactEvents(contactEventsAddr);
 		jniDispose(addr);
 	}
 
+	private native void jniDisposeContactEvents (long eventsAddr); /*
+		delete (BufferedContactListener*)eventsAddr;
+	*/
+
 	private native void jniDispose (long addr); /*
 		b2World* world = (b2World*)(addr);
 		delete world;
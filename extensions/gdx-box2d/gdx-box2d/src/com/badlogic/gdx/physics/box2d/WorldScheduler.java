@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.physics.box2d;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.StepScheduler;
+
+/** Steps many independent {@link World} instances with fixed time steps on an {@link AsyncExecutor}, see {@link StepScheduler}.
+ * <p>
+ * The contact listeners of the worlds would be called on the threads of the executor, so every world added without
+ * {@link ContactEvents} gets its own. The events of all steps of an update are available in the
+ * {@link StepScheduler.StepListener} of the entry, called on the thread calling {@link #update(float)}, and are cleared at the
+ * start of the next update. */
+public class WorldScheduler extends StepScheduler<World> {
+	public int velocityIterations = 8, positionIterations = 3;
+
+	/** @param executor runs all tasks but the first, null to step all worlds on the calling thread
+	 * @param tasks the number of tasks the worlds are split in, usually the number of threads of the executor plus one */
+	public WorldScheduler (AsyncExecutor executor, int tasks) {
+		super(executor, tasks);
+	}
+
+	@Override
+	public Entry<World> add (World world, float timeStep, int maxSteps) {
+		if (world.getContactEvents() == null) world.setContactEvents(new ContactEvents());
+		return super.add(world, timeStep, maxSteps);
+	}
+
+	@Override
+	public void update (float delta) {
+		final Array<Entry<World>> entries = getEntries();
+		for (int i = 0, n = entries.size; i < n; i++) {
+			final ContactEvents events = entries.get(i).world.getContactEvents();
+			if (events != null) events.clear();
+		}
+		super.update(delta);
+	}
+
+	@Override
+	protected void step (World world, float timeStep) {
+		world.step(timeStep, velocityIterations, positionIterations);
+	}
+}
@@ -160,9 +160,13 @@ LOCAL_SRC_FILES := memcpy_wrap.c\
 	src/custom/gdx/collision/ContactCache.cpp\
 	src/custom/gdx/collision/ContactListener.cpp\
 	src/custom/gdx/collision/GdxCollisionObjectBridge.cpp\
+	src/custom/gdx/collision/btCollisionDispatcherMt.cpp\
 	src/custom/gdx/common/jniHelpers.cpp\
 	src/custom/gdx/dynamics/FilterableVehicleRaycaster.cpp\
 	src/custom/gdx/dynamics/InternalTickCallback.cpp\
+	src/custom/gdx/dynamics/btConstraintSolverPoolMt.cpp\
+	src/custom/gdx/dynamics/btDiscreteDynamicsWorldMt.cpp\
+	src/custom/gdx/linearmath/btThreads.cpp\
 	src/custom/gdx/linearmath/mathtypes.cpp\
 	src/extras/Serialize/BulletFileLoader/bChunk.cpp\
 	src/extras/Serialize/BulletFileLoader/bDNA.cpp\
@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+#include "btCollisionDispatcherMt.h"
+#include "../../../bullet/BulletCollision/BroadphaseCollision/btOverlappingPairCache.h"
+#include "../../../bullet/BulletCollision/CollisionDispatch/btManifoldResult.h"
+
+btCollisionDispatcherMt::btCollisionDispatcherMt(btCollisionConfiguration *collisionConfiguration, int grainSize)
+	: btCollisionDispatcher(collisionConfiguration), m_grainSize(grainSize)
+{}
+
+btPersistentManifold *btCollisionDispatcherMt::getNewManifold(const btCollisionObject *b0, const btCollisionObject *b1) {
+	m_poolLock.lock();
+	btPersistentManifold *manifold = btCollisionDispatcher::getNewManifold(b0, b1);
+	m_poolLock.unlock();
+	return manifold;
+}
+
+void btCollisionDispatcherMt::releaseManifold(btPersistentManifold *manifold) {
+	m_poolLock.lock();
+	btCollisionDispatcher::releaseManifold(manifold);
+	m_poolLock.unlock();
+}
+
+void *btCollisionDispatcherMt::allocateCollisionAlgorithm(int size) {
+	m_poolLock.lock();
+	void *ptr = btCollisionDispatcher::allocateCollisionAlgorithm(size);
+	m_poolLock.unlock();
+	return ptr;
+}
+
+void btCollisionDispatcherMt::freeCollisionAlgorithm(void *ptr) {
+	m_poolLock.lock();
+	btCollisionDispatcher::freeCollisionAlgorithm(ptr);
+	m_poolLock.unlock();
+}
+
+struct btCollisionDispatcherMtUpdater : public btIParallelForBody {
+	btBroadphasePair *m_pairs;
+	btCollisionDispatcherMt *m_dispatcher;
+	const btDispatcherInfo *m_info;
+
+	btCollisionDispatcherMtUpdater(btBroadphasePair *pairs, btCollisionDispatcherMt *dispatcher, const btDispatcherInfo *info)
+		: m_pairs(pairs), m_dispatcher(dispatcher), m_info(info)
+	{}
+
+	virtual void forLoop(int iBegin, int iEnd) const {
+		btNearCallback callback = m_dispatcher->getNearCallback();
+		for (int i = iBegin; i < iEnd; i++)
+			(*callback)(m_pairs[i], *m_dispatcher, *m_info);
+	}
+};
+
+void btCollisionDispatcherMt::dispatchAllCollisionPairs(btOverlappingPairCache *pairCache, const btDispatcherInfo &dispatchInfo, btDispatcher *dispatcher) {
+	const int pairCount = pairCache->getNumOverlappingPairs();
+	// Continuous queries write the time of impact to the shared dispatch info and contact callbacks may call into Java
+	if (pairCount == 0 || dispatchInfo.m_dispatchFunc != btDispatcherInfo::DISPATCH_DISCRETE || gContactAddedCallback
+		|| gContactProcessedCallback || gContactStartedCallback || gContactEndedCallback || gContactDestroyedCallback) {
+		btCollisionDispatcher::dispatchAllCollisionPairs(pairCache, dispatchInfo, dispatcher);
+		return;
+	}
+	btCollisionDispatcherMtUpdater updater(&pairCache->getOverlappingPairArray()[0], this, &dispatchInfo);
+	btParallelFor(0, pairCount, m_grainSize, updater);
+}
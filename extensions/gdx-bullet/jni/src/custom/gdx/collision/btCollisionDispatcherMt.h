@@ -0,0 +1,47 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+#ifndef BT_COLLISION_DISPATCHER_MT_H
+#define BT_COLLISION_DISPATCHER_MT_H
+
+#include "../../../bullet/BulletCollision/CollisionDispatch/btCollisionDispatcher.h"
+#include "../linearmath/btThreads.h"
+
+/** Runs the narrowphase of the overlapping pairs on the task scheduler, grainSize pairs per task. The manifold and algorithm
+ * pools are guarded by a mutex. The pairs are processed on the calling thread while a contact callback, such as a
+ * ContactListener, is registered, since those may call into Java. */
+class btCollisionDispatcherMt : public btCollisionDispatcher {
+protected:
+	int m_grainSize;
+#ifndef SWIG
+	btMutex m_poolLock;
+#endif
+public:
+	btCollisionDispatcherMt(btCollisionConfiguration *collisionConfiguration, int grainSize = 40);
+
+#ifndef SWIG
+	virtual btPersistentManifold *getNewManifold(const btCollisionObject *b0, const btCollisionObject *b1);
+	virtual void releaseManifold(btPersistentManifold *manifold);
+	virtual void *allocateCollisionAlgorithm(int size);
+	virtual void freeCollisionAlgorithm(void *ptr);
+	virtual void dispatchAllCollisionPairs(btOverlappingPairCache *pairCache, const btDispatcherInfo &dispatchInfo, btDispatcher *dispatcher);
+#endif
+
+	int getGrainSize() const { return m_grainSize; }
+	void setGrainSize(int grainSize) { m_grainSize = grainSize; }
+};
+
+#endif // BT_COLLISION_DISPATCHER_MT_H
@@ -0,0 +1,60 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+#include "btConstraintSolverPoolMt.h"
+
+btConstraintSolverPoolMt::btConstraintSolverPoolMt(int numSolvers) {
+	m_numSolvers = btMax(1, numSolvers);
+	m_solvers = new ThreadSolver[m_numSolvers];
+	for (int i = 0; i < m_numSolvers; i++)
+		m_solvers[i].solver = new btSequentialImpulseConstraintSolver();
+	m_solverType = m_solvers[0].solver->getSolverType();
+}
+
+btConstraintSolverPoolMt::~btConstraintSolverPoolMt() {
+	for (int i = 0; i < m_numSolvers; i++)
+		delete m_solvers[i].solver;
+	delete[] m_solvers;
+}
+
+btConstraintSolverPoolMt::ThreadSolver *btConstraintSolverPoolMt::getAndLockThreadSolver() {
+	for (;;) {
+		for (int i = 0; i < m_numSolvers; i++)
+			if (m_solvers[i].lock.tryLock()) return &m_solvers[i];
+	}
+}
+
+void btConstraintSolverPoolMt::prepareSolve(int numBodies, int numManifolds) {
+	for (int i = 0; i < m_numSolvers; i++)
+		m_solvers[i].solver->prepareSolve(numBodies, numManifolds);
+}
+
+btScalar btConstraintSolverPoolMt::solveGroup(btCollisionObject **bodies, int numBodies, btPersistentManifold **manifolds, int numManifolds, btTypedConstraint **constraints, int numConstraints, const btContactSolverInfo &info, btIDebugDraw *debugDrawer, btDispatcher *dispatcher) {
+	ThreadSolver *ts = getAndLockThreadSolver();
+	ts->solver->solveGroup(bodies, numBodies, manifolds, numManifolds, constraints, numConstraints, info, debugDrawer, dispatcher);
+	ts->lock.unlock();
+	return 0;
+}
+
+void btConstraintSolverPoolMt::allSolved(const btContactSolverInfo &info, btIDebugDraw *debugDrawer) {
+	for (int i = 0; i < m_numSolvers; i++)
+		m_solvers[i].solver->allSolved(info, debugDrawer);
+}
+
+void btConstraintSolverPoolMt::reset() {
+	for (int i = 0; i < m_numSolvers; i++)
+		m_solvers[i].solver->reset();
+}
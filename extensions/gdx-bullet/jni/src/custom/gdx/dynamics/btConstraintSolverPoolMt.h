@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+#ifndef BT_CONSTRAINT_SOLVER_POOL_MT_H
+#define BT_CONSTRAINT_SOLVER_POOL_MT_H
+
+#include "../../../bullet/BulletDynamics/ConstraintSolver/btConstraintSolver.h"
+#include "../../../bullet/BulletDynamics/ConstraintSolver/btSequentialImpulseConstraintSolver.h"
+#include "../../../bullet/LinearMath/btAlignedObjectArray.h"
+#include "../linearmath/btThreads.h"
+
+/** A constraint solver which can solve multiple islands at once, each solveGroup call locks one of its
+ * btSequentialImpulseConstraintSolver instances. Use about as many solvers as the task scheduler has threads. */
+class btConstraintSolverPoolMt : public btConstraintSolver {
+#ifndef SWIG
+	struct ThreadSolver {
+		btConstraintSolver *solver;
+		btMutex lock;
+	};
+	ThreadSolver *m_solvers;
+	int m_numSolvers;
+	btConstraintSolverType m_solverType;
+
+	ThreadSolver *getAndLockThreadSolver();
+#endif
+public:
+	btConstraintSolverPoolMt(int numSolvers);
+	virtual ~btConstraintSolverPoolMt();
+
+#ifndef SWIG
+	virtual void prepareSolve(int numBodies, int numManifolds);
+	virtual btScalar solveGroup(btCollisionObject **bodies, int numBodies, btPersistentManifold **manifolds, int numManifolds, btTypedConstraint **constraints, int numConstraints, const btContactSolverInfo &info, btIDebugDraw *debugDrawer, btDispatcher *dispatcher);
+	virtual void allSolved(const btContactSolverInfo &info, btIDebugDraw *debugDrawer);
+	virtual void reset();
+	virtual btConstraintSolverType getSolverType() const { return m_solverType; }
+#endif
+
+	int getNumSolvers() const { return m_numSolvers; }
+};
+
+#endif // BT_CONSTRAINT_SOLVER_POOL_MT_H
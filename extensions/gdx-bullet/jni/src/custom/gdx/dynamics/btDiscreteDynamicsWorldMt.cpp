@@ -0,0 +1,171 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+#include "btDiscreteDynamicsWorldMt.h"
+#include "../../../bullet/BulletCollision/CollisionDispatch/btSimulationIslandManager.h"
+#include "../../../bullet/BulletDynamics/ConstraintSolver/btTypedConstraint.h"
+#include "../../../bullet/BulletDynamics/Dynamics/btRigidBody.h"
+
+typedef btDiscreteDynamicsWorldMt::Island btIslandMt;
+
+static inline int btGetConstraintIslandIdMt(const btTypedConstraint *constraint) {
+	const btCollisionObject &rcolObj0 = constraint->getRigidBodyA();
+	const btCollisionObject &rcolObj1 = constraint->getRigidBodyB();
+	return rcolObj0.getIslandTag() >= 0 ? rcolObj0.getIslandTag() : rcolObj1.getIslandTag();
+}
+
+struct btSortConstraintOnIslandPredicateMt {
+	bool operator() (const btTypedConstraint *lhs, const btTypedConstraint *rhs) const {
+		return btGetConstraintIslandIdMt(lhs) < btGetConstraintIslandIdMt(rhs);
+	}
+};
+
+/** Sorts the islands with the most manifolds and constraints first, so the largest ones don't end up last in a task. */
+struct btSortIslandOnSizePredicateMt {
+	const btIslandMt *m_islands;
+	btSortIslandOnSizePredicateMt(const btIslandMt *islands) : m_islands(islands) {}
+	bool operator() (int lhs, int rhs) const {
+		return m_islands[lhs].numManifolds + m_islands[lhs].numConstraints
+			> m_islands[rhs].numManifolds + m_islands[rhs].numConstraints;
+	}
+};
+
+/** Copies the islands instead of solving them, the island manager reuses its body array for every island. */
+struct btGatherIslandCallbackMt : public btSimulationIslandManager::IslandCallback {
+	btAlignedObjectArray<btIslandMt> &m_islands;
+	btAlignedObjectArray<btCollisionObject *> &m_bodies;
+	btTypedConstraint **m_sortedConstraints;
+	int m_numConstraints;
+	int m_constraintIndex;
+
+	btGatherIslandCallbackMt(btAlignedObjectArray<btIslandMt> &islands, btAlignedObjectArray<btCollisionObject *> &bodies,
+		btTypedConstraint **sortedConstraints, int numConstraints)
+		: m_islands(islands), m_bodies(bodies), m_sortedConstraints(sortedConstraints), m_numConstraints(numConstraints),
+		m_constraintIndex(0)
+	{}
+
+	virtual void processIsland(btCollisionObject **bodies, int numBodies, btPersistentManifold **manifolds, int numManifolds, int islandId) {
+		btIslandMt &island = m_islands.expandNonInitializing();
+		island.bodyBegin = m_bodies.size();
+		island.numBodies = numBodies;
+		for (int i = 0; i < numBodies; i++)
+			m_bodies.push_back(bodies[i]);
+		island.manifolds = manifolds;
+		island.numManifolds = numManifolds;
+		island.shared = false;
+		for (int i = 0; i < numManifolds; i++)
+			if (manifolds[i]->getBody0()->isKinematicObject() || manifolds[i]->getBody1()->isKinematicObject()) island.shared = true;
+
+		// The islands come in increasing order, as do the sorted constraints
+		while (m_constraintIndex < m_numConstraints && btGetConstraintIslandIdMt(m_sortedConstraints[m_constraintIndex]) < islandId)
+			m_constraintIndex++;
+		island.constraints = m_constraintIndex < m_numConstraints ? &m_sortedConstraints[m_constraintIndex] : 0;
+		island.numConstraints = 0;
+		while (m_constraintIndex < m_numConstraints && btGetConstraintIslandIdMt(m_sortedConstraints[m_constraintIndex]) == islandId) {
+			const btTypedConstraint *constraint = m_sortedConstraints[m_constraintIndex++];
+			if (constraint->getRigidBodyA().isKinematicObject() || constraint->getRigidBodyB().isKinematicObject()) island.shared = true;
+			island.numConstraints++;
+		}
+	}
+};
+
+struct btSolveIslandLoopMt : public btIParallelForBody {
+	const btIslandMt *m_islands;
+	const int *m_indices;
+	const btContactSolverInfo *m_solverInfo;
+	btConstraintSolver *m_solver;
+	btIDebugDraw *m_debugDrawer;
+	btDispatcher *m_dispatcher;
+	btCollisionObject **m_bodies;
+
+	btSolveIslandLoopMt(const btIslandMt *islands, const int *indices, btCollisionObject **bodies, const btContactSolverInfo *solverInfo,
+		btConstraintSolver *solver, btIDebugDraw *debugDrawer, btDispatcher *dispatcher)
+		: m_islands(islands), m_indices(indices), m_solverInfo(solverInfo), m_solver(solver), m_debugDrawer(debugDrawer),
+		m_dispatcher(dispatcher), m_bodies(bodies)
+	{}
+
+	void solve(const btIslandMt &island) const {
+		m_solver->solveGroup(&m_bodies[island.bodyBegin], island.numBodies, island.manifolds, island.numManifolds, island.constraints,
+			island.numConstraints, *m_solverInfo, m_debugDrawer, m_dispatcher);
+	}
+
+	virtual void forLoop(int iBegin, int iEnd) const {
+		for (int i = iBegin; i < iEnd; i++)
+			solve(m_islands[m_indices[i]]);
+	}
+};
+
+struct btPredictMotionLoopMt : public btIParallelForBody {
+	btRigidBody **m_bodies;
+	btScalar m_timeStep;
+
+	btPredictMotionLoopMt(btRigidBody **bodies, btScalar timeStep) : m_bodies(bodies), m_timeStep(timeStep) {}
+
+	virtual void forLoop(int iBegin, int iEnd) const {
+		for (int i = iBegin; i < iEnd; i++) {
+			btRigidBody *body = m_bodies[i];
+			if (!body->isStaticOrKinematicObject()) {
+				body->applyDamping(m_timeStep);
+				body->predictIntegratedTransform(m_timeStep, body->getInterpolationWorldTransform());
+			}
+		}
+	}
+};
+
+btDiscreteDynamicsWorldMt::btDiscreteDynamicsWorldMt(btDispatcher *dispatcher, btBroadphaseInterface *pairCache,
+	btConstraintSolverPoolMt *constraintSolver, btCollisionConfiguration *collisionConfiguration)
+	: btDiscreteDynamicsWorld(dispatcher, pairCache, constraintSolver, collisionConfiguration), m_grainSize(64)
+{}
+
+void btDiscreteDynamicsWorldMt::predictUnconstraintMotion(btScalar timeStep) {
+	if (m_nonStaticRigidBodies.size() == 0) return;
+	btPredictMotionLoopMt loop(&m_nonStaticRigidBodies[0], timeStep);
+	btParallelFor(0, m_nonStaticRigidBodies.size(), m_grainSize, loop);
+}
+
+void btDiscreteDynamicsWorldMt::solveConstraints(btContactSolverInfo &solverInfo) {
+	if (!m_islandManager->getSplitIslands()) {
+		btDiscreteDynamicsWorld::solveConstraints(solverInfo);
+		return;
+	}
+
+	m_sortedConstraints.resize(m_constraints.size());
+	for (int i = 0; i < m_constraints.size(); i++)
+		m_sortedConstraints[i] = m_constraints[i];
+	m_sortedConstraints.quickSort(btSortConstraintOnIslandPredicateMt());
+	btTypedConstraint **constraintsPtr = m_sortedConstraints.size() ? &m_sortedConstraints[0] : 0;
+
+	m_islands.resize(0);
+	m_islandBodies.resize(0);
+	btGatherIslandCallbackMt callback(m_islands, m_islandBodies, constraintsPtr, m_sortedConstraints.size());
+	m_constraintSolver->prepareSolve(getCollisionWorld()->getNumCollisionObjects(), getCollisionWorld()->getDispatcher()->getNumManifolds());
+	m_islandManager->buildAndProcessIslands(getCollisionWorld()->getDispatcher(), getCollisionWorld(), &callback);
+
+	if (m_islands.size() > 0) {
+		m_parallelIslands.resize(0);
+		for (int i = 0; i < m_islands.size(); i++)
+			if (!m_islands[i].shared) m_parallelIslands.push_back(i);
+		if (m_parallelIslands.size() > 1) m_parallelIslands.quickSort(btSortIslandOnSizePredicateMt(&m_islands[0]));
+
+		btSolveIslandLoopMt loop(&m_islands[0], m_parallelIslands.size() ? &m_parallelIslands[0] : 0, &m_islandBodies[0], &solverInfo,
+			m_constraintSolver, getDebugDrawer(), getCollisionWorld()->getDispatcher());
+		btParallelFor(0, m_parallelIslands.size(), 1, loop);
+		for (int i = 0; i < m_islands.size(); i++)
+			if (m_islands[i].shared) loop.solve(m_islands[i]);
+	}
+
+	m_constraintSolver->allSolved(solverInfo, m_debugDrawer);
+}
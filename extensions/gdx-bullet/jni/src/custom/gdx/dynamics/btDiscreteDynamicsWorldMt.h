@@ -0,0 +1,57 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+#ifndef BT_DISCRETE_DYNAMICS_WORLD_MT_H
+#define BT_DISCRETE_DYNAMICS_WORLD_MT_H
+
+#include "../../../bullet/BulletDynamics/Dynamics/btDiscreteDynamicsWorld.h"
+#include "btConstraintSolverPoolMt.h"
+
+/** A btDiscreteDynamicsWorld which solves the simulation islands and predicts the motion of the bodies on the task scheduler
+ * set with btSetTaskScheduler. Islands touching a kinematic body are solved on the calling thread afterwards, since the solver
+ * writes to the bodies it shares with other islands. Use a btCollisionDispatcherMt to run the narrowphase in parallel too. */
+ATTRIBUTE_ALIGNED16(class) btDiscreteDynamicsWorldMt : public btDiscreteDynamicsWorld {
+#ifndef SWIG
+public:
+	struct Island {
+		int bodyBegin;
+		int numBodies;
+		btPersistentManifold **manifolds;
+		int numManifolds;
+		btTypedConstraint **constraints;
+		int numConstraints;
+		bool shared;
+	};
+protected:
+	btAlignedObjectArray<Island> m_islands;
+	btAlignedObjectArray<btCollisionObject *> m_islandBodies;
+	btAlignedObjectArray<int> m_parallelIslands;
+	int m_grainSize;
+
+	virtual void predictUnconstraintMotion(btScalar timeStep);
+	virtual void solveConstraints(btContactSolverInfo &solverInfo);
+public:
+	BT_DECLARE_ALIGNED_ALLOCATOR();
+#endif
+public:
+	btDiscreteDynamicsWorldMt(btDispatcher *dispatcher, btBroadphaseInterface *pairCache, btConstraintSolverPoolMt *constraintSolver, btCollisionConfiguration *collisionConfiguration);
+
+	/** @return the number of bodies predicted per task */
+	int getGrainSize() const { return m_grainSize; }
+	void setGrainSize(int grainSize) { m_grainSize = grainSize; }
+};
+
+#endif // BT_DISCRETE_DYNAMICS_WORLD_MT_H
@@ -0,0 +1,303 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+#include "btThreads.h"
+#include "../../../bullet/LinearMath/btMinMax.h"
+
+#ifdef _WIN32
+#include <windows.h>
+#else
+#include <pthread.h>
+#include <unistd.h>
+#endif
+
+////////////////////////////////
+//////// Platform       ////////
+////////////////////////////////
+
+#ifdef _WIN32
+
+btMutex::btMutex() {
+	CRITICAL_SECTION *cs = new CRITICAL_SECTION;
+	InitializeCriticalSection(cs);
+	m_lock = cs;
+}
+
+btMutex::~btMutex() {
+	CRITICAL_SECTION *cs = (CRITICAL_SECTION *)m_lock;
+	DeleteCriticalSection(cs);
+	delete cs;
+}
+
+void btMutex::lock() {
+	EnterCriticalSection((CRITICAL_SECTION *)m_lock);
+}
+
+void btMutex::unlock() {
+	LeaveCriticalSection((CRITICAL_SECTION *)m_lock);
+}
+
+bool btMutex::tryLock() {
+	return TryEnterCriticalSection((CRITICAL_SECTION *)m_lock) != 0;
+}
+
+class btSemaphore {
+	HANDLE m_handle;
+public:
+	btSemaphore() { m_handle = CreateSemaphore(NULL, 0, 0x7fffffff, NULL); }
+	~btSemaphore() { CloseHandle(m_handle); }
+	void post(int count) { ReleaseSemaphore(m_handle, count, NULL); }
+	void wait() { WaitForSingleObject(m_handle, INFINITE); }
+};
+
+typedef HANDLE btThreadHandle;
+
+static DWORD WINAPI btThreadMain(LPVOID arg);
+
+static bool btStartThread(btThreadHandle &handle, void *arg) {
+	handle = CreateThread(NULL, 0, btThreadMain, arg, 0, NULL);
+	return handle != NULL;
+}
+
+static void btJoinThread(btThreadHandle &handle) {
+	WaitForSingleObject(handle, INFINITE);
+	CloseHandle(handle);
+}
+
+static int btGetProcessorCount() {
+	SYSTEM_INFO info;
+	GetSystemInfo(&info);
+	return (int)info.dwNumberOfProcessors;
+}
+
+#else
+
+btMutex::btMutex() {
+	pthread_mutex_t *mutex = new pthread_mutex_t;
+	pthread_mutex_init(mutex, NULL);
+	m_lock = mutex;
+}
+
+btMutex::~btMutex() {
+	pthread_mutex_t *mutex = (pthread_mutex_t *)m_lock;
+	pthread_mutex_destroy(mutex);
+	delete mutex;
+}
+
+void btMutex::lock() {
+	pthread_mutex_lock((pthread_mutex_t *)m_lock);
+}
+
+void btMutex::unlock() {
+	pthread_mutex_unlock((pthread_mutex_t *)m_lock);
+}
+
+bool btMutex::tryLock() {
+	return pthread_mutex_trylock((pthread_mutex_t *)m_lock) == 0;
+}
+
+/** Unnamed POSIX semaphores aren't available on Mac OS X, so this uses a condition variable instead. */
+class btSemaphore {
+	pthread_mutex_t m_mutex;
+	pthread_cond_t m_cond;
+	int m_count;
+public:
+	btSemaphore() : m_count(0) {
+		pthread_mutex_init(&m_mutex, NULL);
+		pthread_cond_init(&m_cond, NULL);
+	}
+	~btSemaphore() {
+		pthread_cond_destroy(&m_cond);
+		pthread_mutex_destroy(&m_mutex);
+	}
+	void post(int count) {
+		pthread_mutex_lock(&m_mutex);
+		m_count += count;
+		pthread_cond_broadcast(&m_cond);
+		pthread_mutex_unlock(&m_mutex);
+	}
+	void wait() {
+		pthread_mutex_lock(&m_mutex);
+		while (m_count == 0)
+			pthread_cond_wait(&m_cond, &m_mutex);
+		m_count--;
+		pthread_mutex_unlock(&m_mutex);
+	}
+};
+
+typedef pthread_t btThreadHandle;
+
+static void *btThreadMain(void *arg);
+
+static bool btStartThread(btThreadHandle &handle, void *arg) {
+	return pthread_create(&handle, NULL, btThreadMain, arg) == 0;
+}
+
+static void btJoinThread(btThreadHandle &handle) {
+	pthread_join(handle, NULL);
+}
+
+static int btGetProcessorCount() {
+	long count = sysconf(_SC_NPROCESSORS_ONLN);
+	return count > 0 ? (int)count : 1;
+}
+
+#endif
+
+////////////////////////////////
+//////// Schedulers     ////////
+////////////////////////////////
+
+class btTaskSchedulerSequential : public btITaskScheduler {
+public:
+	btTaskSchedulerSequential() : btITaskScheduler("Sequential") {}
+	virtual int getMaxNumThreads() const { return 1; }
+	virtual int getNumThreads() const { return 1; }
+	virtual void setNumThreads(int numThreads) {}
+	virtual void parallelFor(int iBegin, int iEnd, int grainSize, const btIParallelForBody &body) {
+		body.forLoop(iBegin, iEnd);
+	}
+};
+
+/** A pool of worker threads waiting on a semaphore. The calling thread takes part in every loop, the chunks are handed out
+ * under a mutex. A loop started while another one runs, from a worker or from another thread, runs on its calling thread. */
+class btTaskSchedulerDefault : public btITaskScheduler {
+	btMutex m_runLock;
+	btMutex m_chunkLock;
+	btSemaphore m_start;
+	btSemaphore m_done;
+	btThreadHandle m_threads[BT_MAX_THREAD_COUNT];
+	int m_maxNumThreads;
+	int m_numThreads;
+	int m_numStarted;
+	bool m_exit;
+
+	const btIParallelForBody *m_body;
+	int m_next;
+	int m_end;
+	int m_grainSize;
+
+	void startThreads() {
+		while (m_numStarted < m_maxNumThreads - 1) {
+			if (!btStartThread(m_threads[m_numStarted], this)) {
+				m_maxNumThreads = m_numStarted + 1;
+				if (m_numThreads > m_maxNumThreads) m_numThreads = m_maxNumThreads;
+				break;
+			}
+			m_numStarted++;
+		}
+	}
+
+public:
+	btTaskSchedulerDefault() : btITaskScheduler("Default"), m_numStarted(0), m_exit(false), m_body(NULL) {
+		m_maxNumThreads = btGetProcessorCount();
+		if (m_maxNumThreads > BT_MAX_THREAD_COUNT) m_maxNumThreads = BT_MAX_THREAD_COUNT;
+		m_numThreads = m_maxNumThreads;
+	}
+
+	virtual ~btTaskSchedulerDefault() {
+		m_runLock.lock();
+		m_exit = true;
+		m_start.post(m_numStarted);
+		for (int i = 0; i < m_numStarted; i++)
+			btJoinThread(m_threads[i]);
+		m_runLock.unlock();
+	}
+
+	virtual int getMaxNumThreads() const { return m_maxNumThreads; }
+	virtual int getNumThreads() const { return m_numThreads; }
+	virtual void setNumThreads(int numThreads) {
+		m_numThreads = btMax(1, btMin(numThreads, m_maxNumThreads));
+	}
+
+	/** Runs chunks of the current loop until none are left. */
+	void runChunks() {
+		for (;;) {
+			m_chunkLock.lock();
+			const int begin = m_next;
+			m_next += m_grainSize;
+			m_chunkLock.unlock();
+			if (begin >= m_end) break;
+			m_body->forLoop(begin, btMin(begin + m_grainSize, m_end));
+		}
+	}
+
+	void workerMain() {
+		for (;;) {
+			m_start.wait();
+			if (m_exit) break;
+			runChunks();
+			m_done.post(1);
+		}
+	}
+
+	virtual void parallelFor(int iBegin, int iEnd, int grainSize, const btIParallelForBody &body) {
+		if (grainSize < 1) grainSize = 1;
+		const int chunks = (iEnd - iBegin + grainSize - 1) / grainSize;
+		if (m_numThreads <= 1 || chunks <= 1 || !m_runLock.tryLock()) {
+			body.forLoop(iBegin, iEnd);
+			return;
+		}
+		startThreads();
+		m_body = &body;
+		m_next = iBegin;
+		m_end = iEnd;
+		m_grainSize = grainSize;
+		const int workers = btMin(btMin(m_numThreads, m_numStarted + 1), chunks) - 1;
+		m_start.post(workers);
+		runChunks();
+		for (int i = 0; i < workers; i++)
+			m_done.wait();
+		m_body = NULL;
+		m_runLock.unlock();
+	}
+};
+
+#ifdef _WIN32
+static DWORD WINAPI btThreadMain(LPVOID arg) {
+	((btTaskSchedulerDefault *)arg)->workerMain();
+	return 0;
+}
+#else
+static void *btThreadMain(void *arg) {
+	((btTaskSchedulerDefault *)arg)->workerMain();
+	return NULL;
+}
+#endif
+
+static btTaskSchedulerSequential gSequentialTaskScheduler;
+static btITaskScheduler *gTaskScheduler = &gSequentialTaskScheduler;
+
+void btSetTaskScheduler(btITaskScheduler *ts) {
+	gTaskScheduler = ts ? ts : &gSequentialTaskScheduler;
+}
+
+btITaskScheduler *btGetTaskScheduler() {
+	return gTaskScheduler;
+}
+
+btITaskScheduler *btGetSequentialTaskScheduler() {
+	return &gSequentialTaskScheduler;
+}
+
+btITaskScheduler *btCreateDefaultTaskScheduler() {
+	return new btTaskSchedulerDefault();
+}
+
+void btParallelFor(int iBegin, int iEnd, int grainSize, const btIParallelForBody &body) {
+	if (iBegin >= iEnd) return;
+	gTaskScheduler->parallelFor(iBegin, iEnd, grainSize, body);
+}
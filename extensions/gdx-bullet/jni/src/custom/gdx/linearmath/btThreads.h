@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+#ifndef BT_THREADS_H
+#define BT_THREADS_H
+
+#include "../../../bullet/LinearMath/btScalar.h"
+
+#define BT_MAX_THREAD_COUNT 64
+
+#ifndef SWIG
+/** A mutex around the native lock of the platform. Not copyable. */
+class btMutex {
+	void *m_lock;
+	btMutex(const btMutex &);
+	btMutex &operator=(const btMutex &);
+public:
+	btMutex();
+	~btMutex();
+	void lock();
+	void unlock();
+	bool tryLock();
+};
+
+/** The body of a parallel for loop, forLoop is called on multiple threads at once with disjoint ranges. */
+class btIParallelForBody {
+public:
+	virtual ~btIParallelForBody() {}
+	virtual void forLoop(int iBegin, int iEnd) const = 0;
+};
+#endif
+
+/** Runs the parallel for loops of the multi threaded world, dispatcher and solver pool. Backported from later Bullet versions
+ * with the same name, only the built in thread pool and the sequential scheduler are available. */
+class btITaskScheduler {
+protected:
+	const char *m_name;
+public:
+	btITaskScheduler(const char *name) : m_name(name) {}
+	virtual ~btITaskScheduler() {}
+	const char *getName() const { return m_name; }
+	virtual int getMaxNumThreads() const = 0;
+	virtual int getNumThreads() const = 0;
+	virtual void setNumThreads(int numThreads) = 0;
+#ifndef SWIG
+	virtual void parallelFor(int iBegin, int iEnd, int grainSize, const btIParallelForBody &body) = 0;
+#endif
+};
+
+/** Sets the scheduler used by btParallelFor, null to restore the sequential scheduler. Not owned, the caller keeps it
+ * alive as long as it is set. */
+void btSetTaskScheduler(btITaskScheduler *ts);
+
+btITaskScheduler *btGetTaskScheduler();
+
+/** @return the scheduler running every loop on the calling thread, owned by Bullet */
+btITaskScheduler *btGetSequentialTaskScheduler();
+
+/** @return a new scheduler with a pool of one thread per processor, the calling thread included. Delete it after it is no
+ *         longer set. */
+btITaskScheduler *btCreateDefaultTaskScheduler();
+
+#ifndef SWIG
+/** Runs the body on the current task scheduler in chunks of grainSize. A loop started from inside another loop runs on the
+ * calling thread. */
+void btParallelFor(int iBegin, int iEnd, int grainSize, const btIParallelForBody &body);
+#endif
+
+#endif // BT_THREADS_H
@@ -2115,6 +2115,48 @@ SWIGINTERN btDbvt *btDbvtBroadphase_getSet1(btDbvtBroadphase *self){
 
 #include <BulletCollision/CollisionDispatch/btCollisionWorld.h>
 
+static int gdxGetContacts(btCollisionWorld *world, float *contacts, int *userValues, int max) {
+	btDispatcher *dispatcher = world->getDispatcher();
+	const int n = dispatcher->getNumManifolds();
+	int count = 0;
+	for (int i = 0; i < n; i++) {
+		const btPersistentManifold *manifold = dispatcher->getManifoldByIndexInternal(i);
+		const int points = manifold->getNumContacts();
+		if (points == 0)
+			continue;
+		const int value0 = ((GdxCollisionObjectBridge*)manifold->getBody0()->getUserPointer())->userValue;
+		const int value1 = ((GdxCollisionObjectBridge*)manifold->getBody1()->getUserPointer())->userValue;
+		for (int j = 0; j < points; j++) {
+			if (count < max) {
+				const btManifoldPoint &pt = manifold->getContactPoint(j);
+				float *out = &contacts[count * 12];
+				out[0] = pt.m_positionWorldOnA.x();
+				out[1] = pt.m_positionWorldOnA.y();
+				out[2] = pt.m_positionWorldOnA.z();
+				out[3] = pt.m_positionWorldOnB.x();
+				out[4] = pt.m_positionWorldOnB.y();
+				out[5] = pt.m_positionWorldOnB.z();
+				out[6] = pt.m_normalWorldOnB.x();
+				out[7] = pt.m_normalWorldOnB.y();
+				out[8] = pt.m_normalWorldOnB.z();
+				out[9] = pt.getDistance();
+				out[10] = pt.getAppliedImpulse();
+				out[11] = (float)pt.getLifeTime();
+				userValues[count * 2] = value0;
+				userValues[count * 2 + 1] = value1;
+			}
+			count++;
+		}
+	}
+	return count;
+}
+SWIGINTERN int btCollisionWorld_getContacts__SWIG_0(btCollisionWorld *self,float *contacts,int *userValues,int max){
+		return gdxGetContacts(self, contacts, userValues, max);
+	}
+SWIGINTERN int btCollisionWorld_getContacts__SWIG_1(btCollisionWorld *self,float contacts[],int userValues[],int max){
+		return gdxGetContacts(self, contacts, userValues, max);
+	}
+
 SWIGINTERN void btCollisionWorld_ClosestRayResultCallback_getRayFromWorld(btCollisionWorld::ClosestRayResultCallback *self,btVector3 &out){
 		out = self->m_rayFromWorld;
 	}
@@ -2626,6 +2668,10 @@ SWIGINTERN int btAlignedObjectArray_Sl_btBroadphasePair_Sg__getCollisionObjectsV
 #include <BulletCollision/Gimpact/btGImpactMassUtil.h>
 
 
+#include <gdx/collision/btCollisionDispatcherMt.h>
+
+
+
 
 /* ---------------------------------------------------
  * C++ director class methods
@@ -36209,6 +36255,62 @@ SWIGEXPORT void JNICALL Java_com_badlogic_gdx_physics_bullet_collision_Collision
 }
 
 
+SWIGEXPORT jint JNICALL Java_com_badlogic_gdx_physics_bullet_collision_CollisionJNI_btCollisionWorld_1getContacts_1_1SWIG_10(JNIEnv *jenv, jclass jcls, jlong jarg1, jobject jarg1_, jobject jarg2, jobject jarg3, jint jarg4) {
+  jint jresult = 0 ;
+  btCollisionWorld *arg1 = (btCollisionWorld *) 0 ;
+  float *arg2 = (float *) 0 ;
+  int *arg3 = (int *) 0 ;
+  int arg4 ;
+  int result;
+  
+  (void)jenv;
+  (void)jcls;
+  (void)jarg1_;
+  arg1 = *(btCollisionWorld **)&jarg1; 
+  {
+    arg2 = (float*)jenv->GetDirectBufferAddress(jarg2);
+    if (arg2 == NULL) {
+      SWIG_JavaThrowException(jenv, SWIG_JavaRuntimeException, "Unable to get address of direct buffer. Buffer must be allocated direct.");
+    }
+  }
+  {
+    arg3 = (int*)jenv->GetDirectBufferAddress(jarg3);
+    if (arg3 == NULL) {
+      SWIG_JavaThrowException(jenv, SWIG_JavaRuntimeException, "Unable to get address of direct buffer. Buffer must be allocated direct.");
+    }
+  }
+  arg4 = (int)jarg4; 
+  result = (int)btCollisionWorld_getContacts__SWIG_0(arg1,arg2,arg3,arg4);
+  jresult = (jint)result; 
+  
+  
+  return jresult;
+}
+
+
+SWIGEXPORT jint JNICALL Java_com_badlogic_gdx_physics_bullet_collision_CollisionJNI_btCollisionWorld_1getContacts_1_1SWIG_11(JNIEnv *jenv, jclass jcls, jlong jarg1, jobject jarg1_, jfloatArray jarg2, jintArray jarg3, jint jarg4) {
+  jint jresult = 0 ;
+  btCollisionWorld *arg1 = (btCollisionWorld *) 0 ;
+  float *arg2 ;
+  int *arg3 ;
+  int arg4 ;
+  int result;
+  
+  (void)jenv;
+  (void)jcls;
+  (void)jarg1_;
+  arg1 = *(btCollisionWorld **)&jarg1; 
+  arg2 = (float *)jenv->GetPrimitiveArrayCritical(jarg2, 0); 
+  arg3 = (int *)jenv->GetPrimitiveArrayCritical(jarg3, 0); 
+  arg4 = (int)jarg4; 
+  result = (int)btCollisionWorld_getContacts__SWIG_1(arg1,arg2,arg3,arg4);
+  jresult = (jint)result; 
+  jenv->ReleasePrimitiveArrayCritical(jarg2, (float *)arg2, 0); 
+  jenv->ReleasePrimitiveArrayCritical(jarg3, (int *)arg3, 0); 
+  return jresult;
+}
+
+
 SWIGEXPORT void JNICALL Java_com_badlogic_gdx_physics_bullet_collision_CollisionJNI_LocalShapeInfo_1shapePart_1set(JNIEnv *jenv, jclass jcls, jlong jarg1, jobject jarg1_, jint jarg2) {
   btCollisionWorld::LocalShapeInfo *arg1 = (btCollisionWorld::LocalShapeInfo *) 0 ;
   int arg2 ;
@@ -53515,6 +53617,76 @@ SWIGEXPORT jobject JNICALL Java_com_badlogic_gdx_physics_bullet_collision_Collis
 }
 
 
+SWIGEXPORT jlong JNICALL Java_com_badlogic_gdx_physics_bullet_collision_CollisionJNI_new_1btCollisionDispatcherMt_1_1SWIG_10(JNIEnv *jenv, jclass jcls, jlong jarg1, jobject jarg1_, jint jarg2) {
+  jlong jresult = 0 ;
+  btCollisionConfiguration *arg1 = (btCollisionConfiguration *) 0 ;
+  int arg2 ;
+  btCollisionDispatcherMt *result = 0 ;
+  
+  (void)jenv;
+  (void)jcls;
+  (void)jarg1_;
+  arg1 = *(btCollisionConfiguration **)&jarg1; 
+  arg2 = (int)jarg2; 
+  result = (btCollisionDispatcherMt *)new btCollisionDispatcherMt(arg1,arg2);
+  *(btCollisionDispatcherMt **)&jresult = result; 
+  return jresult;
+}
+
+
+SWIGEXPORT jlong JNICALL Java_com_badlogic_gdx_physics_bullet_collision_CollisionJNI_new_1btCollisionDispatcherMt_1_1SWIG_11(JNIEnv *jenv, jclass jcls, jlong jarg1, jobject jarg1_) {
+  jlong jresult = 0 ;
+  btCollisionConfiguration *arg1 = (btCollisionConfiguration *) 0 ;
+  btCollisionDispatcherMt *result = 0 ;
+  
+  (void)jenv;
+  (void)jcls;
+  (void)jarg1_;
+  arg1 = *(btCollisionConfiguration **)&jarg1; 
+  result = (btCollisionDispatcherMt *)new btCollisionDispatcherMt(arg1);
+  *(btCollisionDispatcherMt **)&jresult = result; 
+  return jresult;
+}
+
+
+SWIGEXPORT jint JNICALL Java_com_badlogic_gdx_physics_bullet_collision_CollisionJNI_btCollisionDispatcherMt_1getGrainSize(JNIEnv *jenv, jclass jcls, jlong jarg1, jobject jarg1_) {
+  jint jresult = 0 ;
+  btCollisionDispatcherMt *arg1 = (btCollisionDispatcherMt *) 0 ;
+  int result;
+  
+  (void)jenv;
+  (void)jcls;
+  (void)jarg1_;
+  arg1 = *(btCollisionDispatcherMt **)&jarg1; 
+  result = (int)((btCollisionDispatcherMt const *)arg1)->getGrainSize();
+  jresult = (jint)result; 
+  return jresult;
+}
+
+
+SWIGEXPORT void JNICALL Java_com_badlogic_gdx_physics_bullet_collision_CollisionJNI_btCollisionDispatcherMt_1setGrainSize(JNIEnv *jenv, jclass jcls, jlong jarg1, jobject jarg1_, jint jarg2) {
+  btCollisionDispatcherMt *arg1 = (btCollisionDispatcherMt *) 0 ;
+  int arg2 ;
+  
+  (void)jenv;
+  (void)jcls;
+  (void)jarg1_;
+  arg1 = *(btCollisionDispatcherMt **)&jarg1; 
+  arg2 = (int)jarg2; 
+  (arg1)->setGrainSize(arg2);
+}
+
+
+SWIGEXPORT void JNICALL Java_com_badlogic_gdx_physics_bullet_collision_CollisionJNI_delete_1btCollisionDispatcherMt(JNIEnv *jenv, jclass jcls, jlong jarg1) {
+  btCollisionDispatcherMt *arg1 = (btCollisionDispatcherMt *) 0 ;
+  
+  (void)jenv;
+  (void)jcls;
+  arg1 = *(btCollisionDispatcherMt **)&jarg1; 
+  delete arg1;
+}
+
+
 SWIGEXPORT jlong JNICALL Java_com_badlogic_gdx_physics_bullet_collision_CollisionJNI_btStorageResult_1SWIGUpcast(JNIEnv *jenv, jclass jcls, jlong jarg1) {
     jlong baseptr = 0;
     (void)jenv;
@@ -54411,6 +54583,14 @@ SWIGEXPORT jlong JNICALL Java_com_badlogic_gdx_physics_bullet_collision_Collisio
     return baseptr;
 }
 
+SWIGEXPORT jlong JNICALL Java_com_badlogic_gdx_physics_bullet_collision_CollisionJNI_btCollisionDispatcherMt_1SWIGUpcast(JNIEnv *jenv, jclass jcls, jlong jarg1) {
+    jlong baseptr = 0;
+    (void)jenv;
+    (void)jcls;
+    *(btCollisionDispatcher **)&baseptr = *(btCollisionDispatcherMt **)&jarg1;
+    return baseptr;
+}
+
 SWIGEXPORT void JNICALL Java_com_badlogic_gdx_physics_bullet_collision_CollisionJNI_swig_1module_1init(JNIEnv *jenv, jclass jcls) {
   int i;
   
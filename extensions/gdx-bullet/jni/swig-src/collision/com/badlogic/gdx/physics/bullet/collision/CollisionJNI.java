@@ -1890,6 +1890,8 @@ public class CollisionJNI {
   public final static native boolean btCollisionWorld_getForceUpdateAllAabbs(long jarg1, btCollisionWorld jarg1_);
   public final static native void btCollisionWorld_setForceUpdateAllAabbs(long jarg1, btCollisionWorld jarg1_, boolean jarg2);
   public final static native void btCollisionWorld_serialize(long jarg1, btCollisionWorld jarg1_, long jarg2);
+  public final static native int btCollisionWorld_getContacts__SWIG_0(long jarg1, btCollisionWorld jarg1_, java.nio.FloatBuffer jarg2, java.nio.IntBuffer jarg3, int jarg4);
+  public final static native int btCollisionWorld_getContacts__SWIG_1(long jarg1, btCollisionWorld jarg1_, float[] jarg2, int[] jarg3, int jarg4);
   public final static native void LocalShapeInfo_shapePart_set(long jarg1, LocalShapeInfo jarg1_, int jarg2);
   public final static native int LocalShapeInfo_shapePart_get(long jarg1, LocalShapeInfo jarg1_);
   public final static native void LocalShapeInfo_triangleIndex_set(long jarg1, LocalShapeInfo jarg1_, int jarg2);
@@ -2939,6 +2941,11 @@ public class CollisionJNI {
   public final static native int btGImpactCollisionAlgorithm_getPart1(long jarg1, btGImpactCollisionAlgorithm jarg1_);
   public final static native Vector3 gim_inertia_add_transformed(Vector3 jarg1, Vector3 jarg2, Matrix4 jarg3);
   public final static native Vector3 gim_get_point_inertia(Vector3 jarg1, float jarg2);
+  public final static native long new_btCollisionDispatcherMt__SWIG_0(long jarg1, btCollisionConfiguration jarg1_, int jarg2);
+  public final static native long new_btCollisionDispatcherMt__SWIG_1(long jarg1, btCollisionConfiguration jarg1_);
+  public final static native int btCollisionDispatcherMt_getGrainSize(long jarg1, btCollisionDispatcherMt jarg1_);
+  public final static native void btCollisionDispatcherMt_setGrainSize(long jarg1, btCollisionDispatcherMt jarg1_, int jarg2);
+  public final static native void delete_btCollisionDispatcherMt(long jarg1);
   public final static native long btStorageResult_SWIGUpcast(long jarg1);
   public final static native long btBroadphaseRayCallback_SWIGUpcast(long jarg1);
   public final static native long btSimpleBroadphaseProxy_SWIGUpcast(long jarg1);
@@ -3051,6 +3058,7 @@ public class CollisionJNI {
   public final static native long btGImpactMeshShape_SWIGUpcast(long jarg1);
   public final static native long btGImpactCollisionAlgorithm_CreateFunc_SWIGUpcast(long jarg1);
   public final static native long btGImpactCollisionAlgorithm_SWIGUpcast(long jarg1);
+  public final static native long btCollisionDispatcherMt_SWIGUpcast(long jarg1);
 
   public static boolean SwigDirector_btBroadphaseAabbCallback_process(btBroadphaseAabbCallback jself, long proxy) {
     return jself.process((proxy == 0) ? null : new btBroadphaseProxy(proxy, false));
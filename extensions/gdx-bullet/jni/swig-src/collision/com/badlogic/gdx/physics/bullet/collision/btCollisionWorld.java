@@ -58,6 +58,11 @@ public class btCollisionWorld extends BulletBase {
 		super.delete();
 	}
 
+	/** The amount of floats {@link #getContacts(java.nio.FloatBuffer, java.nio.IntBuffer, int)} writes per contact point:
+	 * the world position on A (3), the world position on B (3), the world normal on B (3), the distance, the applied impulse
+	 * and the life time in frames. */
+	public final static int CONTACT_STRIDE = 12;
+
   public btCollisionWorld(btDispatcher dispatcher, btBroadphaseInterface broadphasePairCache, btCollisionConfiguration collisionConfiguration) {
     this(CollisionJNI.new_btCollisionWorld(btDispatcher.getCPtr(dispatcher), dispatcher, btBroadphaseInterface.getCPtr(broadphasePairCache), broadphasePairCache, btCollisionConfiguration.getCPtr(collisionConfiguration), collisionConfiguration), true);
   }
@@ -190,4 +195,16 @@ public class btCollisionWorld extends BulletBase {
     CollisionJNI.btCollisionWorld_serialize(swigCPtr, this, SWIGTYPE_p_btSerializer.getCPtr(serializer));
   }
 
+  public int getContacts(java.nio.FloatBuffer contacts, java.nio.IntBuffer userValues, int max) {
+    assert contacts.isDirect() : "Buffer must be allocated direct.";
+    assert userValues.isDirect() : "Buffer must be allocated direct.";
+    {
+      return CollisionJNI.btCollisionWorld_getContacts__SWIG_0(swigCPtr, this, contacts, userValues, max);
+    }
+  }
+
+  public int getContacts(float[] contacts, int[] userValues, int max) {
+    return CollisionJNI.btCollisionWorld_getContacts__SWIG_1(swigCPtr, this, contacts, userValues, max);
+  }
+
 }
@@ -441,6 +441,8 @@ public class DynamicsJNI {
   public final static native void btDynamicsWorld_removeVehicle(long jarg1, btDynamicsWorld jarg1_, long jarg2, btActionInterface jarg2_);
   public final static native void btDynamicsWorld_addCharacter(long jarg1, btDynamicsWorld jarg1_, long jarg2, btActionInterface jarg2_);
   public final static native void btDynamicsWorld_removeCharacter(long jarg1, btDynamicsWorld jarg1_, long jarg2, btActionInterface jarg2_);
+  public final static native int btDynamicsWorld_getActiveTransforms__SWIG_0(long jarg1, btDynamicsWorld jarg1_, java.nio.FloatBuffer jarg2, java.nio.IntBuffer jarg3, int jarg4);
+  public final static native int btDynamicsWorld_getActiveTransforms__SWIG_1(long jarg1, btDynamicsWorld jarg1_, float[] jarg2, int[] jarg3, int jarg4);
   public final static native void btDynamicsWorldDoubleData_solverInfo_set(long jarg1, btDynamicsWorldDoubleData jarg1_, long jarg2, btContactSolverInfoDoubleData jarg2_);
   public final static native long btDynamicsWorldDoubleData_solverInfo_get(long jarg1, btDynamicsWorldDoubleData jarg1_);
   public final static native void btDynamicsWorldDoubleData_gravity_set(long jarg1, btDynamicsWorldDoubleData jarg1_, long jarg2, btVector3DoubleData jarg2_);
@@ -1970,6 +1972,13 @@ public class DynamicsJNI {
   public final static native void FilterableVehicleRaycaster_setCollisionFilterMask(long jarg1, FilterableVehicleRaycaster jarg1_, short jarg2);
   public final static native void FilterableVehicleRaycaster_setCollisionFilterGroup(long jarg1, FilterableVehicleRaycaster jarg1_, short jarg2);
   public final static native void delete_FilterableVehicleRaycaster(long jarg1);
+  public final static native long new_btConstraintSolverPoolMt(int jarg1);
+  public final static native void delete_btConstraintSolverPoolMt(long jarg1);
+  public final static native int btConstraintSolverPoolMt_getNumSolvers(long jarg1, btConstraintSolverPoolMt jarg1_);
+  public final static native long new_btDiscreteDynamicsWorldMt(long jarg1, btDispatcher jarg1_, long jarg2, btBroadphaseInterface jarg2_, long jarg3, btConstraintSolverPoolMt jarg3_, long jarg4, btCollisionConfiguration jarg4_);
+  public final static native int btDiscreteDynamicsWorldMt_getGrainSize(long jarg1, btDiscreteDynamicsWorldMt jarg1_);
+  public final static native void btDiscreteDynamicsWorldMt_setGrainSize(long jarg1, btDiscreteDynamicsWorldMt jarg1_, int jarg2);
+  public final static native void delete_btDiscreteDynamicsWorldMt(long jarg1);
   public final static native long btRigidBody_SWIGUpcast(long jarg1);
   public final static native long btTypedConstraint_SWIGUpcast(long jarg1);
   public final static native long btDynamicsWorld_SWIGUpcast(long jarg1);
@@ -1995,6 +2004,8 @@ public class DynamicsJNI {
   public final static native long btRaycastVehicle_SWIGUpcast(long jarg1);
   public final static native long btDefaultVehicleRaycaster_SWIGUpcast(long jarg1);
   public final static native long FilterableVehicleRaycaster_SWIGUpcast(long jarg1);
+  public final static native long btConstraintSolverPoolMt_SWIGUpcast(long jarg1);
+  public final static native long btDiscreteDynamicsWorldMt_SWIGUpcast(long jarg1);
 
   public static void SwigDirector_InternalTickCallback_onInternalTick(InternalTickCallback jself, long dynamicsWorld, float timeStep) {
     jself.onInternalTick((dynamicsWorld == 0) ? null : new btDynamicsWorld(dynamicsWorld, false), timeStep);
@@ -59,6 +59,10 @@ public class btDynamicsWorld extends btCollisionWorld {
 		super.delete();
 	}
 
+	/** The amount of floats {@link #getActiveTransforms(java.nio.FloatBuffer, java.nio.IntBuffer, int)} writes per body, the
+	 * column major world transform as used by {@link Matrix4#val}. */
+	public final static int TRANSFORM_STRIDE = 16;
+
   public int stepSimulation(float timeStep, int maxSubSteps, float fixedTimeStep) {
     return DynamicsJNI.btDynamicsWorld_stepSimulation__SWIG_0(swigCPtr, this, timeStep, maxSubSteps, fixedTimeStep);
   }
@@ -181,4 +185,16 @@ public class btDynamicsWorld extends btCollisionWorld {
     DynamicsJNI.btDynamicsWorld_removeCharacter(swigCPtr, this, btActionInterface.getCPtr(character), character);
   }
 
+  public int getActiveTransforms(java.nio.FloatBuffer transforms, java.nio.IntBuffer userValues, int max) {
+    assert transforms.isDirect() : "Buffer must be allocated direct.";
+    assert userValues.isDirect() : "Buffer must be allocated direct.";
+    {
+      return DynamicsJNI.btDynamicsWorld_getActiveTransforms__SWIG_0(swigCPtr, this, transforms, userValues, max);
+    }
+  }
+
+  public int getActiveTransforms(float[] transforms, int[] userValues, int max) {
+    return DynamicsJNI.btDynamicsWorld_getActiveTransforms__SWIG_1(swigCPtr, this, transforms, userValues, max);
+  }
+
 }
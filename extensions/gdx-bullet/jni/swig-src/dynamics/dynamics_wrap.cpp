@@ -1895,6 +1895,30 @@ SWIGINTERN btRigidBody *new_btRigidBody__SWIG_1(bool dummy,btScalar mass,btMotio
 
 
 #include <BulletDynamics/Dynamics/btDynamicsWorld.h>
+#include <gdx/collision/GdxCollisionObjectBridge.h>
+
+static int gdxGetActiveTransforms(btDynamicsWorld *world, float *transforms, int *userValues, int max) {
+	const btCollisionObjectArray &objects = world->getCollisionObjectArray();
+	const int n = objects.size();
+	int count = 0;
+	for (int i = 0; i < n; i++) {
+		const btRigidBody *body = btRigidBody::upcast(objects[i]);
+		if (body == 0 || body->isStaticOrKinematicObject() || !body->isActive())
+			continue;
+		if (count < max) {
+			body->getWorldTransform().getOpenGLMatrix(&transforms[count * 16]);
+			userValues[count] = ((GdxCollisionObjectBridge*)body->getUserPointer())->userValue;
+		}
+		count++;
+	}
+	return count;
+}
+SWIGINTERN int btDynamicsWorld_getActiveTransforms__SWIG_0(btDynamicsWorld *self,float *transforms,int *userValues,int max){
+		return gdxGetActiveTransforms(self, transforms, userValues, max);
+	}
+SWIGINTERN int btDynamicsWorld_getActiveTransforms__SWIG_1(btDynamicsWorld *self,float transforms[],int userValues[],int max){
+		return gdxGetActiveTransforms(self, transforms, userValues, max);
+	}
 
 
 #include <gdx/dynamics/InternalTickCallback.h>
@@ -1984,6 +2008,13 @@ SWIGINTERN btRigidBody *new_btRigidBody__SWIG_1(bool dummy,btScalar mass,btMotio
 #include <gdx/dynamics/FilterableVehicleRaycaster.h>
 
 
+#include <gdx/dynamics/btConstraintSolverPoolMt.h>
+
+
+#include <gdx/dynamics/btDiscreteDynamicsWorldMt.h>
+
+
+
 
 /* ---------------------------------------------------
  * C++ director class methods
@@ -8388,6 +8419,62 @@ SWIGEXPORT void JNICALL Java_com_badlogic_gdx_physics_bullet_dynamics_DynamicsJN
 }
 
 
+SWIGEXPORT jint JNICALL Java_com_badlogic_gdx_physics_bullet_dynamics_DynamicsJNI_btDynamicsWorld_1getActiveTransforms_1_1SWIG_10(JNIEnv *jenv, jclass jcls, jlong jarg1, jobject jarg1_, jobject jarg2, jobject jarg3, jint jarg4) {
+  jint jresult = 0 ;
+  btDynamicsWorld *arg1 = (btDynamicsWorld *) 0 ;
+  float *arg2 = (float *) 0 ;
+  int *arg3 = (int *) 0 ;
+  int arg4 ;
+  int result;
+  
+  (void)jenv;
+  (void)jcls;
+  (void)jarg1_;
+  arg1 = *(btDynamicsWorld **)&jarg1; 
+  {
+    arg2 = (float*)jenv->GetDirectBufferAddress(jarg2);
+    if (arg2 == NULL) {
+      SWIG_JavaThrowException(jenv, SWIG_JavaRuntimeException, "Unable to get address of direct buffer. Buffer must be allocated direct.");
+    }
+  }
+  {
+    arg3 = (int*)jenv->GetDirectBufferAddress(jarg3);
+    if (arg3 == NULL) {
+      SWIG_JavaThrowException(jenv, SWIG_JavaRuntimeException, "Unable to get address of direct buffer. Buffer must be allocated direct.");
+    }
+  }
+  arg4 = (int)jarg4; 
+  result = (int)btDynamicsWorld_getActiveTransforms__SWIG_0(arg1,arg2,arg3,arg4);
+  jresult = (jint)result; 
+  
+  
+  return jresult;
+}
+
+
+SWIGEXPORT jint JNICALL Java_com_badlogic_gdx_physics_bullet_dynamics_DynamicsJNI_btDynamicsWorld_1getActiveTransforms_1_1SWIG_11(JNIEnv *jenv, jclass jcls, jlong jarg1, jobject jarg1_, jfloatArray jarg2, jintArray jarg3, jint jarg4) {
+  jint jresult = 0 ;
+  btDynamicsWorld *arg1 = (btDynamicsWorld *) 0 ;
+  float *arg2 ;
+  int *arg3 ;
+  int arg4 ;
+  int result;
+  
+  (void)jenv;
+  (void)jcls;
+  (void)jarg1_;
+  arg1 = *(btDynamicsWorld **)&jarg1; 
+  arg2 = (float *)jenv->GetPrimitiveArrayCritical(jarg2, 0); 
+  arg3 = (int *)jenv->GetPrimitiveArrayCritical(jarg3, 0); 
+  arg4 = (int)jarg4; 
+  result = (int)btDynamicsWorld_getActiveTransforms__SWIG_1(arg1,arg2,arg3,arg4);
+  jresult = (jint)result; 
+  jenv->ReleasePrimitiveArrayCritical(jarg2, (float *)arg2, 0); 
+  jenv->ReleasePrimitiveArrayCritical(jarg3, (int *)arg3, 0); 
+  return jresult;
+}
+
+
 SWIGEXPORT void JNICALL Java_com_badlogic_gdx_physics_bullet_dynamics_DynamicsJNI_btDynamicsWorldDoubleData_1solverInfo_1set(JNIEnv *jenv, jclass jcls, jlong jarg1, jobject jarg1_, jlong jarg2, jobject jarg2_) {
   btDynamicsWorldDoubleData *arg1 = (btDynamicsWorldDoubleData *) 0 ;
   btContactSolverInfoDoubleData *arg2 = (btContactSolverInfoDoubleData *) 0 ;
@@ -32320,6 +32407,107 @@ SWIGEXPORT void JNICALL Java_com_badlogic_gdx_physics_bullet_dynamics_DynamicsJN
 }
 
 
+SWIGEXPORT jlong JNICALL Java_com_badlogic_gdx_physics_bullet_dynamics_DynamicsJNI_new_1btConstraintSolverPoolMt(JNIEnv *jenv, jclass jcls, jint jarg1) {
+  jlong jresult = 0 ;
+  int arg1 ;
+  btConstraintSolverPoolMt *result = 0 ;
+  
+  (void)jenv;
+  (void)jcls;
+  arg1 = (int)jarg1; 
+  result = (btConstraintSolverPoolMt *)new btConstraintSolverPoolMt(arg1);
+  *(btConstraintSolverPoolMt **)&jresult = result; 
+  return jresult;
+}
+
+
+SWIGEXPORT void JNICALL Java_com_badlogic_gdx_physics_bullet_dynamics_DynamicsJNI_delete_1btConstraintSolverPoolMt(JNIEnv *jenv, jclass jcls, jlong jarg1) {
+  btConstraintSolverPoolMt *arg1 = (btConstraintSolverPoolMt *) 0 ;
+  
+  (void)jenv;
+  (void)jcls;
+  arg1 = *(btConstraintSolverPoolMt **)&jarg1; 
+  delete arg1;
+}
+
+
+SWIGEXPORT jint JNICALL Java_com_badlogic_gdx_physics_bullet_dynamics_DynamicsJNI_btConstraintSolverPoolMt_1getNumSolvers(JNIEnv *jenv, jclass jcls, jlong jarg1, jobject jarg1_) {
+  jint jresult = 0 ;
+  btConstraintSolverPoolMt *arg1 = (btConstraintSolverPoolMt *) 0 ;
+  int result;
+  
+  (void)jenv;
+  (void)jcls;
+  (void)jarg1_;
+  arg1 = *(btConstraintSolverPoolMt **)&jarg1; 
+  result = (int)((btConstraintSolverPoolMt const *)arg1)->getNumSolvers();
+  jresult = (jint)result; 
+  return jresult;
+}
+
+
+SWIGEXPORT jlong JNICALL Java_com_badlogic_gdx_physics_bullet_dynamics_DynamicsJNI_new_1btDiscreteDynamicsWorldMt(JNIEnv *jenv, jclass jcls, jlong jarg1, jobject jarg1_, jlong jarg2, jobject jarg2_, jlong jarg3, jobject jarg3_, jlong jarg4, jobject jarg4_) {
+  jlong jresult = 0 ;
+  btDispatcher *arg1 = (btDispatcher *) 0 ;
+  btBroadphaseInterface *arg2 = (btBroadphaseInterface *) 0 ;
+  btConstraintSolverPoolMt *arg3 = (btConstraintSolverPoolMt *) 0 ;
+  btCollisionConfiguration *arg4 = (btCollisionConfiguration *) 0 ;
+  btDiscreteDynamicsWorldMt *result = 0 ;
+  
+  (void)jenv;
+  (void)jcls;
+  (void)jarg1_;
+  (void)jarg2_;
+  (void)jarg3_;
+  (void)jarg4_;
+  arg1 = *(btDispatcher **)&jarg1; 
+  arg2 = *(btBroadphaseInterface **)&jarg2; 
+  arg3 = *(btConstraintSolverPoolMt **)&jarg3; 
+  arg4 = *(btCollisionConfiguration **)&jarg4; 
+  result = (btDiscreteDynamicsWorldMt *)new btDiscreteDynamicsWorldMt(arg1,arg2,arg3,arg4);
+  *(btDiscreteDynamicsWorldMt **)&jresult = result; 
+  return jresult;
+}
+
+
+SWIGEXPORT jint JNICALL Java_com_badlogic_gdx_physics_bullet_dynamics_DynamicsJNI_btDiscreteDynamicsWorldMt_1getGrainSize(JNIEnv *jenv, jclass jcls, jlong jarg1, jobject jarg1_) {
+  jint jresult = 0 ;
+  btDiscreteDynamicsWorldMt *arg1 = (btDiscreteDynamicsWorldMt *) 0 ;
+  int result;
+  
+  (void)jenv;
+  (void)jcls;
+  (void)jarg1_;
+  arg1 = *(btDiscreteDynamicsWorldMt **)&jarg1; 
+  result = (int)((btDiscreteDynamicsWorldMt const *)arg1)->getGrainSize();
+  jresult = (jint)result; 
+  return jresult;
+}
+
+
+SWIGEXPORT void JNICALL Java_com_badlogic_gdx_physics_bullet_dynamics_DynamicsJNI_btDiscreteDynamicsWorldMt_1setGrainSize(JNIEnv *jenv, jclass jcls, jlong jarg1, jobject jarg1_, jint jarg2) {
+  btDiscreteDynamicsWorldMt *arg1 = (btDiscreteDynamicsWorldMt *) 0 ;
+  int arg2 ;
+  
+  (void)jenv;
+  (void)jcls;
+  (void)jarg1_;
+  arg1 = *(btDiscreteDynamicsWorldMt **)&jarg1; 
+  arg2 = (int)jarg2; 
+  (arg1)->setGrainSize(arg2);
+}
+
+
+SWIGEXPORT void JNICALL Java_com_badlogic_gdx_physics_bullet_dynamics_DynamicsJNI_delete_1btDiscreteDynamicsWorldMt(JNIEnv *jenv, jclass jcls, jlong jarg1) {
+  btDiscreteDynamicsWorldMt *arg1 = (btDiscreteDynamicsWorldMt *) 0 ;
+  
+  (void)jenv;
+  (void)jcls;
+  arg1 = *(btDiscreteDynamicsWorldMt **)&jarg1; 
+  delete arg1;
+}
+
+
 SWIGEXPORT jlong JNICALL Java_com_badlogic_gdx_physics_bullet_dynamics_DynamicsJNI_btRigidBody_1SWIGUpcast(JNIEnv *jenv, jclass jcls, jlong jarg1) {
     jlong baseptr = 0;
     (void)jenv;
@@ -32520,6 +32708,22 @@ SWIGEXPORT jlong JNICALL Java_com_badlogic_gdx_physics_bullet_dynamics_DynamicsJ
     return baseptr;
 }
 
+SWIGEXPORT jlong JNICALL Java_com_badlogic_gdx_physics_bullet_dynamics_DynamicsJNI_btConstraintSolverPoolMt_1SWIGUpcast(JNIEnv *jenv, jclass jcls, jlong jarg1) {
+    jlong baseptr = 0;
+    (void)jenv;
+    (void)jcls;
+    *(btConstraintSolver **)&baseptr = *(btConstraintSolverPoolMt **)&jarg1;
+    return baseptr;
+}
+
+SWIGEXPORT jlong JNICALL Java_com_badlogic_gdx_physics_bullet_dynamics_DynamicsJNI_btDiscreteDynamicsWorldMt_1SWIGUpcast(JNIEnv *jenv, jclass jcls, jlong jarg1) {
+    jlong baseptr = 0;
+    (void)jenv;
+    (void)jcls;
+    *(btDiscreteDynamicsWorld **)&baseptr = *(btDiscreteDynamicsWorldMt **)&jarg1;
+    return baseptr;
+}
+
 SWIGEXPORT void JNICALL Java_com_badlogic_gdx_physics_bullet_dynamics_DynamicsJNI_swig_1module_1init(JNIEnv *jenv, jclass jcls) {
   int i;
   
@@ -363,4 +363,23 @@ public class LinearMath implements LinearMathConstants {
     return LinearMathJNI.BT_HASH_NULL_get();
   }
 
+  public static void btSetTaskScheduler(btITaskScheduler ts) {
+    LinearMathJNI.btSetTaskScheduler(btITaskScheduler.getCPtr(ts), ts);
+  }
+
+  public static btITaskScheduler btGetTaskScheduler() {
+    long cPtr = LinearMathJNI.btGetTaskScheduler();
+    return (cPtr == 0) ? null : new btITaskScheduler(cPtr, false);
+  }
+
+  public static btITaskScheduler btGetSequentialTaskScheduler() {
+    long cPtr = LinearMathJNI.btGetSequentialTaskScheduler();
+    return (cPtr == 0) ? null : new btITaskScheduler(cPtr, false);
+  }
+
+  public static btITaskScheduler btCreateDefaultTaskScheduler() {
+    long cPtr = LinearMathJNI.btCreateDefaultTaskScheduler();
+    return (cPtr == 0) ? null : new btITaskScheduler(cPtr, true);
+  }
+
 }
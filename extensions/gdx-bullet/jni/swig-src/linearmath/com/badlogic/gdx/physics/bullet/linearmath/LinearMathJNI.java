@@ -576,6 +576,15 @@ public class LinearMathJNI {
   public final static native void btScalarArray_remove(long jarg1, btScalarArray jarg1_, float jarg2);
   public final static native void btScalarArray_initializeFromBuffer(long jarg1, btScalarArray jarg1_, long jarg2, int jarg3, int jarg4);
   public final static native void btScalarArray_copyFromArray(long jarg1, btScalarArray jarg1_, long jarg2, btScalarArray jarg2_);
+  public final static native void delete_btITaskScheduler(long jarg1);
+  public final static native String btITaskScheduler_getName(long jarg1, btITaskScheduler jarg1_);
+  public final static native int btITaskScheduler_getMaxNumThreads(long jarg1, btITaskScheduler jarg1_);
+  public final static native int btITaskScheduler_getNumThreads(long jarg1, btITaskScheduler jarg1_);
+  public final static native void btITaskScheduler_setNumThreads(long jarg1, btITaskScheduler jarg1_, int jarg2);
+  public final static native void btSetTaskScheduler(long jarg1, btITaskScheduler jarg1_);
+  public final static native long btGetTaskScheduler();
+  public final static native long btGetSequentialTaskScheduler();
+  public final static native long btCreateDefaultTaskScheduler();
   public final static native long btVector4_SWIGUpcast(long jarg1);
   public final static native long GrahamVector3_SWIGUpcast(long jarg1);
   public final static native long btDefaultMotionState_SWIGUpcast(long jarg1);
@@ -1958,6 +1958,10 @@ bool btGeometryUtil::isInside(btAlignedObjectArray<btVector3> const&, btVector3
 
 #include <LinearMath/btDefaultMotionState.h>
 
+
+#include <gdx/linearmath/btThreads.h>
+
+
 SWIGINTERN void btDefaultMotionState_getGraphicsWorldTrans(btDefaultMotionState *self,btTransform &out){
 		out = self->m_graphicsWorldTrans;
 	}
@@ -12730,6 +12734,121 @@ SWIGEXPORT void JNICALL Java_com_badlogic_gdx_physics_bullet_linearmath_LinearMa
 }
 
 
+SWIGEXPORT void JNICALL Java_com_badlogic_gdx_physics_bullet_linearmath_LinearMathJNI_delete_1btITaskScheduler(JNIEnv *jenv, jclass jcls, jlong jarg1) {
+  btITaskScheduler *arg1 = (btITaskScheduler *) 0 ;
+  
+  (void)jenv;
+  (void)jcls;
+  arg1 = *(btITaskScheduler **)&jarg1; 
+  delete arg1;
+}
+
+
+SWIGEXPORT jstring JNICALL Java_com_badlogic_gdx_physics_bullet_linearmath_LinearMathJNI_btITaskScheduler_1getName(JNIEnv *jenv, jclass jcls, jlong jarg1, jobject jarg1_) {
+  jstring jresult = 0 ;
+  btITaskScheduler *arg1 = (btITaskScheduler *) 0 ;
+  char *result = 0 ;
+  
+  (void)jenv;
+  (void)jcls;
+  (void)jarg1_;
+  arg1 = *(btITaskScheduler **)&jarg1; 
+  result = (char *)((btITaskScheduler const *)arg1)->getName();
+  if (result) jresult = jenv->NewStringUTF((const char *)result);
+  return jresult;
+}
+
+
+SWIGEXPORT jint JNICALL Java_com_badlogic_gdx_physics_bullet_linearmath_LinearMathJNI_btITaskScheduler_1getMaxNumThreads(JNIEnv *jenv, jclass jcls, jlong jarg1, jobject jarg1_) {
+  jint jresult = 0 ;
+  btITaskScheduler *arg1 = (btITaskScheduler *) 0 ;
+  int result;
+  
+  (void)jenv;
+  (void)jcls;
+  (void)jarg1_;
+  arg1 = *(btITaskScheduler **)&jarg1; 
+  result = (int)((btITaskScheduler const *)arg1)->getMaxNumThreads();
+  jresult = (jint)result; 
+  return jresult;
+}
+
+
+SWIGEXPORT jint JNICALL Java_com_badlogic_gdx_physics_bullet_linearmath_LinearMathJNI_btITaskScheduler_1getNumThreads(JNIEnv *jenv, jclass jcls, jlong jarg1, jobject jarg1_) {
+  jint jresult = 0 ;
+  btITaskScheduler *arg1 = (btITaskScheduler *) 0 ;
+  int result;
+  
+  (void)jenv;
+  (void)jcls;
+  (void)jarg1_;
+  arg1 = *(btITaskScheduler **)&jarg1; 
+  result = (int)((btITaskScheduler const *)arg1)->getNumThreads();
+  jresult = (jint)result; 
+  return jresult;
+}
+
+
+SWIGEXPORT void JNICALL Java_com_badlogic_gdx_physics_bullet_linearmath_LinearMathJNI_btITaskScheduler_1setNumThreads(JNIEnv *jenv, jclass jcls, jlong jarg1, jobject jarg1_, jint jarg2) {
+  btITaskScheduler *arg1 = (btITaskScheduler *) 0 ;
+  int arg2 ;
+  
+  (void)jenv;
+  (void)jcls;
+  (void)jarg1_;
+  arg1 = *(btITaskScheduler **)&jarg1; 
+  arg2 = (int)jarg2; 
+  (arg1)->setNumThreads(arg2);
+}
+
+
+SWIGEXPORT void JNICALL Java_com_badlogic_gdx_physics_bullet_linearmath_LinearMathJNI_btSetTaskScheduler(JNIEnv *jenv, jclass jcls, jlong jarg1, jobject jarg1_) {
+  btITaskScheduler *arg1 = (btITaskScheduler *) 0 ;
+  
+  (void)jenv;
+  (void)jcls;
+  (void)jarg1_;
+  arg1 = *(btITaskScheduler **)&jarg1; 
+  btSetTaskScheduler(arg1);
+}
+
+
+SWIGEXPORT jlong JNICALL Java_com_badlogic_gdx_physics_bullet_linearmath_LinearMathJNI_btGetTaskScheduler(JNIEnv *jenv, jclass jcls) {
+  jlong jresult = 0 ;
+  btITaskScheduler *result = 0 ;
+  
+  (void)jenv;
+  (void)jcls;
+  result = (btITaskScheduler *)btGetTaskScheduler();
+  *(btITaskScheduler **)&jresult = result; 
+  return jresult;
+}
+
+
+SWIGEXPORT jlong JNICALL Java_com_badlogic_gdx_physics_bullet_linearmath_LinearMathJNI_btGetSequentialTaskScheduler(JNIEnv *jenv, jclass jcls) {
+  jlong jresult = 0 ;
+  btITaskScheduler *result = 0 ;
+  
+  (void)jenv;
+  (void)jcls;
+  result = (btITaskScheduler *)btGetSequentialTaskScheduler();
+  *(btITaskScheduler **)&jresult = result; 
+  return jresult;
+}
+
+
+SWIGEXPORT jlong JNICALL Java_com_badlogic_gdx_physics_bullet_linearmath_LinearMathJNI_btCreateDefaultTaskScheduler(JNIEnv *jenv, jclass jcls) {
+  jlong jresult = 0 ;
+  btITaskScheduler *result = 0 ;
+  
+  (void)jenv;
+  (void)jcls;
+  result = (btITaskScheduler *)btCreateDefaultTaskScheduler();
+  *(btITaskScheduler **)&jresult = result; 
+  return jresult;
+}
+
+
 SWIGEXPORT jlong JNICALL Java_com_badlogic_gdx_physics_bullet_linearmath_LinearMathJNI_btVector4_1SWIGUpcast(JNIEnv *jenv, jclass jcls, jlong jarg1) {
     jlong baseptr = 0;
     (void)jenv;
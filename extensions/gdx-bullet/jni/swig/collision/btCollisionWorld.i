@@ -127,8 +127,73 @@
 	}
 };
 
+%typemap(javacode) btCollisionWorld %{
+	/** The amount of floats {@link #getContacts(java.nio.FloatBuffer, java.nio.IntBuffer, int)} writes per contact point:
+	 * the world position on A (3), the world position on B (3), the world normal on B (3), the distance, the applied impulse
+	 * and the life time in frames. */
+	public final static int CONTACT_STRIDE = 12;
+%}
+
+%extend btCollisionWorld {
+	/** Copies every contact point of the persistent manifolds to contacts (12 floats per point, see CONTACT_STRIDE) and the
+	 * user values of both collision objects, see btCollisionObject#setUserValue, to userValues (2 ints per point). This reads
+	 * all contacts of the last step with a single call instead of a ContactListener upcall per point. Not more than max
+	 * points are written.
+	 * @return The amount of contact points, which might be more than max */
+	int getContacts(float *contacts, int *userValues, int max) {
+		return gdxGetContacts($self, contacts, userValues, max);
+	}
+};
+
+%include "../common/gdxDisableBuffers.i"
+%include "../common/gdxEnableCriticalArrays.i"
+
+%extend btCollisionWorld {
+	int getContacts(float contacts[], int userValues[], int max) {
+		return gdxGetContacts($self, contacts, userValues, max);
+	}
+};
+
+%include "../common/gdxEnableBuffers.i"
+
 %{
 #include <BulletCollision/CollisionDispatch/btCollisionWorld.h>
+
+static int gdxGetContacts(btCollisionWorld *world, float *contacts, int *userValues, int max) {
+	btDispatcher *dispatcher = world->getDispatcher();
+	const int n = dispatcher->getNumManifolds();
+	int count = 0;
+	for (int i = 0; i < n; i++) {
+		const btPersistentManifold *manifold = dispatcher->getManifoldByIndexInternal(i);
+		const int points = manifold->getNumContacts();
+		if (points == 0)
+			continue;
+		const int value0 = ((GdxCollisionObjectBridge*)manifold->getBody0()->getUserPointer())->userValue;
+		const int value1 = ((GdxCollisionObjectBridge*)manifold->getBody1()->getUserPointer())->userValue;
+		for (int j = 0; j < points; j++) {
+			if (count < max) {
+				const btManifoldPoint &pt = manifold->getContactPoint(j);
+				float *out = &contacts[count * 12];
+				out[0] = pt.m_positionWorldOnA.x();
+				out[1] = pt.m_positionWorldOnA.y();
+				out[2] = pt.m_positionWorldOnA.z();
+				out[3] = pt.m_positionWorldOnB.x();
+				out[4] = pt.m_positionWorldOnB.y();
+				out[5] = pt.m_positionWorldOnB.z();
+				out[6] = pt.m_normalWorldOnB.x();
+				out[7] = pt.m_normalWorldOnB.y();
+				out[8] = pt.m_normalWorldOnB.z();
+				out[9] = pt.getDistance();
+				out[10] = pt.getAppliedImpulse();
+				out[11] = (float)pt.getLifeTime();
+				userValues[count * 2] = value0;
+				userValues[count * 2 + 1] = value1;
+			}
+			count++;
+		}
+	}
+	return count;
+}
 %}
 %include "BulletCollision/CollisionDispatch/btCollisionWorld.h"
 
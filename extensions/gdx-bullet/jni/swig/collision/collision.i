@@ -526,4 +526,9 @@ void btMultiSapBroadphase::quicksort(btBroadphasePairArray& a, int lo, int hi)
 
 %include "./btBroadphasePairArray.i"
 
-%include "./gimpact.i"
\ No newline at end of file
+%include "./gimpact.i"
+
+%{
+#include <gdx/collision/btCollisionDispatcherMt.h>
+%}
+%include "gdx/collision/btCollisionDispatcherMt.h"
@@ -60,8 +60,53 @@ import com.badlogic.gdx.math.Matrix4;
 
 %include "./btTypedConstraint.i"
 
+%typemap(javacode) btDynamicsWorld %{
+	/** The amount of floats {@link #getActiveTransforms(java.nio.FloatBuffer, java.nio.IntBuffer, int)} writes per body, the
+	 * column major world transform as used by {@link Matrix4#val}. */
+	public final static int TRANSFORM_STRIDE = 16;
+%}
+
+%extend btDynamicsWorld {
+	/** Copies the world transform of every active, non static and non kinematic rigid body to transforms (16 floats per body)
+	 * and its user value, see btCollisionObject#setUserValue, to userValues. This synchronizes all moving bodies with a single
+	 * call after stepSimulation instead of a motion state upcall per body. Not more than max bodies are written.
+	 * @return The amount of active bodies, which might be more than max */
+	int getActiveTransforms(float *transforms, int *userValues, int max) {
+		return gdxGetActiveTransforms($self, transforms, userValues, max);
+	}
+};
+
+%include "../common/gdxDisableBuffers.i"
+%include "../common/gdxEnableCriticalArrays.i"
+
+%extend btDynamicsWorld {
+	int getActiveTransforms(float transforms[], int userValues[], int max) {
+		return gdxGetActiveTransforms($self, transforms, userValues, max);
+	}
+};
+
+%include "../common/gdxEnableBuffers.i"
+
 %{
 #include <BulletDynamics/Dynamics/btDynamicsWorld.h>
+#include <gdx/collision/GdxCollisionObjectBridge.h>
+
+static int gdxGetActiveTransforms(btDynamicsWorld *world, float *transforms, int *userValues, int max) {
+	const btCollisionObjectArray &objects = world->getCollisionObjectArray();
+	const int n = objects.size();
+	int count = 0;
+	for (int i = 0; i < n; i++) {
+		const btRigidBody *body = btRigidBody::upcast(objects[i]);
+		if (body == 0 || body->isStaticOrKinematicObject() || !body->isActive())
+			continue;
+		if (count < max) {
+			body->getWorldTransform().getOpenGLMatrix(&transforms[count * 16]);
+			userValues[count] = ((GdxCollisionObjectBridge*)body->getUserPointer())->userValue;
+		}
+		count++;
+	}
+	return count;
+}
 %}
 %include "BulletDynamics/Dynamics/btDynamicsWorld.h"
 
@@ -208,3 +253,13 @@ import com.badlogic.gdx.math.Matrix4;
 #include <gdx/dynamics/FilterableVehicleRaycaster.h>
 %}
 %include "gdx/dynamics/FilterableVehicleRaycaster.h"
+
+%{
+#include <gdx/dynamics/btConstraintSolverPoolMt.h>
+%}
+%include "gdx/dynamics/btConstraintSolverPoolMt.h"
+
+%{
+#include <gdx/dynamics/btDiscreteDynamicsWorldMt.h>
+%}
+%include "gdx/dynamics/btDiscreteDynamicsWorldMt.h"
@@ -142,3 +142,9 @@ void CProfileIterator::Enter_Largest_Child()
 
 %template(btVector3Array) btAlignedObjectArray<btVector3>;
 %template(btScalarArray) btAlignedObjectArray<btScalar>;
+
+%newobject btCreateDefaultTaskScheduler;
+%{
+#include <gdx/linearmath/btThreads.h>
+%}
+%include "gdx/linearmath/btThreads.h"
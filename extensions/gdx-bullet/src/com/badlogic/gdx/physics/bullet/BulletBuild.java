@@ -72,11 +72,13 @@ public class BulletBuild {
 		lin32.cExcludes = lin32.cppExcludes = excludes;
 		lin32.headerDirs = headers;
 		lin32.cppFlags += cppFlags;
+		lin32.libraries = "-lpthread";
 
 		BuildTarget lin64 = BuildTarget.newDefaultTarget(TargetOs.Linux, true);
 		lin64.cExcludes = lin64.cppExcludes = excludes;
 		lin64.headerDirs = headers;
 		lin64.cppFlags += cppFlags;
+		lin64.libraries = "-lpthread";
 
 		BuildTarget mac = BuildTarget.newDefaultTarget(TargetOs.MacOsX, false);
 		mac.cExcludes = mac.cppExcludes = excludes;
@@ -0,0 +1,41 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.physics.bullet;
+
+import com.badlogic.gdx.physics.bullet.dynamics.btDynamicsWorld;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.StepScheduler;
+
+/** Steps many independent {@link btDynamicsWorld} instances with fixed time steps on an {@link AsyncExecutor}, see
+ * {@link StepScheduler}. Each step is a single {@link btDynamicsWorld#stepSimulation(float, int)} without sub steps, the
+ * interpolation alpha is available from the entry.
+ * <p>
+ * The motion states, internal tick callbacks and the global {@link com.badlogic.gdx.physics.bullet.collision.ContactListener}
+ * are called on the threads of the executor. Handle the results of the steps in the {@link StepScheduler.StepListener} of the
+ * entry instead, which is called on the thread calling {@link #update(float)}. */
+public class WorldScheduler extends StepScheduler<btDynamicsWorld> {
+	/** @param executor runs all tasks but the first, null to step all worlds on the calling thread
+	 * @param tasks the number of tasks the worlds are split in, usually the number of threads of the executor plus one */
+	public WorldScheduler (AsyncExecutor executor, int tasks) {
+		super(executor, tasks);
+	}
+
+	@Override
+	protected void step (btDynamicsWorld world, float timeStep) {
+		world.stepSimulation(timeStep, 0);
+	}
+}
@@ -0,0 +1,485 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.tools.distancefield;
+
+import java.awt.Font;
+import java.awt.FontFormatException;
+import java.awt.Rectangle;
+import java.awt.Shape;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Path2D;
+import java.awt.geom.PathIterator;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+
+import javax.imageio.ImageIO;
+
+/**
+ * Generates a multi-channel signed distance field (MSDF) image from a vector shape.
+ *
+ * <p> A single channel distance field can only represent the distance to the nearest edge, which
+ * rounds off sharp corners unless the field is stored at a high resolution. A multi-channel field
+ * assigns the edges of the shape to the red, green and blue channels such that two edges meeting
+ * at a corner never share all their channels. The shape is reconstructed by taking the median of
+ * the three channels, which keeps corners sharp even for small images. The alpha channel stores
+ * the regular (true) signed distance, so the output is also usable with the single channel
+ * shader and for effects like outlines and shadows.
+ *
+ * <p> Since the edges of the shape are needed, the input is a {@link Shape} rather than a bitmap.
+ * Curves are flattened, corners are detected with {@link #setAngleThreshold(float)}.
+ * The technique is described in the master thesis "Shape Decomposition for Multi-channel Distance
+ * Fields" by Viktor Chlumsky:
+ * <a href="https://github.com/Chlumsky/msdfgen">https://github.com/Chlumsky/msdfgen</a>
+ *
+ * <p> The output can be rendered with
+ * {@link com.badlogic.gdx.graphics.g2d.DistanceFieldFont#createMultiChannelDistanceFieldShader()}.
+ *
+ * @see DistanceFieldGenerator
+ */
+public class MultiChannelDistanceFieldGenerator {
+
+	private static final int RED = 1, GREEN = 2, BLUE = 4;
+	private static final int YELLOW = RED | GREEN, CYAN = GREEN | BLUE, MAGENTA = RED | BLUE, WHITE = RED | GREEN | BLUE;
+	private static final int[] CYCLE = {CYAN, MAGENTA, YELLOW};
+
+	private float spread = 1;
+	private float angleThreshold = 3;
+	private float flatness = 0.05f;
+
+	/** @see #setSpread(float) */
+	public float getSpread() {
+		return spread;
+	}
+
+	/**
+	 * Sets the spread of the distance field, in pixels of the output image. See
+	 * {@link DistanceFieldGenerator#setSpread(float)}.
+	 *
+	 * @param spread a positive number
+	 * @throws IllegalArgumentException if spread is not positive
+	 */
+	public void setSpread(float spread) {
+		if (spread <= 0)
+			throw new IllegalArgumentException("spread must be positive");
+		this.spread = spread;
+	}
+
+	/** @see #setAngleThreshold(float) */
+	public float getAngleThreshold() {
+		return angleThreshold;
+	}
+
+	/**
+	 * Sets the maximum angle in radians, measured between the directions of two adjacent edges,
+	 * for which the joint is still considered smooth. Larger direction changes are corners, where
+	 * the channel assignment switches. Defaults to 3, same as msdfgen.
+	 *
+	 * @param angleThreshold an angle between 0 and PI
+	 * @throws IllegalArgumentException if the angle is out of range
+	 */
+	public void setAngleThreshold(float angleThreshold) {
+		if (angleThreshold <= 0 || angleThreshold > Math.PI)
+			throw new IllegalArgumentException("angleThreshold must be in range (0, PI]");
+		this.angleThreshold = angleThreshold;
+	}
+
+	/** @see #setFlatness(float) */
+	public float getFlatness() {
+		return flatness;
+	}
+
+	/**
+	 * Sets the maximum distance in output pixels the line segments are allowed to deviate from
+	 * curves of the shape when flattening it.
+	 *
+	 * @param flatness a positive number
+	 * @throws IllegalArgumentException if flatness is not positive
+	 */
+	public void setFlatness(float flatness) {
+		if (flatness <= 0)
+			throw new IllegalArgumentException("flatness must be positive");
+		this.flatness = flatness;
+	}
+
+	/**
+	 * Process the shape into a multi-channel distance field.
+	 *
+	 * The shape is given in output pixel coordinates, with (0, 0) being the top left corner of the image.
+	 * The fill rule of the shape's path is honored for the alpha channel and for resolving conflicts
+	 * between the channels.
+	 *
+	 * @param shape the shape to process
+	 * @param width the width of the output image
+	 * @param height the height of the output image
+	 * @return the distance field image, with the distances in the color channels and the true distance in alpha
+	 */
+	public BufferedImage generateDistanceField(Shape shape, int width, int height)
+	{
+		final BufferedImage outImage = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		final Path2D.Float path = new Path2D.Float(shape);
+		final ArrayList<float[]> contours = flatten(path);
+
+		// Each segment: x1, y1, x2, y2, colors, flags (1 = first of its edge, 2 = last of its edge)
+		int segmentCount = 0;
+		for (float[] contour : contours)
+			segmentCount += contour.length / 2;
+		final float[] segments = new float[segmentCount * 6];
+		int offset = 0;
+		float area = 0;
+		for (float[] contour : contours) {
+			offset = colorContour(contour, segments, offset);
+			area += signedArea(contour);
+		}
+		// Determines on which side of the segments the inside of the shape lies
+		final float orientation = area < 0 ? -1 : 1;
+
+		final float[] channel = new float[3];
+		for (int y = 0; y < height; ++y)
+		{
+			for (int x = 0; x < width; ++x)
+			{
+				final float px = x + 0.5f;
+				final float py = y + 0.5f;
+				final boolean inside = path.contains(px, py);
+				float trueDistance = findPseudoDistances(px, py, segments, orientation, channel);
+				if (!inside) trueDistance = -trueDistance;
+				// The sign of the median has to match the true distance, otherwise the channels disagree
+				// about this pixel (usually close to overlapping contours) and the true distance is used instead
+				float median = Math.max(Math.min(channel[0], channel[1]), Math.min(Math.max(channel[0], channel[1]), channel[2]));
+				if ((median > 0) != inside) channel[0] = channel[1] = channel[2] = trueDistance;
+				outImage.setRGB(x, y, (distanceToByte(trueDistance) << 24) | (distanceToByte(channel[0]) << 16)
+					| (distanceToByte(channel[1]) << 8) | distanceToByte(channel[2]));
+			}
+		}
+		return outImage;
+	}
+
+	/**
+	 * Flattens the path into closed polygons.
+	 * @return the contours, each as an array of x and y coordinates without the closing point
+	 */
+	private ArrayList<float[]> flatten(Path2D.Float path) {
+		final ArrayList<float[]> contours = new ArrayList<float[]>();
+		final PathIterator iterator = path.getPathIterator(null, flatness);
+		final float[] coords = new float[6];
+		float[] points = new float[32];
+		int count = 0;
+		while (!iterator.isDone()) {
+			int type = iterator.currentSegment(coords);
+			if (type == PathIterator.SEG_MOVETO || type == PathIterator.SEG_CLOSE) {
+				addContour(contours, points, count);
+				count = 0;
+			}
+			if (type == PathIterator.SEG_MOVETO || type == PathIterator.SEG_LINETO) {
+				if (count >= 2 && points[count - 2] == coords[0] && points[count - 1] == coords[1]) {
+					iterator.next();
+					continue;
+				}
+				if (count + 2 > points.length) {
+					float[] newPoints = new float[points.length * 2];
+					System.arraycopy(points, 0, newPoints, 0, count);
+					points = newPoints;
+				}
+				points[count++] = coords[0];
+				points[count++] = coords[1];
+			}
+			iterator.next();
+		}
+		addContour(contours, points, count);
+		return contours;
+	}
+
+	private static void addContour(ArrayList<float[]> contours, float[] points, int count) {
+		// Drop the closing point if the path repeated the starting point
+		if (count >= 4 && points[0] == points[count - 2] && points[1] == points[count - 1]) count -= 2;
+		if (count < 6) return; // Degenerate, less than 3 points
+		float[] contour = new float[count];
+		System.arraycopy(points, 0, contour, 0, count);
+		contours.add(contour);
+	}
+
+	private static float signedArea(float[] contour) {
+		float area = 0;
+		for (int i = 0, n = contour.length; i < n; i += 2) {
+			int j = (i + 2) % n;
+			area += contour[i] * contour[j + 1] - contour[j] * contour[i + 1];
+		}
+		return area * 0.5f;
+	}
+
+	/**
+	 * Splits the contour into edges at its corners and assigns the channels to the edges, so that
+	 * adjacent edges always differ in at least one channel but share at least one other.
+	 * @return the offset into segments after the last written segment
+	 */
+	private int colorContour(float[] contour, float[] segments, int offset) {
+		final int n = contour.length / 2;
+		final float crossThreshold = (float)Math.sin(angleThreshold);
+
+		// A corner at point i lies between segment i - 1 and segment i
+		final boolean[] corner = new boolean[n];
+		int cornerCount = 0, firstCorner = -1;
+		for (int i = 0; i < n; i++) {
+			int prev = (i + n - 1) % n, next = (i + 1) % n;
+			float ax = contour[i * 2] - contour[prev * 2], ay = contour[i * 2 + 1] - contour[prev * 2 + 1];
+			float bx = contour[next * 2] - contour[i * 2], by = contour[next * 2 + 1] - contour[i * 2 + 1];
+			float lengths = (float)Math.sqrt((ax * ax + ay * ay) * (bx * bx + by * by));
+			if (lengths == 0) continue;
+			float dot = (ax * bx + ay * by) / lengths, cross = (ax * by - ay * bx) / lengths;
+			if (dot <= 0 || Math.abs(cross) > crossThreshold) {
+				corner[i] = true;
+				cornerCount++;
+				if (firstCorner == -1) firstCorner = i;
+			}
+		}
+
+		final int[] colors = new int[n];
+		if (cornerCount == 0) {
+			// Smooth contour, all channels behave like a regular distance field
+			for (int i = 0; i < n; i++)
+				colors[i] = WHITE;
+		} else if (cornerCount == 1) {
+			// Teardrop, split the single edge in three parts so the corner gets two distinct channels
+			for (int i = 0; i < n; i++) {
+				int part = i * 3 / n, index = (firstCorner + i) % n;
+				colors[index] = part == 0 ? MAGENTA : part == 1 ? WHITE : YELLOW;
+				if (i > 0 && part != (i - 1) * 3 / n) corner[index] = true;
+			}
+		} else {
+			int edge = -1;
+			for (int i = 0; i < n; i++) {
+				int index = (firstCorner + i) % n;
+				if (corner[index]) edge++;
+				int color = CYCLE[edge % 3];
+				// The last edge is adjacent to the first one, never give it the same channels
+				if (edge == cornerCount - 1 && edge % 3 == 0) color = CYCLE[1];
+				colors[index] = color;
+			}
+		}
+
+		for (int i = 0; i < n; i++) {
+			int next = (i + 1) % n;
+			segments[offset++] = contour[i * 2];
+			segments[offset++] = contour[i * 2 + 1];
+			segments[offset++] = contour[next * 2];
+			segments[offset++] = contour[next * 2 + 1];
+			segments[offset++] = colors[i];
+			segments[offset++] = (corner[i] ? 1 : 0) | (corner[next] ? 2 : 0);
+		}
+		return offset;
+	}
+
+	/**
+	 * Finds for each channel the nearest edge of that channel and stores the signed pseudo distance to it,
+	 * the pseudo distance being the distance to the edge extended along its tangent at its end points.
+	 * @return the unsigned true distance to the nearest segment of any channel
+	 */
+	private static float findPseudoDistances(float px, float py, float[] segments, float orientation, float[] channel) {
+		float best = Float.MAX_VALUE;
+		for (int c = 0; c < 3; c++) {
+			final int mask = 1 << c;
+			float nearest = Float.MAX_VALUE, nearestOrthogonality = 0;
+			int nearestSegment = -1;
+			float nearestT = 0;
+			for (int i = 0, n = segments.length; i < n; i += 6) {
+				if (((int)segments[i + 4] & mask) == 0) continue;
+				final float ax = segments[i], ay = segments[i + 1];
+				final float dx = segments[i + 2] - ax, dy = segments[i + 3] - ay;
+				final float lengthSq = dx * dx + dy * dy;
+				if (lengthSq == 0) continue;
+				final float t = ((px - ax) * dx + (py - ay) * dy) / lengthSq;
+				final float clamped = t < 0 ? 0 : t > 1 ? 1 : t;
+				final float qx = px - (ax + clamped * dx), qy = py - (ay + clamped * dy);
+				final float distance = (float)Math.sqrt(qx * qx + qy * qy);
+				// At the shared end point of two segments, prefer the one that is more perpendicular to the point
+				final float orthogonality = distance == 0 ? 1
+					: Math.abs(dx * qy - dy * qx) / ((float)Math.sqrt(lengthSq) * distance);
+				if (distance < nearest - 1e-5f || (distance < nearest + 1e-5f && orthogonality > nearestOrthogonality)) {
+					nearest = distance;
+					nearestOrthogonality = orthogonality;
+					nearestSegment = i;
+					nearestT = t;
+				}
+			}
+			if (nearestSegment == -1) {
+				channel[c] = -Float.MAX_VALUE;
+				continue;
+			}
+			best = Math.min(best, nearest);
+
+			final int i = nearestSegment;
+			final float ax = segments[i], ay = segments[i + 1];
+			final float dx = segments[i + 2] - ax, dy = segments[i + 3] - ay;
+			final int flags = (int)segments[i + 5];
+			final float cross = (dx * (py - ay) - dy * (px - ax)) * orientation;
+			float distance = nearest;
+			if ((nearestT < 0 && (flags & 1) != 0) || (nearestT > 1 && (flags & 2) != 0)) {
+				// Beyond the end of the edge, use the distance to the tangent line if that is closer
+				float lineDistance = Math.abs(cross) / (float)Math.sqrt(dx * dx + dy * dy);
+				if (lineDistance < distance) distance = lineDistance;
+			}
+			channel[c] = cross >= 0 ? distance : -distance;
+		}
+		return best;
+	}
+
+	/**
+	 * For a signed distance, returns the corresponding channel value.
+	 *
+	 * @param signedDistance the signed distance of a pixel
+	 * @return a value in range [0, 255]
+	 */
+	private int distanceToByte(float signedDistance) {
+		float value = 0.5f + 0.5f * (signedDistance / spread);
+		value = Math.min(1, Math.max(0, value)); // compensate for rounding errors
+		return (int) (value * 0xFF);
+	}
+
+	/** Prints usage information to standard output. */
+	private static void usage() {
+		System.out.println(
+			"Generates a multi-channel distance field image for a text from a font file.\n" +
+			"The red, green and blue channels store the multi-channel distance, the alpha\n" +
+			"channel stores the true distance.\n" +
+			"\n" +
+			"The output file format is inferred from the file name.\n" +
+			"\n" +
+			"Command line arguments: FONTFILE OUTFILE TEXT [OPTION...]\n" +
+			"\n" +
+			"Possible options:\n" +
+			"  --size n          font size in pixels (default: 32)\n" +
+			"  --spread n        edge scan distance (default: 1)\n" +
+			"  --angle n         corner angle threshold in radians (default: 3)\n");
+	}
+
+	/** Thrown when the command line contained nonsense. */
+	private static class CommandLineArgumentException extends IllegalArgumentException {
+		public CommandLineArgumentException(String message) {
+			super(message);
+		}
+	}
+
+	/**
+	 * Main function to run the generator as a standalone program.
+	 * Run without arguments for usage instructions (or see {@link #usage()}).
+	 *
+	 * @param args command line arguments
+	 */
+	public static void main(String[] args) {
+		try {
+			run(args);
+		} catch (CommandLineArgumentException e) {
+			System.err.println("Error: " + e.getMessage() + "\n");
+			usage();
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * Runs the program.
+	 * @param args command line arguments
+	 * @throws CommandLineArgumentException if the command line contains an error
+	 */
+	private static void run(String[] args) {
+		MultiChannelDistanceFieldGenerator generator = new MultiChannelDistanceFieldGenerator();
+		String fontFile = null;
+		String outputFile = null;
+		String text = null;
+		float size = 32;
+
+		int i = 0;
+		try {
+			for (; i < args.length; ++i) {
+				String arg = args[i];
+				if (arg.startsWith("-")) {
+					if ("--help".equals(arg)) {
+						usage();
+						System.exit(0);
+					} else if ("--size".equals(arg)) {
+						++i;
+						size = Float.parseFloat(args[i]);
+					} else if ("--spread".equals(arg)) {
+						++i;
+						generator.setSpread(Float.parseFloat(args[i]));
+					} else if ("--angle".equals(arg)) {
+						++i;
+						generator.setAngleThreshold(Float.parseFloat(args[i]));
+					} else {
+						throw new CommandLineArgumentException("unknown option " + arg);
+					}
+				} else {
+					if (fontFile == null) {
+						fontFile = arg;
+					} else if (outputFile == null) {
+						outputFile = arg;
+					} else if (text == null) {
+						text = arg;
+					} else {
+						throw new CommandLineArgumentException("exactly two file names and a text are expected");
+					}
+				}
+			}
+		} catch (IndexOutOfBoundsException e) {
+			throw new CommandLineArgumentException("option " + args[args.length - 1] + " requires an argument");
+		} catch (NumberFormatException e) {
+			throw new CommandLineArgumentException(args[i] + " is not a number");
+		}
+		if (fontFile == null) {
+			throw new CommandLineArgumentException("no font file specified");
+		}
+		if (outputFile == null) {
+			throw new CommandLineArgumentException("no output file specified");
+		}
+		if (text == null) {
+			throw new CommandLineArgumentException("no text specified");
+		}
+
+		String outputFormat = outputFile.substring(outputFile.lastIndexOf('.') + 1);
+		if (!ImageIO.getImageWritersByFormatName(outputFormat).hasNext()) {
+			throw new RuntimeException("No image writers found that can handle the format '" + outputFormat + "'");
+		}
+
+		Font font;
+		try {
+			font = Font.createFont(Font.TRUETYPE_FONT, new File(fontFile)).deriveFont(size);
+		} catch (IOException e) {
+			System.err.println("Failed to load font: " + e.getMessage());
+			return;
+		} catch (FontFormatException e) {
+			System.err.println("Failed to load font: " + e.getMessage());
+			return;
+		}
+
+		GlyphVector glyphs = font.createGlyphVector(new FontRenderContext(null, true, true), text);
+		Shape outline = glyphs.getOutline();
+		Rectangle bounds = outline.getBounds();
+		int padding = (int) Math.ceil(generator.getSpread());
+		AffineTransform transform = AffineTransform.getTranslateInstance(padding - bounds.x, padding - bounds.y);
+		BufferedImage output = generator.generateDistanceField(transform.createTransformedShape(outline),
+			bounds.width + padding * 2, bounds.height + padding * 2);
+
+		try {
+			ImageIO.write(output, outputFormat, new File(outputFile));
+		} catch (IOException e) {
+			System.err.println("Failed to write output image: " + e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.tools.g3dm;
+
+import java.io.File;
+import java.util.ArrayList;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.g3d.loader.G3dmModelLoader;
+import com.badlogic.gdx.graphics.g3d.loader.G3dmModelWriter;
+import com.badlogic.gdx.graphics.g3d.utils.MeshOptimizer;
+import com.badlogic.gdx.tools.FileProcessor;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.GdxNativesLoader;
+
+/** Converts g3dj, g3db and obj models to the g3dm format loaded by {@link G3dmModelLoader}. The textures are referenced relative
+ * to the model, so they must be copied to the output directory along with the models. */
+public class G3dmConverter {
+	static class G3dmFileProcessor extends FileProcessor {
+		final MeshOptimizer.Config optimization;
+
+		G3dmFileProcessor (MeshOptimizer.Config optimization) {
+			this.optimization = optimization;
+			addInputSuffix(".g3dj");
+			addInputSuffix(".g3db");
+			addInputSuffix(".obj");
+			setOutputSuffix(".g3dm");
+		}
+
+		@Override
+		protected void processFile (Entry entry) throws Exception {
+			System.out.println("Processing " + entry.inputFile);
+			G3dmModelWriter.convert(new FileHandle(entry.inputFile), new FileHandle(entry.outputFile), optimization);
+		}
+
+		@Override
+		protected void processDir (Entry entryDir, ArrayList<Entry> value) throws Exception {
+			if (!entryDir.outputDir.exists()) {
+				if (!entryDir.outputDir.mkdirs())
+					throw new Exception("Couldn't create output directory '" + entryDir.outputDir + "'");
+			}
+		}
+	}
+
+	public static void process (String inputDirectory, String outputDirectory, boolean recursive, boolean flatten)
+		throws Exception {
+		process(inputDirectory, outputDirectory, recursive, flatten, null);
+	}
+
+	/** @param optimization how the meshes are optimized before they are written, see {@link MeshOptimizer}. May be null. */
+	public static void process (String inputDirectory, String outputDirectory, boolean recursive, boolean flatten,
+		MeshOptimizer.Config optimization) throws Exception {
+		GdxNativesLoader.load();
+		G3dmFileProcessor processor = new G3dmFileProcessor(optimization);
+		processor.setRecursive(recursive);
+		processor.setFlattenOutput(flatten);
+		processor.process(new File(inputDirectory), new File(outputDirectory));
+	}
+
+	public static void main (String[] args) throws Exception {
+		MeshOptimizer.Config optimization = null;
+		FloatArray lods = new FloatArray();
+		ArrayList<String> dirs = new ArrayList<String>();
+		for (int i = 0; i < args.length; i++) {
+			if (args[i].equals("-optimize")) {
+				if (optimization == null) optimization = new MeshOptimizer.Config();
+			} else if (args[i].equals("-lod") && i + 2 < args.length) {
+				if (optimization == null) optimization = new MeshOptimizer.Config();
+				lods.add(Float.parseFloat(args[++i]));
+				lods.add(Float.parseFloat(args[++i]));
+			} else
+				dirs.add(args[i]);
+		}
+		if (dirs.size() != 2) {
+			System.out.println("G3dmConverter [-optimize] [-lod <ratio> <screen-size>]... <input-dir> <output-dir>");
+			System.exit(-1);
+		}
+		if (lods.size > 0) {
+			optimization.lodRatios = new float[lods.size / 2];
+			optimization.lodScreenSizes = new float[lods.size / 2];
+			for (int i = 0; i < lods.size / 2; i++) {
+				optimization.lodRatios[i] = lods.get(i * 2);
+				optimization.lodScreenSizes[i] = lods.get(i * 2 + 1);
+			}
+		}
+		G3dmConverter.process(dirs.get(0), dirs.get(1), true, false, optimization);
+	}
+}
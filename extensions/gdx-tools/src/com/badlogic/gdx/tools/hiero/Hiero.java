@@ -101,6 +101,7 @@ import com.badlogic.gdx.tools.hiero.unicodefont.effects.ConfigurableEffect;
 import com.badlogic.gdx.tools.hiero.unicodefont.effects.ConfigurableEffect.Value;
 import com.badlogic.gdx.utils.StringBuilder;
 import com.badlogic.gdx.tools.hiero.unicodefont.effects.DistanceFieldEffect;
+import com.badlogic.gdx.tools.hiero.unicodefont.effects.MultiChannelDistanceFieldEffect;
 import com.badlogic.gdx.tools.hiero.unicodefont.effects.EffectUtil;
 import com.badlogic.gdx.tools.hiero.unicodefont.effects.GradientEffect;
 import com.badlogic.gdx.tools.hiero.unicodefont.effects.OutlineEffect;
@@ -200,6 +201,7 @@ public class Hiero extends JFrame {
 		effectsListModel.addElement(new OutlineZigzagEffect());
 		effectsListModel.addElement(new ShadowEffect());
 		effectsListModel.addElement(new DistanceFieldEffect());
+		effectsListModel.addElement(new MultiChannelDistanceFieldEffect());
 		new EffectPanel(colorEffect);
 
 		parseArgs(args);
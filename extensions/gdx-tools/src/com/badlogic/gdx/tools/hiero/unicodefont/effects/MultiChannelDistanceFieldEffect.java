@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.badlogic.gdx.tools.hiero.unicodefont.effects;
+
+import java.awt.AlphaComposite;
+import java.awt.Composite;
+import java.awt.Graphics2D;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import com.badlogic.gdx.tools.distancefield.MultiChannelDistanceFieldGenerator;
+import com.badlogic.gdx.tools.hiero.unicodefont.Glyph;
+import com.badlogic.gdx.tools.hiero.unicodefont.UnicodeFont;
+
+/**
+ * A filter to create a multi-channel distance field. Compared to {@link DistanceFieldEffect}, corners
+ * stay sharp at much smaller glyph sizes, so one small font page can serve all rendered sizes.
+ * The resulting font can be rendered with
+ * {@link com.badlogic.gdx.graphics.g2d.DistanceFieldFont#createMultiChannelDistanceFieldShader()}.
+ *
+ * <p> The glyph color is not stored, the color channels hold the distances. Tint the font at runtime instead.
+ *
+ * @see MultiChannelDistanceFieldGenerator
+ */
+public class MultiChannelDistanceFieldEffect implements ConfigurableEffect
+{
+	private float spread = 4;
+	private float angleThreshold = 3;
+
+	@Override
+	public void draw(BufferedImage image, Graphics2D g, UnicodeFont unicodeFont, Glyph glyph) {
+		MultiChannelDistanceFieldGenerator generator = new MultiChannelDistanceFieldGenerator();
+		generator.setSpread(spread);
+		generator.setAngleThreshold(angleThreshold);
+		BufferedImage distanceField = generator.generateDistanceField(glyph.getShape(), glyph.getWidth(), glyph.getHeight());
+
+		// The color channels must be stored as is, blending would corrupt the distances
+		Composite composite = g.getComposite();
+		g.setComposite(AlphaComposite.Src);
+		g.drawImage(distanceField, new AffineTransform(), null);
+		g.setComposite(composite);
+	}
+
+	@Override
+	public String toString() {
+		return "Multi-channel distance field";
+	}
+
+	@Override
+	public List getValues() {
+		List values = new ArrayList();
+		values.add(EffectUtil.floatValue("Spread", spread, 1.0f, Float.MAX_VALUE, "The maximum distance from edges where the effect of the distance field is seen. Set this to about half the width of lines in your output font."));
+		values.add(EffectUtil.floatValue("Angle threshold", angleThreshold, 0.1f, (float)Math.PI, "The angle in radians between two edges above which their joint is treated as a sharp corner."));
+		return values;
+	}
+
+	@Override
+	public void setValues(List values) {
+		for (Iterator iter = values.iterator(); iter.hasNext();) {
+			Value value = (Value)iter.next();
+			if ("Spread".equals(value.getName())) {
+				spread = Math.max(1, (Float)value.getObject());
+			} else if ("Angle threshold".equals(value.getName())) {
+				angleThreshold = Math.min((float)Math.PI, Math.max(0.1f, (Float)value.getObject()));
+			}
+		}
+	}
+}
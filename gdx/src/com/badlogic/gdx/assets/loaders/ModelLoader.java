@@ -27,6 +27,7 @@ import com.badlogic.gdx.graphics.g3d.Model;
 import com.badlogic.gdx.graphics.g3d.model.data.ModelData;
 import com.badlogic.gdx.graphics.g3d.model.data.ModelMaterial;
 import com.badlogic.gdx.graphics.g3d.model.data.ModelTexture;
+import com.badlogic.gdx.graphics.g3d.utils.MeshOptimizer;
 import com.badlogic.gdx.graphics.g3d.utils.TextureProvider;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Disposable;
@@ -51,7 +52,11 @@ public abstract class ModelLoader<P extends ModelLoader.ModelParameters> extends
 	/** Directly load the model on the calling thread. The model with not be managed by an {@link AssetManager}. */
 	public Model loadModel (final FileHandle fileHandle, TextureProvider textureProvider, P parameters) {
 		final ModelData data = loadModelData(fileHandle, parameters);
-		return data == null ? null : new Model(data, textureProvider);
+		if (data == null) return null;
+		optimize(data, parameters);
+		final Model result = new Model(data, textureProvider);
+		if (parameters != null && parameters.animationSampleRate > 0) result.bakeAnimations(parameters.animationSampleRate);
+		return result;
 	}
 
 	/** Directly load the model on the calling thread. The model with not be managed by an {@link AssetManager}. */
@@ -74,6 +79,7 @@ public abstract class ModelLoader<P extends ModelLoader.ModelParameters> extends
 		final Array<AssetDescriptor> deps = new Array();
 		ModelData data = loadModelData(file, parameters);
 		if (data == null) return deps;
+		optimize(data, parameters);
 
 		ObjectMap.Entry<String, ModelData> item = new ObjectMap.Entry<String, ModelData>();
 		item.key = fileName;
@@ -122,11 +128,22 @@ public abstract class ModelLoader<P extends ModelLoader.ModelParameters> extends
 			}
 		}
 		data = null;
+		if (parameters != null && parameters.animationSampleRate > 0) result.bakeAnimations(parameters.animationSampleRate);
 		return result;
 	}
 
+	private void optimize (ModelData data, P parameters) {
+		if (parameters != null && parameters.meshOptimization != null) MeshOptimizer.optimize(data, parameters.meshOptimization);
+	}
+
 	static public class ModelParameters extends AssetLoaderParameters<Model> {
 		public TextureLoader.TextureParameter textureParameter;
+		/** When greater than zero, the animations are resampled at this number of samples per second when loaded, see
+		 * {@link Model#bakeAnimations(float)}. */
+		public float animationSampleRate;
+		/** When not null, the meshes are optimized and levels of detail are generated when loaded, see
+		 * {@link MeshOptimizer#optimize(ModelData, MeshOptimizer.Config)}. Prefer optimizing in the asset pipeline for large models. */
+		public MeshOptimizer.Config meshOptimization;
 
 		public ModelParameters() {
 			textureParameter = new TextureLoader.TextureParameter();
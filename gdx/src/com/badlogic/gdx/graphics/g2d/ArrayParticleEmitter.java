@@ -0,0 +1,671 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g2d;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.collision.BoundingBox;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.async.AsyncTask;
+
+/** A {@link ParticleEmitter} that stores its particles in parallel arrays instead of {@link Particle} sprites. Each property is
+ * updated for all particles in a tight loop, timeline values are evaluated in bulk, and {@link #draw(Batch)} writes the vertices
+ * directly from the arrays. This is considerably faster for emitters with many particles.
+ * <p>
+ * The update of an emitter only touches its own state, so independent emitters can be updated in parallel, see
+ * {@link ParticleEffect#update(float, com.badlogic.gdx.utils.async.AsyncExecutor)}.
+ * <p>
+ * Particles are kept packed at the start of the arrays, a particle that dies is replaced by the last one. Because of that the
+ * draw order of particles is not stable, and {@link #getParticles()} returns null.
+ * @author See AUTHORS file */
+public class ArrayParticleEmitter extends ParticleEmitter {
+	static private final int VERTEX_SIZE = 5, SPRITE_SIZE = 4 * VERTEX_SIZE;
+	static private final int UPDATE_SCALE = 1 << 0;
+	static private final int UPDATE_ANGLE = 1 << 1;
+	static private final int UPDATE_ROTATION = 1 << 2;
+	static private final int UPDATE_VELOCITY = 1 << 3;
+	static private final int UPDATE_WIND = 1 << 4;
+	static private final int UPDATE_GRAVITY = 1 << 5;
+	static private final int UPDATE_TINT = 1 << 6;
+	static private final int UPDATE_SPRITE = 1 << 7;
+
+	// Particle state, fields are not initialized at declaration because the super constructor already sets the capacity.
+	private int[] totalLife, currentLife, frame;
+	private float[] particleX, particleY, scaleX, scaleY, rotation;
+	private float[] xScale, xScaleDiff, yScale, yScaleDiff;
+	private float[] rotationStart, rotationDiff;
+	private float[] velocity, velocityDiff;
+	private float[] angle, angleDiff, angleCos, angleSin;
+	private float[] transparency, transparencyDiff;
+	private float[] wind, windDiff;
+	private float[] gravity, gravityDiff;
+	private float[] tint;
+	private float[] color;
+
+	// Scratch arrays for the per property update passes.
+	private float[] percent, scale, scale2, deltaX, deltaY;
+	private float[] vertices;
+	private float[] temp;
+	private BoundingBox bounds;
+	private UpdateTask updateTask;
+	private int updateFlags;
+
+	public ArrayParticleEmitter () {
+	}
+
+	public ArrayParticleEmitter (BufferedReader reader) throws IOException {
+		super(reader);
+	}
+
+	public ArrayParticleEmitter (ParticleEmitter emitter) {
+		super(emitter);
+	}
+
+	public void setMaxParticleCount (int maxParticleCount) {
+		this.maxParticleCount = maxParticleCount;
+		activeCount = 0;
+		totalLife = new int[maxParticleCount];
+		currentLife = new int[maxParticleCount];
+		frame = new int[maxParticleCount];
+		particleX = new float[maxParticleCount];
+		particleY = new float[maxParticleCount];
+		scaleX = new float[maxParticleCount];
+		scaleY = new float[maxParticleCount];
+		rotation = new float[maxParticleCount];
+		xScale = new float[maxParticleCount];
+		xScaleDiff = new float[maxParticleCount];
+		yScale = new float[maxParticleCount];
+		yScaleDiff = new float[maxParticleCount];
+		rotationStart = new float[maxParticleCount];
+		rotationDiff = new float[maxParticleCount];
+		velocity = new float[maxParticleCount];
+		velocityDiff = new float[maxParticleCount];
+		angle = new float[maxParticleCount];
+		angleDiff = new float[maxParticleCount];
+		angleCos = new float[maxParticleCount];
+		angleSin = new float[maxParticleCount];
+		transparency = new float[maxParticleCount];
+		transparencyDiff = new float[maxParticleCount];
+		wind = new float[maxParticleCount];
+		windDiff = new float[maxParticleCount];
+		gravity = new float[maxParticleCount];
+		gravityDiff = new float[maxParticleCount];
+		tint = new float[maxParticleCount * 3];
+		color = new float[maxParticleCount];
+		percent = new float[maxParticleCount];
+		scale = new float[maxParticleCount];
+		scale2 = new float[maxParticleCount];
+		deltaX = new float[maxParticleCount];
+		deltaY = new float[maxParticleCount];
+		vertices = null;
+	}
+
+	public void update (float delta) {
+		updateFlags = computeUpdateFlags();
+		super.update(delta);
+	}
+
+	/** @return which properties change over the life of a particle, the same way {@link ParticleEmitter} determines them. */
+	private int computeUpdateFlags () {
+		int updateFlags = 0;
+		ScaledNumericValue angle = getAngle(), yScale = getYScale(), rotation = getRotation();
+		if (angle.isActive() && angle.getTimeline().length > 1) updateFlags |= UPDATE_ANGLE;
+		if (getVelocity().isActive()) updateFlags |= UPDATE_VELOCITY;
+		if (getXScale().getTimeline().length > 1) updateFlags |= UPDATE_SCALE;
+		if (yScale.isActive() && yScale.getTimeline().length > 1) updateFlags |= UPDATE_SCALE;
+		if (rotation.isActive() && rotation.getTimeline().length > 1) updateFlags |= UPDATE_ROTATION;
+		if (getWind().isActive()) updateFlags |= UPDATE_WIND;
+		if (getGravity().isActive()) updateFlags |= UPDATE_GRAVITY;
+		if (getTint().getTimeline().length > 1) updateFlags |= UPDATE_TINT;
+		if (getSpriteMode() == SpriteMode.animated) updateFlags |= UPDATE_SPRITE;
+		return updateFlags;
+	}
+
+	public void addParticle () {
+		if (activeCount == maxParticleCount) return;
+		updateFlags = computeUpdateFlags();
+		activateParticle(activeCount++);
+	}
+
+	public void addParticles (int count) {
+		count = Math.min(count, maxParticleCount - activeCount);
+		updateFlags = computeUpdateFlags();
+		for (int i = 0; i < count; i++)
+			activateParticle(activeCount++);
+	}
+
+	public void reset () {
+		emissionDelta = 0;
+		durationTimer = duration;
+		activeCount = 0;
+		start();
+	}
+
+	private void activateParticle (int index) {
+		Array<Sprite> sprites = this.sprites;
+		int spriteIndex = getSpriteMode() == SpriteMode.random ? MathUtils.random(sprites.size - 1) : 0;
+		Sprite sprite = sprites.get(spriteIndex);
+		frame[index] = spriteIndex;
+
+		float percent = durationTimer / duration;
+		int updateFlags = this.updateFlags;
+
+		currentLife[index] = totalLife[index] = this.life + (int)(lifeDiff * getLife().getScale(percent));
+
+		ScaledNumericValue velocityValue = getVelocity();
+		if (velocityValue.active) {
+			float velocity = velocityValue.newLowValue();
+			float velocityDiff = velocityValue.newHighValue();
+			if (!velocityValue.isRelative()) velocityDiff -= velocity;
+			this.velocity[index] = velocity;
+			this.velocityDiff[index] = velocityDiff;
+		}
+
+		ScaledNumericValue angleValue = getAngle();
+		float angle = angleValue.newLowValue();
+		float angleDiff = angleValue.newHighValue();
+		if (!angleValue.isRelative()) angleDiff -= angle;
+		float startAngle = 0;
+		if ((updateFlags & UPDATE_ANGLE) == 0) {
+			startAngle = angle + angleDiff * angleValue.getScale(0);
+			angle = startAngle;
+			angleCos[index] = MathUtils.cosDeg(startAngle);
+			angleSin[index] = MathUtils.sinDeg(startAngle);
+		}
+		this.angle[index] = angle;
+		this.angleDiff[index] = angleDiff;
+
+		float spriteWidth = sprite.getWidth();
+		float spriteHeight = sprite.getHeight();
+
+		ScaledNumericValue xScaleValue = getXScale(), yScaleValue = getYScale();
+		float xScale = xScaleValue.newLowValue() / spriteWidth;
+		float xScaleDiff = xScaleValue.newHighValue() / spriteWidth;
+		if (!xScaleValue.isRelative()) xScaleDiff -= xScale;
+		this.xScale[index] = xScale;
+		this.xScaleDiff[index] = xScaleDiff;
+		scaleX[index] = scaleY[index] = xScale + xScaleDiff * xScaleValue.getScale(0);
+		if (yScaleValue.active) {
+			float yScale = yScaleValue.newLowValue() / spriteHeight;
+			float yScaleDiff = yScaleValue.newHighValue() / spriteHeight;
+			if (!yScaleValue.isRelative()) yScaleDiff -= yScale;
+			this.yScale[index] = yScale;
+			this.yScaleDiff[index] = yScaleDiff;
+			scaleY[index] = yScale + yScaleDiff * yScaleValue.getScale(0);
+		}
+
+		ScaledNumericValue rotationValue = getRotation();
+		rotation[index] = 0;
+		if (rotationValue.active) {
+			float rotation = rotationValue.newLowValue();
+			float rotationDiff = rotationValue.newHighValue();
+			if (!rotationValue.isRelative()) rotationDiff -= rotation;
+			rotationStart[index] = rotation;
+			this.rotationDiff[index] = rotationDiff;
+			rotation += rotationDiff * rotationValue.getScale(0);
+			if (isAligned()) rotation += startAngle;
+			this.rotation[index] = rotation;
+		} else {
+			rotationStart[index] = 0;
+			rotationDiff[index] = 0;
+		}
+
+		ScaledNumericValue windValue = getWind();
+		if (windValue.active) {
+			float wind = windValue.newLowValue();
+			float windDiff = windValue.newHighValue();
+			if (!windValue.isRelative()) windDiff -= wind;
+			this.wind[index] = wind;
+			this.windDiff[index] = windDiff;
+		}
+
+		ScaledNumericValue gravityValue = getGravity();
+		if (gravityValue.active) {
+			float gravity = gravityValue.newLowValue();
+			float gravityDiff = gravityValue.newHighValue();
+			if (!gravityValue.isRelative()) gravityDiff -= gravity;
+			this.gravity[index] = gravity;
+			this.gravityDiff[index] = gravityDiff;
+		}
+
+		float[] temp = temp();
+		getTint().getColor(0, temp);
+		tint[index * 3] = temp[0];
+		tint[index * 3 + 1] = temp[1];
+		tint[index * 3 + 2] = temp[2];
+		color[index] = sprite.getColor().toFloatBits();
+
+		ScaledNumericValue transparencyValue = getTransparency();
+		transparency[index] = transparencyValue.newLowValue();
+		transparencyDiff[index] = transparencyValue.newHighValue() - transparency[index];
+
+		// Spawn.
+		float[] spawn = temp;
+		float spawnAngle = spawn(percent, spawn);
+		if (spawnAngle == spawnAngle) { // Not NaN.
+			this.angle[index] = spawnAngle;
+			angleCos[index] = MathUtils.cosDeg(spawnAngle);
+			angleSin[index] = MathUtils.sinDeg(spawnAngle);
+		}
+		particleX[index] = spawn[0] - spriteWidth / 2;
+		particleY[index] = spawn[1] - spriteHeight / 2;
+
+		ScaledNumericValue lifeOffsetValue = getLifeOffset();
+		int offsetTime = (int)(lifeOffset + lifeOffsetDiff * lifeOffsetValue.getScale(percent));
+		if (offsetTime > 0) {
+			if (offsetTime >= currentLife[index]) offsetTime = currentLife[index] - 1;
+			// Advance only the new particle, which is the last one.
+			updateParticles(index, index + 1, offsetTime / 1000f, offsetTime);
+		}
+	}
+
+	void updateParticles (float delta, int deltaMillis) {
+		// Remove particles at the end of their life first, so the update passes work on a packed range.
+		int[] currentLife = this.currentLife;
+		int activeCount = this.activeCount;
+		for (int i = 0; i < activeCount;) {
+			if (currentLife[i] - deltaMillis <= 0)
+				copyParticle(--activeCount, i);
+			else
+				i++;
+		}
+		this.activeCount = activeCount;
+		updateParticles(0, activeCount, delta, deltaMillis);
+	}
+
+	/** Updates the particles from start (inclusive) to end (exclusive), which must all survive deltaMillis. */
+	private void updateParticles (int start, int end, float delta, int deltaMillis) {
+		int[] totalLife = this.totalLife, currentLife = this.currentLife;
+		float[] percent = this.percent, scale = this.scale, scale2 = this.scale2;
+		float[] deltaX = this.deltaX, deltaY = this.deltaY;
+		int updateFlags = this.updateFlags;
+		boolean aligned = isAligned();
+
+		for (int i = start; i < end; i++) {
+			int remaining = currentLife[i] - deltaMillis;
+			currentLife[i] = remaining;
+			percent[i - start] = 1 - remaining / (float)totalLife[i];
+		}
+		int count = end - start;
+
+		if ((updateFlags & UPDATE_SCALE) != 0) {
+			float[] xScale = this.xScale, xScaleDiff = this.xScaleDiff, scaleX = this.scaleX, scaleY = this.scaleY;
+			getXScale().getScale(percent, scale, count);
+			for (int i = start; i < end; i++)
+				scaleX[i] = xScale[i] + xScaleDiff[i] * scale[i - start];
+			ScaledNumericValue yScaleValue = getYScale();
+			if (yScaleValue.active) {
+				float[] yScale = this.yScale, yScaleDiff = this.yScaleDiff;
+				yScaleValue.getScale(percent, scale, count);
+				for (int i = start; i < end; i++)
+					scaleY[i] = yScale[i] + yScaleDiff[i] * scale[i - start];
+			} else
+				System.arraycopy(scaleX, start, scaleY, start, count);
+		}
+
+		boolean updateRotation = (updateFlags & UPDATE_ROTATION) != 0;
+		if ((updateFlags & UPDATE_VELOCITY) != 0) {
+			float[] velocity = this.velocity, velocityDiff = this.velocityDiff;
+			getVelocity().getScale(percent, scale, count);
+			for (int i = start; i < end; i++)
+				scale[i - start] = (velocity[i] + velocityDiff[i] * scale[i - start]) * delta;
+
+			float[] angle = this.angle;
+			if ((updateFlags & UPDATE_ANGLE) != 0) {
+				float[] angleDiff = this.angleDiff;
+				getAngle().getScale(percent, scale2, count);
+				for (int i = start; i < end; i++) {
+					int j = i - start;
+					float currentAngle = angle[i] + angleDiff[i] * scale2[j];
+					scale2[j] = currentAngle;
+					deltaX[j] = scale[j] * MathUtils.cosDeg(currentAngle);
+					deltaY[j] = scale[j] * MathUtils.sinDeg(currentAngle);
+				}
+				if (updateRotation) updateRotation(start, end, count, aligned ? scale2 : null, 0);
+			} else {
+				float[] angleCos = this.angleCos, angleSin = this.angleSin;
+				for (int i = start; i < end; i++) {
+					int j = i - start;
+					deltaX[j] = scale[j] * angleCos[i];
+					deltaY[j] = scale[j] * angleSin[i];
+				}
+				if (aligned || updateRotation) updateRotation(start, end, count, aligned ? angle : null, start);
+			}
+
+			if ((updateFlags & UPDATE_WIND) != 0) {
+				float[] wind = this.wind, windDiff = this.windDiff;
+				getWind().getScale(percent, scale, count);
+				for (int i = start; i < end; i++)
+					deltaX[i - start] += (wind[i] + windDiff[i] * scale[i - start]) * delta;
+			}
+
+			if ((updateFlags & UPDATE_GRAVITY) != 0) {
+				float[] gravity = this.gravity, gravityDiff = this.gravityDiff;
+				getGravity().getScale(percent, scale, count);
+				for (int i = start; i < end; i++)
+					deltaY[i - start] += (gravity[i] + gravityDiff[i] * scale[i - start]) * delta;
+			}
+
+			float[] particleX = this.particleX, particleY = this.particleY;
+			for (int i = start; i < end; i++) {
+				particleX[i] += deltaX[i - start];
+				particleY[i] += deltaY[i - start];
+			}
+		} else if (updateRotation) //
+			updateRotation(start, end, count, null, 0);
+
+		float[] transparency = this.transparency, transparencyDiff = this.transparencyDiff;
+		getTransparency().getScale(percent, scale, count);
+		for (int i = start; i < end; i++)
+			scale[i - start] = transparency[i] + transparencyDiff[i] * scale[i - start];
+		float[] color = this.color, tint = this.tint;
+		GradientColorValue tintValue = getTint();
+		boolean updateTint = (updateFlags & UPDATE_TINT) != 0;
+		float[] temp = temp();
+		float alphaMultiplier = isAdditive() ? 0 : 1;
+		for (int i = start; i < end; i++) {
+			float a = scale[i - start];
+			float r, g, b;
+			if (updateTint) {
+				tintValue.getColor(percent[i - start], temp);
+				r = temp[0];
+				g = temp[1];
+				b = temp[2];
+			} else {
+				r = tint[i * 3];
+				g = tint[i * 3 + 1];
+				b = tint[i * 3 + 2];
+			}
+			if (isPremultipliedAlpha())
+				color[i] = Color.toFloatBits(r * a, g * a, b * a, a * alphaMultiplier);
+			else
+				color[i] = Color.toFloatBits(r, g, b, a);
+		}
+
+		if ((updateFlags & UPDATE_SPRITE) != 0) {
+			Array<Sprite> sprites = this.sprites;
+			int spriteCount = sprites.size;
+			int[] frame = this.frame;
+			float[] particleX = this.particleX, particleY = this.particleY;
+			for (int i = start; i < end; i++) {
+				int newFrame = Math.min((int)(percent[i - start] * spriteCount), spriteCount - 1);
+				int oldFrame = frame[i];
+				if (oldFrame != newFrame) {
+					Sprite oldSprite = sprites.get(oldFrame), sprite = sprites.get(newFrame);
+					particleX[i] += (oldSprite.getWidth() - sprite.getWidth()) / 2;
+					particleY[i] += (oldSprite.getHeight() - sprite.getHeight()) / 2;
+					frame[i] = newFrame;
+				}
+			}
+		}
+	}
+
+	/** Sets the rotation from the rotation timeline, with the percentages in {@link #percent}.
+	 * @param angles If not null, the particle angles are added to the rotation.
+	 * @param angleOffset The index into angles of the first particle. */
+	private void updateRotation (int start, int end, int count, float[] angles, int angleOffset) {
+		// The velocities in scale have already been applied to the deltas at this point, so it can be reused.
+		float[] rotation = this.rotation, rotationStart = this.rotationStart, rotationDiff = this.rotationDiff, scale = this.scale;
+		getRotation().getScale(percent, scale, count);
+		if (angles != null) {
+			for (int i = start; i < end; i++)
+				rotation[i] = rotationStart[i] + rotationDiff[i] * scale[i - start] + angles[i - start + angleOffset];
+		} else {
+			for (int i = start; i < end; i++)
+				rotation[i] = rotationStart[i] + rotationDiff[i] * scale[i - start];
+		}
+	}
+
+	/** Moves the particle at index from to index to. */
+	private void copyParticle (int from, int to) {
+		totalLife[to] = totalLife[from];
+		currentLife[to] = currentLife[from];
+		frame[to] = frame[from];
+		particleX[to] = particleX[from];
+		particleY[to] = particleY[from];
+		scaleX[to] = scaleX[from];
+		scaleY[to] = scaleY[from];
+		rotation[to] = rotation[from];
+		xScale[to] = xScale[from];
+		xScaleDiff[to] = xScaleDiff[from];
+		yScale[to] = yScale[from];
+		yScaleDiff[to] = yScaleDiff[from];
+		rotationStart[to] = rotationStart[from];
+		rotationDiff[to] = rotationDiff[from];
+		velocity[to] = velocity[from];
+		velocityDiff[to] = velocityDiff[from];
+		angle[to] = angle[from];
+		angleDiff[to] = angleDiff[from];
+		angleCos[to] = angleCos[from];
+		angleSin[to] = angleSin[from];
+		transparency[to] = transparency[from];
+		transparencyDiff[to] = transparencyDiff[from];
+		wind[to] = wind[from];
+		windDiff[to] = windDiff[from];
+		gravity[to] = gravity[from];
+		gravityDiff[to] = gravityDiff[from];
+		tint[to * 3] = tint[from * 3];
+		tint[to * 3 + 1] = tint[from * 3 + 1];
+		tint[to * 3 + 2] = tint[from * 3 + 2];
+		color[to] = color[from];
+	}
+
+	private float[] temp () {
+		if (temp == null) temp = new float[3];
+		return temp;
+	}
+
+	public void draw (Batch batch) {
+		if (isPremultipliedAlpha()) {
+			batch.setBlendFunction(GL20.GL_ONE, GL20.GL_ONE_MINUS_SRC_ALPHA);
+		} else if (isAdditive()) {
+			batch.setBlendFunction(GL20.GL_SRC_ALPHA, GL20.GL_ONE);
+		} else {
+			batch.setBlendFunction(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+		}
+
+		int activeCount = this.activeCount;
+		if (activeCount > 0) {
+			float[] vertices = computeVertices();
+			Array<Sprite> sprites = this.sprites;
+			int[] frame = this.frame;
+			// Particles using the same texture are submitted together.
+			Texture texture = sprites.get(frame[0]).getTexture();
+			int start = 0;
+			for (int i = 1; i < activeCount; i++) {
+				Texture particleTexture = sprites.get(frame[i]).getTexture();
+				if (particleTexture != texture) {
+					batch.draw(texture, vertices, start * SPRITE_SIZE, (i - start) * SPRITE_SIZE);
+					texture = particleTexture;
+					start = i;
+				}
+			}
+			batch.draw(texture, vertices, start * SPRITE_SIZE, (activeCount - start) * SPRITE_SIZE);
+		}
+
+		if (cleansUpBlendFunction && (isAdditive() || isPremultipliedAlpha()))
+			batch.setBlendFunction(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+	}
+
+	/** Updates and draws the particles. Unlike {@link ParticleEmitter}, this is the same as calling {@link #update(float)} and
+	 * {@link #draw(Batch)} separately. */
+	public void draw (Batch batch, float delta) {
+		update(delta);
+		draw(batch);
+	}
+
+	/** Writes the sprite vertices of all active particles, see {@link Sprite#getVertices()}.
+	 * @return the vertices, 20 floats per particle */
+	private float[] computeVertices () {
+		float[] vertices = this.vertices;
+		if (vertices == null) this.vertices = vertices = new float[maxParticleCount * SPRITE_SIZE];
+		Array<Sprite> sprites = this.sprites;
+		int[] frame = this.frame;
+		float[] particleX = this.particleX, particleY = this.particleY, scaleX = this.scaleX, scaleY = this.scaleY;
+		float[] rotation = this.rotation, color = this.color;
+		boolean flipX = this.flipX, flipY = this.flipY;
+		for (int i = 0, v = 0, n = activeCount; i < n; i++, v += SPRITE_SIZE) {
+			Sprite sprite = sprites.get(frame[i]);
+			float originX = sprite.getOriginX(), originY = sprite.getOriginY();
+			float localX = -originX;
+			float localY = -originY;
+			float localX2 = localX + sprite.getWidth();
+			float localY2 = localY + sprite.getHeight();
+			float worldOriginX = particleX[i] - localX;
+			float worldOriginY = particleY[i] - localY;
+			float sx = scaleX[i], sy = scaleY[i];
+			localX *= sx;
+			localY *= sy;
+			localX2 *= sx;
+			localY2 *= sy;
+
+			float x1, y1, x2, y2, x3, y3, x4, y4;
+			float degrees = rotation[i];
+			if (degrees != 0) {
+				float cos = MathUtils.cosDeg(degrees);
+				float sin = MathUtils.sinDeg(degrees);
+				float localXCos = localX * cos;
+				float localXSin = localX * sin;
+				float localYCos = localY * cos;
+				float localYSin = localY * sin;
+				float localX2Cos = localX2 * cos;
+				float localX2Sin = localX2 * sin;
+				float localY2Cos = localY2 * cos;
+				float localY2Sin = localY2 * sin;
+
+				x1 = localXCos - localYSin + worldOriginX;
+				y1 = localYCos + localXSin + worldOriginY;
+				x2 = localXCos - localY2Sin + worldOriginX;
+				y2 = localY2Cos + localXSin + worldOriginY;
+				x3 = localX2Cos - localY2Sin + worldOriginX;
+				y3 = localY2Cos + localX2Sin + worldOriginY;
+				x4 = x1 + (x3 - x2);
+				y4 = y3 - (y2 - y1);
+			} else {
+				x1 = x2 = localX + worldOriginX;
+				y1 = y4 = localY + worldOriginY;
+				x3 = x4 = localX2 + worldOriginX;
+				y2 = y3 = localY2 + worldOriginY;
+			}
+
+			float u = sprite.getU(), v1 = sprite.getV(), u2 = sprite.getU2(), v2 = sprite.getV2();
+			if (flipX) {
+				float swap = u;
+				u = u2;
+				u2 = swap;
+			}
+			if (flipY) {
+				float swap = v1;
+				v1 = v2;
+				v2 = swap;
+			}
+			float packedColor = color[i];
+
+			vertices[v] = x1;
+			vertices[v + 1] = y1;
+			vertices[v + 2] = packedColor;
+			vertices[v + 3] = u;
+			vertices[v + 4] = v2;
+
+			vertices[v + 5] = x2;
+			vertices[v + 6] = y2;
+			vertices[v + 7] = packedColor;
+			vertices[v + 8] = u;
+			vertices[v + 9] = v1;
+
+			vertices[v + 10] = x3;
+			vertices[v + 11] = y3;
+			vertices[v + 12] = packedColor;
+			vertices[v + 13] = u2;
+			vertices[v + 14] = v1;
+
+			vertices[v + 15] = x4;
+			vertices[v + 16] = y4;
+			vertices[v + 17] = packedColor;
+			vertices[v + 18] = u2;
+			vertices[v + 19] = v2;
+		}
+		return vertices;
+	}
+
+	public void setPosition (float x, float y) {
+		if (isAttached()) {
+			float xAmount = x - this.x;
+			float yAmount = y - this.y;
+			float[] particleX = this.particleX, particleY = this.particleY;
+			for (int i = 0, n = activeCount; i < n; i++) {
+				particleX[i] += xAmount;
+				particleY[i] += yAmount;
+			}
+		}
+		this.x = x;
+		this.y = y;
+	}
+
+	public void setSprites (Array<Sprite> sprites) {
+		this.sprites = sprites;
+		if (sprites.size == 0) return;
+		int[] frame = this.frame;
+		for (int i = 0, n = activeCount; i < n; i++) {
+			switch (getSpriteMode()) {
+			case single:
+				frame[i] = 0;
+				break;
+			case random:
+				frame[i] = MathUtils.random(sprites.size - 1);
+				break;
+			case animated:
+				float percent = 1 - currentLife[i] / (float)totalLife[i];
+				frame[i] = Math.min((int)(percent * sprites.size), sprites.size - 1);
+				break;
+			}
+		}
+	}
+
+	/** Returns the bounding box for all active particles. z axis will always be zero. */
+	public BoundingBox getBoundingBox () {
+		if (bounds == null) bounds = new BoundingBox();
+		BoundingBox bounds = this.bounds;
+		bounds.inf();
+		if (activeCount == 0) return bounds;
+		float[] vertices = computeVertices();
+		for (int i = 0, n = activeCount * SPRITE_SIZE; i < n; i += VERTEX_SIZE)
+			bounds.ext(vertices[i], vertices[i + 1], 0);
+		return bounds;
+	}
+
+	/** Returns a task updating this emitter with the given delta, reused between calls. */
+	AsyncTask<Void> getUpdateTask (float delta) {
+		if (updateTask == null) updateTask = new UpdateTask();
+		updateTask.delta = delta;
+		return updateTask;
+	}
+
+	private class UpdateTask implements AsyncTask<Void> {
+		float delta;
+
+		public Void call () throws Exception {
+			update(delta);
+			return null;
+		}
+	}
+}
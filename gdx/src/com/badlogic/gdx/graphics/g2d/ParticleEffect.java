@@ -31,6 +31,8 @@ import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Disposable;
 import com.badlogic.gdx.utils.GdxRuntimeException;
 import com.badlogic.gdx.utils.StreamUtils;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
 
 /** See <a href="http://www.badlogicgames.com/wordpress/?p=1255">http://www.badlogicgames.com/wordpress/?p=1255</a>
  * @author mzechner */
@@ -41,6 +43,7 @@ public class ParticleEffect implements Disposable {
 	protected float xSizeScale = 1f;
 	protected float ySizeScale = 1f;
 	protected float motionScale = 1f;
+	private Array<AsyncResult<Void>> results;
 
 	public ParticleEffect () {
 		emitters = new Array(8);
@@ -80,6 +83,30 @@ public class ParticleEffect implements Disposable {
 			emitters.get(i).update(delta);
 	}
 
+	/** Updates the emitters, using the executor to update {@link ArrayParticleEmitter ArrayParticleEmitters} in parallel. Other
+	 * emitters are updated on the calling thread. Returns when all emitters have been updated.
+	 * <p>
+	 * Emitters draw random values from {@link com.badlogic.gdx.math.MathUtils#random}, which is not synchronized. Concurrent
+	 * updates may therefore produce a different random sequence, but are otherwise independent.
+	 * @see ArrayParticleEffect */
+	public void update (float delta, AsyncExecutor executor) {
+		Array<AsyncResult<Void>> results = this.results;
+		if (results == null) this.results = results = new Array<AsyncResult<Void>>(false, emitters.size);
+		try {
+			for (int i = 0, n = emitters.size; i < n; i++) {
+				ParticleEmitter emitter = emitters.get(i);
+				if (emitter instanceof ArrayParticleEmitter)
+					results.add(executor.submit(((ArrayParticleEmitter)emitter).getUpdateTask(delta)));
+				else
+					emitter.update(delta);
+			}
+			for (int i = 0, n = results.size; i < n; i++)
+				results.get(i).get();
+		} finally {
+			results.clear();
+		}
+	}
+
 	public void draw (Batch spriteBatch) {
 		for (int i = 0, n = emitters.size; i < n; i++)
 			emitters.get(i).draw(spriteBatch);
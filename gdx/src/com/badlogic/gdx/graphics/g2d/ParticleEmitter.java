@@ -63,24 +63,27 @@ public class ParticleEmitter {
 	private RangedNumericValue[] motionValues;
 
 	private float accumulator;
-	private Array<Sprite> sprites;
+	Array<Sprite> sprites;
 	private SpriteMode spriteMode = SpriteMode.single;
 	private Particle[] particles;
-	private int minParticleCount, maxParticleCount = 4;
-	private float x, y;
+	private int minParticleCount;
+	int maxParticleCount = 4;
+	float x, y;
 	private String name;
 	private Array<String> imagePaths;
-	private int activeCount;
+	int activeCount;
 	private boolean[] active;
 	private boolean firstUpdate;
-	private boolean flipX, flipY;
+	boolean flipX, flipY;
 	private int updateFlags;
 	private boolean allowCompletion;
 	private BoundingBox bounds;
+	private final float[] spawn = new float[2];
 
-	private int emission, emissionDiff, emissionDelta;
-	private int lifeOffset, lifeOffsetDiff;
-	private int life, lifeDiff;
+	private int emission, emissionDiff;
+	int emissionDelta;
+	int lifeOffset, lifeOffsetDiff;
+	int life, lifeDiff;
 	private float spawnWidth, spawnWidthDiff;
 	private float spawnHeight, spawnHeightDiff;
 	public float duration = 1, durationTimer;
@@ -232,6 +235,11 @@ public class ParticleEmitter {
 			}
 		}
 
+		updateParticles(delta, deltaMillis);
+	}
+
+	/** Updates all active particles, removing those at the end of their life. */
+	void updateParticles (float delta, int deltaMillis) {
 		boolean[] active = this.active;
 		int activeCount = this.activeCount;
 		Particle[] particles = this.particles;
@@ -488,6 +496,30 @@ public class ParticleEmitter {
 		particle.transparencyDiff = transparencyValue.newHighValue() - particle.transparency;
 
 		// Spawn.
+		float[] spawn = this.spawn;
+		float spawnAngle = spawn(percent, spawn);
+		if (spawnAngle == spawnAngle) { // Not NaN.
+			particle.angle = spawnAngle;
+			particle.angleCos = MathUtils.cosDeg(spawnAngle);
+			particle.angleSin = MathUtils.sinDeg(spawnAngle);
+		}
+
+		particle.setBounds(spawn[0] - spriteWidth / 2, spawn[1] - spriteHeight / 2, spriteWidth, spriteHeight);
+
+		int offsetTime = (int)(lifeOffset + lifeOffsetDiff * lifeOffsetValue.getScale(percent));
+		if (offsetTime > 0) {
+			if (offsetTime >= particle.currentLife) offsetTime = particle.currentLife - 1;
+			updateParticle(particle, offsetTime / 1000f, offsetTime);
+		}
+	}
+
+	/** Computes the position of a new particle according to the spawn shape.
+	 * @param percent The percentage of the emitter duration that has passed.
+	 * @param position Receives the x and y coordinates of the center of the particle.
+	 * @return The spawn angle in degrees if the particle was spawned on the edge of an ellipse and the angle is not updated over
+	 *         the particle life, NaN otherwise. */
+	float spawn (float percent, float[] position) {
+		float spawnAngleResult = Float.NaN;
 		float x = this.x;
 		if (xOffsetValue.active) x += xOffsetValue.newLowValue();
 		float y = this.y;
@@ -524,11 +556,7 @@ public class ParticleEmitter {
 				float sinDeg = MathUtils.sinDeg(spawnAngle);
 				x += cosDeg * radiusX;
 				y += sinDeg * radiusX / scaleY;
-				if ((updateFlags & UPDATE_ANGLE) == 0) {
-					particle.angle = spawnAngle;
-					particle.angleCos = cosDeg;
-					particle.angleSin = sinDeg;
-				}
+				if ((updateFlags & UPDATE_ANGLE) == 0) spawnAngleResult = spawnAngle;
 			} else {
 				float radius2 = radiusX * radiusX;
 				while (true) {
@@ -555,14 +583,9 @@ public class ParticleEmitter {
 			break;
 		}
 		}
-
-		particle.setBounds(x - spriteWidth / 2, y - spriteHeight / 2, spriteWidth, spriteHeight);
-
-		int offsetTime = (int)(lifeOffset + lifeOffsetDiff * lifeOffsetValue.getScale(percent));
-		if (offsetTime > 0) {
-			if (offsetTime >= particle.currentLife) offsetTime = particle.currentLife - 1;
-			updateParticle(particle, offsetTime / 1000f, offsetTime);
-		}
+		position[0] = x;
+		position[1] = y;
+		return spawnAngleResult;
 	}
 
 	private boolean updateParticle (Particle particle, float delta, int deltaMillis) {
@@ -1447,6 +1470,33 @@ public class ParticleEmitter {
 			return startValue + (scaling[endIndex] - startValue) * ((percent - startTime) / (timeline[endIndex] - startTime));
 		}
 
+		/** Same as {@link #getScale(float)} for many percentages at once. Constant and linear timelines, which most effects use,
+		 * are evaluated without searching the timeline.
+		 * @param percents The percentages to evaluate.
+		 * @param scales Receives the scale for each percentage, may be the same array as percents.
+		 * @param count The number of percentages to evaluate. */
+		public void getScale (float[] percents, float[] scales, int count) {
+			float[] timeline = this.timeline;
+			float[] scaling = this.scaling;
+			int n = timeline.length;
+			if (n == 1) {
+				float scale = scaling[0];
+				for (int i = 0; i < count; i++)
+					scales[i] = scale;
+			} else if (n == 2) {
+				float startTime = timeline[0], endTime = timeline[1];
+				float startValue = scaling[0], endValue = scaling[1];
+				float factor = (endValue - startValue) / (endTime - startTime);
+				for (int i = 0; i < count; i++) {
+					float percent = percents[i];
+					scales[i] = percent < endTime ? startValue + (percent - startTime) * factor : endValue;
+				}
+			} else {
+				for (int i = 0; i < count; i++)
+					scales[i] = getScale(percents[i]);
+			}
+		}
+
 		public void save (Writer output) throws IOException {
 			super.save(output);
 			if (!active) return;
@@ -1516,6 +1566,14 @@ public class ParticleEmitter {
 		}
 
 		public float[] getColor (float percent) {
+			return getColor(percent, temp);
+		}
+
+		/** Stores the r, g and b values at the specified timeline position in the given array. Unlike {@link #getColor(float)},
+		 * this does not use shared state and can be called from multiple threads.
+		 * @param color An array with at least 3 elements.
+		 * @return The color array. */
+		public float[] getColor (float percent, float[] color) {
 			int startIndex = 0, endIndex = -1;
 			float[] timeline = this.timeline;
 			int n = timeline.length;
@@ -1533,17 +1591,17 @@ public class ParticleEmitter {
 			float g1 = colors[startIndex + 1];
 			float b1 = colors[startIndex + 2];
 			if (endIndex == -1) {
-				temp[0] = r1;
-				temp[1] = g1;
-				temp[2] = b1;
-				return temp;
+				color[0] = r1;
+				color[1] = g1;
+				color[2] = b1;
+				return color;
 			}
 			float factor = (percent - startTime) / (timeline[endIndex] - startTime);
 			endIndex *= 3;
-			temp[0] = r1 + (colors[endIndex] - r1) * factor;
-			temp[1] = g1 + (colors[endIndex + 1] - g1) * factor;
-			temp[2] = b1 + (colors[endIndex + 2] - b1) * factor;
-			return temp;
+			color[0] = r1 + (colors[endIndex] - r1) * factor;
+			color[1] = g1 + (colors[endIndex + 1] - g1) * factor;
+			color[2] = b1 + (colors[endIndex + 2] - b1) * factor;
+			return color;
 		}
 
 		public void save (Writer output) throws IOException {
@@ -16,6 +16,10 @@
 
 package com.badlogic.gdx.graphics.g3d;
 
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.ShortBuffer;
+
 import com.badlogic.gdx.assets.loaders.ModelLoader;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.Mesh;
@@ -29,6 +33,7 @@ import com.badlogic.gdx.graphics.g3d.model.Animation;
 import com.badlogic.gdx.graphics.g3d.model.MeshPart;
 import com.badlogic.gdx.graphics.g3d.model.Node;
 import com.badlogic.gdx.graphics.g3d.model.NodeAnimation;
+import com.badlogic.gdx.graphics.g3d.model.NodeHierarchy;
 import com.badlogic.gdx.graphics.g3d.model.NodeKeyframe;
 import com.badlogic.gdx.graphics.g3d.model.NodePart;
 import com.badlogic.gdx.graphics.g3d.model.data.ModelAnimation;
@@ -41,6 +46,7 @@ import com.badlogic.gdx.graphics.g3d.model.data.ModelNodeAnimation;
 import com.badlogic.gdx.graphics.g3d.model.data.ModelNodeKeyframe;
 import com.badlogic.gdx.graphics.g3d.model.data.ModelNodePart;
 import com.badlogic.gdx.graphics.g3d.model.data.ModelTexture;
+import com.badlogic.gdx.graphics.g3d.utils.BaseAnimationController;
 import com.badlogic.gdx.graphics.g3d.utils.TextureDescriptor;
 import com.badlogic.gdx.graphics.g3d.utils.TextureProvider;
 import com.badlogic.gdx.graphics.g3d.utils.TextureProvider.FileTextureProvider;
@@ -75,6 +81,8 @@ public class Model implements Disposable {
 	public final Array<Node> nodes = new Array();
 	/** animations of the model, modifying node transformations **/
 	public final Array<Animation> animations = new Array();
+	/** the flattened node hierarchy, used by {@link #calculateTransforms()} **/
+	public final NodeHierarchy hierarchy = new NodeHierarchy();
 	/** the meshes of the model **/
 	public final Array<Mesh> meshes = new Array();
 	/** parts of meshes, used by nodes that have a graphical representation FIXME not sure if superfluous, stored in Nodes as well,
@@ -159,6 +167,8 @@ public class Model implements Disposable {
 	}
 
 	private ObjectMap<NodePart, ArrayMap<String, Matrix4>> nodePartBones = new ObjectMap<NodePart, ArrayMap<String, Matrix4>>();
+	private ObjectMap<MeshPart, MeshPart[]> meshPartLods = new ObjectMap<MeshPart, MeshPart[]>();
+	private ObjectMap<MeshPart, float[]> meshPartLodScreenSizes = new ObjectMap<MeshPart, float[]>();
 
 	protected void loadNodes (Iterable<ModelNode> modelNodes) {
 		nodePartBones.clear();
@@ -211,6 +221,8 @@ public class Model implements Disposable {
 					NodePart nodePart = new NodePart();
 					nodePart.meshPart = meshPart;
 					nodePart.material = meshMaterial;
+					nodePart.lods = meshPartLods.get(meshPart);
+					nodePart.lodScreenSizes = meshPartLodScreenSizes.get(meshPart);
 					node.parts.add(nodePart);
 					if (modelNodePart.bones != null) nodePartBones.put(nodePart, modelNodePart.bones);
 				}
@@ -235,34 +247,71 @@ public class Model implements Disposable {
 	protected void convertMesh (ModelMesh modelMesh) {
 		int numIndices = 0;
 		for (ModelMeshPart part : modelMesh.parts) {
-			numIndices += part.indices.length;
+			numIndices += part.indices != null ? part.indices.length : part.indexData.remaining() / 2;
+			if (part.lods != null) for (ModelMeshPart lod : part.lods)
+				numIndices += lod.indices != null ? lod.indices.length : lod.indexData.remaining() / 2;
 		}
 		VertexAttributes attributes = new VertexAttributes(modelMesh.attributes);
-		int numVertices = modelMesh.vertices.length / (attributes.vertexSize / 4);
+		int numVertices = modelMesh.vertices != null ? modelMesh.vertices.length / (attributes.vertexSize / 4)
+			: modelMesh.vertexData.remaining() / attributes.vertexSize;
 
 		Mesh mesh = new Mesh(true, numVertices, numIndices, attributes);
 		meshes.add(mesh);
 		disposables.add(mesh);
 
-		BufferUtils.copy(modelMesh.vertices, mesh.getVerticesBuffer(), modelMesh.vertices.length, 0);
+		if (modelMesh.vertices != null)
+			BufferUtils.copy(modelMesh.vertices, mesh.getVerticesBuffer(), modelMesh.vertices.length, 0);
+		else {
+			// A bulk put of a direct buffer, no intermediate float[]
+			final FloatBuffer vertices = mesh.getVerticesBuffer();
+			vertices.clear();
+			vertices.put(modelMesh.vertexData.duplicate().order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer());
+			vertices.flip();
+		}
 		int offset = 0;
 		mesh.getIndicesBuffer().clear();
 		for (ModelMeshPart part : modelMesh.parts) {
-			MeshPart meshPart = new MeshPart();
-			meshPart.id = part.id;
-			meshPart.primitiveType = part.primitiveType;
-			meshPart.offset = offset;
-			meshPart.size = part.indices.length;
-			meshPart.mesh = mesh;
-			mesh.getIndicesBuffer().put(part.indices);
+			MeshPart meshPart = convertMeshPart(part, mesh, offset);
 			offset += meshPart.size;
 			meshParts.add(meshPart);
+			if (part.lods != null) {
+				// The levels of detail follow the part in the index buffer and are selected per node part
+				MeshPart[] lods = new MeshPart[part.lods.length + 1];
+				float[] lodScreenSizes = new float[lods.length];
+				lods[0] = meshPart;
+				lodScreenSizes[0] = Float.POSITIVE_INFINITY;
+				for (int i = 0; i < part.lods.length; i++) {
+					lods[i + 1] = convertMeshPart(part.lods[i], mesh, offset);
+					lodScreenSizes[i + 1] = part.lodScreenSizes[i];
+					offset += lods[i + 1].size;
+					meshParts.add(lods[i + 1]);
+				}
+				meshPartLods.put(meshPart, lods);
+				meshPartLodScreenSizes.put(meshPart, lodScreenSizes);
+			}
 		}
 		mesh.getIndicesBuffer().position(0);
 		for (MeshPart part : meshParts)
 			part.update();
 	}
 
+	private MeshPart convertMeshPart (ModelMeshPart part, Mesh mesh, int offset) {
+		MeshPart meshPart = new MeshPart();
+		meshPart.id = part.id;
+		meshPart.primitiveType = part.primitiveType;
+		meshPart.offset = offset;
+		meshPart.mesh = mesh;
+		if (part.indices != null) {
+			meshPart.size = part.indices.length;
+			mesh.getIndicesBuffer().put(part.indices);
+		} else {
+			final ShortBuffer indices = part.indexData.duplicate().order(ByteOrder.LITTLE_ENDIAN).asShortBuffer();
+			meshPart.size = indices.remaining();
+			mesh.getIndicesBuffer().put(indices);
+		}
+		return meshPart;
+	}
+
 	protected void loadMaterials (Iterable<ModelMaterial> modelMaterials, TextureProvider textureProvider) {
 		for (ModelMaterial mtl : modelMaterials) {
 			this.materials.add(convertMaterial(mtl, textureProvider));
@@ -353,21 +402,23 @@ public class Model implements Disposable {
 		}
 	}
 
-	/** Calculates the local and world transform of all {@link Node} instances in this model, recursively. First each
-	 * {@link Node#localTransform} transform is calculated based on the translation, rotation and scale of each Node. Then each
-	 * {@link Node#calculateWorldTransform()} is calculated, based on the parent's world transform and the local transform of each
-	 * Node. Finally, the animation bone matrices are updated accordingly.</p>
+	/** Resamples all animations at a fixed rate, making them cheaper to apply. Model instances created afterwards share the
+	 * samples, see {@link BaseAnimationController#bakeAnimation(Animation, float)}.
+	 * @param sampleRate the number of samples per second, e.g. 30 */
+	public void bakeAnimations (float sampleRate) {
+		for (int i = 0, n = animations.size; i < n; i++)
+			BaseAnimationController.bakeAnimation(animations.get(i), sampleRate);
+	}
+
+	/** Calculates the local and world transform of all {@link Node} instances in this model, using the flattened
+	 * {@link #hierarchy}. First each {@link Node#localTransform} transform is calculated based on the translation, rotation and
+	 * scale of each Node. Then each {@link Node#globalTransform} is calculated, based on the parent's world transform and the local
+	 * transform of each Node. Finally, the animation bone matrices are updated accordingly.</p>
 	 * 
 	 * This method can be used to recalculate all transforms if any of the Node's local properties (translation, rotation, scale)
 	 * was modified. */
 	public void calculateTransforms () {
-		final int n = nodes.size;
-		for (int i = 0; i < n; i++) {
-			nodes.get(i).calculateTransforms(true);
-		}
-		for (int i = 0; i < n; i++) {
-			nodes.get(i).calculateBoneTransforms(true);
-		}
+		hierarchy.calculateTransforms(nodes);
 	}
 
 	/** Calculate the bounding box of this model instance. This is a potential slow operation, it is advised to cache the result.
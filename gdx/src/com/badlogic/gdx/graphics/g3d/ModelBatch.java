@@ -24,6 +24,7 @@ import com.badlogic.gdx.graphics.g3d.utils.DefaultRenderableSorter;
 import com.badlogic.gdx.graphics.g3d.utils.DefaultShaderProvider;
 import com.badlogic.gdx.graphics.g3d.utils.DefaultTextureBinder;
 import com.badlogic.gdx.graphics.g3d.utils.RenderContext;
+import com.badlogic.gdx.graphics.g3d.utils.RenderableCuller;
 import com.badlogic.gdx.graphics.g3d.utils.RenderableSorter;
 import com.badlogic.gdx.graphics.g3d.utils.ShaderProvider;
 import com.badlogic.gdx.utils.Array;
@@ -40,6 +41,8 @@ import com.badlogic.gdx.utils.Pool;
  * 
  * To provide multiple {@link Renderable}s at once a {@link RenderableProvider} can be used, e.g. a {@link ModelInstance}.
  * 
+ * Optionally a {@link RenderableCuller} can be set to skip the {@link RenderableProvider}s which are not visible to the camera.
+ * 
  * @author xoppa, badlogic */
 public class ModelBatch implements Disposable {
 	protected static class RenderablePool extends FlushablePool<Renderable> {
@@ -71,6 +74,8 @@ public class ModelBatch implements Disposable {
 	protected final ShaderProvider shaderProvider;
 	/** the {@link RenderableSorter} **/
 	protected final RenderableSorter sorter;
+	/** the {@link RenderableCuller}, may be null **/
+	protected RenderableCuller culler;
 
 	/** Construct a ModelBatch, using this constructor makes you responsible for calling context.begin() and context.end() yourself.
 	 * @param context The {@link RenderContext} to use.
@@ -150,6 +155,7 @@ public class ModelBatch implements Disposable {
 	public void begin (final Camera cam) {
 		if (camera != null) throw new GdxRuntimeException("Call end() first.");
 		camera = cam;
+		if (culler != null) culler.begin(cam);
 		if (ownContext) context.begin();
 	}
 
@@ -160,6 +166,7 @@ public class ModelBatch implements Disposable {
 		if (camera == null) throw new GdxRuntimeException("Call begin() first.");
 		if (renderables.size > 0) flush();
 		camera = cam;
+		if (culler != null) culler.begin(cam);
 	}
 
 	/** Provides access to the current camera in between {@link #begin(Camera)} and {@link #end()}. Do not change the camera's
@@ -192,6 +199,19 @@ public class ModelBatch implements Disposable {
 		return sorter;
 	}
 
+	/** Sets the {@link RenderableCuller} used to skip the {@link RenderableProvider}s which are not visible. Can only be called
+	 * outside {@link #begin(Camera)} and {@link #end()}.
+	 * @param culler the culler, or null to render all providers. */
+	public void setCuller (final RenderableCuller culler) {
+		if (camera != null) throw new GdxRuntimeException("Call end() first.");
+		this.culler = culler;
+	}
+
+	/** @return the {@link RenderableCuller} used by this ModelBatch, or null. */
+	public RenderableCuller getCuller () {
+		return culler;
+	}
+
 	/** Flushes the batch, causing all {@link Renderable}s in the batch to be rendered. Can only be called after the call to
 	 * {@link #begin(Camera)} and before the call to {@link #end()}. */
 	public void flush () {
@@ -233,6 +253,7 @@ public class ModelBatch implements Disposable {
 	 * current batch to be rendered. Can only be called after a call to {@link #begin(Camera)} and before a call to {@link #end()}.
 	 * @param renderableProvider the renderable provider */
 	public void render (final RenderableProvider renderableProvider) {
+		if (culler != null && !culler.isVisible(renderableProvider)) return;
 		final int offset = renderables.size;
 		renderableProvider.getRenderables(renderables, renderablesPool);
 		for (int i = offset; i < renderables.size; i++) {
@@ -255,6 +276,7 @@ public class ModelBatch implements Disposable {
 	 * @param renderableProvider the renderable provider
 	 * @param environment the {@link Environment} to use for the renderables */
 	public void render (final RenderableProvider renderableProvider, final Environment environment) {
+		if (culler != null && !culler.isVisible(renderableProvider)) return;
 		final int offset = renderables.size;
 		renderableProvider.getRenderables(renderables, renderablesPool);
 		for (int i = offset; i < renderables.size; i++) {
@@ -280,6 +302,7 @@ public class ModelBatch implements Disposable {
 	 * @param renderableProvider the renderable provider
 	 * @param shader the shader to use for the renderables */
 	public void render (final RenderableProvider renderableProvider, final Shader shader) {
+		if (culler != null && !culler.isVisible(renderableProvider)) return;
 		final int offset = renderables.size;
 		renderableProvider.getRenderables(renderables, renderablesPool);
 		for (int i = offset; i < renderables.size; i++) {
@@ -307,6 +330,7 @@ public class ModelBatch implements Disposable {
 	 * @param environment the {@link Environment} to use for the renderables
 	 * @param shader the shader to use for the renderables */
 	public void render (final RenderableProvider renderableProvider, final Environment environment, final Shader shader) {
+		if (culler != null && !culler.isVisible(renderableProvider)) return;
 		final int offset = renderables.size;
 		renderableProvider.getRenderables(renderables, renderablesPool);
 		for (int i = offset; i < renderables.size; i++) {
@@ -16,9 +16,12 @@
 
 package com.badlogic.gdx.graphics.g3d;
 
+import com.badlogic.gdx.graphics.Camera;
 import com.badlogic.gdx.graphics.g3d.model.Animation;
+import com.badlogic.gdx.graphics.g3d.model.MeshPart;
 import com.badlogic.gdx.graphics.g3d.model.Node;
 import com.badlogic.gdx.graphics.g3d.model.NodeAnimation;
+import com.badlogic.gdx.graphics.g3d.model.NodeHierarchy;
 import com.badlogic.gdx.graphics.g3d.model.NodeKeyframe;
 import com.badlogic.gdx.graphics.g3d.model.NodePart;
 import com.badlogic.gdx.math.Matrix4;
@@ -29,6 +32,9 @@ import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.ArrayMap;
 import com.badlogic.gdx.utils.ObjectMap;
 import com.badlogic.gdx.utils.Pool;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.badlogic.gdx.utils.async.AsyncTask;
 
 /** An instance of a {@link Model}, allows to specify global transform and modify the materials, as it has a copy of the model's
  * materials. Multiple instances can be created from the same Model, all sharing the meshes and textures of the Model. The Model
@@ -49,6 +55,8 @@ public class ModelInstance implements RenderableProvider {
 	public final Array<Node> nodes = new Array();
 	/** animations of the model, modifying node transformations **/
 	public final Array<Animation> animations = new Array();
+	/** the flattened node hierarchy, used by {@link #calculateTransforms()} **/
+	public final NodeHierarchy hierarchy = new NodeHierarchy();
 	/** the {@link Model} this instances derives from **/
 	public final Model model;
 	/** the world transform **/
@@ -289,6 +297,7 @@ public class ModelInstance implements RenderableProvider {
 			Animation animation = new Animation();
 			animation.id = anim.id;
 			animation.duration = anim.duration;
+			animation.sampleRate = anim.sampleRate;
 			for (final NodeAnimation nanim : anim.nodeAnimations) {
 				final Node node = getNode(nanim.node.id);
 				if (node == null) continue;
@@ -298,6 +307,7 @@ public class ModelInstance implements RenderableProvider {
 					nodeAnim.translation = nanim.translation;
 					nodeAnim.rotation = nanim.rotation;
 					nodeAnim.scaling = nanim.scaling;
+					nodeAnim.samples = nanim.samples;
 				} else {
 					if (nanim.translation != null) {
 						nodeAnim.translation = new Array<NodeKeyframe<Vector3>>();
@@ -314,6 +324,10 @@ public class ModelInstance implements RenderableProvider {
 						for (final NodeKeyframe<Vector3> kf : nanim.scaling)
 							nodeAnim.scaling.add(new NodeKeyframe<Vector3>(kf.keytime, kf.value));
 					}
+					if (nanim.samples != null) {
+						nodeAnim.samples = new float[nanim.samples.length];
+						System.arraycopy(nanim.samples, 0, nodeAnim.samples, 0, nanim.samples.length);
+					}
 				}
 				if (nodeAnim.translation != null || nodeAnim.rotation != null || nodeAnim.scaling != null)
 					animation.nodeAnimations.add(nodeAnim);
@@ -367,21 +381,102 @@ public class ModelInstance implements RenderableProvider {
 		}
 	}
 
-	/** Calculates the local and world transform of all {@link Node} instances in this model, recursively. First each
-	 * {@link Node#localTransform} transform is calculated based on the translation, rotation and scale of each Node. Then each
-	 * {@link Node#calculateWorldTransform()} is calculated, based on the parent's world transform and the local transform of each
-	 * Node. Finally, the animation bone matrices are updated accordingly.</p>
+	/** Calculates the local and world transform of all {@link Node} instances in this model, using the flattened
+	 * {@link #hierarchy}. First each {@link Node#localTransform} transform is calculated based on the translation, rotation and
+	 * scale of each Node. Then each {@link Node#globalTransform} is calculated, based on the parent's world transform and the local
+	 * transform of each Node. Finally, the animation bone matrices are updated accordingly.</p>
 	 * 
 	 * This method can be used to recalculate all transforms if any of the Node's local properties (translation, rotation, scale)
 	 * was modified. */
 	public void calculateTransforms () {
-		final int n = nodes.size;
-		for (int i = 0; i < n; i++) {
-			nodes.get(i).calculateTransforms(true);
+		hierarchy.calculateTransforms(nodes);
+	}
+
+	/** Calls {@link #calculateTransforms()} on all the instances, distributed over the threads of the executor, and waits until all
+	 * transforms are calculated. The instances must not share nodes.
+	 * @param instancesPerTask the number of instances calculated by a single task */
+	public static void calculateTransforms (Array<? extends ModelInstance> instances, AsyncExecutor executor,
+		int instancesPerTask) {
+		if (instancesPerTask < 1) throw new IllegalArgumentException("instancesPerTask must be > 0: " + instancesPerTask);
+		final int n = instances.size;
+		if (n <= instancesPerTask) {
+			for (int i = 0; i < n; i++)
+				instances.get(i).calculateTransforms();
+			return;
 		}
-		for (int i = 0; i < n; i++) {
-			nodes.get(i).calculateBoneTransforms(true);
+		final Array<AsyncResult<Void>> results = new Array<AsyncResult<Void>>(false, n / instancesPerTask + 1);
+		for (int start = instancesPerTask; start < n; start += instancesPerTask)
+			results.add(executor.submit(new CalculateTransformsTask(instances, start, Math.min(n, start + instancesPerTask))));
+		// The first range is calculated on this thread
+		for (int i = 0; i < instancesPerTask; i++)
+			instances.get(i).calculateTransforms();
+		for (int i = 0; i < results.size; i++)
+			results.get(i).get();
+	}
+
+	/** Selects the level of detail of every enabled node part with {@link NodePart#lods}, by the size on screen of the bounding
+	 * sphere of its full detail mesh part, see {@link #calculateScreenSize(Camera, float, float, float, float)}. Call this after
+	 * the transforms are calculated and before {@link #getRenderables(Array, Pool)}, for example every frame. */
+	public void selectLods (final Camera camera) {
+		for (int i = 0, n = nodes.size; i < n; i++)
+			selectLods(nodes.get(i), camera, 0);
+	}
+
+	/** Selects the level of detail of every enabled node part with {@link NodePart#lods} by the same screen size, the diameter on
+	 * screen relative to the height of the viewport. */
+	public void selectLods (final float screenSize) {
+		for (int i = 0, n = nodes.size; i < n; i++)
+			selectLods(nodes.get(i), null, screenSize);
+	}
+
+	/** @param camera the camera to calculate the screen size of every node part with, or null to use the screen size */
+	protected void selectLods (final Node node, final Camera camera, final float screenSize) {
+		for (int i = 0, n = node.parts.size; i < n; i++) {
+			final NodePart part = node.parts.get(i);
+			if (part.lods == null || !part.enabled) continue;
+			if (camera == null) {
+				selectLod(part, screenSize);
+				continue;
+			}
+			// The bounding sphere in world space, skinned parts are only transformed by the instance like their renderables
+			final MeshPart full = part.lods[0];
+			float x = full.center.x, y = full.center.y, z = full.center.z, radius = full.radius;
+			for (int t = 0; t < 2; t++) {
+				final Matrix4 matrix = t == 0 ? (part.bones == null ? node.globalTransform : null) : transform;
+				if (matrix == null) continue;
+				final float[] m = matrix.val;
+				final float tx = m[Matrix4.M00] * x + m[Matrix4.M01] * y + m[Matrix4.M02] * z + m[Matrix4.M03];
+				final float ty = m[Matrix4.M10] * x + m[Matrix4.M11] * y + m[Matrix4.M12] * z + m[Matrix4.M13];
+				z = m[Matrix4.M20] * x + m[Matrix4.M21] * y + m[Matrix4.M22] * z + m[Matrix4.M23];
+				x = tx;
+				y = ty;
+				radius *= (float)Math.sqrt(
+					Math.max(matrix.getScaleXSquared(), Math.max(matrix.getScaleYSquared(), matrix.getScaleZSquared())));
+			}
+			selectLod(part, calculateScreenSize(camera, x, y, z, radius));
 		}
+		for (Node child : node.getChildren())
+			selectLods(child, camera, screenSize);
+	}
+
+	/** Copies the level of detail for the screen size into the {@link NodePart#meshPart}. */
+	private static void selectLod (final NodePart part, final float screenSize) {
+		final float[] screenSizes = part.lodScreenSizes;
+		int lod = 0;
+		while (lod + 1 < screenSizes.length && screenSize < screenSizes[lod + 1])
+			lod++;
+		part.meshPart.set(part.lods[lod]);
+	}
+
+	/** @return the diameter on screen of the sphere relative to the height of the viewport of the camera, infinity if the camera is
+	 *         inside the sphere. Uses the {@link Camera#projection} matrix, which must be up to date. */
+	public static float calculateScreenSize (final Camera camera, final float x, final float y, final float z,
+		final float radius) {
+		final float[] projection = camera.projection.val;
+		// Orthographic projections scale y by 2 / height, perspective ones by 1 / tan(fov / 2)
+		if (projection[Matrix4.M32] == 0) return radius * projection[Matrix4.M11];
+		final float distance = camera.position.dst(x, y, z);
+		return distance <= radius ? Float.POSITIVE_INFINITY : radius * projection[Matrix4.M11] / distance;
 	}
 
 	/** Calculate the bounding box of this model instance. This is a potential slow operation, it is advised to cache the result.
@@ -467,4 +562,22 @@ public class ModelInstance implements RenderableProvider {
 	public Node getNode (final String id, boolean recursive, boolean ignoreCase) {
 		return Node.getNode(nodes, id, recursive, ignoreCase);
 	}
+
+	static private class CalculateTransformsTask implements AsyncTask<Void> {
+		private final Array<? extends ModelInstance> instances;
+		private final int start, end;
+
+		public CalculateTransformsTask (Array<? extends ModelInstance> instances, int start, int end) {
+			this.instances = instances;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		public Void call () throws Exception {
+			for (int i = start; i < end; i++)
+				instances.get(i).calculateTransforms();
+			return null;
+		}
+	}
 }
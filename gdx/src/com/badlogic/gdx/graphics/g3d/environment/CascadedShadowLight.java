@@ -0,0 +1,332 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g3d.environment;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.Pixmap.Format;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g3d.Environment;
+import com.badlogic.gdx.graphics.g3d.ModelBatch;
+import com.badlogic.gdx.graphics.g3d.RenderableProvider;
+import com.badlogic.gdx.graphics.g3d.shaders.DefaultShader;
+import com.badlogic.gdx.graphics.g3d.utils.BvhCuller;
+import com.badlogic.gdx.graphics.g3d.utils.RenderableCuller;
+import com.badlogic.gdx.graphics.g3d.utils.TextureDescriptor;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.Disposable;
+
+/** A {@link DirectionalLight} casting shadows through cascaded shadow maps, replacing {@link DirectionalShadowLight}. The view
+ * frustum of the camera is split by distance into cascades, each with its own orthographic shadow camera fitted around the
+ * bounding sphere of its part of the frustum, so the shadows near the camera get the most texels. Set the light as the
+ * {@link Environment#shadowMap} and add it to the environment, the {@link DefaultShader} picks the cascade per fragment.
+ * <p>
+ * The static casters are rendered into their own depth map, which is only rendered again for a cascade when the cascade moves,
+ * after {@link #invalidate()} or when the light direction changes. A cascade covers more than its part of the frustum, by
+ * {@link #cacheMargin}, and only moves when the camera leaves that margin. The dynamic casters are rendered every frame into a
+ * second depth map, a fragment is lit if it is in front of both.
+ * <p>
+ * Each cascade is rendered with its own shadow camera passed to {@link ModelBatch#begin(Camera)}, so a {@link RenderableCuller}
+ * set on the shadow batch, for example a {@link BvhCuller} holding the casters, culls the casters of every cascade on the CPU.
+ *
+ * <pre>
+ * shadowLight.update(camera);
+ * shadowLight.render(shadowBatch, staticInstances, dynamicInstances);
+ * modelBatch.begin(camera);
+ * modelBatch.render(instances, environment);
+ * modelBatch.end();
+ * </pre> */
+public class CascadedShadowLight extends DirectionalLight implements CascadedShadowMap, Disposable {
+	/** The fraction of the radius of a cascade which is added around it, the camera can move that far before the cascade moves
+	 * and its static casters are rendered again. */
+	public float cacheMargin = 0.25f;
+	/** Blends the split distances between uniform, 0, and logarithmic, 1. */
+	public float splitLambda = 0.75f;
+
+	protected final int cascadeCount, cascadeSize, columns, rows;
+	protected final float shadowDistance, shadowDepth;
+	protected final OrthographicCamera[] cameras;
+	/** The view distance of the start of each cascade, followed by the end of the last one. */
+	protected final float[] splits;
+	protected final float[] transforms;
+	/** Per cascade the center in light space and the half size, 0 if the cascade was not placed yet. */
+	protected final float[] regions;
+	protected final boolean[] staticDirty;
+	protected FrameBuffer staticFbo, dynamicFbo;
+	protected final TextureDescriptor<Texture> staticDesc, dynamicDesc;
+	/** The normalized light direction and the axes of light space perpendicular to it. */
+	protected final Vector3 lightDirection = new Vector3(), lightRight = new Vector3(), lightUp = new Vector3();
+	private final Vector3 tmpV = new Vector3();
+	private final Vector3[] corners = new Vector3[8];
+	private int staticRenderCount;
+
+	/** @param cascadeCount the number of cascades, from 1 to {@link CascadedShadowMap#MAX_CASCADES}
+	 * @param cascadeSize the width and height in texels of a cascade
+	 * @param shadowDistance the view distance up to which shadows are cast, limited by the far plane of the camera
+	 * @param shadowDepth the distance towards the light in front of a cascade in which casters are rendered */
+	public CascadedShadowLight (int cascadeCount, int cascadeSize, float shadowDistance, float shadowDepth) {
+		if (cascadeCount < 1 || cascadeCount > MAX_CASCADES)
+			throw new IllegalArgumentException("cascadeCount must be between 1 and " + MAX_CASCADES + ": " + cascadeCount);
+		this.cascadeCount = cascadeCount;
+		this.cascadeSize = cascadeSize;
+		this.shadowDistance = shadowDistance;
+		this.shadowDepth = shadowDepth;
+		columns = cascadeCount > 1 ? 2 : 1;
+		rows = (cascadeCount + columns - 1) / columns;
+		cameras = new OrthographicCamera[cascadeCount];
+		for (int i = 0; i < cascadeCount; i++)
+			cameras[i] = new OrthographicCamera();
+		splits = new float[cascadeCount + 1];
+		transforms = new float[cascadeCount * 16];
+		regions = new float[cascadeCount * 4];
+		staticDirty = new boolean[cascadeCount];
+		for (int i = 0; i < corners.length; i++)
+			corners[i] = new Vector3();
+		staticDesc = new TextureDescriptor<Texture>();
+		staticDesc.minFilter = staticDesc.magFilter = Texture.TextureFilter.Nearest;
+		staticDesc.uWrap = staticDesc.vWrap = Texture.TextureWrap.ClampToEdge;
+		dynamicDesc = new TextureDescriptor<Texture>();
+		dynamicDesc.set(staticDesc);
+	}
+
+	/** Fits the cascades to the view frustum of the camera, moving the cascades which no longer contain their part of it.
+	 * @param camera the camera, its {@link Camera#frustum} must be up to date */
+	public void update (final Camera camera) {
+		tmpV.set(direction).nor();
+		if (lightRight.isZero() || !tmpV.epsilonEquals(lightDirection, 1e-5f)) {
+			lightDirection.set(tmpV);
+			// Any axes perpendicular to the light direction do, as long as they stay the same while it does
+			final Vector3 up = Math.abs(lightDirection.y) > 0.99f ? Vector3.X : Vector3.Y;
+			lightRight.set(lightDirection).crs(up).nor();
+			lightUp.set(lightRight).crs(lightDirection).nor();
+			for (int i = 0; i < cascadeCount; i++)
+				regions[i * 4 + 3] = 0;
+		}
+
+		calculateSplits(camera.near, Math.min(camera.far, shadowDistance), splitLambda, splits);
+		final Vector3[] planePoints = camera.frustum.planePoints;
+		final float range = camera.far - camera.near;
+		for (int i = 0; i < cascadeCount; i++) {
+			// The corners of the part of the frustum, the view distance changes linearly along the edges of the frustum
+			final float start = (splits[i] - camera.near) / range, end = (splits[i + 1] - camera.near) / range;
+			final Vector3 center = tmpV.setZero();
+			for (int k = 0; k < 4; k++) {
+				center.add(corners[k].set(planePoints[k]).lerp(planePoints[k + 4], start));
+				center.add(corners[k + 4].set(planePoints[k]).lerp(planePoints[k + 4], end));
+			}
+			center.scl(1f / 8f);
+			float radius2 = 0;
+			for (int k = 0; k < 8; k++)
+				radius2 = Math.max(radius2, corners[k].dst2(center));
+			fit(i, center, (float)Math.sqrt(radius2));
+		}
+	}
+
+	/** Moves the cascade if the sphere is not within its region, or if the region is much larger than needed.
+	 * @param center the center of the sphere around the part of the view frustum of the cascade, in world space */
+	protected void fit (final int cascade, final Vector3 center, final float radius) {
+		final float x = center.dot(lightRight), y = center.dot(lightUp), z = center.dot(lightDirection);
+		final float[] regions = this.regions;
+		final int r = cascade * 4;
+		final float halfSize = regions[r + 3];
+		if (halfSize > 0 && Math.abs(x - regions[r]) + radius <= halfSize && Math.abs(y - regions[r + 1]) + radius <= halfSize
+			&& Math.abs(z - regions[r + 2]) + radius <= halfSize && radius * (1 + 2 * cacheMargin) >= halfSize) return;
+
+		final float newHalfSize = radius * (1 + cacheMargin);
+		// Snapped to whole texels, so the static casters don't shimmer when the cascade moves
+		final float texel = newHalfSize * 2 / cascadeSize;
+		regions[r] = (float)Math.floor(x / texel) * texel;
+		regions[r + 1] = (float)Math.floor(y / texel) * texel;
+		regions[r + 2] = z;
+		regions[r + 3] = newHalfSize;
+		staticDirty[cascade] = true;
+
+		final OrthographicCamera camera = cameras[cascade];
+		camera.direction.set(lightDirection);
+		camera.up.set(lightUp);
+		camera.position.set(lightRight).scl(regions[r]).mulAdd(lightUp, regions[r + 1]).mulAdd(lightDirection,
+			z - newHalfSize - shadowDepth);
+		camera.viewportWidth = camera.viewportHeight = newHalfSize * 2;
+		camera.near = 0;
+		camera.far = shadowDepth + newHalfSize * 2;
+		camera.update();
+		setTileTransform(cascade, camera.combined);
+	}
+
+	/** Sets the transform of the cascade to the projection view matrix followed by the scale and offset from clip space to the
+	 * tile of the cascade in the depth map. */
+	private void setTileTransform (final int cascade, final Matrix4 projViewTrans) {
+		final float[] m = projViewTrans.val, out = transforms;
+		final int o = cascade * 16;
+		final float scaleX = 0.5f / columns, offsetX = (0.5f + cascade % columns) / columns;
+		final float scaleY = 0.5f / rows, offsetY = (0.5f + cascade / columns) / rows;
+		for (int c = 0; c < 16; c += 4) {
+			final float w = m[c + 3];
+			out[o + c] = m[c] * scaleX + w * offsetX;
+			out[o + c + 1] = m[c + 1] * scaleY + w * offsetY;
+			out[o + c + 2] = m[c + 2] * 0.5f + w * 0.5f;
+			out[o + c + 3] = w;
+		}
+	}
+
+	/** Calculates the split distances, blending between uniform and logarithmic splits.
+	 * @param splits receives the start of every cascade, followed by the far distance */
+	public static void calculateSplits (final float near, final float far, final float lambda, final float[] splits) {
+		final int count = splits.length - 1;
+		splits[0] = near;
+		for (int i = 1; i < count; i++) {
+			final float fraction = (float)i / count;
+			final float log = near * (float)Math.pow(far / near, fraction);
+			final float uniform = near + (far - near) * fraction;
+			splits[i] = lambda * log + (1 - lambda) * uniform;
+		}
+		splits[count] = far;
+	}
+
+	/** Renders the static casters into the cascades which moved since they were last rendered, and the dynamic casters into all
+	 * cascades. Call {@link #update(Camera)} first. The depth map of the static casters is created on the first call with static
+	 * casters, until then there is only the {@link #getDepthMap() depth map} of the dynamic casters.
+	 * @param batch the batch to render the depth with, for example with a
+	 *           {@link com.badlogic.gdx.graphics.g3d.utils.DepthShaderProvider}
+	 * @param staticCasters the casters which don't move, may be null
+	 * @param dynamicCasters the casters which may move every frame, may be null */
+	public <T extends RenderableProvider, U extends RenderableProvider> void render (final ModelBatch batch,
+		final Iterable<T> staticCasters, final Iterable<U> dynamicCasters) {
+		if (dynamicFbo == null) dynamicFbo = new FrameBuffer(Format.RGBA8888, cascadeSize * columns, cascadeSize * rows, true);
+		if (staticFbo == null && staticCasters != null) {
+			staticFbo = new FrameBuffer(Format.RGBA8888, cascadeSize * columns, cascadeSize * rows, true);
+			for (int i = 0; i < cascadeCount; i++)
+				staticDirty[i] = true;
+		}
+		boolean dirty = false;
+		for (int i = 0; i < cascadeCount; i++)
+			dirty |= staticDirty[i];
+		if (dirty && staticFbo != null) {
+			staticFbo.begin();
+			for (int i = 0; i < cascadeCount; i++) {
+				if (!staticDirty[i]) continue;
+				renderCascade(batch, i, staticCasters);
+				staticDirty[i] = false;
+				staticRenderCount++;
+			}
+			Gdx.gl.glDisable(GL20.GL_SCISSOR_TEST);
+			staticFbo.end();
+		}
+		dynamicFbo.begin();
+		for (int i = 0; i < cascadeCount; i++)
+			renderCascade(batch, i, dynamicCasters);
+		Gdx.gl.glDisable(GL20.GL_SCISSOR_TEST);
+		dynamicFbo.end();
+	}
+
+	private <T extends RenderableProvider> void renderCascade (final ModelBatch batch, final int cascade,
+		final Iterable<T> casters) {
+		final int x = (cascade % columns) * cascadeSize, y = (cascade / columns) * cascadeSize;
+		Gdx.gl.glViewport(x, y, cascadeSize, cascadeSize);
+		Gdx.gl.glEnable(GL20.GL_SCISSOR_TEST);
+		Gdx.gl.glScissor(x, y, cascadeSize, cascadeSize);
+		Gdx.gl.glClearColor(1, 1, 1, 1);
+		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT | GL20.GL_DEPTH_BUFFER_BIT);
+		if (casters == null) return;
+		// Keep a lit border, so sampling past the edge of the tile doesn't read a neighbouring cascade
+		Gdx.gl.glScissor(x + 1, y + 1, cascadeSize - 2, cascadeSize - 2);
+		batch.begin(cameras[cascade]);
+		batch.render(casters);
+		batch.end();
+	}
+
+	/** Renders the static casters of all cascades again on the next {@link #render(ModelBatch, Iterable, Iterable)}, call this
+	 * after a static caster was added, removed or changed. */
+	public void invalidate () {
+		for (int i = 0; i < cascadeCount; i++)
+			staticDirty[i] = true;
+	}
+
+	/** @return whether the static casters of the cascade will be rendered on the next
+	 *         {@link #render(ModelBatch, Iterable, Iterable)} */
+	public boolean isInvalid (int cascade) {
+		return staticDirty[cascade];
+	}
+
+	/** @return the number of times the static casters of a cascade were rendered, to see how well they are cached */
+	public int getStaticRenderCount () {
+		return staticRenderCount;
+	}
+
+	/** @return the shadow camera of the cascade */
+	public Camera getCamera (int cascade) {
+		return cameras[cascade];
+	}
+
+	/** @return the view distance at which the cascade starts, or with the cascade count the distance at which the last one ends */
+	public float getSplit (int cascade) {
+		return splits[cascade];
+	}
+
+	@Override
+	public int getCascadeCount () {
+		return cascadeCount;
+	}
+
+	@Override
+	public int getColumns () {
+		return columns;
+	}
+
+	@Override
+	public int getCascadeSize () {
+		return cascadeSize;
+	}
+
+	@Override
+	public float[] getCascadeTransforms () {
+		return transforms;
+	}
+
+	/** @return the projection view matrix of the first cascade */
+	@Override
+	public Matrix4 getProjViewTrans () {
+		return cameras[0].combined;
+	}
+
+	/** @return the depth map of the dynamic casters, or null before the first {@link #render(ModelBatch, Iterable, Iterable)} */
+	@Override
+	public TextureDescriptor<Texture> getDepthMap () {
+		if (dynamicFbo == null) return null;
+		dynamicDesc.texture = dynamicFbo.getColorBufferTexture();
+		return dynamicDesc;
+	}
+
+	/** @return the depth map of the static casters, or null if no static casters were rendered yet */
+	@Override
+	public TextureDescriptor<Texture> getStaticDepthMap () {
+		if (staticFbo == null) return null;
+		staticDesc.texture = staticFbo.getColorBufferTexture();
+		return staticDesc;
+	}
+
+	@Override
+	public void dispose () {
+		if (staticFbo != null) staticFbo.dispose();
+		if (dynamicFbo != null) dynamicFbo.dispose();
+		staticFbo = dynamicFbo = null;
+	}
+}
@@ -0,0 +1,48 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g3d.environment;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g3d.utils.TextureDescriptor;
+
+/** A {@link ShadowMap} split into cascades, which are tiles of the depth map laid out row by row in {@link #getColumns()}
+ * columns. A fragment uses the first cascade containing it. The depth of the static casters may be kept in a second depth map
+ * with the same layout, a fragment is lit if it is in front of both. */
+public interface CascadedShadowMap extends ShadowMap {
+	/** The maximum number of cascades. */
+	public static final int MAX_CASCADES = 4;
+
+	/** @return the number of cascades, at most {@link #MAX_CASCADES} */
+	int getCascadeCount ();
+
+	/** @return the number of columns of tiles in the depth maps, the number of rows follows from the cascade count */
+	int getColumns ();
+
+	/** @return the width and height in texels of a cascade */
+	int getCascadeSize ();
+
+	/** @return 16 floats per cascade, the matrices transforming world space to the texture coordinates of the tile of the cascade,
+	 *         with the depth in z, ranging from 0 to 1 */
+	float[] getCascadeTransforms ();
+
+	/** @return the depth map of the cascades, or null if it was not rendered yet */
+	@Override
+	TextureDescriptor<Texture> getDepthMap ();
+
+	/** @return the depth map of the static casters, or null if they are in the {@link #getDepthMap()} as well */
+	TextureDescriptor<Texture> getStaticDepthMap ();
+}
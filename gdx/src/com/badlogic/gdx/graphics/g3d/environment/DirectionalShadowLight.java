@@ -28,7 +28,7 @@ import com.badlogic.gdx.math.Matrix4;
 import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.utils.Disposable;
 
-/** @deprecated Experimental, likely to change, do not use!
+/** @deprecated Use {@link CascadedShadowLight}, which fits its cascades to the camera and caches the depth of the static casters.
  * @author Xoppa */
 public class DirectionalShadowLight extends DirectionalLight implements ShadowMap, Disposable {
 	protected FrameBuffer fbo;
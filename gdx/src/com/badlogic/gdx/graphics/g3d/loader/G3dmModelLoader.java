@@ -0,0 +1,363 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g3d.loader;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel.MapMode;
+
+import com.badlogic.gdx.Files.FileType;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.assets.loaders.ModelLoader;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.g3d.Model;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelAnimation;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelData;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelMaterial;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelMaterial.MaterialType;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelMesh;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelMeshPart;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelNode;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelNodeAnimation;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelNodeKeyframe;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelNodePart;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelTexture;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Quaternion;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ArrayMap;
+import com.badlogic.gdx.utils.BufferUtils;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.StreamUtils;
+
+/** Loads models in the binary g3dm format, as written by {@link G3dmModelWriter}. Unlike g3dj and g3db files, the vertices and
+ * indices are stored exactly as a {@link Mesh} expects them, so they are not parsed at all. The file is memory mapped when
+ * possible and the {@link ModelMesh#vertexData} and {@link ModelMeshPart#indexData} of the returned {@link ModelData} are
+ * slices of that mapping, which {@link Model} copies straight into the vertex and index buffers of its meshes. Classpath files
+ * and Android assets can't be mapped and are read into a direct buffer instead.
+ * <p>
+ * All values are little endian. The file starts with {@link #MAGIC}, the format version and the version of the model data,
+ * followed by the meshes, materials, nodes and animations. The vertex block and the index block of every mesh are aligned to
+ * {@link #ALIGNMENT} bytes. The levels of detail of a part, see {@link ModelMeshPart#lods}, follow its indices in the index block.
+ * <p>
+ * The loader is not registered with the {@link AssetManager} by default, use
+ * <code>assetManager.setLoader(Model.class, ".g3dm", new G3dmModelLoader(resolver))</code>. */
+public class G3dmModelLoader extends ModelLoader<ModelLoader.ModelParameters> {
+	/** The first four bytes of a g3dm file, "G3DM". */
+	public static final int MAGIC = 'G' | '3' << 8 | 'D' << 16 | 'M' << 24;
+	public static final short VERSION_HI = 0;
+	public static final short VERSION_LO = 1;
+	/** The alignment in bytes of the vertex and index blocks, relative to the start of the file. */
+	public static final int ALIGNMENT = 16;
+
+	static final byte NULL = 0, PRESENT = 1;
+
+	public G3dmModelLoader () {
+		this(null);
+	}
+
+	public G3dmModelLoader (FileHandleResolver resolver) {
+		super(resolver);
+	}
+
+	@Override
+	public ModelData loadModelData (FileHandle fileHandle, ModelLoader.ModelParameters parameters) {
+		return parseModel(fileHandle);
+	}
+
+	public ModelData parseModel (FileHandle handle) {
+		return parseModel(map(handle), handle.parent().path());
+	}
+
+	/** Maps the file into memory, or reads it into a direct buffer if it can't be mapped.
+	 * @return the little endian buffer with the contents of the file */
+	public static ByteBuffer map (FileHandle handle) {
+		if (handle.type() != FileType.Classpath) {
+			File file = handle.file();
+			if (file.isFile()) {
+				RandomAccessFile input = null;
+				try {
+					input = new RandomAccessFile(file, "r");
+					// The mapping stays valid after the file is closed
+					return input.getChannel().map(MapMode.READ_ONLY, 0, file.length()).order(ByteOrder.LITTLE_ENDIAN);
+				} catch (IOException ex) {
+					throw new GdxRuntimeException("Error mapping file: " + handle, ex);
+				} finally {
+					StreamUtils.closeQuietly(input);
+				}
+			}
+		}
+		byte[] bytes = handle.readBytes();
+		ByteBuffer buffer = BufferUtils.newByteBuffer(bytes.length);
+		buffer.put(bytes);
+		buffer.flip();
+		return buffer.order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	/** Parses a g3dm model. The vertex and index data of the returned model data are slices of the buffer, so its contents must
+	 * not change until the model data is converted to a {@link Model}.
+	 * @param textureDir the directory the texture file names are relative to */
+	public ModelData parseModel (ByteBuffer buffer, String textureDir) {
+		buffer = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+		if (buffer.remaining() < 8 || buffer.getInt() != MAGIC) throw new GdxRuntimeException("Not a g3dm model");
+		short versionHi = buffer.getShort(), versionLo = buffer.getShort();
+		if (versionHi != VERSION_HI || versionLo != VERSION_LO) throw new GdxRuntimeException("Model version not supported");
+		ModelData model = new ModelData();
+		model.version[0] = buffer.getShort();
+		model.version[1] = buffer.getShort();
+		model.id = readString(buffer);
+		parseMeshes(model, buffer);
+		parseMaterials(model, buffer, textureDir);
+		parseNodes(model, buffer);
+		parseAnimations(model, buffer);
+		return model;
+	}
+
+	private void parseMeshes (ModelData model, ByteBuffer buffer) {
+		int meshCount = buffer.getInt();
+		model.meshes.ensureCapacity(meshCount);
+		for (int i = 0; i < meshCount; i++) {
+			ModelMesh mesh = new ModelMesh();
+			mesh.id = readString(buffer);
+			mesh.attributes = new VertexAttribute[buffer.getInt()];
+			for (int a = 0; a < mesh.attributes.length; a++) {
+				int usage = buffer.getInt(), numComponents = buffer.getInt(), type = buffer.getInt();
+				boolean normalized = buffer.get() != 0;
+				int unit = buffer.getInt();
+				mesh.attributes[a] = new VertexAttribute(usage, numComponents, type, normalized, readString(buffer), unit);
+			}
+			int vertexBytes = buffer.getInt();
+			mesh.parts = new ModelMeshPart[buffer.getInt()];
+			int[] indexCounts = new int[mesh.parts.length];
+			int[][] lodIndexCounts = new int[mesh.parts.length][];
+			for (int p = 0; p < mesh.parts.length; p++) {
+				ModelMeshPart part = new ModelMeshPart();
+				part.id = readString(buffer);
+				part.primitiveType = buffer.getInt();
+				indexCounts[p] = buffer.getInt();
+				int lodCount = buffer.getInt();
+				if (lodCount >= 0) {
+					part.lods = new ModelMeshPart[lodCount];
+					part.lodScreenSizes = new float[lodCount];
+					lodIndexCounts[p] = new int[lodCount];
+					for (int l = 0; l < lodCount; l++) {
+						ModelMeshPart lod = part.lods[l] = new ModelMeshPart();
+						lod.id = part.id + "_lod" + (l + 1);
+						lod.primitiveType = part.primitiveType;
+						part.lodScreenSizes[l] = buffer.getFloat();
+						lodIndexCounts[p][l] = buffer.getInt();
+					}
+				}
+				mesh.parts[p] = part;
+			}
+			align(buffer);
+			mesh.vertexData = slice(buffer, vertexBytes);
+			// The indices of all parts, each followed by its levels of detail, follow each other in one block
+			align(buffer);
+			for (int p = 0; p < mesh.parts.length; p++) {
+				ModelMeshPart part = mesh.parts[p];
+				part.indexData = slice(buffer, indexCounts[p] * 2);
+				if (part.lods != null) for (int l = 0; l < part.lods.length; l++)
+					part.lods[l].indexData = slice(buffer, lodIndexCounts[p][l] * 2);
+			}
+			model.meshes.add(mesh);
+		}
+	}
+
+	private static void align (ByteBuffer buffer) {
+		buffer.position((buffer.position() + ALIGNMENT - 1) & -ALIGNMENT);
+	}
+
+	private static ByteBuffer slice (ByteBuffer buffer, int length) {
+		int position = buffer.position();
+		ByteBuffer slice = buffer.duplicate();
+		slice.limit(position + length);
+		buffer.position(position + length);
+		return slice.slice().order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	private void parseMaterials (ModelData model, ByteBuffer buffer, String textureDir) {
+		int materialCount = buffer.getInt();
+		model.materials.ensureCapacity(materialCount);
+		for (int i = 0; i < materialCount; i++) {
+			ModelMaterial material = new ModelMaterial();
+			material.id = readString(buffer);
+			byte type = buffer.get();
+			material.type = type < 0 ? null : MaterialType.values()[type];
+			material.ambient = readColor(buffer);
+			material.diffuse = readColor(buffer);
+			material.specular = readColor(buffer);
+			material.emissive = readColor(buffer);
+			material.reflection = readColor(buffer);
+			material.shininess = buffer.getFloat();
+			material.opacity = buffer.getFloat();
+			int textureCount = buffer.getInt();
+			if (textureCount >= 0) {
+				material.textures = new Array<ModelTexture>(textureCount);
+				for (int t = 0; t < textureCount; t++) {
+					ModelTexture texture = new ModelTexture();
+					texture.id = readString(buffer);
+					String fileName = readString(buffer);
+					texture.fileName = textureDir + (textureDir.length() == 0 || textureDir.endsWith("/") ? "" : "/") + fileName;
+					texture.uvTranslation = readVector2(buffer);
+					texture.uvScaling = readVector2(buffer);
+					texture.usage = buffer.getInt();
+					material.textures.add(texture);
+				}
+			}
+			model.materials.add(material);
+		}
+	}
+
+	private void parseNodes (ModelData model, ByteBuffer buffer) {
+		int nodeCount = buffer.getInt();
+		model.nodes.ensureCapacity(nodeCount);
+		for (int i = 0; i < nodeCount; i++)
+			model.nodes.add(parseNode(buffer));
+	}
+
+	private ModelNode parseNode (ByteBuffer buffer) {
+		ModelNode node = new ModelNode();
+		node.id = readString(buffer);
+		node.translation = readVector3(buffer);
+		if (buffer.get() != NULL) node.rotation = new Quaternion(buffer.getFloat(), buffer.getFloat(), buffer.getFloat(),
+			buffer.getFloat());
+		node.scale = readVector3(buffer);
+		node.meshId = readString(buffer);
+		int partCount = buffer.getInt();
+		if (partCount >= 0) {
+			node.parts = new ModelNodePart[partCount];
+			for (int p = 0; p < partCount; p++) {
+				ModelNodePart part = new ModelNodePart();
+				part.meshPartId = readString(buffer);
+				part.materialId = readString(buffer);
+				int boneCount = buffer.getInt();
+				if (boneCount >= 0) {
+					part.bones = new ArrayMap<String, Matrix4>(true, boneCount, String.class, Matrix4.class);
+					for (int b = 0; b < boneCount; b++) {
+						String id = readString(buffer);
+						Matrix4 transform = new Matrix4();
+						for (int v = 0; v < 16; v++)
+							transform.val[v] = buffer.getFloat();
+						part.bones.put(id, transform);
+					}
+				}
+				int uvMappingCount = buffer.getInt();
+				if (uvMappingCount >= 0) {
+					part.uvMapping = new int[uvMappingCount][];
+					for (int m = 0; m < uvMappingCount; m++) {
+						int[] mapping = part.uvMapping[m] = new int[buffer.getInt()];
+						for (int v = 0; v < mapping.length; v++)
+							mapping[v] = buffer.getInt();
+					}
+				}
+				node.parts[p] = part;
+			}
+		}
+		int childCount = buffer.getInt();
+		if (childCount >= 0) {
+			node.children = new ModelNode[childCount];
+			for (int c = 0; c < childCount; c++)
+				node.children[c] = parseNode(buffer);
+		}
+		return node;
+	}
+
+	private void parseAnimations (ModelData model, ByteBuffer buffer) {
+		int animationCount = buffer.getInt();
+		model.animations.ensureCapacity(animationCount);
+		for (int i = 0; i < animationCount; i++) {
+			ModelAnimation animation = new ModelAnimation();
+			animation.id = readString(buffer);
+			int nodeCount = buffer.getInt();
+			animation.nodeAnimations.ensureCapacity(nodeCount);
+			for (int n = 0; n < nodeCount; n++) {
+				ModelNodeAnimation nodeAnimation = new ModelNodeAnimation();
+				nodeAnimation.nodeId = readString(buffer);
+				int count = buffer.getInt();
+				if (count >= 0) {
+					nodeAnimation.translation = new Array<ModelNodeKeyframe<Vector3>>(count);
+					for (int k = 0; k < count; k++) {
+						ModelNodeKeyframe<Vector3> keyframe = new ModelNodeKeyframe<Vector3>();
+						keyframe.keytime = buffer.getFloat();
+						keyframe.value = new Vector3(buffer.getFloat(), buffer.getFloat(), buffer.getFloat());
+						nodeAnimation.translation.add(keyframe);
+					}
+				}
+				count = buffer.getInt();
+				if (count >= 0) {
+					nodeAnimation.rotation = new Array<ModelNodeKeyframe<Quaternion>>(count);
+					for (int k = 0; k < count; k++) {
+						ModelNodeKeyframe<Quaternion> keyframe = new ModelNodeKeyframe<Quaternion>();
+						keyframe.keytime = buffer.getFloat();
+						keyframe.value = new Quaternion(buffer.getFloat(), buffer.getFloat(), buffer.getFloat(), buffer.getFloat());
+						nodeAnimation.rotation.add(keyframe);
+					}
+				}
+				count = buffer.getInt();
+				if (count >= 0) {
+					nodeAnimation.scaling = new Array<ModelNodeKeyframe<Vector3>>(count);
+					for (int k = 0; k < count; k++) {
+						ModelNodeKeyframe<Vector3> keyframe = new ModelNodeKeyframe<Vector3>();
+						keyframe.keytime = buffer.getFloat();
+						keyframe.value = new Vector3(buffer.getFloat(), buffer.getFloat(), buffer.getFloat());
+						nodeAnimation.scaling.add(keyframe);
+					}
+				}
+				animation.nodeAnimations.add(nodeAnimation);
+			}
+			model.animations.add(animation);
+		}
+	}
+
+	private static Color readColor (ByteBuffer buffer) {
+		if (buffer.get() == NULL) return null;
+		return new Color(buffer.getFloat(), buffer.getFloat(), buffer.getFloat(), buffer.getFloat());
+	}
+
+	private static Vector2 readVector2 (ByteBuffer buffer) {
+		if (buffer.get() == NULL) return null;
+		return new Vector2(buffer.getFloat(), buffer.getFloat());
+	}
+
+	private static Vector3 readVector3 (ByteBuffer buffer) {
+		if (buffer.get() == NULL) return null;
+		return new Vector3(buffer.getFloat(), buffer.getFloat(), buffer.getFloat());
+	}
+
+	private static String readString (ByteBuffer buffer) {
+		int length = buffer.getInt();
+		if (length < 0) return null;
+		byte[] bytes = new byte[length];
+		buffer.get(bytes);
+		try {
+			return new String(bytes, "UTF-8");
+		} catch (UnsupportedEncodingException ex) {
+			throw new GdxRuntimeException(ex);
+		}
+	}
+}
@@ -0,0 +1,367 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g3d.loader;
+
+import static com.badlogic.gdx.graphics.g3d.loader.G3dmModelLoader.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelAnimation;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelData;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelMaterial;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelMesh;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelMeshPart;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelNode;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelNodeAnimation;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelNodeKeyframe;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelNodePart;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelTexture;
+import com.badlogic.gdx.graphics.g3d.utils.MeshOptimizer;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Quaternion;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.StreamUtils;
+import com.badlogic.gdx.utils.UBJsonReader;
+
+/** Writes {@link ModelData} in the binary g3dm format read by {@link G3dmModelLoader}. {@link #convert(FileHandle, FileHandle)}
+ * converts g3dj, g3db and obj models, so the parsing of those formats can be moved from the level load to the build. */
+public class G3dmModelWriter {
+	private ByteBuffer buffer = ByteBuffer.allocate(4096).order(ByteOrder.LITTLE_ENDIAN);
+	private String textureDir;
+
+	/** Converts a g3dj, g3db or obj model to a g3dm model. The texture file names are written relative to the directory of the
+	 * input, the textures are expected in the directory of the output when it is loaded. */
+	public static void convert (FileHandle input, FileHandle output) {
+		convert(input, output, null);
+	}
+
+	/** Converts a g3dj, g3db or obj model to a g3dm model, like {@link #convert(FileHandle, FileHandle)}, optimizing its meshes
+	 * first.
+	 * @param optimization how the meshes are optimized and which levels of detail are generated, see {@link MeshOptimizer}. May
+	 *           be null. */
+	public static void convert (FileHandle input, FileHandle output, MeshOptimizer.Config optimization) {
+		String extension = input.extension().toLowerCase();
+		ModelData model;
+		if (extension.equals("g3dj"))
+			model = new G3dModelLoader(new JsonReader()).loadModelData(input);
+		else if (extension.equals("g3db"))
+			model = new G3dModelLoader(new UBJsonReader()).loadModelData(input);
+		else if (extension.equals("obj"))
+			model = new ObjLoader().loadModelData(input);
+		else
+			throw new GdxRuntimeException("Unsupported model format: " + input);
+		if (optimization != null) MeshOptimizer.optimize(model, optimization);
+		new G3dmModelWriter().write(model, output, input.parent().path());
+	}
+
+	/** @param textureDir the texture file names starting with this directory are written relative to it. May be null. */
+	public void write (ModelData model, FileHandle file, String textureDir) {
+		OutputStream output = file.write(false);
+		try {
+			write(model, output, textureDir);
+		} catch (IOException ex) {
+			throw new GdxRuntimeException("Error writing model: " + file, ex);
+		} finally {
+			StreamUtils.closeQuietly(output);
+		}
+	}
+
+	/** @param textureDir the texture file names starting with this directory are written relative to it. May be null. */
+	public void write (ModelData model, OutputStream output, String textureDir) throws IOException {
+		if (textureDir != null && textureDir.length() > 0 && !textureDir.endsWith("/")) textureDir += "/";
+		this.textureDir = textureDir;
+		buffer.clear();
+		ensureCapacity(8);
+		buffer.putInt(MAGIC);
+		buffer.putShort(VERSION_HI);
+		buffer.putShort(VERSION_LO);
+		putShort(model.version[0]);
+		putShort(model.version[1]);
+		putString(model.id);
+		putInt(model.meshes.size);
+		for (ModelMesh mesh : model.meshes)
+			writeMesh(mesh);
+		putInt(model.materials.size);
+		for (ModelMaterial material : model.materials)
+			writeMaterial(material);
+		putInt(model.nodes.size);
+		for (ModelNode node : model.nodes)
+			writeNode(node);
+		putInt(model.animations.size);
+		for (ModelAnimation animation : model.animations)
+			writeAnimation(animation);
+		output.write(buffer.array(), 0, buffer.position());
+	}
+
+	private void writeMesh (ModelMesh mesh) {
+		putString(mesh.id);
+		putInt(mesh.attributes.length);
+		for (VertexAttribute attribute : mesh.attributes) {
+			putInt(attribute.usage);
+			putInt(attribute.numComponents);
+			putInt(attribute.type);
+			putByte(attribute.normalized ? PRESENT : NULL);
+			putInt(attribute.unit);
+			putString(attribute.alias);
+		}
+		putInt(mesh.vertices != null ? mesh.vertices.length * 4 : mesh.vertexData.remaining());
+		putInt(mesh.parts.length);
+		for (ModelMeshPart part : mesh.parts) {
+			putString(part.id);
+			putInt(part.primitiveType);
+			putInt(indexCount(part));
+			if (part.lods == null)
+				putInt(-1);
+			else {
+				putInt(part.lods.length);
+				for (int i = 0; i < part.lods.length; i++) {
+					putFloat(part.lodScreenSizes[i]);
+					putInt(indexCount(part.lods[i]));
+				}
+			}
+		}
+		align();
+		if (mesh.vertices != null) {
+			ensureCapacity(mesh.vertices.length * 4);
+			buffer.asFloatBuffer().put(mesh.vertices);
+			buffer.position(buffer.position() + mesh.vertices.length * 4);
+		} else {
+			ensureCapacity(mesh.vertexData.remaining());
+			buffer.put(mesh.vertexData.duplicate());
+		}
+		align();
+		for (ModelMeshPart part : mesh.parts) {
+			writeIndices(part);
+			if (part.lods != null) for (ModelMeshPart lod : part.lods)
+				writeIndices(lod);
+		}
+	}
+
+	private static int indexCount (ModelMeshPart part) {
+		return part.indices != null ? part.indices.length : part.indexData.remaining() / 2;
+	}
+
+	private void writeIndices (ModelMeshPart part) {
+		if (part.indices != null) {
+			ensureCapacity(part.indices.length * 2);
+			buffer.asShortBuffer().put(part.indices);
+			buffer.position(buffer.position() + part.indices.length * 2);
+		} else {
+			ensureCapacity(part.indexData.remaining());
+			buffer.put(part.indexData.duplicate());
+		}
+	}
+
+	private void writeMaterial (ModelMaterial material) {
+		putString(material.id);
+		putByte(material.type == null ? -1 : material.type.ordinal());
+		putColor(material.ambient);
+		putColor(material.diffuse);
+		putColor(material.specular);
+		putColor(material.emissive);
+		putColor(material.reflection);
+		putFloat(material.shininess);
+		putFloat(material.opacity);
+		if (material.textures == null) {
+			putInt(-1);
+			return;
+		}
+		putInt(material.textures.size);
+		for (ModelTexture texture : material.textures) {
+			putString(texture.id);
+			String fileName = texture.fileName;
+			if (textureDir != null && fileName.startsWith(textureDir)) fileName = fileName.substring(textureDir.length());
+			putString(fileName);
+			putVector2(texture.uvTranslation);
+			putVector2(texture.uvScaling);
+			putInt(texture.usage);
+		}
+	}
+
+	private void writeNode (ModelNode node) {
+		putString(node.id);
+		putVector3(node.translation);
+		Quaternion rotation = node.rotation;
+		putByte(rotation == null ? NULL : PRESENT);
+		if (rotation != null) {
+			putFloat(rotation.x);
+			putFloat(rotation.y);
+			putFloat(rotation.z);
+			putFloat(rotation.w);
+		}
+		putVector3(node.scale);
+		putString(node.meshId);
+		if (node.parts == null)
+			putInt(-1);
+		else {
+			putInt(node.parts.length);
+			for (ModelNodePart part : node.parts) {
+				putString(part.meshPartId);
+				putString(part.materialId);
+				if (part.bones == null)
+					putInt(-1);
+				else {
+					putInt(part.bones.size);
+					for (int i = 0; i < part.bones.size; i++) {
+						putString(part.bones.getKeyAt(i));
+						Matrix4 transform = part.bones.getValueAt(i);
+						for (int v = 0; v < 16; v++)
+							putFloat(transform.val[v]);
+					}
+				}
+				if (part.uvMapping == null)
+					putInt(-1);
+				else {
+					putInt(part.uvMapping.length);
+					for (int[] mapping : part.uvMapping) {
+						putInt(mapping.length);
+						for (int value : mapping)
+							putInt(value);
+					}
+				}
+			}
+		}
+		if (node.children == null)
+			putInt(-1);
+		else {
+			putInt(node.children.length);
+			for (ModelNode child : node.children)
+				writeNode(child);
+		}
+	}
+
+	private void writeAnimation (ModelAnimation animation) {
+		putString(animation.id);
+		putInt(animation.nodeAnimations.size);
+		for (ModelNodeAnimation nodeAnimation : animation.nodeAnimations) {
+			putString(nodeAnimation.nodeId);
+			writeVector3Keyframes(nodeAnimation.translation);
+			if (nodeAnimation.rotation == null)
+				putInt(-1);
+			else {
+				putInt(nodeAnimation.rotation.size);
+				for (ModelNodeKeyframe<Quaternion> keyframe : nodeAnimation.rotation) {
+					putFloat(keyframe.keytime);
+					putFloat(keyframe.value.x);
+					putFloat(keyframe.value.y);
+					putFloat(keyframe.value.z);
+					putFloat(keyframe.value.w);
+				}
+			}
+			writeVector3Keyframes(nodeAnimation.scaling);
+		}
+	}
+
+	private void writeVector3Keyframes (Array<ModelNodeKeyframe<Vector3>> keyframes) {
+		if (keyframes == null) {
+			putInt(-1);
+			return;
+		}
+		putInt(keyframes.size);
+		for (ModelNodeKeyframe<Vector3> keyframe : keyframes) {
+			putFloat(keyframe.keytime);
+			putFloat(keyframe.value.x);
+			putFloat(keyframe.value.y);
+			putFloat(keyframe.value.z);
+		}
+	}
+
+	private void ensureCapacity (int bytes) {
+		if (buffer.remaining() >= bytes) return;
+		ByteBuffer newBuffer = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+		buffer.flip();
+		newBuffer.put(buffer);
+		buffer = newBuffer.order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	private void align () {
+		int position = (buffer.position() + ALIGNMENT - 1) & -ALIGNMENT;
+		ensureCapacity(position - buffer.position());
+		while (buffer.position() < position)
+			buffer.put(NULL);
+	}
+
+	private void putByte (int value) {
+		ensureCapacity(1);
+		buffer.put((byte)value);
+	}
+
+	private void putShort (short value) {
+		ensureCapacity(2);
+		buffer.putShort(value);
+	}
+
+	private void putInt (int value) {
+		ensureCapacity(4);
+		buffer.putInt(value);
+	}
+
+	private void putFloat (float value) {
+		ensureCapacity(4);
+		buffer.putFloat(value);
+	}
+
+	private void putColor (Color color) {
+		putByte(color == null ? NULL : PRESENT);
+		if (color == null) return;
+		putFloat(color.r);
+		putFloat(color.g);
+		putFloat(color.b);
+		putFloat(color.a);
+	}
+
+	private void putVector2 (Vector2 vector) {
+		putByte(vector == null ? NULL : PRESENT);
+		if (vector == null) return;
+		putFloat(vector.x);
+		putFloat(vector.y);
+	}
+
+	private void putVector3 (Vector3 vector) {
+		putByte(vector == null ? NULL : PRESENT);
+		if (vector == null) return;
+		putFloat(vector.x);
+		putFloat(vector.y);
+		putFloat(vector.z);
+	}
+
+	private void putString (String value) {
+		if (value == null) {
+			putInt(-1);
+			return;
+		}
+		try {
+			byte[] bytes = value.getBytes("UTF-8");
+			putInt(bytes.length);
+			ensureCapacity(bytes.length);
+			buffer.put(bytes);
+		} catch (UnsupportedEncodingException ex) {
+			throw new GdxRuntimeException(ex);
+		}
+	}
+}
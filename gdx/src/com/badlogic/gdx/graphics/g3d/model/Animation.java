@@ -17,6 +17,7 @@
 package com.badlogic.gdx.graphics.g3d.model;
 
 import com.badlogic.gdx.graphics.g3d.Model;
+import com.badlogic.gdx.graphics.g3d.utils.BaseAnimationController;
 import com.badlogic.gdx.utils.Array;
 
 /** An Animation has an id and a list of {@link NodeAnimation} instances. Each NodeAnimation animates a single {@link Node} in the
@@ -31,4 +32,7 @@ public class Animation {
 	public float duration;
 	/** the animation curves for individual nodes **/
 	public Array<NodeAnimation> nodeAnimations = new Array<NodeAnimation>();
+	/** the number of {@link NodeAnimation#samples} per second, or 0 if the animation is not baked, see
+	 * {@link BaseAnimationController#bakeAnimation(Animation, float)} **/
+	public float sampleRate;
 }
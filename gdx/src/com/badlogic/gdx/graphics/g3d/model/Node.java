@@ -53,6 +53,8 @@ public class Node {
 
 	protected Node parent;
 	private final Array<Node> children = new Array<Node>(2);
+	/** Incremented on this node and its parents when a child is added or removed, see {@link NodeHierarchy}. */
+	int hierarchyVersion;
 
 	/** Calculates the local transform based on the translation, scale and rotation
 	 * @return the local transform */
@@ -209,6 +211,8 @@ public class Node {
 		} else
 			children.insert(index, child);
 		child.parent = this;
+		child.hierarchyVersion++;
+		hierarchyChanged();
 		return index;
 	}
 
@@ -234,9 +238,16 @@ public class Node {
 	public <T extends Node> boolean removeChild (final T child) {
 		if (!children.removeValue(child, true)) return false;
 		child.parent = null;
+		child.hierarchyVersion++;
+		hierarchyChanged();
 		return true;
 	}
 
+	private void hierarchyChanged () {
+		for (Node node = this; node != null; node = node.parent)
+			node.hierarchyVersion++;
+	}
+
 	/** @return An {@link Iterable} to all child nodes that this node contains. */
 	public Iterable<Node> getChildren () {
 		return children;
@@ -286,6 +297,7 @@ public class Node {
 			parts.add(nodePart.copy());
 		}
 		children.clear();
+		hierarchyChanged();
 		for (Node child : other.getChildren()) {
 			addChild(child.copy());
 		}
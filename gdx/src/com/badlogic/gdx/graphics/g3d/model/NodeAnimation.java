@@ -33,4 +33,7 @@ public class NodeAnimation {
 	public Array<NodeKeyframe<Quaternion>> rotation = null;
 	/** the scaling keyframes if any (might be null), sorted by time ascending **/
 	public Array<NodeKeyframe<Vector3>> scaling = null;
+	/** the keyframes resampled at the {@link Animation#sampleRate}, {@link NodeHierarchy#TRS_SIZE} floats (translation, rotation
+	 * and scale) per sample, or null if the animation is not baked **/
+	public float[] samples = null;
 }
@@ -0,0 +1,206 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g3d.model;
+
+import com.badlogic.gdx.graphics.g3d.Model;
+import com.badlogic.gdx.graphics.g3d.ModelInstance;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Quaternion;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.Array;
+
+/** A flattened copy of a {@link Node} tree, used by {@link Model} and {@link ModelInstance} to calculate the transforms of all
+ * nodes in a single loop instead of recursively. The nodes are stored in topological order, a parent is always stored before its
+ * children. The translation, rotation and scale of the nodes are packed in one float array, {@link #TRS_SIZE} floats per node, and
+ * the local and global transforms in two other float arrays, 16 floats per node in the layout of {@link Matrix4#val}.
+ * <p>
+ * The nodes stay the API to the hierarchy: {@link #calculateTransforms(Array)} reads the translation, rotation, scale,
+ * {@link Node#isAnimated} and {@link Node#inheritTransform} of each node and writes the resulting {@link Node#localTransform},
+ * {@link Node#globalTransform} and {@link NodePart#bones}. The hierarchy is rebuilt automatically when the node tree is changed.
+ * <p>
+ * Different hierarchies can be updated on different threads, as long as they don't share nodes. */
+public class NodeHierarchy {
+	/** The number of floats per node in the {@link #getTRS() TRS} array: translation xyz, rotation xyzw and scale xyz. */
+	public static final int TRS_SIZE = 10;
+
+	private Node[] nodes = new Node[0];
+	private int[] parents = new int[0];
+	private float[] trs = new float[0];
+	private float[] locals = new float[0];
+	private float[] globals = new float[0];
+	private int size;
+
+	private Node[] roots = new Node[0];
+	private int[] rootVersions = new int[0];
+	private int rootCount = -1;
+
+	/** Rebuilds the hierarchy from the specified root nodes. This is done automatically by {@link #calculateTransforms(Array)} when
+	 * the roots or their children changed. */
+	public void set (Array<Node> roots) {
+		if (this.roots.length < roots.size) {
+			this.roots = new Node[roots.size];
+			rootVersions = new int[roots.size];
+		}
+		rootCount = roots.size;
+		int count = 0;
+		for (int i = 0; i < rootCount; i++) {
+			Node root = roots.get(i);
+			this.roots[i] = root;
+			rootVersions[i] = root.hierarchyVersion;
+			count += countNodes(root);
+		}
+		if (nodes.length < count) {
+			nodes = new Node[count];
+			parents = new int[count];
+			trs = new float[count * TRS_SIZE];
+			locals = new float[count * 16];
+			globals = new float[count * 16];
+		}
+		for (int i = count; i < size; i++)
+			nodes[i] = null;
+		size = 0;
+		for (int i = 0; i < rootCount; i++)
+			add(roots.get(i), -1);
+		// Breadth first, so the nodes of the same depth are next to each other
+		for (int i = 0; i < size; i++) {
+			Node node = nodes[i];
+			for (int j = 0, n = node.getChildCount(); j < n; j++)
+				add(node.getChild(j), i);
+		}
+	}
+
+	private int countNodes (Node node) {
+		int count = 1;
+		for (int i = 0, n = node.getChildCount(); i < n; i++)
+			count += countNodes(node.getChild(i));
+		return count;
+	}
+
+	private void add (Node node, int parent) {
+		nodes[size] = node;
+		parents[size] = parent;
+		size++;
+	}
+
+	/** @return whether the hierarchy was built from the specified roots and none of the node trees changed since. */
+	public boolean isValid (Array<Node> roots) {
+		if (rootCount != roots.size) return false;
+		for (int i = 0; i < rootCount; i++) {
+			Node root = roots.get(i);
+			if (this.roots[i] != root || rootVersions[i] != root.hierarchyVersion) return false;
+		}
+		return true;
+	}
+
+	/** Calculates the local and global transforms of all nodes and the bone transforms of all node parts, like calling
+	 * {@link Node#calculateTransforms(boolean)} and {@link Node#calculateBoneTransforms(boolean)} recursively on all roots. The
+	 * hierarchy is rebuilt first if needed. */
+	public void calculateTransforms (Array<Node> roots) {
+		if (!isValid(roots)) set(roots);
+		final Node[] nodes = this.nodes;
+		final int[] parents = this.parents;
+		final float[] trs = this.trs, locals = this.locals, globals = this.globals;
+		final int size = this.size;
+
+		for (int i = 0, t = 0; i < size; i++, t += TRS_SIZE) {
+			final Node node = nodes[i];
+			if (node.isAnimated) continue;
+			final Vector3 translation = node.translation, scale = node.scale;
+			final Quaternion rotation = node.rotation;
+			trs[t] = translation.x;
+			trs[t + 1] = translation.y;
+			trs[t + 2] = translation.z;
+			trs[t + 3] = rotation.x;
+			trs[t + 4] = rotation.y;
+			trs[t + 5] = rotation.z;
+			trs[t + 6] = rotation.w;
+			trs[t + 7] = scale.x;
+			trs[t + 8] = scale.y;
+			trs[t + 9] = scale.z;
+		}
+
+		Matrix4.setTRS(trs, 0, locals, 0, size);
+		for (int i = 0, m = 0; i < size; i++, m += 16) {
+			final Node node = nodes[i];
+			if (node.isAnimated)
+				System.arraycopy(node.localTransform.val, 0, locals, m, 16);
+			else
+				System.arraycopy(locals, m, node.localTransform.val, 0, 16);
+		}
+
+		for (int i = 0, m = 0; i < size; i++, m += 16) {
+			final Node node = nodes[i];
+			final int parent = parents[i];
+			if (parent >= 0 && node.inheritTransform)
+				Matrix4.mul(globals, parent * 16, locals, m, globals, m, 1);
+			else
+				System.arraycopy(locals, m, globals, m, 16);
+			System.arraycopy(globals, m, node.globalTransform.val, 0, 16);
+		}
+
+		for (int i = 0; i < size; i++) {
+			final Array<NodePart> parts = nodes[i].parts;
+			for (int j = 0, n = parts.size; j < n; j++) {
+				final NodePart part = parts.get(j);
+				if (part.invBoneBindTransforms == null || part.bones == null || part.invBoneBindTransforms.size != part.bones.length)
+					continue;
+				final Node[] keys = part.invBoneBindTransforms.keys;
+				final Matrix4[] values = part.invBoneBindTransforms.values;
+				final Matrix4[] bones = part.bones;
+				for (int k = 0, c = bones.length; k < c; k++)
+					Matrix4.mul(keys[k].globalTransform.val, 0, values[k].val, 0, bones[k].val, 0, 1);
+			}
+		}
+	}
+
+	/** @return the number of nodes in the hierarchy */
+	public int getNodeCount () {
+		return size;
+	}
+
+	/** @return the node at the specified index, the nodes are in topological order. */
+	public Node getNode (int index) {
+		return nodes[index];
+	}
+
+	/** @return the index of the parent of the node at the specified index, or -1 for a root node. */
+	public int getParentIndex (int index) {
+		return parents[index];
+	}
+
+	/** @return the index of the specified node, or -1 if it is not part of the hierarchy. */
+	public int indexOf (Node node) {
+		for (int i = 0; i < size; i++)
+			if (nodes[i] == node) return i;
+		return -1;
+	}
+
+	/** @return the packed translation, rotation and scale of the nodes which are not animated, {@link #TRS_SIZE} floats per node. */
+	public float[] getTRS () {
+		return trs;
+	}
+
+	/** @return the packed local transforms, 16 floats per node. */
+	public float[] getLocalTransforms () {
+		return locals;
+	}
+
+	/** @return the packed global transforms, 16 floats per node. */
+	public float[] getGlobalTransforms () {
+		return globals;
+	}
+}
@@ -39,6 +39,11 @@ public class NodePart {
 	public Matrix4[] bones;
 	/** true by default. If set to false, this part will not participate in rendering and bounding box calculation. */
 	public boolean enabled = true;
+	/** The levels of detail of the {@link #meshPart}, the first is the full detail. May be null. The selected level is copied into
+	 * the {@link #meshPart} by {@link ModelInstance#selectLods(com.badlogic.gdx.graphics.Camera)}. */
+	public MeshPart[] lods;
+	/** The screen size below which the level of detail with the same index is used, in descending order. The first is ignored. */
+	public float[] lodScreenSizes;
 
 	/** Construct a new NodePart with null values. At least the {@link #meshPart} and {@link #material} member must be set before
 	 * the newly created part can be used. */
@@ -75,6 +80,8 @@ public class NodePart {
 		meshPart = new MeshPart(other.meshPart);
 		material = other.material;
 		enabled = other.enabled;
+		lods = other.lods;
+		lodScreenSizes = other.lodScreenSizes;
 		if (other.invBoneBindTransforms == null) {
 			invBoneBindTransforms = null;
 			bones = null;
@@ -16,11 +16,16 @@
 
 package com.badlogic.gdx.graphics.g3d.model.data;
 
+import java.nio.ByteBuffer;
+
 import com.badlogic.gdx.graphics.VertexAttribute;
 
 public class ModelMesh {
 	public String id;
 	public VertexAttribute[] attributes;
 	public float[] vertices;
+	/** The vertices laid out as described by the attributes, used instead of {@link #vertices} when that is null. Typically a slice
+	 * of a memory mapped file, see {@link com.badlogic.gdx.graphics.g3d.loader.G3dmModelLoader}. */
+	public ByteBuffer vertexData;
 	public ModelMeshPart[] parts;
 }
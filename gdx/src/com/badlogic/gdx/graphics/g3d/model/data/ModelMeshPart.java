@@ -16,8 +16,18 @@
 
 package com.badlogic.gdx.graphics.g3d.model.data;
 
+import java.nio.ByteBuffer;
+
 public class ModelMeshPart {
 	public String id;
 	public short[] indices;
+	/** The indices as 16 bit values, used instead of {@link #indices} when that is null. */
+	public ByteBuffer indexData;
 	public int primitiveType;
+	/** The simplified versions of this part, from the most to the least detailed, using the vertices of the same mesh. May be null.
+	 * See {@link com.badlogic.gdx.graphics.g3d.utils.MeshOptimizer}. */
+	public ModelMeshPart[] lods;
+	/** The screen size below which the level of detail with the same index is used, see
+	 * {@link com.badlogic.gdx.graphics.g3d.ModelInstance#selectLods(com.badlogic.gdx.graphics.Camera)}. */
+	public float[] lodScreenSizes;
 }
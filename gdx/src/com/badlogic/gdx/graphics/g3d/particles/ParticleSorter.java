@@ -21,6 +21,7 @@ import com.badlogic.gdx.graphics.g3d.particles.renderers.ParticleControllerRende
 import com.badlogic.gdx.math.Matrix4;
 import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.RadixSort;
 
 /** This class is used by particle batches to sort the particles before rendering.
  * @author Inferno */
@@ -48,19 +49,24 @@ public abstract class ParticleSorter {
 		}
 	}
 
-	/** This class will sort all the particles using the distance from camera. */
+	/** This class will sort all the particles using the distance from camera. The particles are sorted starting from the order of
+	 * the previous call, which is usually almost sorted already, see {@link RadixSort}. */
 	public static class Distance extends ParticleSorter {
 		private float[] distances;
+		private long[] keys;
 		private int[] particleIndices, particleOffsets;
-		private int currentSize = 0;
+		private int currentSize = 0, lastCount = 0;
+		private final RadixSort radixSort = new RadixSort();
 
 		@Override
 		public void ensureCapacity (int capacity) {
 			if (currentSize < capacity) {
 				distances = new float[capacity];
+				keys = new long[capacity];
 				particleIndices = new int[capacity];
 				particleOffsets = new int[capacity];
 				currentSize = capacity;
+				lastCount = 0;
 			}
 		}
 
@@ -74,12 +80,24 @@ public abstract class ParticleSorter {
 					distances[i] = cx * data.positionChannel.data[k + ParticleChannels.XOffset] + cy
 						* data.positionChannel.data[k + ParticleChannels.YOffset] + cz
 						* data.positionChannel.data[k + ParticleChannels.ZOffset];
-					particleIndices[i] = i;
 				}
 				count += data.controller.particles.size;
 			}
 
-			qsort(0, count - 1);
+			// Start from the previous order, dropping the particles which are gone and appending the new ones
+			int[] particleIndices = this.particleIndices;
+			int n = 0;
+			for (i = 0; i < lastCount; ++i) {
+				int index = particleIndices[i];
+				if (index < count) particleIndices[n++] = index;
+			}
+			for (i = lastCount; i < count; ++i)
+				particleIndices[n++] = i;
+			lastCount = count;
+
+			for (i = 0; i < count; ++i)
+				keys[i] = RadixSort.floatToKey(distances[particleIndices[i]]);
+			radixSort.sort(keys, particleIndices, count);
 
 			for (i = 0; i < count; ++i) {
 				particleOffsets[particleIndices[i]] = i;
@@ -87,6 +105,8 @@ public abstract class ParticleSorter {
 			return particleOffsets;
 		}
 
+		/** @deprecated {@link #sort(Array)} no longer uses this method, the particles are sorted with a {@link RadixSort}. */
+		@Deprecated
 		public void qsort (int si, int ei) {
 			// base case
 			if (si < ei) {
@@ -19,8 +19,13 @@ package com.badlogic.gdx.graphics.g3d.particles;
 import com.badlogic.gdx.graphics.g3d.Renderable;
 import com.badlogic.gdx.graphics.g3d.RenderableProvider;
 import com.badlogic.gdx.graphics.g3d.particles.batches.ParticleBatch;
+import com.badlogic.gdx.graphics.g3d.particles.influencers.Influencer;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
 import com.badlogic.gdx.utils.Pool;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.badlogic.gdx.utils.async.AsyncTask;
 
 /** Singleton class which manages the particle effects. It's a utility class to ease particle batches management and particle
  * effects update.
@@ -37,6 +42,12 @@ public final class ParticleSystem implements RenderableProvider {
 	private Array<ParticleBatch<?>> batches;
 	private Array<ParticleEffect> effects;
 
+	private int particlesPerTask = 1024;
+	private final Array<ParticleController> updateControllers = new Array<ParticleController>(false, 16);
+	private final IntArray updateSteps = new IntArray(false, 16);
+	private final Array<UpdateTask> updateTasks = new Array<UpdateTask>(false, 16);
+	private final Array<AsyncResult<Void>> updateResults = new Array<AsyncResult<Void>>(false, 16);
+
 	public ParticleSystem () {
 		batches = new Array<ParticleBatch<?>>();
 		effects = new Array<ParticleEffect>();
@@ -66,6 +77,86 @@ public final class ParticleSystem implements RenderableProvider {
 		}
 	}
 
+	/** Updates the simulation of all effects like {@link #update()}, spreading the work over the threads of the given executor.
+	 * Every {@link ParticleController} is updated by its own tasks. The runs of influencers supporting
+	 * {@link Influencer#isRangeUpdateSupported() range updates} are further split in slices of {@link #setParticlesPerTask(int)}
+	 * particles, so that a single big effect is updated by several threads too. The influencers of a controller are still
+	 * executed in order, each run waits for the previous one to be completed.
+	 * <p>
+	 * This method blocks until all the effects are updated. Drawing must still happen on the rendering thread, after this method
+	 * returned. Custom components must not share mutable state between controllers. Note that
+	 * {@link com.badlogic.gdx.math.MathUtils#random} is used concurrently, the random sequences are not reproducible. */
+	public void update (AsyncExecutor executor) {
+		Array<ParticleController> controllers = updateControllers;
+		IntArray steps = updateSteps;
+		for (int i = 0; i < effects.size; i++) {
+			Array<ParticleController> effectControllers = effects.get(i).getControllers();
+			for (int j = 0; j < effectControllers.size; j++) {
+				controllers.add(effectControllers.get(j));
+				// -1 means the emitter still has to be updated, otherwise it's the next influencer to update
+				steps.add(-1);
+			}
+		}
+
+		try {
+			boolean pending = true;
+			while (pending) {
+				pending = false;
+				int taskCount = 0;
+				for (int i = 0; i < controllers.size; i++) {
+					ParticleController controller = controllers.get(i);
+					Array<Influencer> influencers = controller.influencers;
+					int start = steps.get(i), end = start + 1;
+					if (start >= influencers.size) continue;
+					pending = true;
+					if (start == -1 || !influencers.get(start).isRangeUpdateSupported()) {
+						while (end < influencers.size && !influencers.get(end).isRangeUpdateSupported())
+							end++;
+						submit(executor, taskCount++, controller, start, end, 0, -1);
+					} else {
+						while (end < influencers.size && influencers.get(end).isRangeUpdateSupported())
+							end++;
+						for (int first = 0, size = controller.particles.size; first < size; first += particlesPerTask)
+							submit(executor, taskCount++, controller, start, end, first, Math.min(particlesPerTask, size - first));
+					}
+					steps.set(i, end);
+				}
+				for (int i = 0; i < updateResults.size; i++)
+					updateResults.get(i).get();
+				updateResults.clear();
+			}
+		} finally {
+			for (int i = 0; i < updateTasks.size; i++)
+				updateTasks.get(i).controller = null;
+			updateResults.clear();
+			controllers.clear();
+			steps.clear();
+		}
+	}
+
+	private void submit (AsyncExecutor executor, int index, ParticleController controller, int start, int end, int startIndex,
+		int count) {
+		if (index == updateTasks.size) updateTasks.add(new UpdateTask());
+		UpdateTask task = updateTasks.get(index);
+		task.controller = controller;
+		task.start = start;
+		task.end = end;
+		task.startIndex = startIndex;
+		task.count = count;
+		updateResults.add(executor.submit(task));
+	}
+
+	/** Sets the amount of particles of a controller updated by a single task in {@link #update(AsyncExecutor)}, default is 1024.
+	 * Smaller values distribute the work better but increase the scheduling overhead. */
+	public void setParticlesPerTask (int particlesPerTask) {
+		if (particlesPerTask < 1) throw new IllegalArgumentException("particlesPerTask must be > 0: " + particlesPerTask);
+		this.particlesPerTask = particlesPerTask;
+	}
+
+	public int getParticlesPerTask () {
+		return particlesPerTask;
+	}
+
 	public void updateAndDraw () {
 		for (ParticleEffect effect : effects) {
 			effect.update();
@@ -101,4 +192,29 @@ public final class ParticleSystem implements RenderableProvider {
 	public Array<ParticleBatch<?>> getBatches () {
 		return batches;
 	}
+
+	/** Updates the emitter and/or the influencers [start, end) of a controller. A negative count updates all the particles with
+	 * {@link Influencer#update()}, otherwise only the given range. */
+	static private class UpdateTask implements AsyncTask<Void> {
+		ParticleController controller;
+		int start, end, startIndex, count;
+
+		@Override
+		public Void call () throws Exception {
+			Array<Influencer> influencers = controller.influencers;
+			int k = start;
+			if (k == -1) {
+				controller.emitter.update();
+				k = 0;
+			}
+			if (count < 0) {
+				for (; k < end; k++)
+					influencers.get(k).update();
+			} else {
+				for (; k < end; k++)
+					influencers.get(k).update(startIndex, count);
+			}
+			return null;
+		}
+	}
 }
@@ -0,0 +1,461 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g3d.particles.gpu;
+
+import java.nio.FloatBuffer;
+
+import com.badlogic.gdx.Application.ApplicationType;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.GL30;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g3d.particles.ParticleController;
+import com.badlogic.gdx.graphics.g3d.particles.emitters.RegularEmitter;
+import com.badlogic.gdx.graphics.g3d.particles.emitters.RegularEmitter.EmissionMode;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.BufferUtils;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+
+/** Simulates a {@link ParticleController} on the GPU with transform feedback when the controller is
+ * {@link ParticleKernel#isSupported(ParticleController) supported} and GL30 is available, otherwise it falls back to the CPU
+ * simulation of the controller.
+ * <p>
+ * On the GPU path the emission is still computed on the CPU, mirroring {@link RegularEmitter}, and only the state of the new
+ * particles is uploaded. The particles are stored in two buffers, each {@link #update()} steps them from one buffer to the other
+ * with the simulation shader, the CPU counterpart of which is {@link ParticleKernel#update(float[], int, int)}. The particles are
+ * then drawn as point sprites by {@link #render(Camera)}.
+ * <p>
+ * On the CPU path {@link #update()} and {@link #draw()} delegate to the controller, which must be initialized and added to a
+ * {@link com.badlogic.gdx.graphics.g3d.particles.ParticleSystem} batch as usual, {@link #render(Camera)} does nothing.
+ * <p>
+ * The GPU state is not managed, the effect must be recreated after a context loss. */
+public class GpuParticleController implements Disposable {
+	static private final String[] simulationOutputs = {"v_position", "v_previous", "v_interpolation", "v_polar", "v_dynamics"};
+	static private final String[] attributes = {"a_position", "a_previous", "a_interpolation", "a_polar", "a_dynamics"};
+
+	public final ParticleController controller;
+	private final ParticleKernel kernel;
+	private Texture texture;
+
+	private ShaderProgram simulationShader, renderShader;
+	private int vertexArray;
+	private final int[] buffers = new int[2];
+	/** The buffer containing the current state of the particles. */
+	private int current;
+
+	private float[] remainingLife, totalLife;
+	private final IntArray freeSlots = new IntArray();
+	private final IntArray newSlots = new IntArray();
+	private float[] newState;
+	private FloatBuffer uploadBuffer;
+	private int slotCount, activeCount;
+	private final float[] region = new float[4];
+	private final Vector3 center = new Vector3();
+
+	// Emission state, see RegularEmitter
+	private float duration, delay, durationTimer, delayTimer, percent;
+	private int emission, emissionDiff, emissionDelta, life, lifeDiff, lifeOffset, lifeOffsetDiff;
+
+	/** @param controller the controller to simulate, must be initialized
+	 * @param texture the texture of the point sprites, only used when simulated on the GPU */
+	public GpuParticleController (ParticleController controller, Texture texture) {
+		this.controller = controller;
+		this.texture = texture;
+		if (!isSupported(controller)) {
+			kernel = null;
+			return;
+		}
+		kernel = new ParticleKernel(controller);
+		int capacity = controller.emitter.maxParticleCount;
+		remainingLife = new float[capacity];
+		totalLife = new float[capacity];
+		newState = new float[capacity * ParticleKernel.STATE_SIZE];
+		uploadBuffer = BufferUtils.newFloatBuffer(capacity * ParticleKernel.STATE_SIZE);
+
+		simulationShader = new ShaderProgram(createHeader(false) + simulationVertexShader, createHeader(true)
+			+ simulationFragmentShader) {
+			@Override
+			protected int createProgram () {
+				int program = super.createProgram();
+				if (program != -1) Gdx.gl30.glTransformFeedbackVaryings(program, simulationOutputs, GL30.GL_INTERLEAVED_ATTRIBS);
+				return program;
+			}
+		};
+		if (!simulationShader.isCompiled())
+			throw new GdxRuntimeException("Error compiling simulation shader: " + simulationShader.getLog());
+		renderShader = new ShaderProgram(createHeader(false) + renderVertexShader, createHeader(true) + renderFragmentShader);
+		if (!renderShader.isCompiled()) throw new GdxRuntimeException("Error compiling render shader: " + renderShader.getLog());
+
+		GL30 gl = Gdx.gl30;
+		int[] handles = new int[1];
+		gl.glGenVertexArrays(1, handles, 0);
+		vertexArray = handles[0];
+		FloatBuffer empty = BufferUtils.newFloatBuffer(capacity * ParticleKernel.STATE_SIZE);
+		for (int i = 0; i < buffers.length; i++) {
+			buffers[i] = gl.glGenBuffer();
+			gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, buffers[i]);
+			gl.glBufferData(GL20.GL_ARRAY_BUFFER, capacity * ParticleKernel.STATE_SIZE * 4, empty, GL30.GL_DYNAMIC_COPY);
+		}
+		gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, 0);
+		gl.glEnable(GL20.GL_VERTEX_PROGRAM_POINT_SIZE);
+	}
+
+	/** @return whether the controller can be simulated on the GPU in the current context. */
+	public static boolean isSupported (ParticleController controller) {
+		return Gdx.gl30 != null && ParticleKernel.isSupported(controller);
+	}
+
+	/** @return true if the particles are simulated on the GPU, false if the controller is updated on the CPU. */
+	public boolean isGpuSimulated () {
+		return kernel != null;
+	}
+
+	/** @return the kernel describing the GPU simulation, null if simulated on the CPU. */
+	public ParticleKernel getKernel () {
+		return kernel;
+	}
+
+	public void setTexture (Texture texture) {
+		this.texture = texture;
+	}
+
+	/** Starts the simulation. */
+	public void start () {
+		if (kernel == null) {
+			controller.start();
+			return;
+		}
+		RegularEmitter emitter = kernel.emitter;
+		delay = emitter.delayValue.active ? emitter.delayValue.newLowValue() : 0;
+		delayTimer = 0;
+		durationTimer = 0;
+		duration = emitter.durationValue.newLowValue();
+		percent = 0;
+
+		emission = (int)emitter.emissionValue.newLowValue();
+		emissionDiff = (int)emitter.emissionValue.newHighValue();
+		if (!emitter.emissionValue.isRelative()) emissionDiff -= emission;
+
+		life = (int)emitter.lifeValue.newLowValue();
+		lifeDiff = (int)emitter.lifeValue.newHighValue();
+		if (!emitter.lifeValue.isRelative()) lifeDiff -= life;
+
+		lifeOffset = emitter.lifeOffsetValue.active ? (int)emitter.lifeOffsetValue.newLowValue() : 0;
+		lifeOffsetDiff = (int)emitter.lifeOffsetValue.newHighValue();
+		if (!emitter.lifeOffsetValue.isRelative()) lifeOffsetDiff -= lifeOffset;
+
+		kernel.spawn.spawnShapeValue.start();
+	}
+
+	/** Steps the simulation by the time step of the controller. */
+	public void update () {
+		if (kernel == null) {
+			controller.update();
+			return;
+		}
+		RegularEmitter emitter = kernel.emitter;
+		int deltaMillis = (int)(controller.deltaTime * 1000);
+
+		if (delayTimer < delay) {
+			delayTimer += deltaMillis;
+		} else {
+			boolean emit = emitter.getEmissionMode() != EmissionMode.Disabled;
+			if (durationTimer < duration) {
+				durationTimer += deltaMillis;
+				percent = durationTimer / duration;
+			} else {
+				if (emitter.isContinuous() && emit && emitter.getEmissionMode() == EmissionMode.Enabled)
+					start();
+				else
+					emit = false;
+			}
+
+			if (emit) {
+				emissionDelta += deltaMillis;
+				float emissionTime = emission + emissionDiff * emitter.emissionValue.getScale(percent);
+				if (emissionTime > 0) {
+					emissionTime = 1000 / emissionTime;
+					if (emissionDelta >= emissionTime) {
+						int emitCount = (int)(emissionDelta / emissionTime);
+						emitCount = Math.min(emitCount, emitter.maxParticleCount - activeCount);
+						emissionDelta -= emitCount * emissionTime;
+						emissionDelta %= emissionTime;
+						addParticles(emitCount);
+					}
+				}
+				if (activeCount < emitter.minParticleCount) addParticles(emitter.minParticleCount - activeCount);
+			}
+		}
+		upload();
+
+		// Mirrors the aging of the simulation shader to know which slots can be reused
+		float[] remainingLife = this.remainingLife;
+		for (int i = 0; i < slotCount; i++) {
+			if (remainingLife[i] <= 0) continue;
+			if ((remainingLife[i] -= deltaMillis) <= 0) {
+				freeSlots.add(i);
+				activeCount--;
+			}
+		}
+
+		simulate();
+	}
+
+	private void addParticles (int count) {
+		count = Math.min(count, kernel.emitter.maxParticleCount - activeCount);
+		if (count <= 0) return;
+		RegularEmitter emitter = kernel.emitter;
+		int totalLife = life + (int)(lifeDiff * emitter.lifeValue.getScale(percent)), currentLife = totalLife;
+		int offsetTime = (int)(lifeOffset + lifeOffsetDiff * emitter.lifeOffsetValue.getScale(percent));
+		if (offsetTime > 0) {
+			if (offsetTime >= currentLife) offsetTime = currentLife - 1;
+			currentLife -= offsetTime;
+		}
+		for (int i = 0; i < count; i++) {
+			int slot = freeSlots.size > 0 ? freeSlots.pop() : slotCount++;
+			remainingLife[slot] = currentLife;
+			this.totalLife[slot] = totalLife;
+			newSlots.add(slot);
+		}
+		activeCount += count;
+	}
+
+	/** Writes the state of the particles emitted during this update to the current buffer. */
+	private void upload () {
+		if (newSlots.size == 0) return;
+		// Sorted so that consecutive slots are uploaded at once
+		newSlots.sort();
+		for (int i = 0; i < newSlots.size; i++) {
+			int slot = newSlots.get(i);
+			kernel.spawn(newState, i * ParticleKernel.STATE_SIZE, percent, remainingLife[slot], totalLife[slot]);
+		}
+
+		GL20 gl = Gdx.gl20;
+		gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, buffers[current]);
+		int[] slots = newSlots.items;
+		for (int start = 0, n = newSlots.size; start < n;) {
+			int end = start + 1;
+			while (end < n && slots[end] == slots[end - 1] + 1)
+				end++;
+			int floats = (end - start) * ParticleKernel.STATE_SIZE;
+			BufferUtils.copy(newState, uploadBuffer, floats, start * ParticleKernel.STATE_SIZE);
+			gl.glBufferSubData(GL20.GL_ARRAY_BUFFER, slots[start] * ParticleKernel.STATE_SIZE * 4, floats * 4, uploadBuffer);
+			start = end;
+		}
+		gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, 0);
+		newSlots.clear();
+	}
+
+	private void simulate () {
+		if (slotCount == 0) return;
+		GL30 gl = Gdx.gl30;
+		ShaderProgram shader = simulationShader;
+		shader.begin();
+		shader.setUniformf("u_deltaMillis", (int)(controller.deltaTime * 1000));
+		shader.setUniformf("u_deltaTimeSqr", controller.deltaTimeSqr);
+		shader.setUniformf("u_center", kernel.getCenter(center));
+		shader.setUniform4fv("u_dynamics", kernel.dynamicsSamples, 0, kernel.dynamicsSamples.length);
+		bindAttributes(shader, attributes.length);
+
+		gl.glBindBufferBase(GL30.GL_TRANSFORM_FEEDBACK_BUFFER, 0, buffers[1 - current]);
+		gl.glEnable(GL30.GL_RASTERIZER_DISCARD);
+		gl.glBeginTransformFeedback(GL20.GL_POINTS);
+		gl.glDrawArrays(GL20.GL_POINTS, 0, slotCount);
+		gl.glEndTransformFeedback();
+		gl.glDisable(GL30.GL_RASTERIZER_DISCARD);
+		gl.glBindBufferBase(GL30.GL_TRANSFORM_FEEDBACK_BUFFER, 0, 0);
+
+		unbindAttributes(shader, attributes.length);
+		shader.end();
+		current = 1 - current;
+	}
+
+	/** Draws the particles simulated on the GPU as point sprites. Does nothing when simulated on the CPU. */
+	public void render (Camera camera) {
+		if (kernel == null || activeCount == 0) return;
+		GL20 gl = Gdx.gl20;
+		gl.glEnable(GL20.GL_BLEND);
+		gl.glBlendFunc(GL20.GL_ONE, GL20.GL_ONE_MINUS_SRC_ALPHA);
+		gl.glEnable(GL20.GL_DEPTH_TEST);
+		gl.glDepthFunc(GL20.GL_LEQUAL);
+		gl.glDepthMask(false);
+
+		ShaderProgram shader = renderShader;
+		shader.begin();
+		shader.setUniformMatrix("u_projTrans", camera.projection);
+		shader.setUniformMatrix("u_viewTrans", camera.view);
+		shader.setUniformf("u_screenWidth", Gdx.graphics.getWidth());
+		kernel.getRegion(region);
+		shader.setUniformf("u_region", region[0], region[1], region[2], region[3]);
+		shader.setUniform4fv("u_color", kernel.colorSamples, 0, kernel.colorSamples.length);
+		shader.setUniform1fv("u_scale", kernel.scaleSamples, 0, kernel.scaleSamples.length);
+		texture.bind(0);
+		shader.setUniformi("u_diffuseTexture", 0);
+		// Position, previous position and interpolation are enough to draw
+		bindAttributes(shader, 3);
+		gl.glDrawArrays(GL20.GL_POINTS, 0, slotCount);
+		unbindAttributes(shader, 3);
+		shader.end();
+
+		gl.glDepthMask(true);
+	}
+
+	/** Does nothing on the GPU path, use {@link #render(Camera)}. Otherwise lets the controller fill its batch. */
+	public void draw () {
+		if (kernel == null) controller.draw();
+	}
+
+	private void bindAttributes (ShaderProgram shader, int count) {
+		Gdx.gl30.glBindVertexArray(vertexArray);
+		Gdx.gl20.glBindBuffer(GL20.GL_ARRAY_BUFFER, buffers[current]);
+		for (int i = 0; i < count; i++) {
+			int location = shader.getAttributeLocation(attributes[i]);
+			if (location < 0) continue;
+			shader.enableVertexAttribute(location);
+			shader.setVertexAttribute(location, 4, GL20.GL_FLOAT, false, ParticleKernel.STATE_SIZE * 4, i * 16);
+		}
+	}
+
+	private void unbindAttributes (ShaderProgram shader, int count) {
+		for (int i = 0; i < count; i++) {
+			int location = shader.getAttributeLocation(attributes[i]);
+			if (location >= 0) shader.disableVertexAttribute(location);
+		}
+		Gdx.gl20.glBindBuffer(GL20.GL_ARRAY_BUFFER, 0);
+		Gdx.gl30.glBindVertexArray(0);
+	}
+
+	/** @return the number of alive particles. */
+	public int getActiveCount () {
+		return kernel == null ? controller.particles.size : activeCount;
+	}
+
+	public boolean isComplete () {
+		if (kernel == null) return controller.isComplete();
+		if (delayTimer < delay) return false;
+		return durationTimer >= duration && activeCount == 0;
+	}
+
+	@Override
+	public void dispose () {
+		if (kernel == null) return;
+		simulationShader.dispose();
+		renderShader.dispose();
+		Gdx.gl30.glDeleteVertexArrays(1, new int[] {vertexArray}, 0);
+		for (int i = 0; i < buffers.length; i++)
+			Gdx.gl20.glDeleteBuffer(buffers[i]);
+	}
+
+	static private String createHeader (boolean fragment) {
+		String header = Gdx.app.getType() == ApplicationType.Desktop ? "#version 150\n" : "#version 300 es\n";
+		if (fragment && Gdx.app.getType() != ApplicationType.Desktop) header += "precision mediump float;\n";
+		return header + "#define SAMPLES " + ParticleKernel.SAMPLES + "\n";
+	}
+
+	static private final String simulationVertexShader = "" //
+		+ "in vec4 a_position;\n" // position, remaining life
+		+ "in vec4 a_previous;\n" // previous position, total life
+		+ "in vec4 a_interpolation;\n" //
+		+ "in vec4 a_polar;\n" //
+		+ "in vec4 a_dynamics;\n" //
+		+ "out vec4 v_position;\n" //
+		+ "out vec4 v_previous;\n" //
+		+ "out vec4 v_interpolation;\n" //
+		+ "out vec4 v_polar;\n" //
+		+ "out vec4 v_dynamics;\n" //
+		+ "uniform vec4 u_dynamics[SAMPLES];\n" //
+		+ "uniform float u_deltaMillis;\n" //
+		+ "uniform float u_deltaTimeSqr;\n" //
+		+ "uniform vec3 u_center;\n" //
+		+ "\n" //
+		+ "void main() {\n" //
+		+ "	v_position = a_position;\n" //
+		+ "	v_previous = a_previous;\n" //
+		+ "	v_interpolation = a_interpolation;\n" //
+		+ "	v_polar = a_polar;\n" //
+		+ "	v_dynamics = a_dynamics;\n" //
+		+ "	if (a_position.w > 0.0) {\n" //
+		+ "		float life = a_position.w - u_deltaMillis;\n" //
+		+ "		v_position.w = life;\n" //
+		+ "		if (life > 0.0) {\n" //
+		+ "			float x = clamp(1.0 - life / a_previous.w, 0.0, 1.0) * float(SAMPLES - 1);\n" //
+		+ "			int index = min(int(x), SAMPLES - 2);\n" //
+		+ "			vec4 scale = mix(u_dynamics[index], u_dynamics[index + 1], x - float(index));\n" //
+		+ "			float strength = a_polar.x + a_polar.y * scale.x;\n" //
+		+ "			float theta = radians(a_polar.z + a_polar.w * scale.y);\n" //
+		+ "			float phi = radians(a_dynamics.x + a_dynamics.y * scale.z);\n" //
+		+ "			vec3 acceleration = vec3(cos(theta) * sin(phi), cos(phi), sin(theta) * sin(phi)) * strength;\n" //
+		+ "			vec3 offset = a_position.xyz - u_center;\n" //
+		+ "			float dist = length(offset);\n" //
+		+ "			if (dist != 0.0) acceleration += offset * ((a_dynamics.z + a_dynamics.w * scale.w) / dist);\n" //
+		+ "			v_position.xyz = 2.0 * a_position.xyz - a_previous.xyz + acceleration * u_deltaTimeSqr;\n" //
+		+ "			v_previous.xyz = a_position.xyz;\n" //
+		+ "		}\n" //
+		+ "	}\n" //
+		+ "	gl_Position = vec4(0.0);\n" //
+		+ "}\n";
+
+	static private final String simulationFragmentShader = "" //
+		+ "out vec4 fragColor;\n" //
+		+ "void main() {\n" //
+		+ "	fragColor = vec4(0.0);\n" //
+		+ "}\n";
+
+	static private final String renderVertexShader = "" //
+		+ "in vec4 a_position;\n" //
+		+ "in vec4 a_previous;\n" //
+		+ "in vec4 a_interpolation;\n" // alpha start, alpha diff, scale start, scale diff
+		+ "out vec4 v_color;\n" //
+		+ "uniform mat4 u_projTrans;\n" //
+		+ "uniform mat4 u_viewTrans;\n" //
+		+ "uniform float u_screenWidth;\n" //
+		+ "uniform vec4 u_color[SAMPLES];\n" //
+		+ "uniform float u_scale[SAMPLES];\n" //
+		+ "\n" //
+		+ "void main() {\n" //
+		+ "	if (a_position.w <= 0.0) {\n" //
+		+ "		v_color = vec4(0.0);\n" //
+		+ "		gl_PointSize = 0.0;\n" //
+		+ "		gl_Position = vec4(2.0, 2.0, 2.0, 1.0);\n" //
+		+ "		return;\n" //
+		+ "	}\n" //
+		+ "	float x = clamp(1.0 - a_position.w / a_previous.w, 0.0, 1.0) * float(SAMPLES - 1);\n" //
+		+ "	int index = min(int(x), SAMPLES - 2);\n" //
+		+ "	float t = x - float(index);\n" //
+		+ "	vec4 color = mix(u_color[index], u_color[index + 1], t);\n" //
+		+ "	v_color = vec4(color.rgb, a_interpolation.x + a_interpolation.y * color.a);\n" //
+		+ "	float halfSize = 0.5 * (a_interpolation.z + a_interpolation.w * mix(u_scale[index], u_scale[index + 1], t));\n" //
+		+ "	vec4 eyePos = u_viewTrans * vec4(a_position.xyz, 1.0);\n" //
+		+ "	vec4 projCorner = u_projTrans * vec4(halfSize, halfSize, eyePos.z, eyePos.w);\n" //
+		+ "	gl_PointSize = u_screenWidth * projCorner.x / projCorner.w;\n" //
+		+ "	gl_Position = u_projTrans * eyePos;\n" //
+		+ "}\n";
+
+	static private final String renderFragmentShader = "" //
+		+ "in vec4 v_color;\n" //
+		+ "out vec4 fragColor;\n" //
+		+ "uniform sampler2D u_diffuseTexture;\n" //
+		+ "uniform vec4 u_region;\n" //
+		+ "\n" //
+		+ "void main() {\n" //
+		+ "	fragColor = texture(u_diffuseTexture, u_region.xy + gl_PointCoord * (u_region.zw - u_region.xy)) * v_color;\n" //
+		+ "}\n";
+}
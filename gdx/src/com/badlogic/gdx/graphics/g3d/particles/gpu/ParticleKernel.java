@@ -0,0 +1,301 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g3d.particles.gpu;
+
+import com.badlogic.gdx.graphics.g3d.particles.ParticleController;
+import com.badlogic.gdx.graphics.g3d.particles.emitters.RegularEmitter;
+import com.badlogic.gdx.graphics.g3d.particles.influencers.ColorInfluencer;
+import com.badlogic.gdx.graphics.g3d.particles.influencers.DynamicsInfluencer;
+import com.badlogic.gdx.graphics.g3d.particles.influencers.DynamicsModifier;
+import com.badlogic.gdx.graphics.g3d.particles.influencers.DynamicsModifier.CentripetalAcceleration;
+import com.badlogic.gdx.graphics.g3d.particles.influencers.DynamicsModifier.PolarAcceleration;
+import com.badlogic.gdx.graphics.g3d.particles.influencers.Influencer;
+import com.badlogic.gdx.graphics.g3d.particles.influencers.RegionInfluencer;
+import com.badlogic.gdx.graphics.g3d.particles.influencers.ScaleInfluencer;
+import com.badlogic.gdx.graphics.g3d.particles.influencers.SpawnInfluencer;
+import com.badlogic.gdx.graphics.g3d.particles.influencers.RegionInfluencer.AspectTextureRegion;
+import com.badlogic.gdx.graphics.g3d.particles.renderers.PointSpriteRenderer;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/** The simulation of a {@link ParticleController} expressed as kernels working on a flat per particle state, the CPU reference
+ * of the shaders used by {@link GpuParticleController}. Only a subset of the components is supported, see
+ * {@link #isSupported(ParticleController)}. The timelines of the values are sampled in {@link #SAMPLES} steps and linearly
+ * interpolated, exactly like the shaders do.
+ * <p>
+ * The state of a particle is {@link #STATE_SIZE} floats, laid out as five vec4 attributes: position and remaining life,
+ * previous position and total life, alpha and scale interpolation, polar acceleration strength and theta interpolation, phi
+ * and centripetal acceleration strength interpolation. Lives are in milliseconds like in {@link RegularEmitter}, a particle
+ * with a remaining life <= 0 is dead. */
+public final class ParticleKernel {
+	/** Number of samples of each timeline. */
+	public static final int SAMPLES = 32;
+	/** Number of floats of a particle state. */
+	public static final int STATE_SIZE = 20;
+	public static final int POSITION = 0, CURRENT_LIFE = 3, PREVIOUS_POSITION = 4, TOTAL_LIFE = 7, ALPHA_START = 8,
+		ALPHA_DIFF = 9, SCALE_START = 10, SCALE_DIFF = 11, POLAR_STRENGTH_START = 12, POLAR_STRENGTH_DIFF = 13, THETA_START = 14,
+		THETA_DIFF = 15, PHI_START = 16, PHI_DIFF = 17, CENTRIPETAL_STRENGTH_START = 18, CENTRIPETAL_STRENGTH_DIFF = 19;
+
+	public final ParticleController controller;
+	final RegularEmitter emitter;
+	final SpawnInfluencer spawn;
+	final ColorInfluencer.Single color;
+	final ScaleInfluencer scale;
+	final RegionInfluencer.Single region;
+	final PolarAcceleration polar;
+	final CentripetalAcceleration centripetal;
+
+	/** Red, green, blue and alpha scale for each sample. */
+	final float[] colorSamples = new float[SAMPLES * 4];
+	/** Scale for each sample. */
+	final float[] scaleSamples = new float[SAMPLES];
+	/** Polar strength, theta, phi and centripetal strength scales for each sample. */
+	final float[] dynamicsSamples = new float[SAMPLES * 4];
+
+	private final Vector3 tmp = new Vector3();
+
+	/** @throws GdxRuntimeException if the controller is not {@link #isSupported(ParticleController) supported}. */
+	public ParticleKernel (ParticleController controller) {
+		if (!isSupported(controller)) throw new GdxRuntimeException("Controller not supported: " + controller.name);
+		this.controller = controller;
+		emitter = (RegularEmitter)controller.emitter;
+		spawn = controller.findInfluencer(SpawnInfluencer.class);
+		color = controller.findInfluencer(ColorInfluencer.Single.class);
+		scale = controller.findInfluencer(ScaleInfluencer.class);
+		region = controller.findInfluencer(RegionInfluencer.Single.class);
+		DynamicsInfluencer dynamics = controller.findInfluencer(DynamicsInfluencer.class);
+		PolarAcceleration polar = null;
+		CentripetalAcceleration centripetal = null;
+		if (dynamics != null) {
+			for (int i = 0; i < dynamics.velocities.size; i++) {
+				DynamicsModifier modifier = dynamics.velocities.get(i);
+				if (modifier instanceof PolarAcceleration)
+					polar = (PolarAcceleration)modifier;
+				else
+					centripetal = (CentripetalAcceleration)modifier;
+			}
+		}
+		this.polar = polar;
+		this.centripetal = centripetal;
+		sample();
+	}
+
+	/** @return whether the controller only uses components which can be expressed by the kernels: a {@link RegularEmitter}, a
+	 *         {@link PointSpriteRenderer}, a {@link SpawnInfluencer} and optionally a {@link ColorInfluencer.Single}, a
+	 *         {@link ScaleInfluencer}, a {@link RegionInfluencer.Single} and a {@link DynamicsInfluencer} with at most one
+	 *         {@link PolarAcceleration} and one {@link CentripetalAcceleration}. */
+	public static boolean isSupported (ParticleController controller) {
+		if (!(controller.emitter instanceof RegularEmitter) || !(controller.renderer instanceof PointSpriteRenderer)) return false;
+		boolean hasSpawn = false;
+		for (int i = 0; i < controller.influencers.size; i++) {
+			Influencer influencer = controller.influencers.get(i);
+			if (influencer instanceof SpawnInfluencer)
+				hasSpawn = true;
+			else if (influencer instanceof DynamicsInfluencer) {
+				DynamicsInfluencer dynamics = (DynamicsInfluencer)influencer;
+				int polarCount = 0, centripetalCount = 0;
+				for (int k = 0; k < dynamics.velocities.size; k++) {
+					DynamicsModifier modifier = dynamics.velocities.get(k);
+					if (modifier instanceof PolarAcceleration)
+						polarCount++;
+					else if (modifier instanceof CentripetalAcceleration)
+						centripetalCount++;
+					else
+						return false;
+				}
+				if (polarCount > 1 || centripetalCount > 1) return false;
+			} else if (!(influencer instanceof ColorInfluencer.Single) && !(influencer instanceof ScaleInfluencer)
+				&& !(influencer instanceof RegionInfluencer.Single)) return false;
+		}
+		return hasSpawn;
+	}
+
+	/** Samples the timelines of the values. Must be called after the values of the controller have been changed. */
+	public void sample () {
+		for (int i = 0; i < SAMPLES; i++) {
+			float percent = i / (float)(SAMPLES - 1);
+			int c = i * 4;
+			if (color != null) {
+				color.colorValue.getColor(percent, colorSamples, c);
+				colorSamples[c + 3] = color.alphaValue.getScale(percent);
+			} else {
+				colorSamples[c] = colorSamples[c + 1] = colorSamples[c + 2] = colorSamples[c + 3] = 1;
+			}
+			scaleSamples[i] = scale != null ? scale.value.getScale(percent) : 1;
+			dynamicsSamples[c] = polar != null ? polar.strengthValue.getScale(percent) : 0;
+			dynamicsSamples[c + 1] = polar != null ? polar.thetaValue.getScale(percent) : 0;
+			dynamicsSamples[c + 2] = polar != null ? polar.phiValue.getScale(percent) : 0;
+			dynamicsSamples[c + 3] = centripetal != null ? centripetal.strengthValue.getScale(percent) : 0;
+		}
+	}
+
+	/** Initializes the state of a new particle, like the activation of the components of the controller does.
+	 * @param percent the percent of the emitter duration, used by the spawn shape
+	 * @param currentLife the remaining life in milliseconds
+	 * @param totalLife the total life in milliseconds */
+	public void spawn (float[] state, int offset, float percent, float currentLife, float totalLife) {
+		spawn.spawnShapeValue.spawn(tmp, percent);
+		tmp.mul(controller.transform);
+		state[offset + POSITION] = state[offset + PREVIOUS_POSITION] = tmp.x;
+		state[offset + POSITION + 1] = state[offset + PREVIOUS_POSITION + 1] = tmp.y;
+		state[offset + POSITION + 2] = state[offset + PREVIOUS_POSITION + 2] = tmp.z;
+		state[offset + CURRENT_LIFE] = currentLife;
+		state[offset + TOTAL_LIFE] = totalLife;
+
+		if (color != null) {
+			float start = color.alphaValue.newLowValue();
+			state[offset + ALPHA_START] = start;
+			state[offset + ALPHA_DIFF] = color.alphaValue.newHighValue() - start;
+		} else {
+			state[offset + ALPHA_START] = 1;
+			state[offset + ALPHA_DIFF] = 0;
+		}
+
+		if (scale != null) {
+			float start = scale.value.newLowValue() * controller.scale.x;
+			float diff = scale.value.newHighValue() * controller.scale.x;
+			if (!scale.value.isRelative()) diff -= start;
+			state[offset + SCALE_START] = start;
+			state[offset + SCALE_DIFF] = diff;
+		} else {
+			state[offset + SCALE_START] = 1;
+			state[offset + SCALE_DIFF] = 0;
+		}
+
+		if (polar != null) {
+			float start = polar.strengthValue.newLowValue(), diff = polar.strengthValue.newHighValue();
+			if (!polar.strengthValue.isRelative()) diff -= start;
+			state[offset + POLAR_STRENGTH_START] = start;
+			state[offset + POLAR_STRENGTH_DIFF] = diff;
+			start = polar.thetaValue.newLowValue();
+			diff = polar.thetaValue.newHighValue();
+			if (!polar.thetaValue.isRelative()) diff -= start;
+			state[offset + THETA_START] = start;
+			state[offset + THETA_DIFF] = diff;
+			start = polar.phiValue.newLowValue();
+			diff = polar.phiValue.newHighValue();
+			if (!polar.phiValue.isRelative()) diff -= start;
+			state[offset + PHI_START] = start;
+			state[offset + PHI_DIFF] = diff;
+		} else {
+			for (int i = POLAR_STRENGTH_START; i <= PHI_DIFF; i++)
+				state[offset + i] = 0;
+		}
+
+		if (centripetal != null) {
+			float start = centripetal.strengthValue.newLowValue(), diff = centripetal.strengthValue.newHighValue();
+			if (!centripetal.strengthValue.isRelative()) diff -= start;
+			state[offset + CENTRIPETAL_STRENGTH_START] = start;
+			state[offset + CENTRIPETAL_STRENGTH_DIFF] = diff;
+		} else {
+			state[offset + CENTRIPETAL_STRENGTH_START] = state[offset + CENTRIPETAL_STRENGTH_DIFF] = 0;
+		}
+	}
+
+	/** Steps the simulation of the given particles by the time step of the controller, the reference of the simulation shader.
+	 * Ages the particles and integrates the accelerations with Verlet, dead particles are left untouched. */
+	public void update (float[] state, int offset, int count) {
+		float deltaMillis = (int)(controller.deltaTime * 1000), deltaTimeSqr = controller.deltaTimeSqr;
+		Vector3 center = getCenter(tmp);
+		float cx = center.x, cy = center.y, cz = center.z;
+		float[] dynamicsSamples = this.dynamicsSamples;
+		for (int i = offset, n = offset + count * STATE_SIZE; i < n; i += STATE_SIZE) {
+			if (state[i + CURRENT_LIFE] <= 0) continue;
+			float life = state[i + CURRENT_LIFE] - deltaMillis;
+			state[i + CURRENT_LIFE] = life;
+			if (life <= 0) continue;
+			float percent = 1 - life / state[i + TOTAL_LIFE];
+
+			float strength = state[i + POLAR_STRENGTH_START] + state[i + POLAR_STRENGTH_DIFF]
+				* sample(dynamicsSamples, 4, 0, percent);
+			float theta = (state[i + THETA_START] + state[i + THETA_DIFF] * sample(dynamicsSamples, 4, 1, percent))
+				* MathUtils.degreesToRadians;
+			float phi = (state[i + PHI_START] + state[i + PHI_DIFF] * sample(dynamicsSamples, 4, 2, percent))
+				* MathUtils.degreesToRadians;
+			float sinPhi = (float)Math.sin(phi);
+			float ax = (float)Math.cos(theta) * sinPhi * strength, ay = (float)Math.cos(phi) * strength, az = (float)Math
+				.sin(theta) * sinPhi * strength;
+
+			float x = state[i + POSITION], y = state[i + POSITION + 1], z = state[i + POSITION + 2];
+			float dx = x - cx, dy = y - cy, dz = z - cz;
+			float distance = (float)Math.sqrt(dx * dx + dy * dy + dz * dz);
+			if (distance != 0) {
+				strength = (state[i + CENTRIPETAL_STRENGTH_START] + state[i + CENTRIPETAL_STRENGTH_DIFF]
+					* sample(dynamicsSamples, 4, 3, percent))
+					/ distance;
+				ax += dx * strength;
+				ay += dy * strength;
+				az += dz * strength;
+			}
+
+			state[i + POSITION] = 2 * x - state[i + PREVIOUS_POSITION] + ax * deltaTimeSqr;
+			state[i + POSITION + 1] = 2 * y - state[i + PREVIOUS_POSITION + 1] + ay * deltaTimeSqr;
+			state[i + POSITION + 2] = 2 * z - state[i + PREVIOUS_POSITION + 2] + az * deltaTimeSqr;
+			state[i + PREVIOUS_POSITION] = x;
+			state[i + PREVIOUS_POSITION + 1] = y;
+			state[i + PREVIOUS_POSITION + 2] = z;
+		}
+	}
+
+	/** Computes how a particle is drawn, the reference of the render shader.
+	 * @param out receives red, green, blue, alpha and size, all 0 for a dead particle */
+	public void getAppearance (float[] state, int offset, float[] out) {
+		float life = state[offset + CURRENT_LIFE];
+		if (life <= 0) {
+			out[0] = out[1] = out[2] = out[3] = out[4] = 0;
+			return;
+		}
+		float percent = 1 - life / state[offset + TOTAL_LIFE];
+		out[0] = sample(colorSamples, 4, 0, percent);
+		out[1] = sample(colorSamples, 4, 1, percent);
+		out[2] = sample(colorSamples, 4, 2, percent);
+		out[3] = state[offset + ALPHA_START] + state[offset + ALPHA_DIFF] * sample(colorSamples, 4, 3, percent);
+		out[4] = state[offset + SCALE_START] + state[offset + SCALE_DIFF] * sample(scaleSamples, 1, 0, percent);
+	}
+
+	/** @param center receives the center of the centripetal acceleration, the translation of the controller unless the modifier
+	 *           is global */
+	public Vector3 getCenter (Vector3 center) {
+		if (centripetal == null || centripetal.isGlobal) return center.setZero();
+		float[] val = controller.transform.val;
+		return center.set(val[Matrix4.M03], val[Matrix4.M13], val[Matrix4.M23]);
+	}
+
+	/** @param region receives u, v, u2 and v2 of the texture region of the particles */
+	public void getRegion (float[] region) {
+		if (this.region != null && this.region.regions.size > 0) {
+			AspectTextureRegion textureRegion = this.region.regions.first();
+			region[0] = textureRegion.u;
+			region[1] = textureRegion.v;
+			region[2] = textureRegion.u2;
+			region[3] = textureRegion.v2;
+		} else {
+			region[0] = region[1] = 0;
+			region[2] = region[3] = 1;
+		}
+	}
+
+	/** Linearly interpolates the samples, the same way the shaders do. */
+	static float sample (float[] samples, int stride, int component, float percent) {
+		float x = MathUtils.clamp(percent, 0f, 1f) * (SAMPLES - 1);
+		int index = Math.min((int)x, SAMPLES - 2);
+		float a = samples[index * stride + component];
+		return a + (samples[(index + 1) * stride + component] - a) * (x - index);
+	}
+}
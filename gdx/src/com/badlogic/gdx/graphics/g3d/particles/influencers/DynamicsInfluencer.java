@@ -129,15 +129,31 @@ public class DynamicsInfluencer extends Influencer {
 	}
 
 	public void update () {
+		update(0, controller.particles.size);
+	}
+
+	/** @return true if all the modifiers support range updates. */
+	@Override
+	public boolean isRangeUpdateSupported () {
+		for (int k = 0; k < velocities.size; ++k) {
+			if (!velocities.items[k].isRangeUpdateSupported()) return false;
+		}
+		return true;
+	}
+
+	@Override
+	public void update (int startIndex, int count) {
 		// Clean previouse frame velocities
 		if (hasAcceleration)
-			Arrays.fill(accellerationChannel.data, 0, controller.particles.size * accellerationChannel.strideSize, 0);
+			Arrays.fill(accellerationChannel.data, startIndex * accellerationChannel.strideSize, (startIndex + count)
+				* accellerationChannel.strideSize, 0);
 		if (has2dAngularVelocity || has3dAngularVelocity)
-			Arrays.fill(angularVelocityChannel.data, 0, controller.particles.size * angularVelocityChannel.strideSize, 0);
+			Arrays.fill(angularVelocityChannel.data, startIndex * angularVelocityChannel.strideSize, (startIndex + count)
+				* angularVelocityChannel.strideSize, 0);
 
 		// Sum all the forces/accelerations
 		for (int k = 0; k < velocities.size; ++k) {
-			velocities.items[k].update();
+			velocities.items[k].update(startIndex, count);
 		}
 
 		// Apply the forces
@@ -155,7 +171,7 @@ public class DynamicsInfluencer extends Influencer {
 			 * ParticleChannels.ZOffset] += previousPositionChannel.data[offset + ParticleChannels.ZOffset]*controller.deltaTime; }
 			 */
 			// Verlet integration
-			for (int i = 0, offset = 0; i < controller.particles.size; ++i, offset += positionChannel.strideSize) {
+			for (int i = startIndex, offset = startIndex * positionChannel.strideSize, c = startIndex + count; i < c; ++i, offset += positionChannel.strideSize) {
 				float x = positionChannel.data[offset + ParticleChannels.XOffset], y = positionChannel.data[offset
 					+ ParticleChannels.YOffset], z = positionChannel.data[offset + ParticleChannels.ZOffset];
 				positionChannel.data[offset + ParticleChannels.XOffset] = 2 * x
@@ -174,7 +190,7 @@ public class DynamicsInfluencer extends Influencer {
 		}
 
 		if (has2dAngularVelocity) {
-			for (int i = 0, offset = 0; i < controller.particles.size; ++i, offset += rotationChannel.strideSize) {
+			for (int i = startIndex, offset = startIndex * rotationChannel.strideSize, c = startIndex + count; i < c; ++i, offset += rotationChannel.strideSize) {
 				float rotation = angularVelocityChannel.data[i] * controller.deltaTime;
 				if (rotation != 0) {
 					float cosBeta = MathUtils.cosDeg(rotation), sinBeta = MathUtils.sinDeg(rotation);
@@ -187,17 +203,29 @@ public class DynamicsInfluencer extends Influencer {
 				}
 			}
 		} else if (has3dAngularVelocity) {
-			for (int i = 0, offset = 0, angularOffset = 0; i < controller.particles.size; ++i, offset += rotationChannel.strideSize, angularOffset += angularVelocityChannel.strideSize) {
+			float halfDelta = 0.5f * controller.deltaTime;
+			for (int i = startIndex, offset = startIndex * rotationChannel.strideSize, angularOffset = startIndex
+				* angularVelocityChannel.strideSize, c = startIndex + count; i < c; ++i, offset += rotationChannel.strideSize, angularOffset += angularVelocityChannel.strideSize) {
 
 				float wx = angularVelocityChannel.data[angularOffset + ParticleChannels.XOffset], wy = angularVelocityChannel.data[angularOffset
 					+ ParticleChannels.YOffset], wz = angularVelocityChannel.data[angularOffset + ParticleChannels.ZOffset], qx = rotationChannel.data[offset
 					+ ParticleChannels.XOffset], qy = rotationChannel.data[offset + ParticleChannels.YOffset], qz = rotationChannel.data[offset
 					+ ParticleChannels.ZOffset], qw = rotationChannel.data[offset + ParticleChannels.WOffset];
-				TMP_Q.set(wx, wy, wz, 0).mul(qx, qy, qz, qw).mul(0.5f * controller.deltaTime).add(qx, qy, qz, qw).nor();
-				rotationChannel.data[offset + ParticleChannels.XOffset] = TMP_Q.x;
-				rotationChannel.data[offset + ParticleChannels.YOffset] = TMP_Q.y;
-				rotationChannel.data[offset + ParticleChannels.ZOffset] = TMP_Q.z;
-				rotationChannel.data[offset + ParticleChannels.WOffset] = TMP_Q.w;
+				// q += 0.5 * dt * (w, 0) * q, without temporary quaternions so that ranges can be updated concurrently
+				float x = qx + (wx * qw + wy * qz - wz * qy) * halfDelta, y = qy + (wy * qw + wz * qx - wx * qz) * halfDelta, z = qz
+					+ (wz * qw + wx * qy - wy * qx) * halfDelta, w = qw + (-wx * qx - wy * qy - wz * qz) * halfDelta;
+				float len2 = x * x + y * y + z * z + w * w;
+				if (len2 != 0 && len2 != 1) {
+					float invLength = 1 / (float)Math.sqrt(len2);
+					x *= invLength;
+					y *= invLength;
+					z *= invLength;
+					w *= invLength;
+				}
+				rotationChannel.data[offset + ParticleChannels.XOffset] = x;
+				rotationChannel.data[offset + ParticleChannels.YOffset] = y;
+				rotationChannel.data[offset + ParticleChannels.ZOffset] = z;
+				rotationChannel.data[offset + ParticleChannels.WOffset] = w;
 			}
 		}
 	}
@@ -22,7 +22,6 @@ import com.badlogic.gdx.graphics.g3d.particles.ParticleControllerComponent;
 import com.badlogic.gdx.graphics.g3d.particles.values.ScaledNumericValue;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Matrix4;
-import com.badlogic.gdx.math.Quaternion;
 import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.utils.Json;
 import com.badlogic.gdx.utils.JsonValue;
@@ -32,8 +31,6 @@ import com.badlogic.gdx.utils.JsonValue;
  * {@link DynamicsInfluencer} .
  * @author Inferno */
 public abstract class DynamicsModifier extends Influencer {
-	protected static final Vector3 TMP_V1 = new Vector3(), TMP_V2 = new Vector3(), TMP_V3 = new Vector3();
-	protected static final Quaternion TMP_Q = new Quaternion();
 
 	public static class FaceDirection extends DynamicsModifier {
 		FloatChannel rotationChannel, accellerationChannel;
@@ -51,9 +48,16 @@ public abstract class DynamicsModifier extends Influencer {
 			accellerationChannel = controller.particles.addChannel(ParticleChannels.Acceleration);
 		}
 
+		/** Uses temporary vectors of the modifier, can't be updated concurrently. */
 		@Override
-		public void update () {
-			for (int i = 0, accelOffset = 0, c = i + controller.particles.size * rotationChannel.strideSize; i < c; i += rotationChannel.strideSize, accelOffset += accellerationChannel.strideSize) {
+		public boolean isRangeUpdateSupported () {
+			return false;
+		}
+
+		@Override
+		public void update (int startIndex, int count) {
+			for (int i = startIndex * rotationChannel.strideSize, accelOffset = startIndex * accellerationChannel.strideSize, c = i
+				+ count * rotationChannel.strideSize; i < c; i += rotationChannel.strideSize, accelOffset += accellerationChannel.strideSize) {
 
 				Vector3 axisZ = TMP_V1.set(accellerationChannel.data[accelOffset + ParticleChannels.XOffset],
 					accellerationChannel.data[accelOffset + ParticleChannels.YOffset],
@@ -200,8 +204,9 @@ public abstract class DynamicsModifier extends Influencer {
 		}
 
 		@Override
-		public void update () {
-			for (int i = 0, l = ParticleChannels.LifePercentOffset, s = 0, c = i + controller.particles.size
+		public void update (int startIndex, int count) {
+			for (int i = startIndex * rotationalVelocity2dChannel.strideSize, l = startIndex * lifeChannel.strideSize
+				+ ParticleChannels.LifePercentOffset, s = startIndex * strengthChannel.strideSize, c = i + count
 				* rotationalVelocity2dChannel.strideSize; i < c; s += strengthChannel.strideSize, i += rotationalVelocity2dChannel.strideSize, l += lifeChannel.strideSize) {
 				rotationalVelocity2dChannel.data[i] += strengthChannel.data[s + ParticleChannels.VelocityStrengthStartOffset]
 					+ strengthChannel.data[s + ParticleChannels.VelocityStrengthDiffOffset]
@@ -233,7 +238,7 @@ public abstract class DynamicsModifier extends Influencer {
 		}
 
 		@Override
-		public void update () {
+		public void update (int startIndex, int count) {
 
 			// Matrix3 I_t = defined by the shape, it's the inertia tensor
 			// Vector3 r = position vector
@@ -260,8 +265,9 @@ public abstract class DynamicsModifier extends Influencer {
 			// Consider a channel which represent a simple angular momentum L
 			// Proceed as Algorithm 2
 
-			for (int i = 0, l = ParticleChannels.LifePercentOffset, s = 0, a = 0, c = controller.particles.size
-				* rotationalForceChannel.strideSize; i < c; s += strengthChannel.strideSize, i += rotationalForceChannel.strideSize, a += angularChannel.strideSize, l += lifeChannel.strideSize) {
+			for (int i = startIndex * rotationalForceChannel.strideSize, l = startIndex * lifeChannel.strideSize
+				+ ParticleChannels.LifePercentOffset, s = startIndex * strengthChannel.strideSize, a = startIndex
+				* angularChannel.strideSize, c = i + count * rotationalForceChannel.strideSize; i < c; s += strengthChannel.strideSize, i += rotationalForceChannel.strideSize, a += angularChannel.strideSize, l += lifeChannel.strideSize) {
 
 				float lifePercent = lifeChannel.data[l], strength = strengthChannel.data[s
 					+ ParticleChannels.VelocityStrengthStartOffset]
@@ -274,12 +280,11 @@ public abstract class DynamicsModifier extends Influencer {
 				float cosTheta = MathUtils.cosDeg(theta), sinTheta = MathUtils.sinDeg(theta), cosPhi = MathUtils.cosDeg(phi), sinPhi = MathUtils
 					.sinDeg(phi);
 
-				TMP_V3.set(cosTheta * sinPhi, cosPhi, sinTheta * sinPhi);
-				TMP_V3.scl(strength * MathUtils.degreesToRadians);
+				strength *= MathUtils.degreesToRadians;
 
-				rotationalForceChannel.data[i + ParticleChannels.XOffset] += TMP_V3.x;
-				rotationalForceChannel.data[i + ParticleChannels.YOffset] += TMP_V3.y;
-				rotationalForceChannel.data[i + ParticleChannels.ZOffset] += TMP_V3.z;
+				rotationalForceChannel.data[i + ParticleChannels.XOffset] += cosTheta * sinPhi * strength;
+				rotationalForceChannel.data[i + ParticleChannels.YOffset] += cosPhi * strength;
+				rotationalForceChannel.data[i + ParticleChannels.ZOffset] += sinTheta * sinPhi * strength;
 			}
 		}
 
@@ -308,7 +313,7 @@ public abstract class DynamicsModifier extends Influencer {
 		}
 
 		@Override
-		public void update () {
+		public void update (int startIndex, int count) {
 			float cx = 0, cy = 0, cz = 0;
 			if (!isGlobal) {
 				float[] val = controller.transform.val;
@@ -317,19 +322,22 @@ public abstract class DynamicsModifier extends Influencer {
 				cz = val[Matrix4.M23];
 			}
 
-			int lifeOffset = ParticleChannels.LifePercentOffset, strengthOffset = 0, positionOffset = 0, forceOffset = 0;
-			for (int i = 0, c = controller.particles.size; i < c; ++i, positionOffset += positionChannel.strideSize, strengthOffset += strengthChannel.strideSize, forceOffset += accelerationChannel.strideSize, lifeOffset += lifeChannel.strideSize) {
+			int lifeOffset = startIndex * lifeChannel.strideSize + ParticleChannels.LifePercentOffset, strengthOffset = startIndex
+				* strengthChannel.strideSize, positionOffset = startIndex * positionChannel.strideSize, forceOffset = startIndex
+				* accelerationChannel.strideSize;
+			for (int i = startIndex, c = startIndex + count; i < c; ++i, positionOffset += positionChannel.strideSize, strengthOffset += strengthChannel.strideSize, forceOffset += accelerationChannel.strideSize, lifeOffset += lifeChannel.strideSize) {
 
 				float strength = strengthChannel.data[strengthOffset + ParticleChannels.VelocityStrengthStartOffset]
 					+ strengthChannel.data[strengthOffset + ParticleChannels.VelocityStrengthDiffOffset]
 					* strengthValue.getScale(lifeChannel.data[lifeOffset]);
-				TMP_V3
-					.set(positionChannel.data[positionOffset + ParticleChannels.XOffset] - cx,
-						positionChannel.data[positionOffset + ParticleChannels.YOffset] - cy,
-						positionChannel.data[positionOffset + ParticleChannels.ZOffset] - cz).nor().scl(strength);
-				accelerationChannel.data[forceOffset + ParticleChannels.XOffset] += TMP_V3.x;
-				accelerationChannel.data[forceOffset + ParticleChannels.YOffset] += TMP_V3.y;
-				accelerationChannel.data[forceOffset + ParticleChannels.ZOffset] += TMP_V3.z;
+				float x = positionChannel.data[positionOffset + ParticleChannels.XOffset] - cx, y = positionChannel.data[positionOffset
+					+ ParticleChannels.YOffset]
+					- cy, z = positionChannel.data[positionOffset + ParticleChannels.ZOffset] - cz;
+				float length = (float)Math.sqrt(x * x + y * y + z * z);
+				if (length != 0) strength /= length;
+				accelerationChannel.data[forceOffset + ParticleChannels.XOffset] += x * strength;
+				accelerationChannel.data[forceOffset + ParticleChannels.YOffset] += y * strength;
+				accelerationChannel.data[forceOffset + ParticleChannels.ZOffset] += z * strength;
 			}
 		}
 
@@ -356,9 +364,10 @@ public abstract class DynamicsModifier extends Influencer {
 		}
 
 		@Override
-		public void update () {
-			for (int i = 0, l = ParticleChannels.LifePercentOffset, s = 0, a = 0, c = i + controller.particles.size
-				* directionalVelocityChannel.strideSize; i < c; s += strengthChannel.strideSize, i += directionalVelocityChannel.strideSize, a += angularChannel.strideSize, l += lifeChannel.strideSize) {
+		public void update (int startIndex, int count) {
+			for (int i = startIndex * directionalVelocityChannel.strideSize, l = startIndex * lifeChannel.strideSize
+				+ ParticleChannels.LifePercentOffset, s = startIndex * strengthChannel.strideSize, a = startIndex
+				* angularChannel.strideSize, c = i + count * directionalVelocityChannel.strideSize; i < c; s += strengthChannel.strideSize, i += directionalVelocityChannel.strideSize, a += angularChannel.strideSize, l += lifeChannel.strideSize) {
 
 				float lifePercent = lifeChannel.data[l], strength = strengthChannel.data[s
 					+ ParticleChannels.VelocityStrengthStartOffset]
@@ -370,10 +379,12 @@ public abstract class DynamicsModifier extends Influencer {
 
 				float cosTheta = MathUtils.cosDeg(theta), sinTheta = MathUtils.sinDeg(theta), cosPhi = MathUtils.cosDeg(phi), sinPhi = MathUtils
 					.sinDeg(phi);
-				TMP_V3.set(cosTheta * sinPhi, cosPhi, sinTheta * sinPhi).nor().scl(strength);
-				directionalVelocityChannel.data[i + ParticleChannels.XOffset] += TMP_V3.x;
-				directionalVelocityChannel.data[i + ParticleChannels.YOffset] += TMP_V3.y;
-				directionalVelocityChannel.data[i + ParticleChannels.ZOffset] += TMP_V3.z;
+				float x = cosTheta * sinPhi, y = cosPhi, z = sinTheta * sinPhi;
+				float length = (float)Math.sqrt(x * x + y * y + z * z);
+				if (length != 0) strength /= length;
+				directionalVelocityChannel.data[i + ParticleChannels.XOffset] += x * strength;
+				directionalVelocityChannel.data[i + ParticleChannels.YOffset] += y * strength;
+				directionalVelocityChannel.data[i + ParticleChannels.ZOffset] += z * strength;
 			}
 		}
 
@@ -401,9 +412,11 @@ public abstract class DynamicsModifier extends Influencer {
 		}
 
 		@Override
-		public void update () {
-			for (int i = 0, l = ParticleChannels.LifePercentOffset, s = 0, a = 0, positionOffset = 0, c = i
-				+ controller.particles.size * directionalVelocityChannel.strideSize; i < c; s += strengthChannel.strideSize, i += directionalVelocityChannel.strideSize, a += angularChannel.strideSize, l += lifeChannel.strideSize, positionOffset += positionChannel.strideSize) {
+		public void update (int startIndex, int count) {
+			for (int i = startIndex * directionalVelocityChannel.strideSize, l = startIndex * lifeChannel.strideSize
+				+ ParticleChannels.LifePercentOffset, s = startIndex * strengthChannel.strideSize, a = startIndex
+				* angularChannel.strideSize, positionOffset = startIndex * positionChannel.strideSize, c = i + count
+				* directionalVelocityChannel.strideSize; i < c; s += strengthChannel.strideSize, i += directionalVelocityChannel.strideSize, a += angularChannel.strideSize, l += lifeChannel.strideSize, positionOffset += positionChannel.strideSize) {
 
 				float lifePercent = lifeChannel.data[l], strength = strengthChannel.data[s
 					+ ParticleChannels.VelocityStrengthStartOffset]
@@ -415,14 +428,15 @@ public abstract class DynamicsModifier extends Influencer {
 
 				float cosTheta = MathUtils.cosDeg(theta), sinTheta = MathUtils.sinDeg(theta), cosPhi = MathUtils.cosDeg(phi), sinPhi = MathUtils
 					.sinDeg(phi);
-				TMP_V3
-					.set(cosTheta * sinPhi, cosPhi, sinTheta * sinPhi)
-					.crs(positionChannel.data[positionOffset + ParticleChannels.XOffset],
-						positionChannel.data[positionOffset + ParticleChannels.YOffset],
-						positionChannel.data[positionOffset + ParticleChannels.ZOffset]).nor().scl(strength);
-				directionalVelocityChannel.data[i + ParticleChannels.XOffset] += TMP_V3.x;
-				directionalVelocityChannel.data[i + ParticleChannels.YOffset] += TMP_V3.y;
-				directionalVelocityChannel.data[i + ParticleChannels.ZOffset] += TMP_V3.z;
+				float dx = cosTheta * sinPhi, dy = cosPhi, dz = sinTheta * sinPhi;
+				float px = positionChannel.data[positionOffset + ParticleChannels.XOffset], py = positionChannel.data[positionOffset
+					+ ParticleChannels.YOffset], pz = positionChannel.data[positionOffset + ParticleChannels.ZOffset];
+				float x = dy * pz - dz * py, y = dz * px - dx * pz, z = dx * py - dy * px;
+				float length = (float)Math.sqrt(x * x + y * y + z * z);
+				if (length != 0) strength /= length;
+				directionalVelocityChannel.data[i + ParticleChannels.XOffset] += x * strength;
+				directionalVelocityChannel.data[i + ParticleChannels.YOffset] += y * strength;
+				directionalVelocityChannel.data[i + ParticleChannels.ZOffset] += z * strength;
 			}
 		}
 
@@ -449,17 +463,20 @@ public abstract class DynamicsModifier extends Influencer {
 		}
 
 		@Override
-		public void update () {
-			int lifeOffset = ParticleChannels.LifePercentOffset, strengthOffset = 0, forceOffset = 0;
-			for (int i = 0, c = controller.particles.size; i < c; ++i, strengthOffset += strengthChannel.strideSize, forceOffset += accelerationChannel.strideSize, lifeOffset += lifeChannel.strideSize) {
+		public void update (int startIndex, int count) {
+			int lifeOffset = startIndex * lifeChannel.strideSize + ParticleChannels.LifePercentOffset, strengthOffset = startIndex
+				* strengthChannel.strideSize, forceOffset = startIndex * accelerationChannel.strideSize;
+			for (int i = startIndex, c = startIndex + count; i < c; ++i, strengthOffset += strengthChannel.strideSize, forceOffset += accelerationChannel.strideSize, lifeOffset += lifeChannel.strideSize) {
 
 				float strength = strengthChannel.data[strengthOffset + ParticleChannels.VelocityStrengthStartOffset]
 					+ strengthChannel.data[strengthOffset + ParticleChannels.VelocityStrengthDiffOffset]
 					* strengthValue.getScale(lifeChannel.data[lifeOffset]);
-				TMP_V3.set(MathUtils.random(-1, 1f), MathUtils.random(-1, 1f), MathUtils.random(-1, 1f)).nor().scl(strength);
-				accelerationChannel.data[forceOffset + ParticleChannels.XOffset] += TMP_V3.x;
-				accelerationChannel.data[forceOffset + ParticleChannels.YOffset] += TMP_V3.y;
-				accelerationChannel.data[forceOffset + ParticleChannels.ZOffset] += TMP_V3.z;
+				float x = MathUtils.random(-1, 1f), y = MathUtils.random(-1, 1f), z = MathUtils.random(-1, 1f);
+				float length = (float)Math.sqrt(x * x + y * y + z * z);
+				if (length != 0) strength /= length;
+				accelerationChannel.data[forceOffset + ParticleChannels.XOffset] += x * strength;
+				accelerationChannel.data[forceOffset + ParticleChannels.YOffset] += y * strength;
+				accelerationChannel.data[forceOffset + ParticleChannels.ZOffset] += z * strength;
 			}
 		}
 
@@ -484,6 +501,16 @@ public abstract class DynamicsModifier extends Influencer {
 		lifeChannel = controller.particles.addChannel(ParticleChannels.Life);
 	}
 
+	@Override
+	public void update () {
+		update(0, controller.particles.size);
+	}
+
+	@Override
+	public boolean isRangeUpdateSupported () {
+		return true;
+	}
+
 	@Override
 	public void write (Json json) {
 		super.write(json);
@@ -17,10 +17,24 @@
 package com.badlogic.gdx.graphics.g3d.particles.influencers;
 
 import com.badlogic.gdx.graphics.g3d.particles.ParticleControllerComponent;
+import com.badlogic.gdx.utils.GdxRuntimeException;
 
 /** It's a {@link ParticleControllerComponent} which usually modifies one or more properties of the particles(i.e color, scale,
  * graphical representation, velocity, etc...).
  * @author Inferno */
 public abstract class Influencer extends ParticleControllerComponent {
 
+	/** @return true if {@link #update(int, int)} can be called concurrently from several threads on disjoint ranges of particles.
+	 *         This requires the influencer to read and write only the channel data of the particles in the range and to not use
+	 *         any shared temporary objects. */
+	public boolean isRangeUpdateSupported () {
+		return false;
+	}
+
+	/** Executes the influencer behavior on the particles in the range [startIndex, startIndex + count). Used by
+	 * {@link com.badlogic.gdx.graphics.g3d.particles.ParticleSystem#update(com.badlogic.gdx.utils.async.AsyncExecutor)} to split
+	 * the update of big controllers, only called if {@link #isRangeUpdateSupported()} returns true. */
+	public void update (int startIndex, int count) {
+		throw new GdxRuntimeException(getClass().getName() + " does not support range updates");
+	}
 }
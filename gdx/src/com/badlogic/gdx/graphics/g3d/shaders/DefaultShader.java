@@ -19,6 +19,7 @@ package com.badlogic.gdx.graphics.g3d.shaders;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Camera;
 import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.VertexAttribute;
 import com.badlogic.gdx.graphics.VertexAttributes.Usage;
 import com.badlogic.gdx.graphics.g3d.Attribute;
@@ -37,10 +38,14 @@ import com.badlogic.gdx.graphics.g3d.attributes.PointLightsAttribute;
 import com.badlogic.gdx.graphics.g3d.attributes.SpotLightsAttribute;
 import com.badlogic.gdx.graphics.g3d.attributes.TextureAttribute;
 import com.badlogic.gdx.graphics.g3d.environment.AmbientCubemap;
+import com.badlogic.gdx.graphics.g3d.environment.CascadedShadowMap;
 import com.badlogic.gdx.graphics.g3d.environment.DirectionalLight;
 import com.badlogic.gdx.graphics.g3d.environment.PointLight;
 import com.badlogic.gdx.graphics.g3d.environment.SpotLight;
+import com.badlogic.gdx.graphics.g3d.utils.BoneTexture;
+import com.badlogic.gdx.graphics.g3d.utils.ClusteredLights;
 import com.badlogic.gdx.graphics.g3d.utils.RenderContext;
+import com.badlogic.gdx.graphics.g3d.utils.TextureDescriptor;
 import com.badlogic.gdx.graphics.glutils.ShaderProgram;
 import com.badlogic.gdx.math.Matrix3;
 import com.badlogic.gdx.math.Matrix4;
@@ -62,6 +67,12 @@ public class DefaultShader extends BaseShader {
 		public int numSpotLights = 0;
 		/** The number of bones to use */
 		public int numBones = 12;
+		/** The texture to store the bones in instead of a uniform array, which is not limited to {@link #numBones} bones, may be
+		 * shared by multiple shaders. Null to use the uniform array. */
+		public BoneTexture boneTexture = null;
+		/** The lights evaluated per fragment in addition to the lights of the environment, using only the lights of the cluster of
+		 * the fragment, may be shared by multiple shaders. Requires normals. Null to disable. */
+		public ClusteredLights clusteredLights = null;
 		/** */
 		public boolean ignoreUnimplemented = true;
 		/** Set to 0 to disable culling, -1 to inherit from {@link DefaultShader#defaultCullFace} */
@@ -92,6 +103,8 @@ public class DefaultShader extends BaseShader {
 		public final static Uniform projViewWorldTrans = new Uniform("u_projViewWorldTrans");
 		public final static Uniform normalMatrix = new Uniform("u_normalMatrix");
 		public final static Uniform bones = new Uniform("u_bones");
+		public final static Uniform boneTexture = new Uniform("u_boneTexture");
+		public final static Uniform boneOffset = new Uniform("u_boneOffset");
 
 		public final static Uniform shininess = new Uniform("u_shininess", FloatAttribute.Shininess);
 		public final static Uniform opacity = new Uniform("u_opacity", BlendingAttribute.Type);
@@ -118,6 +131,15 @@ public class DefaultShader extends BaseShader {
 		public final static Uniform pointLights = new Uniform("u_pointLights");
 		public final static Uniform spotLights = new Uniform("u_spotLights");
 		public final static Uniform environmentCubemap = new Uniform("u_environmentCubemap");
+		public final static Uniform shadowStaticTexture = new Uniform("u_shadowStaticTexture");
+
+		public final static Uniform clusterTexture = new Uniform("u_clusterTexture");
+		public final static Uniform clusterLightTexture = new Uniform("u_clusterLightTexture");
+		public final static Uniform clusterIndexTexture = new Uniform("u_clusterIndexTexture");
+		public final static Uniform clusterViewport = new Uniform("u_clusterViewport");
+		public final static Uniform clusterGrid = new Uniform("u_clusterGrid");
+		public final static Uniform clusterCameraPosition = new Uniform("u_clusterCameraPosition");
+		public final static Uniform clusterCameraDirection = new Uniform("u_clusterCameraDirection");
 	}
 
 	public static class Setters {
@@ -214,6 +236,36 @@ public class DefaultShader extends BaseShader {
 			}
 		}
 
+		public static class BoneTextureSetter extends LocalSetter {
+			public final BoneTexture boneTexture;
+
+			public BoneTextureSetter (final BoneTexture boneTexture) {
+				this.boneTexture = boneTexture;
+			}
+
+			@Override
+			public void set (BaseShader shader, int inputID, Renderable renderable, Attributes combinedAttributes) {
+				boneTexture.add(renderable.bones);
+				final int unit = shader.context.textureBinder.bind(boneTexture.getTexture());
+				Gdx.gl.glActiveTexture(GL20.GL_TEXTURE0 + unit);
+				boneTexture.upload();
+				shader.set(inputID, unit);
+			}
+		}
+
+		public static class BoneOffset extends LocalSetter {
+			public final BoneTexture boneTexture;
+
+			public BoneOffset (final BoneTexture boneTexture) {
+				this.boneTexture = boneTexture;
+			}
+
+			@Override
+			public void set (BaseShader shader, int inputID, Renderable renderable, Attributes combinedAttributes) {
+				shader.set(inputID, (float)boneTexture.add(renderable.bones));
+			}
+		}
+
 		public final static Setter shininess = new LocalSetter() {
 			@Override
 			public void set (BaseShader shader, int inputID, Renderable renderable, Attributes combinedAttributes) {
@@ -384,6 +436,71 @@ public class DefaultShader extends BaseShader {
 				}
 			}
 		};
+
+		public final static Setter shadowStaticTexture = new LocalSetter() {
+			@Override
+			public void set (BaseShader shader, int inputID, Renderable renderable, Attributes combinedAttributes) {
+				final CascadedShadowMap cascaded = renderable.environment != null ? getCascadedShadowMap(renderable.environment)
+					: null;
+				if (cascaded != null && cascaded.getStaticDepthMap() != null) shader.set(inputID, cascaded.getStaticDepthMap());
+			}
+		};
+
+		public final static Setter clusterTexture = new GlobalSetter() {
+			@Override
+			public void set (BaseShader shader, int inputID, Renderable renderable, Attributes combinedAttributes) {
+				shader.set(inputID, ((DefaultShader)shader).config.clusteredLights.getClusterTexture());
+			}
+		};
+
+		public final static Setter clusterLightTexture = new GlobalSetter() {
+			@Override
+			public void set (BaseShader shader, int inputID, Renderable renderable, Attributes combinedAttributes) {
+				shader.set(inputID, ((DefaultShader)shader).config.clusteredLights.getLightTexture());
+			}
+		};
+
+		public final static Setter clusterIndexTexture = new GlobalSetter() {
+			@Override
+			public void set (BaseShader shader, int inputID, Renderable renderable, Attributes combinedAttributes) {
+				shader.set(inputID, ((DefaultShader)shader).config.clusteredLights.getIndexTexture());
+			}
+		};
+
+		public final static Setter clusterViewport = new GlobalSetter() {
+			@Override
+			public void set (BaseShader shader, int inputID, Renderable renderable, Attributes combinedAttributes) {
+				final ClusteredLights lights = ((DefaultShader)shader).config.clusteredLights;
+				shader.set(inputID, lights.getViewportX(), lights.getViewportY(),
+					lights.getTilesX() / (float)lights.getViewportWidth(), lights.getTilesY() / (float)lights.getViewportHeight());
+			}
+		};
+
+		public final static Setter clusterGrid = new GlobalSetter() {
+			@Override
+			public void set (BaseShader shader, int inputID, Renderable renderable, Attributes combinedAttributes) {
+				final ClusteredLights lights = ((DefaultShader)shader).config.clusteredLights;
+				shader.set(inputID, lights.getTilesX(), lights.getTilesY(), lights.getSlices(), 1f / lights.getMaxLights());
+			}
+		};
+
+		public final static Setter clusterCameraPosition = new GlobalSetter() {
+			@Override
+			public void set (BaseShader shader, int inputID, Renderable renderable, Attributes combinedAttributes) {
+				final ClusteredLights lights = ((DefaultShader)shader).config.clusteredLights;
+				final Vector3 position = lights.getPosition();
+				shader.set(inputID, position.x, position.y, position.z, lights.getNear());
+			}
+		};
+
+		public final static Setter clusterCameraDirection = new GlobalSetter() {
+			@Override
+			public void set (BaseShader shader, int inputID, Renderable renderable, Attributes combinedAttributes) {
+				final ClusteredLights lights = ((DefaultShader)shader).config.clusteredLights;
+				final Vector3 direction = lights.getDirection();
+				shader.set(inputID, direction.x, direction.y, direction.z, lights.getSliceScale());
+			}
+		};
 	}
 
 	private static String defaultVertexShader = null;
@@ -425,6 +542,8 @@ public class DefaultShader extends BaseShader {
 	public final int u_projViewWorldTrans;
 	public final int u_normalMatrix;
 	public final int u_bones;
+	public final int u_boneTexture;
+	public final int u_boneOffset;
 	// Material uniforms
 	public final int u_shininess;
 	public final int u_opacity;
@@ -448,6 +567,14 @@ public class DefaultShader extends BaseShader {
 	// Lighting uniforms
 	protected final int u_ambientCubemap;
 	protected final int u_environmentCubemap;
+	protected final int u_shadowStaticTexture;
+	protected final int u_clusterTexture;
+	protected final int u_clusterLightTexture;
+	protected final int u_clusterIndexTexture;
+	protected final int u_clusterViewport;
+	protected final int u_clusterGrid;
+	protected final int u_clusterCameraPosition;
+	protected final int u_clusterCameraDirection;
 	protected final int u_dirLights0color = register(new Uniform("u_dirLights[0].color"));
 	protected final int u_dirLights0direction = register(new Uniform("u_dirLights[0].direction"));
 	protected final int u_dirLights1color = register(new Uniform("u_dirLights[1].color"));
@@ -489,6 +616,10 @@ public class DefaultShader extends BaseShader {
 	protected final boolean lighting;
 	protected final boolean environmentCubemap;
 	protected final boolean shadowMap;
+	/** The number of cascades of the {@link CascadedShadowMap}, or 0. */
+	protected final int shadowCascades;
+	/** Whether the {@link CascadedShadowMap} has a {@link CascadedShadowMap#getStaticDepthMap() static depth map}. */
+	protected final boolean shadowStaticTexture;
 	protected final AmbientCubemap ambientCubemap = new AmbientCubemap();
 	protected final DirectionalLight directionalLights[];
 	protected final PointLight pointLights[];
@@ -529,6 +660,8 @@ public class DefaultShader extends BaseShader {
 		this.environmentCubemap = attributes.has(CubemapAttribute.EnvironmentMap)
 			|| (lighting && attributes.has(CubemapAttribute.EnvironmentMap));
 		this.shadowMap = lighting && renderable.environment.shadowMap != null;
+		this.shadowCascades = lighting ? getShadowCascades(renderable.environment) : 0;
+		this.shadowStaticTexture = lighting && hasShadowStaticTexture(renderable.environment);
 		this.renderable = renderable;
 		attributesMask = attributes.getMask() | optionalAttributes;
 		vertexMask = renderable.meshPart.mesh.getVertexAttributes().getMask();
@@ -560,8 +693,12 @@ public class DefaultShader extends BaseShader {
 		u_viewWorldTrans = register(Inputs.viewWorldTrans, Setters.viewWorldTrans);
 		u_projViewWorldTrans = register(Inputs.projViewWorldTrans, Setters.projViewWorldTrans);
 		u_normalMatrix = register(Inputs.normalMatrix, Setters.normalMatrix);
-		u_bones = (renderable.bones != null && config.numBones > 0) ? register(Inputs.bones, new Setters.Bones(config.numBones))
-			: -1;
+		final boolean skinning = renderable.bones != null && config.numBones > 0;
+		u_bones = (skinning && config.boneTexture == null) ? register(Inputs.bones, new Setters.Bones(config.numBones)) : -1;
+		u_boneTexture = (skinning && config.boneTexture != null) ? register(Inputs.boneTexture,
+			new Setters.BoneTextureSetter(config.boneTexture)) : -1;
+		u_boneOffset = (skinning && config.boneTexture != null) ? register(Inputs.boneOffset,
+			new Setters.BoneOffset(config.boneTexture)) : -1;
 
 		u_shininess = register(Inputs.shininess, Setters.shininess);
 		u_opacity = register(Inputs.opacity);
@@ -586,6 +723,16 @@ public class DefaultShader extends BaseShader {
 		u_ambientCubemap = lighting ? register(Inputs.ambientCube, new Setters.ACubemap(config.numDirectionalLights,
 			config.numPointLights)) : -1;
 		u_environmentCubemap = environmentCubemap ? register(Inputs.environmentCubemap, Setters.environmentCubemap) : -1;
+		u_shadowStaticTexture = shadowStaticTexture ? register(Inputs.shadowStaticTexture, Setters.shadowStaticTexture) : -1;
+
+		final boolean clustered = config.clusteredLights != null;
+		u_clusterTexture = clustered ? register(Inputs.clusterTexture, Setters.clusterTexture) : -1;
+		u_clusterLightTexture = clustered ? register(Inputs.clusterLightTexture, Setters.clusterLightTexture) : -1;
+		u_clusterIndexTexture = clustered ? register(Inputs.clusterIndexTexture, Setters.clusterIndexTexture) : -1;
+		u_clusterViewport = clustered ? register(Inputs.clusterViewport, Setters.clusterViewport) : -1;
+		u_clusterGrid = clustered ? register(Inputs.clusterGrid, Setters.clusterGrid) : -1;
+		u_clusterCameraPosition = clustered ? register(Inputs.clusterCameraPosition, Setters.clusterCameraPosition) : -1;
+		u_clusterCameraDirection = clustered ? register(Inputs.clusterCameraDirection, Setters.clusterCameraDirection) : -1;
 	}
 
 	@Override
@@ -665,7 +812,21 @@ public class DefaultShader extends BaseShader {
 					prefix += "#define fogFlag\n";
 				}
 				if (renderable.environment.shadowMap != null) prefix += "#define shadowMapFlag\n";
+				final CascadedShadowMap cascaded = getCascadedShadowMap(renderable.environment);
+				if (cascaded != null) {
+					final int columns = cascaded.getColumns();
+					prefix += "#define numCascades " + cascaded.getCascadeCount() + "\n";
+					prefix += "#define shadowCascadeColumns " + columns + "\n";
+					prefix += "#define shadowCascadeRows " + ((cascaded.getCascadeCount() + columns - 1) / columns) + "\n";
+					if (cascaded.getStaticDepthMap() != null) prefix += "#define shadowStaticTextureFlag\n";
+				}
 				if (attributes.has(CubemapAttribute.EnvironmentMap)) prefix += "#define environmentCubemapFlag\n";
+				if (config.clusteredLights != null && and(vertexMask, Usage.Normal)) {
+					prefix += "#define clusteredLightsFlag\n";
+					prefix += "#define maxClusterLights " + config.clusteredLights.getMaxLightsPerCluster() + "\n";
+					prefix += "#define clusterIndexWidth " + ClusteredLights.INDEX_WIDTH + "\n";
+					prefix += "#define clusterIndexRows " + config.clusteredLights.getIndexRows() + "\n";
+				}
 			}
 		}
 		final int n = renderable.meshPart.mesh.getVertexAttributes().size();
@@ -713,7 +874,13 @@ public class DefaultShader extends BaseShader {
 			prefix += "#define " + FloatAttribute.ShininessAlias + "Flag\n";
 		if ((attributesMask & FloatAttribute.AlphaTest) == FloatAttribute.AlphaTest)
 			prefix += "#define " + FloatAttribute.AlphaTestAlias + "Flag\n";
-		if (renderable.bones != null && config.numBones > 0) prefix += "#define numBones " + config.numBones + "\n";
+		if (renderable.bones != null && config.numBones > 0) {
+			prefix += "#define numBones " + config.numBones + "\n";
+			if (config.boneTexture != null) {
+				prefix += "#define boneTextureFlag\n";
+				prefix += "#define boneTextureRows " + config.boneTexture.getRows() + "\n";
+			}
+		}
 		return prefix;
 	}
 
@@ -721,7 +888,24 @@ public class DefaultShader extends BaseShader {
 	public boolean canRender (final Renderable renderable) {
 		final long renderableMask = combineAttributeMasks(renderable);
 		return (attributesMask == (renderableMask | optionalAttributes))
-			&& (vertexMask == renderable.meshPart.mesh.getVertexAttributes().getMask()) && (renderable.environment != null) == lighting;
+			&& (vertexMask == renderable.meshPart.mesh.getVertexAttributes().getMask()) && (renderable.environment != null) == lighting
+			&& (!lighting || (getShadowCascades(renderable.environment) == shadowCascades
+				&& hasShadowStaticTexture(renderable.environment) == shadowStaticTexture));
+	}
+
+	@SuppressWarnings("deprecation")
+	private static CascadedShadowMap getCascadedShadowMap (final Environment environment) {
+		return environment.shadowMap instanceof CascadedShadowMap ? (CascadedShadowMap)environment.shadowMap : null;
+	}
+
+	private static int getShadowCascades (final Environment environment) {
+		final CascadedShadowMap cascaded = getCascadedShadowMap(environment);
+		return cascaded != null ? cascaded.getCascadeCount() : 0;
+	}
+
+	private static boolean hasShadowStaticTexture (final Environment environment) {
+		final CascadedShadowMap cascaded = getCascadedShadowMap(environment);
+		return cascaded != null && cascaded.getStaticDepthMap() != null;
 	}
 
 	@Override
@@ -881,7 +1065,15 @@ public class DefaultShader extends BaseShader {
 			set(u_fogColor, ((ColorAttribute)attributes.get(ColorAttribute.Fog)).color);
 		}
 
-		if (lights != null && lights.shadowMap != null) {
+		final CascadedShadowMap cascaded = lights != null ? getCascadedShadowMap(lights) : null;
+		if (cascaded != null) {
+			if (has(u_shadowMapProjViewTrans))
+				program.setUniformMatrix4fv(loc(u_shadowMapProjViewTrans), cascaded.getCascadeTransforms(), 0, shadowCascades * 16);
+			// The depth maps are created by the first shadow pass
+			final TextureDescriptor<Texture> depthMap = cascaded.getDepthMap();
+			if (depthMap != null) set(u_shadowTexture, depthMap);
+			set(u_shadowPCFOffset, 1.f / (2f * cascaded.getCascadeSize() * cascaded.getColumns()));
+		} else if (lights != null && lights.shadowMap != null) {
 			set(u_shadowMapProjViewTrans, lights.shadowMap.getProjViewTrans());
 			set(u_shadowTexture, lights.shadowMap.getDepthMap());
 			set(u_shadowPCFOffset, 1.f / (2f * lights.shadowMap.getDepthMap().texture.getWidth()));
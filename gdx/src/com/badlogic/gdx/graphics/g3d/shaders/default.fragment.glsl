@@ -74,9 +74,47 @@ varying vec3 v_lightSpecular;
 #ifdef shadowMapFlag
 uniform sampler2D u_shadowTexture;
 uniform float u_shadowPCFOffset;
-varying vec3 v_shadowMapUv;
 #define separateAmbientFlag
 
+#ifdef numCascades
+#ifdef shadowStaticTextureFlag
+uniform sampler2D u_shadowStaticTexture;
+#endif //shadowStaticTextureFlag
+varying vec3 v_shadowMapUv[numCascades];
+
+float getShadowness(vec3 uv, vec2 offset)
+{
+    const vec4 bitShifts = vec4(1.0, 1.0 / 255.0, 1.0 / 65025.0, 1.0 / 16581375.0);
+    float shadowness = step(uv.z, dot(texture2D(u_shadowTexture, uv.xy + offset), bitShifts));
+    #ifdef shadowStaticTextureFlag
+    shadowness *= step(uv.z, dot(texture2D(u_shadowStaticTexture, uv.xy + offset), bitShifts));
+    #endif //shadowStaticTextureFlag
+    return shadowness;
+}
+
+float getShadow()
+{
+    // Half a texel, the offset is relative to the width of the texture
+    vec2 offset = vec2(u_shadowPCFOffset, u_shadowPCFOffset * float(shadowCascadeColumns) / float(shadowCascadeRows));
+    vec2 tiles = vec2(float(shadowCascadeColumns), float(shadowCascadeRows));
+    vec2 margin = offset * tiles * 4.0;
+    for (int i = 0; i < numCascades; i++) {
+        // The first cascade containing the fragment has the most texels per unit
+        vec3 uv = v_shadowMapUv[i];
+        vec2 tile = vec2(mod(float(i), tiles.x), floor(float(i) / tiles.x));
+        vec2 local = uv.xy * tiles - tile;
+        if (all(greaterThan(local, margin)) && all(lessThan(local, 1.0 - margin))) {
+            return (getShadowness(uv, offset) +
+                    getShadowness(uv, vec2(-offset.x, offset.y)) +
+                    getShadowness(uv, vec2(offset.x, -offset.y)) +
+                    getShadowness(uv, -offset)) * 0.25;
+        }
+    }
+    return 1.0;
+}
+#else
+varying vec3 v_shadowMapUv;
+
 float getShadowness(vec2 offset)
 {
     const vec4 bitShifts = vec4(1.0, 1.0 / 255.0, 1.0 / 65025.0, 1.0 / 16581375.0);
@@ -91,12 +129,75 @@ float getShadow()
 			getShadowness(vec2(u_shadowPCFOffset, -u_shadowPCFOffset)) +
 			getShadowness(vec2(-u_shadowPCFOffset, -u_shadowPCFOffset))) * 0.25;
 }
+#endif //numCascades
 #endif //shadowMapFlag
 
 #if defined(ambientFlag) && defined(separateAmbientFlag)
 varying vec3 v_ambientLight;
 #endif //separateAmbientFlag
 
+#ifdef clusteredLightsFlag
+uniform HIGH sampler2D u_clusterTexture;
+uniform HIGH sampler2D u_clusterLightTexture;
+uniform HIGH sampler2D u_clusterIndexTexture;
+// x, y, tiles per pixel in x and y
+uniform vec4 u_clusterViewport;
+// tiles in x and y, slices, 1 / maximum number of lights
+uniform vec4 u_clusterGrid;
+// camera position, near plane
+uniform HIGH vec4 u_clusterCameraPosition;
+// camera direction, slices per logarithm of the depth divided by the near plane
+uniform HIGH vec4 u_clusterCameraDirection;
+varying HIGH vec3 v_position;
+#ifdef specularFlag
+varying float v_shininess;
+#endif //specularFlag
+
+// Sums the point and spot lights of the cluster of the fragment, attenuated like the per vertex lights
+vec3 getClusteredLight(vec3 normal, out vec3 specular) {
+	HIGH vec3 toFragment = v_position - u_clusterCameraPosition.xyz;
+	HIGH float depth = max(dot(toFragment, u_clusterCameraDirection.xyz), u_clusterCameraPosition.w);
+	vec2 tile = clamp(floor((gl_FragCoord.xy - u_clusterViewport.xy) * u_clusterViewport.zw), vec2(0.0), u_clusterGrid.xy - 1.0);
+	float slice = min(floor(log(depth / u_clusterCameraPosition.w) * u_clusterCameraDirection.w), u_clusterGrid.z - 1.0);
+	HIGH vec4 cluster = texture2D(u_clusterTexture, vec2((tile.y * u_clusterGrid.x + tile.x + 0.5) / (u_clusterGrid.x * u_clusterGrid.y),
+		(slice + 0.5) / u_clusterGrid.z));
+	int count = int(cluster.y + 0.5);
+	vec3 diffuse = vec3(0.0);
+	specular = vec3(0.0);
+	#ifdef specularFlag
+	vec3 viewVec = normalize(-toFragment);
+	#endif //specularFlag
+	for (int i = 0; i < maxClusterLights; i++) {
+		if (i >= count) break;
+		HIGH float index = cluster.x + float(i);
+		HIGH float texel = floor(index * 0.25);
+		HIGH float row = floor(texel / float(clusterIndexWidth));
+		HIGH vec4 indices = texture2D(u_clusterIndexTexture, vec2((texel - row * float(clusterIndexWidth) + 0.5) / float(clusterIndexWidth),
+			(row + 0.5) / float(clusterIndexRows)));
+		HIGH float light = dot(indices, vec4(equal(vec4(index - texel * 4.0), vec4(0.0, 1.0, 2.0, 3.0))));
+		HIGH float v = (light + 0.5) * u_clusterGrid.w;
+		HIGH vec4 position = texture2D(u_clusterLightTexture, vec2(0.5 / 3.0, v));
+		vec4 color = texture2D(u_clusterLightTexture, vec2(1.5 / 3.0, v));
+		vec4 spot = texture2D(u_clusterLightTexture, vec2(2.5 / 3.0, v));
+		HIGH vec3 lightDir = position.xyz - v_position;
+		HIGH float dist2 = dot(lightDir, lightDir);
+		lightDir *= inversesqrt(dist2);
+		// Point lights have a cutoff below -1 and an exponent of 0
+		float cosAngle = dot(-lightDir, spot.xyz);
+		float falloff = cosAngle < spot.w ? 0.0 : (color.w > 0.0 ? pow(max(cosAngle, 0.0), color.w) : 1.0);
+		falloff *= step(dist2, position.w * position.w);
+		float NdotL = clamp(dot(normal, lightDir), 0.0, 1.0);
+		vec3 value = color.rgb * (NdotL * falloff / (1.0 + dist2));
+		diffuse += value;
+		#ifdef specularFlag
+		float halfDotView = max(0.0, dot(normal, normalize(lightDir + viewVec)));
+		specular += value * pow(halfDotView, v_shininess);
+		#endif //specularFlag
+	}
+	return diffuse;
+}
+#endif //clusteredLightsFlag
+
 #endif //lightingFlag
 
 #ifdef fogFlag
@@ -171,6 +272,20 @@ void main() {
 		#endif
 	#endif //lightingFlag
 
+	#ifdef clusteredLightsFlag
+		vec3 clusterSpecular;
+		vec3 clusterDiffuse = getClusteredLight(normalize(normal), clusterSpecular);
+		#if defined(specularTextureFlag) && defined(specularColorFlag)
+			gl_FragColor.rgb += diffuse.rgb * clusterDiffuse + texture2D(u_specularTexture, v_specularUV).rgb * u_specularColor.rgb * clusterSpecular;
+		#elif defined(specularTextureFlag)
+			gl_FragColor.rgb += diffuse.rgb * clusterDiffuse + texture2D(u_specularTexture, v_specularUV).rgb * clusterSpecular;
+		#elif defined(specularColorFlag)
+			gl_FragColor.rgb += diffuse.rgb * clusterDiffuse + u_specularColor.rgb * clusterSpecular;
+		#else
+			gl_FragColor.rgb += diffuse.rgb * clusterDiffuse;
+		#endif
+	#endif //clusteredLightsFlag
+
 	#ifdef fogFlag
 		gl_FragColor.rgb = mix(gl_FragColor.rgb, u_fogColor.rgb, v_fog);
 	#endif // end fogFlag
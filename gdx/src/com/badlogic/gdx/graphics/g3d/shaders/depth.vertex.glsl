@@ -70,7 +70,25 @@ attribute vec2 a_boneWeight7;
 
 #if defined(numBones)
 #if numBones > 0
+#ifdef boneTextureFlag
+uniform sampler2D u_boneTexture;
+uniform float u_boneOffset;
+
+mat4 getBone(float index) {
+	float i = u_boneOffset + index;
+	float row = floor(i / 256.0);
+	float x = (i - row * 256.0) * 4.0 / 1024.0;
+	float y = (row + 0.5) / float(boneTextureRows);
+	return mat4(
+		texture2D(u_boneTexture, vec2(x + 0.5 / 1024.0, y)),
+		texture2D(u_boneTexture, vec2(x + 1.5 / 1024.0, y)),
+		texture2D(u_boneTexture, vec2(x + 2.5 / 1024.0, y)),
+		texture2D(u_boneTexture, vec2(x + 3.5 / 1024.0, y)));
+}
+#else
 uniform mat4 u_bones[numBones];
+#define getBone(index) u_bones[int(index)]
+#endif //boneTextureFlag
 #endif //numBones
 #endif
 
@@ -86,28 +104,28 @@ void main() {
 	#ifdef skinningFlag
 		mat4 skinning = mat4(0.0);
 		#ifdef boneWeight0Flag
-			skinning += (a_boneWeight0.y) * u_bones[int(a_boneWeight0.x)];
+			skinning += (a_boneWeight0.y) * getBone(a_boneWeight0.x);
 		#endif //boneWeight0Flag
 		#ifdef boneWeight1Flag				
-			skinning += (a_boneWeight1.y) * u_bones[int(a_boneWeight1.x)];
+			skinning += (a_boneWeight1.y) * getBone(a_boneWeight1.x);
 		#endif //boneWeight1Flag
 		#ifdef boneWeight2Flag		
-			skinning += (a_boneWeight2.y) * u_bones[int(a_boneWeight2.x)];
+			skinning += (a_boneWeight2.y) * getBone(a_boneWeight2.x);
 		#endif //boneWeight2Flag
 		#ifdef boneWeight3Flag
-			skinning += (a_boneWeight3.y) * u_bones[int(a_boneWeight3.x)];
+			skinning += (a_boneWeight3.y) * getBone(a_boneWeight3.x);
 		#endif //boneWeight3Flag
 		#ifdef boneWeight4Flag
-			skinning += (a_boneWeight4.y) * u_bones[int(a_boneWeight4.x)];
+			skinning += (a_boneWeight4.y) * getBone(a_boneWeight4.x);
 		#endif //boneWeight4Flag
 		#ifdef boneWeight5Flag
-			skinning += (a_boneWeight5.y) * u_bones[int(a_boneWeight5.x)];
+			skinning += (a_boneWeight5.y) * getBone(a_boneWeight5.x);
 		#endif //boneWeight5Flag
 		#ifdef boneWeight6Flag
-			skinning += (a_boneWeight6.y) * u_bones[int(a_boneWeight6.x)];
+			skinning += (a_boneWeight6.y) * getBone(a_boneWeight6.x);
 		#endif //boneWeight6Flag
 		#ifdef boneWeight7Flag
-			skinning += (a_boneWeight7.y) * u_bones[int(a_boneWeight7.x)];
+			skinning += (a_boneWeight7.y) * getBone(a_boneWeight7.x);
 		#endif //boneWeight7Flag
 	#endif //skinningFlag
 
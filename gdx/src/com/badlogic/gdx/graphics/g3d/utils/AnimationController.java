@@ -20,8 +20,12 @@ import com.badlogic.gdx.graphics.g3d.ModelInstance;
 import com.badlogic.gdx.graphics.g3d.model.Animation;
 import com.badlogic.gdx.graphics.g3d.model.Node;
 import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.GdxRuntimeException;
 import com.badlogic.gdx.utils.Pool;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.badlogic.gdx.utils.async.AsyncTask;
 
 /** Class to control one or more {@link Animation}s on a {@link ModelInstance}. Use the
  * {@link #setAnimation(String, int, float, AnimationListener)} method to change the current animation. Use the
@@ -163,6 +167,31 @@ public class AnimationController extends BaseAnimationController {
 		return obtain(anim.animation, anim.offset, anim.duration, anim.loopCount, anim.speed, anim.listener);
 	}
 
+	/** Calls {@link #update(float)} on all the controllers, distributed over the threads of the executor, and waits until all
+	 * controllers are updated. Each controller must animate a different {@link ModelInstance}. The {@link AnimationListener}s are
+	 * called on the thread which updates the controller. Baked animations, see {@link #bakeAnimation(Animation, float)}, are
+	 * recommended for many controllers.
+	 * @param delta The time elapsed since last update, change this to alter the overall speed (can be negative).
+	 * @param controllersPerTask the number of controllers updated by a single task */
+	public static void update (Array<? extends AnimationController> controllers, float delta, AsyncExecutor executor,
+		int controllersPerTask) {
+		if (controllersPerTask < 1) throw new IllegalArgumentException("controllersPerTask must be > 0: " + controllersPerTask);
+		final int n = controllers.size;
+		if (n <= controllersPerTask) {
+			for (int i = 0; i < n; i++)
+				controllers.get(i).update(delta);
+			return;
+		}
+		final Array<AsyncResult<Void>> results = new Array<AsyncResult<Void>>(false, n / controllersPerTask + 1);
+		for (int start = controllersPerTask; start < n; start += controllersPerTask)
+			results.add(executor.submit(new UpdateTask(controllers, delta, start, Math.min(n, start + controllersPerTask))));
+		// The first range is updated on this thread
+		for (int i = 0; i < controllersPerTask; i++)
+			controllers.get(i).update(delta);
+		for (int i = 0; i < results.size; i++)
+			results.get(i).get();
+	}
+
 	/** Update any animations currently being played.
 	 * @param delta The time elapsed since last update, change this to alter the overall speed (can be negative). */
 	public void update (float delta) {
@@ -486,4 +515,24 @@ public class AnimationController extends BaseAnimationController {
 		}
 		return anim;
 	}
+
+	static private class UpdateTask implements AsyncTask<Void> {
+		private final Array<? extends AnimationController> controllers;
+		private final float delta;
+		private final int start, end;
+
+		public UpdateTask (Array<? extends AnimationController> controllers, float delta, int start, int end) {
+			this.controllers = controllers;
+			this.delta = delta;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		public Void call () throws Exception {
+			for (int i = start; i < end; i++)
+				controllers.get(i).update(delta);
+			return null;
+		}
+	}
 }
@@ -16,10 +16,12 @@
 
 package com.badlogic.gdx.graphics.g3d.utils;
 
+import com.badlogic.gdx.graphics.g3d.Model;
 import com.badlogic.gdx.graphics.g3d.ModelInstance;
 import com.badlogic.gdx.graphics.g3d.model.Animation;
 import com.badlogic.gdx.graphics.g3d.model.Node;
 import com.badlogic.gdx.graphics.g3d.model.NodeAnimation;
+import com.badlogic.gdx.graphics.g3d.model.NodeHierarchy;
 import com.badlogic.gdx.graphics.g3d.model.NodeKeyframe;
 import com.badlogic.gdx.math.Matrix4;
 import com.badlogic.gdx.math.Quaternion;
@@ -95,7 +97,8 @@ public class BaseAnimationController {
 			return new Transform();
 		}
 	};
-	private final static ObjectMap<Node, Transform> transforms = new ObjectMap<Node, Transform>();
+	private final ObjectMap<Node, Transform> transforms = new ObjectMap<Node, Transform>();
+	private final Transform tmpTransform = new Transform();
 	private boolean applying = false;
 	/** The {@link ModelInstance} on which the animations are being performed. */
 	public final ModelInstance target;
@@ -117,7 +120,7 @@ public class BaseAnimationController {
 	 * @param weight The blend weight of this animation relative to the previous applied animations. */
 	protected void apply (final Animation animation, final float time, final float weight) {
 		if (!applying) throw new GdxRuntimeException("You must call begin() before adding an animation");
-		applyAnimation(transforms, transformPool, weight, animation, time);
+		applyAnimation(transforms, transformPool, weight, animation, time, tmpTransform);
 	}
 
 	/** End applying multiple animations to the instance and update it to reflect the changes. */
@@ -135,7 +138,7 @@ public class BaseAnimationController {
 	/** Apply a single animation to the {@link ModelInstance} and update the it to reflect the changes. */
 	protected void applyAnimation (final Animation animation, final float time) {
 		if (applying) throw new GdxRuntimeException("Call end() first");
-		applyAnimation(null, null, 1.f, animation, time);
+		applyAnimation(null, null, 1.f, animation, time, tmpTransform);
 		target.calculateTransforms();
 	}
 
@@ -216,27 +219,78 @@ public class BaseAnimationController {
 		return out;
 	}
 
-	private final static Transform getNodeAnimationTransform (final NodeAnimation nodeAnim, final float time) {
-		final Transform transform = tmpT;
+	private final static Transform getNodeAnimationTransform (final NodeAnimation nodeAnim, final float sampleRate,
+		final float duration, final float time, final Transform transform) {
+		if (sampleRate > 0f && nodeAnim.samples != null)
+			return getSampledTransform(nodeAnim, sampleRate, duration, time, transform);
 		getTranslationAtTime(nodeAnim, time, transform.translation);
 		getRotationAtTime(nodeAnim, time, transform.rotation);
 		getScalingAtTime(nodeAnim, time, transform.scale);
 		return transform;
 	}
 
-	private final static void applyNodeAnimationDirectly (final NodeAnimation nodeAnim, final float time) {
+	/** Interpolates between the two {@link NodeAnimation#samples} around the time, see {@link #bakeAnimation(Animation, float)}. */
+	private final static Transform getSampledTransform (final NodeAnimation nodeAnim, final float sampleRate,
+		final float duration, final float time, final Transform transform) {
+		final float[] samples = nodeAnim.samples;
+		final int last = samples.length / NodeHierarchy.TRS_SIZE - 1;
+		final float frame = time * sampleRate;
+		int index = (int)frame;
+		float t = frame - index;
+		if (frame <= 0f) {
+			index = 0;
+			t = 0f;
+		} else if (index >= last) {
+			index = last;
+			t = 0f;
+		} else if (index == last - 1) {
+			// The last sample is at the end of the animation, so the last interval can be shorter than the others.
+			t = Math.min(1f, t / (duration * sampleRate - index));
+		}
+		final int a = index * NodeHierarchy.TRS_SIZE;
+		final int b = t > 0f ? a + NodeHierarchy.TRS_SIZE : a;
+		final float s = 1f - t;
+
+		if (nodeAnim.translation == null)
+			transform.translation.set(nodeAnim.node.translation);
+		else
+			transform.translation.set(s * samples[a] + t * samples[b], s * samples[a + 1] + t * samples[b + 1],
+				s * samples[a + 2] + t * samples[b + 2]);
+
+		if (nodeAnim.rotation == null)
+			transform.rotation.set(nodeAnim.node.rotation);
+		else {
+			// Normalized lerp, the samples are close enough to each other
+			final float dot = samples[a + 3] * samples[b + 3] + samples[a + 4] * samples[b + 4] + samples[a + 5] * samples[b + 5]
+				+ samples[a + 6] * samples[b + 6];
+			final float tr = dot < 0f ? -t : t;
+			transform.rotation.set(s * samples[a + 3] + tr * samples[b + 3], s * samples[a + 4] + tr * samples[b + 4],
+				s * samples[a + 5] + tr * samples[b + 5], s * samples[a + 6] + tr * samples[b + 6]).nor();
+		}
+
+		if (nodeAnim.scaling == null)
+			transform.scale.set(nodeAnim.node.scale);
+		else
+			transform.scale.set(s * samples[a + 7] + t * samples[b + 7], s * samples[a + 8] + t * samples[b + 8],
+				s * samples[a + 9] + t * samples[b + 9]);
+		return transform;
+	}
+
+	private final static void applyNodeAnimationDirectly (final NodeAnimation nodeAnim, final float sampleRate,
+		final float duration, final float time, final Transform tmp) {
 		final Node node = nodeAnim.node;
 		node.isAnimated = true;
-		final Transform transform = getNodeAnimationTransform(nodeAnim, time);
+		final Transform transform = getNodeAnimationTransform(nodeAnim, sampleRate, duration, time, tmp);
 		transform.toMatrix4(node.localTransform);
 	}
 
 	private final static void applyNodeAnimationBlending (final NodeAnimation nodeAnim, final ObjectMap<Node, Transform> out,
-		final Pool<Transform> pool, final float alpha, final float time) {
+		final Pool<Transform> pool, final float alpha, final float sampleRate, final float duration, final float time,
+		final Transform tmp) {
 
 		final Node node = nodeAnim.node;
 		node.isAnimated = true;
-		final Transform transform = getNodeAnimationTransform(nodeAnim, time);
+		final Transform transform = getNodeAnimationTransform(nodeAnim, sampleRate, duration, time, tmp);
 
 		Transform t = out.get(node, null);
 		if (t != null) {
@@ -252,18 +306,25 @@ public class BaseAnimationController {
 		}
 	}
 
-	/** Helper method to apply one animation to either an objectmap for blending or directly to the bones. */
+	/** Helper method to apply one animation to either an objectmap for blending or directly to the bones. This method is not
+	 * thread safe, each controller uses its own temporary transform instead. */
 	protected static void applyAnimation (final ObjectMap<Node, Transform> out, final Pool<Transform> pool, final float alpha,
 		final Animation animation, final float time) {
+		applyAnimation(out, pool, alpha, animation, time, tmpT);
+	}
 
+	private static void applyAnimation (final ObjectMap<Node, Transform> out, final Pool<Transform> pool, final float alpha,
+		final Animation animation, final float time, final Transform tmp) {
+		final Array<NodeAnimation> nodeAnimations = animation.nodeAnimations;
+		final float sampleRate = animation.sampleRate, duration = animation.duration;
 		if (out == null) {
-			for (final NodeAnimation nodeAnim : animation.nodeAnimations)
-				applyNodeAnimationDirectly(nodeAnim, time);
+			for (int i = 0, n = nodeAnimations.size; i < n; i++)
+				applyNodeAnimationDirectly(nodeAnimations.get(i), sampleRate, duration, time, tmp);
 		} else {
 			for (final Node node : out.keys())
 				node.isAnimated = false;
-			for (final NodeAnimation nodeAnim : animation.nodeAnimations)
-				applyNodeAnimationBlending(nodeAnim, out, pool, alpha, time);
+			for (int i = 0, n = nodeAnimations.size; i < n; i++)
+				applyNodeAnimationBlending(nodeAnimations.get(i), out, pool, alpha, sampleRate, duration, time, tmp);
 			for (final ObjectMap.Entry<Node, Transform> e : out.entries()) {
 				if (!e.key.isAnimated) {
 					e.key.isAnimated = true;
@@ -273,6 +334,35 @@ public class BaseAnimationController {
 		}
 	}
 
+	/** Resamples the keyframes of all {@link NodeAnimation}s of the animation at a fixed rate into {@link NodeAnimation#samples}.
+	 * Applying a baked animation only needs an index and a linear interpolation per node instead of searching the keyframes. The
+	 * rotation is interpolated linearly between the samples, so the sample rate should be high enough for the samples to be close
+	 * to each other. Baking is best done once when loading the model, see {@link Model#bakeAnimations(float)}.
+	 * @param sampleRate the number of samples per second, e.g. 30 */
+	public static void bakeAnimation (final Animation animation, final float sampleRate) {
+		if (sampleRate <= 0f) throw new IllegalArgumentException("sampleRate must be > 0: " + sampleRate);
+		final int sampleCount = Math.max(1, (int)Math.ceil(animation.duration * sampleRate) + 1);
+		final Transform transform = new Transform();
+		for (final NodeAnimation nodeAnim : animation.nodeAnimations) {
+			final float[] samples = new float[sampleCount * NodeHierarchy.TRS_SIZE];
+			for (int i = 0, s = 0; i < sampleCount; i++, s += NodeHierarchy.TRS_SIZE) {
+				getNodeAnimationTransform(nodeAnim, 0f, 0f, Math.min(i / sampleRate, animation.duration), transform);
+				samples[s] = transform.translation.x;
+				samples[s + 1] = transform.translation.y;
+				samples[s + 2] = transform.translation.z;
+				samples[s + 3] = transform.rotation.x;
+				samples[s + 4] = transform.rotation.y;
+				samples[s + 5] = transform.rotation.z;
+				samples[s + 6] = transform.rotation.w;
+				samples[s + 7] = transform.scale.x;
+				samples[s + 8] = transform.scale.y;
+				samples[s + 9] = transform.scale.z;
+			}
+			nodeAnim.samples = samples;
+		}
+		animation.sampleRate = sampleRate;
+	}
+
 	/** Remove the specified animation, by marking the affected nodes as not animated. When switching animation, this should be call
 	 * prior to applyAnimation(s). */
 	protected void removeAnimation (final Animation animation) {
@@ -0,0 +1,152 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g3d.utils;
+
+import java.nio.FloatBuffer;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g3d.Renderable;
+import com.badlogic.gdx.graphics.g3d.shaders.DefaultShader;
+import com.badlogic.gdx.graphics.glutils.FloatTextureData;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.ObjectIntMap;
+
+/** A float texture holding the bone matrices of all skinned {@link Renderable}s rendered in a frame, set it as
+ * {@link DefaultShader.Config#boneTexture} to skin in the shader without the uniform limit of {@link DefaultShader.Config#numBones}.
+ * Each matrix takes four RGBA texels, {@link #MATRICES_PER_ROW} matrices are stored per row.
+ * <p>
+ * The bones of each {@link Renderable#bones} array are uploaded once per frame, renderables sharing the same array share the
+ * matrices. When the texture is full the matrices are written from the start again, which is safe because the matrices of the
+ * renderables rendered before are not needed anymore. Multiple shaders can share the same bone texture.
+ * <p>
+ * Requires float textures (OpenGL ES 3.0, OES_texture_float or GL_ARB_texture_float) and texture fetches in the vertex shader.
+ * Should only be used on the rendering thread. */
+public class BoneTexture implements Disposable {
+	/** The number of matrices per row of the texture. */
+	public static final int MATRICES_PER_ROW = 256;
+	/** The width of the texture in texels. */
+	public static final int WIDTH = MATRICES_PER_ROW * 4;
+	private static final Matrix4 idtMatrix = new Matrix4();
+
+	private final Texture texture;
+	private final FloatBuffer buffer;
+	private final int capacity;
+	private final ObjectIntMap<Matrix4[]> offsets = new ObjectIntMap<Matrix4[]>();
+	private int size, uploaded;
+	private long frameId = -1;
+
+	/** @param rows the height of the texture, each row holds {@link #MATRICES_PER_ROW} matrices. */
+	public BoneTexture (int rows) {
+		if (rows < 1) throw new IllegalArgumentException("rows must be > 0: " + rows);
+		final FloatTextureData data = new FloatTextureData(WIDTH, rows);
+		texture = new Texture(data);
+		buffer = data.getBuffer();
+		capacity = rows * MATRICES_PER_ROW;
+	}
+
+	/** Adds the bones to the texture, unless they were already added in this frame. Call {@link #update()} to upload the added
+	 * bones. The shader calls this automatically for each rendered renderable.
+	 * @param bones the bone matrices, null matrices are replaced by the identity matrix
+	 * @return the index of the first matrix in the texture */
+	public int add (final Matrix4[] bones) {
+		final long frameId = Gdx.graphics.getFrameId();
+		if (this.frameId != frameId) {
+			this.frameId = frameId;
+			clear();
+		}
+		int offset = offsets.get(bones, -1);
+		if (offset >= 0) return offset;
+		if (bones.length > capacity) throw new IllegalArgumentException("Too many bones: " + bones.length + " > " + capacity);
+		if (size + bones.length > capacity) {
+			// Matrices pending upload are needed by renderables which are not rendered yet
+			if (uploaded < size) update();
+			clear();
+		}
+		offset = size;
+		final FloatBuffer buffer = this.buffer;
+		buffer.position(offset * 16);
+		for (int i = 0; i < bones.length; i++)
+			buffer.put(bones[i] == null ? idtMatrix.val : bones[i].val);
+		size += bones.length;
+		offsets.put(bones, offset);
+		return offset;
+	}
+
+	/** Binds the texture and uploads the matrices added since the last upload. */
+	public void update () {
+		texture.bind();
+		upload();
+	}
+
+	/** Uploads the matrices added since the last upload to the texture, which must be bound to the active texture unit. */
+	public void upload () {
+		if (uploaded >= size) return;
+		int start = uploaded, end = size;
+		while (start < end) {
+			final int row = start / MATRICES_PER_ROW;
+			final int column = start % MATRICES_PER_ROW;
+			int count;
+			int height = 1;
+			if (column == 0 && end - start >= MATRICES_PER_ROW) {
+				// Upload all the complete rows at once
+				height = (end - start) / MATRICES_PER_ROW;
+				count = height * MATRICES_PER_ROW;
+			} else
+				count = Math.min(MATRICES_PER_ROW - column, end - start);
+			buffer.position(start * 16);
+			buffer.limit((start + count) * 16);
+			Gdx.gl.glTexSubImage2D(GL20.GL_TEXTURE_2D, 0, column * 4, row, height == 1 ? count * 4 : WIDTH, height, GL20.GL_RGBA,
+				GL20.GL_FLOAT, buffer);
+			start += count;
+		}
+		buffer.clear();
+		uploaded = size;
+	}
+
+	/** Removes all bones, the next added bones start at the first matrix. */
+	public void clear () {
+		offsets.clear();
+		size = uploaded = 0;
+	}
+
+	/** @return the number of matrices added in this frame */
+	public int getSize () {
+		return size;
+	}
+
+	/** @return the maximum number of matrices */
+	public int getCapacity () {
+		return capacity;
+	}
+
+	/** @return the number of rows of the texture */
+	public int getRows () {
+		return capacity / MATRICES_PER_ROW;
+	}
+
+	public Texture getTexture () {
+		return texture;
+	}
+
+	@Override
+	public void dispose () {
+		texture.dispose();
+	}
+}
@@ -0,0 +1,469 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g3d.utils;
+
+import java.util.Arrays;
+
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.g3d.ModelBatch;
+import com.badlogic.gdx.graphics.g3d.ModelInstance;
+import com.badlogic.gdx.graphics.g3d.RenderableProvider;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Plane;
+import com.badlogic.gdx.math.collision.BoundingBox;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.badlogic.gdx.utils.RadixSort;
+
+/** A {@link RenderableCuller} keeping its providers in a bounding volume hierarchy, so the frustum of the camera is tested
+ * against groups of providers instead of every single one. Set it with {@link ModelBatch#setCuller(RenderableCuller)} and keep
+ * rendering all providers as before, the batch skips the ones which are culled.
+ * <p>
+ * The world bounds of the providers are cached. Call {@link #update(ModelInstance)} after moving a model instance, or
+ * {@link #update(RenderableProvider, BoundingBox)} for other providers. Moving providers only refits the hierarchy, adding and
+ * removing providers rebuilds it on the next {@link #begin(Camera)}.
+ * <p>
+ * Optionally an {@link OcclusionBuffer} can be set to also cull the providers hidden behind the providers marked as occluders.
+ * The occluders in the frustum are rasterized nearest first, up to {@link #maxOccluders}, then the remaining providers in the
+ * frustum are tested against the buffer. */
+public class BvhCuller implements RenderableCuller {
+	/** The maximum number of providers in a leaf node. */
+	private static final int LEAF_SIZE = 4;
+
+	/** The maximum number of occluders rasterized per frame. */
+	public int maxOccluders = 64;
+
+	private final ObjectIntMap<RenderableProvider> indices = new ObjectIntMap<RenderableProvider>();
+	private RenderableProvider[] providers = new RenderableProvider[16];
+	private Matrix4[] transforms = new Matrix4[16];
+	/** Minimum x, y, z and maximum x, y, z per provider, in world space and in model space for model instances. */
+	private float[] bounds = new float[16 * 6], localBounds = new float[16 * 6];
+	private boolean[] occluders = new boolean[16], visible = new boolean[16];
+	private int size;
+
+	/** The provider indices, the providers of a node are stored consecutively. */
+	private int[] items = new int[0];
+	private float[] nodeBounds = new float[0];
+	/** Per node the first item, the number of items and the first of its two children, or -1 for a leaf. */
+	private int[] nodeStart = new int[0], nodeCount = new int[0], nodeChild = new int[0];
+	private int nodes;
+	private boolean rebuild, refit;
+
+	private OcclusionBuffer occlusionBuffer;
+	private int[] stack = new int[64];
+	private int[] candidates = new int[0];
+	private long[] keys = new long[0];
+	private int[] values = new int[0];
+	private final RadixSort sort = new RadixSort();
+	private final BoundingBox tmpBounds = new BoundingBox();
+
+	private int visibleCount, frustumCulledCount, occludedCount, nodesTested;
+
+	/** Adds the model instance, its bounds are calculated from its nodes and its {@link ModelInstance#transform}.
+	 * @param occluder whether the bounds of the instance are solid and hide the providers behind it */
+	public void add (ModelInstance instance, boolean occluder) {
+		final int index = add(instance, instance.calculateBoundingBox(tmpBounds), occluder);
+		transforms[index] = instance.transform;
+		set(localBounds, index, tmpBounds);
+		update(instance);
+	}
+
+	/** Adds the model instance, which is no occluder. */
+	public void add (ModelInstance instance) {
+		add(instance, false);
+	}
+
+	/** Adds a provider with the specified world bounds.
+	 * @param occluder whether the bounds are solid and hide the providers behind it
+	 * @return the index of the provider */
+	public int add (RenderableProvider provider, BoundingBox worldBounds, boolean occluder) {
+		if (indices.containsKey(provider)) throw new IllegalArgumentException("Provider already added: " + provider);
+		if (size == providers.length) resize(size << 1);
+		final int index = size++;
+		providers[index] = provider;
+		transforms[index] = null;
+		occluders[index] = occluder;
+		visible[index] = true;
+		set(bounds, index, worldBounds);
+		Arrays.fill(localBounds, index * 6, index * 6 + 6, 0);
+		indices.put(provider, index);
+		rebuild = true;
+		return index;
+	}
+
+	/** Removes the provider, which is visible afterwards.
+	 * @return false if the provider was not added */
+	public boolean remove (RenderableProvider provider) {
+		final int index = indices.remove(provider, -1);
+		if (index < 0) return false;
+		final int last = --size;
+		if (index != last) {
+			providers[index] = providers[last];
+			transforms[index] = transforms[last];
+			occluders[index] = occluders[last];
+			visible[index] = visible[last];
+			System.arraycopy(bounds, last * 6, bounds, index * 6, 6);
+			System.arraycopy(localBounds, last * 6, localBounds, index * 6, 6);
+			indices.put(providers[index], index);
+		}
+		providers[last] = null;
+		transforms[last] = null;
+		Arrays.fill(localBounds, last * 6, last * 6 + 6, 0);
+		rebuild = true;
+		return true;
+	}
+
+	/** Removes all providers. */
+	public void clear () {
+		for (int i = 0; i < size; i++) {
+			providers[i] = null;
+			transforms[i] = null;
+		}
+		indices.clear();
+		size = 0;
+		nodes = 0;
+		rebuild = refit = false;
+	}
+
+	/** Updates the world bounds of the model instance from its current {@link ModelInstance#transform}. Call
+	 * {@link #updateLocalBounds(ModelInstance)} instead if its nodes changed as well.
+	 * @throws IllegalArgumentException if the instance was added with world bounds, use
+	 *            {@link #update(RenderableProvider, BoundingBox)} for it. */
+	public void update (ModelInstance instance) {
+		final int index = modelIndex(instance);
+		BoundingBox.mul(localBounds, index * 6, instance.transform.val, 0, bounds, index * 6, 1);
+		refit = true;
+	}
+
+	/** Recalculates the bounds of the model instance from its nodes, for example after it was animated, and updates its world
+	 * bounds. */
+	public void updateLocalBounds (ModelInstance instance) {
+		final int index = modelIndex(instance);
+		set(localBounds, index, instance.calculateBoundingBox(tmpBounds));
+		update(instance);
+	}
+
+	private int modelIndex (ModelInstance instance) {
+		final int index = indices.get(instance, -1);
+		if (index < 0) throw new IllegalArgumentException("Instance not added: " + instance);
+		if (transforms[index] == null) throw new IllegalArgumentException("Instance was added with world bounds: " + instance);
+		return index;
+	}
+
+	/** Updates the world bounds of all the added model instances from their current transforms. */
+	public void updateTransforms () {
+		for (int i = 0; i < size; i++)
+			if (transforms[i] != null) BoundingBox.mul(localBounds, i * 6, transforms[i].val, 0, bounds, i * 6, 1);
+		refit = true;
+	}
+
+	/** Sets the world bounds of a provider. */
+	public void update (RenderableProvider provider, BoundingBox worldBounds) {
+		final int index = indices.get(provider, -1);
+		if (index < 0) throw new IllegalArgumentException("Provider not added: " + provider);
+		set(bounds, index, worldBounds);
+		refit = true;
+	}
+
+	/** @param occlusionBuffer the buffer used to cull hidden providers, or null to only cull against the frustum. */
+	public void setOcclusionBuffer (OcclusionBuffer occlusionBuffer) {
+		this.occlusionBuffer = occlusionBuffer;
+	}
+
+	public OcclusionBuffer getOcclusionBuffer () {
+		return occlusionBuffer;
+	}
+
+	@Override
+	public void begin (Camera camera) {
+		if (rebuild)
+			build();
+		else if (refit) refit();
+		rebuild = refit = false;
+
+		final boolean[] visible = this.visible;
+		for (int i = 0; i < size; i++)
+			visible[i] = false;
+		final int count = cullFrustum(camera.frustum.planes);
+		final int[] candidates = this.candidates;
+		frustumCulledCount = size - count;
+		visibleCount = count;
+		occludedCount = 0;
+
+		if (occlusionBuffer == null || maxOccluders <= 0) {
+			for (int i = 0; i < count; i++)
+				visible[candidates[i]] = true;
+			return;
+		}
+
+		// Rasterize the nearest occluders first
+		final float cx = camera.position.x, cy = camera.position.y, cz = camera.position.z;
+		final float[] bounds = this.bounds;
+		int occluderCount = 0;
+		for (int i = 0; i < count; i++) {
+			final int index = candidates[i];
+			if (!occluders[index]) continue;
+			final int b = index * 6;
+			final float dx = (bounds[b] + bounds[b + 3]) * 0.5f - cx;
+			final float dy = (bounds[b + 1] + bounds[b + 4]) * 0.5f - cy;
+			final float dz = (bounds[b + 2] + bounds[b + 5]) * 0.5f - cz;
+			keys[occluderCount] = RadixSort.floatToKey(dx * dx + dy * dy + dz * dz);
+			values[occluderCount++] = index;
+		}
+		sort.sort(keys, values, occluderCount);
+		occlusionBuffer.begin(camera.combined);
+		for (int i = 0, n = Math.min(occluderCount, maxOccluders); i < n; i++)
+			occlusionBuffer.addOccluder(bounds, values[i] * 6);
+
+		for (int i = 0; i < count; i++) {
+			final int index = candidates[i];
+			if (occlusionBuffer.isVisible(bounds, index * 6))
+				visible[index] = true;
+			else
+				occludedCount++;
+		}
+		visibleCount = count - occludedCount;
+	}
+
+	/** Collects the indices of the providers intersecting the frustum in {@link #candidates}.
+	 * @return the number of providers */
+	private int cullFrustum (Plane[] planes) {
+		int count = 0;
+		nodesTested = 0;
+		if (nodes == 0) return 0;
+		final int[] candidates = this.candidates, items = this.items;
+		final int[] nodeStart = this.nodeStart, nodeCount = this.nodeCount, nodeChild = this.nodeChild;
+		int[] stack = this.stack;
+		int top = 0;
+		stack[top++] = 0;
+		while (top > 0) {
+			final int node = stack[--top];
+			nodesTested++;
+			final int result = classify(planes, nodeBounds, node * 6);
+			if (result < 0) continue;
+			final int child = nodeChild[node];
+			if (result > 0 || child < 0) {
+				// Completely inside, or a leaf whose items are tested one by one
+				for (int i = nodeStart[node], n = i + nodeCount[node]; i < n; i++) {
+					final int index = items[i];
+					if (result > 0 || classify(planes, bounds, index * 6) >= 0) candidates[count++] = index;
+				}
+				continue;
+			}
+			if (top + 2 > stack.length) {
+				int[] newStack = new int[stack.length << 1];
+				System.arraycopy(stack, 0, newStack, 0, top);
+				this.stack = stack = newStack;
+			}
+			stack[top++] = child + 1;
+			stack[top++] = child;
+		}
+		return count;
+	}
+
+	/** @return -1 if the box is outside the frustum, 1 if it is completely inside and 0 if it intersects the frustum. */
+	private static int classify (Plane[] planes, float[] bounds, int b) {
+		int result = 1;
+		for (int p = 0; p < 6; p++) {
+			final Plane plane = planes[p];
+			final float nx = plane.normal.x, ny = plane.normal.y, nz = plane.normal.z;
+			final float d = plane.d;
+			if (nx * (nx >= 0 ? bounds[b + 3] : bounds[b]) + ny * (ny >= 0 ? bounds[b + 4] : bounds[b + 1])
+				+ nz * (nz >= 0 ? bounds[b + 5] : bounds[b + 2]) + d < 0) return -1;
+			if (nx * (nx >= 0 ? bounds[b] : bounds[b + 3]) + ny * (ny >= 0 ? bounds[b + 1] : bounds[b + 4])
+				+ nz * (nz >= 0 ? bounds[b + 2] : bounds[b + 5]) + d < 0) result = 0;
+		}
+		return result;
+	}
+
+	@Override
+	public boolean isVisible (RenderableProvider provider) {
+		final int index = indices.get(provider, -1);
+		return index < 0 || visible[index];
+	}
+
+	/** @return the number of providers which were visible at the last {@link #begin(Camera)}. */
+	public int getVisibleCount () {
+		return visibleCount;
+	}
+
+	/** @return the number of providers which were culled at the last {@link #begin(Camera)}, outside the frustum or occluded. */
+	public int getCulledCount () {
+		return frustumCulledCount + occludedCount;
+	}
+
+	/** @return the number of providers which were outside the frustum at the last {@link #begin(Camera)}. */
+	public int getFrustumCulledCount () {
+		return frustumCulledCount;
+	}
+
+	/** @return the number of providers in the frustum which were hidden behind occluders at the last {@link #begin(Camera)}. */
+	public int getOccludedCount () {
+		return occludedCount;
+	}
+
+	/** @return the number of hierarchy nodes tested against the frustum at the last {@link #begin(Camera)}. */
+	public int getNodesTested () {
+		return nodesTested;
+	}
+
+	/** @return the number of added providers. */
+	public int size () {
+		return size;
+	}
+
+	private void build () {
+		final int size = this.size;
+		if (items.length < size) {
+			items = new int[size];
+			candidates = new int[size];
+			keys = new long[size];
+			values = new int[size];
+		}
+		// A binary tree with at least one item per leaf has at most 2n - 1 nodes
+		final int maxNodes = Math.max(1, size * 2 - 1);
+		if (nodeStart.length < maxNodes) {
+			nodeStart = new int[maxNodes];
+			nodeCount = new int[maxNodes];
+			nodeChild = new int[maxNodes];
+			nodeBounds = new float[maxNodes * 6];
+		}
+		for (int i = 0; i < size; i++)
+			items[i] = i;
+		nodes = 0;
+		if (size == 0) return;
+		nodes = 1;
+		build(0, 0, size);
+	}
+
+	private void build (int node, int start, int count) {
+		nodeStart[node] = start;
+		nodeCount[node] = count;
+		nodeChild[node] = -1;
+		calculateBounds(node);
+		if (count <= LEAF_SIZE) return;
+
+		// Split at the middle of the longest axis of the centers
+		final int[] items = this.items;
+		final float[] bounds = this.bounds;
+		float minX = Float.POSITIVE_INFINITY, minY = minX, minZ = minX;
+		float maxX = Float.NEGATIVE_INFINITY, maxY = maxX, maxZ = maxX;
+		for (int i = start, n = start + count; i < n; i++) {
+			final int b = items[i] * 6;
+			final float x = bounds[b] + bounds[b + 3], y = bounds[b + 1] + bounds[b + 4], z = bounds[b + 2] + bounds[b + 5];
+			if (x < minX) minX = x;
+			if (x > maxX) maxX = x;
+			if (y < minY) minY = y;
+			if (y > maxY) maxY = y;
+			if (z < minZ) minZ = z;
+			if (z > maxZ) maxZ = z;
+		}
+		final float sizeX = maxX - minX, sizeY = maxY - minY, sizeZ = maxZ - minZ;
+		final int axis = sizeX >= sizeY && sizeX >= sizeZ ? 0 : (sizeY >= sizeZ ? 1 : 2);
+		final float mid = axis == 0 ? (minX + maxX) * 0.5f : (axis == 1 ? (minY + maxY) * 0.5f : (minZ + maxZ) * 0.5f);
+		int left = start, right = start + count - 1;
+		while (left <= right) {
+			final int b = items[left] * 6;
+			if (bounds[b + axis] + bounds[b + 3 + axis] < mid)
+				left++;
+			else {
+				final int tmp = items[left];
+				items[left] = items[right];
+				items[right--] = tmp;
+			}
+		}
+		int leftCount = left - start;
+		// All centers on one side, for example when they are equal, split in half
+		if (leftCount == 0 || leftCount == count) leftCount = count >> 1;
+
+		final int child = nodes;
+		nodes += 2;
+		nodeChild[node] = child;
+		build(child, start, leftCount);
+		build(child + 1, start + leftCount, count - leftCount);
+	}
+
+	/** Recalculates the bounds of all nodes after providers moved, children are always stored after their parents. */
+	private void refit () {
+		for (int node = nodes - 1; node >= 0; node--) {
+			final int child = nodeChild[node];
+			if (child < 0) {
+				calculateBounds(node);
+				continue;
+			}
+			final float[] nodeBounds = this.nodeBounds;
+			final int n = node * 6, a = child * 6, b = a + 6;
+			for (int i = 0; i < 3; i++) {
+				nodeBounds[n + i] = Math.min(nodeBounds[a + i], nodeBounds[b + i]);
+				nodeBounds[n + 3 + i] = Math.max(nodeBounds[a + 3 + i], nodeBounds[b + 3 + i]);
+			}
+		}
+	}
+
+	private void calculateBounds (int node) {
+		final int[] items = this.items;
+		final float[] bounds = this.bounds, nodeBounds = this.nodeBounds;
+		final int n = node * 6;
+		float minX = Float.POSITIVE_INFINITY, minY = minX, minZ = minX;
+		float maxX = Float.NEGATIVE_INFINITY, maxY = maxX, maxZ = maxX;
+		for (int i = nodeStart[node], end = i + nodeCount[node]; i < end; i++) {
+			final int b = items[i] * 6;
+			minX = Math.min(minX, bounds[b]);
+			minY = Math.min(minY, bounds[b + 1]);
+			minZ = Math.min(minZ, bounds[b + 2]);
+			maxX = Math.max(maxX, bounds[b + 3]);
+			maxY = Math.max(maxY, bounds[b + 4]);
+			maxZ = Math.max(maxZ, bounds[b + 5]);
+		}
+		nodeBounds[n] = minX;
+		nodeBounds[n + 1] = minY;
+		nodeBounds[n + 2] = minZ;
+		nodeBounds[n + 3] = maxX;
+		nodeBounds[n + 4] = maxY;
+		nodeBounds[n + 5] = maxZ;
+	}
+
+	private void resize (int capacity) {
+		RenderableProvider[] providers = new RenderableProvider[capacity];
+		System.arraycopy(this.providers, 0, providers, 0, size);
+		this.providers = providers;
+		Matrix4[] transforms = new Matrix4[capacity];
+		System.arraycopy(this.transforms, 0, transforms, 0, size);
+		this.transforms = transforms;
+		float[] bounds = new float[capacity * 6];
+		System.arraycopy(this.bounds, 0, bounds, 0, size * 6);
+		this.bounds = bounds;
+		float[] localBounds = new float[capacity * 6];
+		System.arraycopy(this.localBounds, 0, localBounds, 0, size * 6);
+		this.localBounds = localBounds;
+		boolean[] occluders = new boolean[capacity];
+		System.arraycopy(this.occluders, 0, occluders, 0, size);
+		this.occluders = occluders;
+		boolean[] visible = new boolean[capacity];
+		System.arraycopy(this.visible, 0, visible, 0, size);
+		this.visible = visible;
+	}
+
+	private static void set (float[] bounds, int index, BoundingBox box) {
+		final int b = index * 6;
+		bounds[b] = box.min.x;
+		bounds[b + 1] = box.min.y;
+		bounds[b + 2] = box.min.z;
+		bounds[b + 3] = box.max.x;
+		bounds[b + 4] = box.max.y;
+		bounds[b + 5] = box.max.z;
+	}
+}
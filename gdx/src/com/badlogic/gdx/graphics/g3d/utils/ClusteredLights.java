@@ -0,0 +1,454 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g3d.utils;
+
+import java.nio.FloatBuffer;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g3d.environment.PointLight;
+import com.badlogic.gdx.graphics.g3d.environment.SpotLight;
+import com.badlogic.gdx.graphics.g3d.shaders.DefaultShader;
+import com.badlogic.gdx.graphics.glutils.FloatTextureData;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.BufferUtils;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.badlogic.gdx.utils.async.AsyncTask;
+
+/** Assigns {@link #pointLights} and {@link #spotLights} to clusters, the cells of a grid dividing the view frustum into tiles on
+ * the screen and slices in depth, and uploads the lights and the light lists of the clusters to float textures. Set it as
+ * {@link DefaultShader.Config#clusteredLights} and the shader evaluates per fragment only the lights of the cluster of the
+ * fragment, so hundreds of lights are rendered with a single shader instead of a shader per number of lights. The lights of
+ * the {@link com.badlogic.gdx.graphics.g3d.Environment} are still evaluated per vertex as usual.
+ * <p>
+ * The slices are spaced logarithmically between the near and far plane of the camera. The range of a light is the distance at
+ * which its attenuated intensity drops below the {@link #attenuationThreshold}, a light is added to every cluster its range
+ * overlaps. Call {@link #update(Camera)} once per frame after the camera and the lights are updated, the light lists can be
+ * built on multiple threads with {@link #update(Camera, AsyncExecutor, int)}.
+ * <p>
+ * Requires float textures (OpenGL ES 3.0, OES_texture_float or GL_ARB_texture_float). Should only be updated on the rendering
+ * thread. */
+public class ClusteredLights implements Disposable {
+	/** The width of the index texture in texels, each texel holds four light indices. */
+	public static final int INDEX_WIDTH = 1024;
+	/** The number of texels per light in the light texture. */
+	public static final int LIGHT_TEXELS = 3;
+	private static final int LIGHT_FLOATS = LIGHT_TEXELS * 4;
+
+	/** The point lights, the first {@link #getMaxLights()} point and spot lights are assigned to the clusters. */
+	public final Array<PointLight> pointLights = new Array<PointLight>();
+	/** The spot lights, they are assigned after the {@link #pointLights}. */
+	public final Array<SpotLight> spotLights = new Array<SpotLight>();
+	/** The intensity below which a light is ignored, determines the range of the lights. */
+	public float attenuationThreshold = 1f / 256f;
+
+	private final int tilesX, tilesY, slices, maxLights, maxLightsPerCluster, indexRows;
+	private Texture clusterTexture, lightTexture, indexTexture;
+	private final FloatBuffer clusterBuffer, lightBuffer, indexBuffer;
+	/** Per light the first and last tile in x and y and the first and last slice, the first is -1 if the light is not visible */
+	private final int[] ranges;
+	/** The number of lights added to each cluster, which may exceed maxLightsPerCluster */
+	private final int[] counts;
+	/** The light indices of each cluster, maxLightsPerCluster per cluster */
+	private final int[] lists;
+	private final Vector3 position = new Vector3(), direction = new Vector3();
+	private final Matrix4 view = new Matrix4(), projection = new Matrix4();
+	private int viewportX, viewportY, viewportWidth, viewportHeight;
+	private int lightCount, indexCount, overflowCount;
+	private float near, far, sliceScale;
+
+	/** @param tilesX the number of tiles in the width of the viewport
+	 * @param tilesY the number of tiles in the height of the viewport
+	 * @param slices the number of slices between the near and far plane
+	 * @param maxLights the maximum number of lights, point and spot lights combined
+	 * @param maxLightsPerCluster the maximum number of lights evaluated per fragment, further lights of a cluster are dropped */
+	public ClusteredLights (int tilesX, int tilesY, int slices, int maxLights, int maxLightsPerCluster) {
+		if (tilesX < 1 || tilesY < 1 || slices < 1)
+			throw new IllegalArgumentException("Invalid cluster grid: " + tilesX + "x" + tilesY + "x" + slices);
+		if (maxLights < 1) throw new IllegalArgumentException("maxLights must be > 0: " + maxLights);
+		if (maxLightsPerCluster < 1) throw new IllegalArgumentException("maxLightsPerCluster must be > 0: " + maxLightsPerCluster);
+		this.tilesX = tilesX;
+		this.tilesY = tilesY;
+		this.slices = slices;
+		this.maxLights = maxLights;
+		this.maxLightsPerCluster = maxLightsPerCluster;
+		final int clusters = tilesX * tilesY * slices;
+		indexRows = (clusters * maxLightsPerCluster + INDEX_WIDTH * 4 - 1) / (INDEX_WIDTH * 4);
+		clusterBuffer = BufferUtils.newFloatBuffer(clusters * 4);
+		lightBuffer = BufferUtils.newFloatBuffer(maxLights * LIGHT_FLOATS);
+		indexBuffer = BufferUtils.newFloatBuffer(indexRows * INDEX_WIDTH * 4);
+		ranges = new int[maxLights * 6];
+		counts = new int[clusters];
+		lists = new int[clusters * maxLightsPerCluster];
+	}
+
+	/** Sets the area of the screen the camera renders to, in back buffer pixels. By default the whole back buffer is used. */
+	public void setViewport (int x, int y, int width, int height) {
+		viewportX = x;
+		viewportY = y;
+		viewportWidth = width;
+		viewportHeight = height;
+	}
+
+	/** Assigns the lights to the clusters of the view frustum of the camera and uploads them to the textures.
+	 * @param camera the camera used for rendering, its matrices must be up to date */
+	public void update (Camera camera) {
+		build(camera);
+		upload();
+	}
+
+	/** Like {@link #update(Camera)}, but distributes the assignment over the threads of the executor.
+	 * @param slicesPerTask the number of slices filled by a single task */
+	public void update (Camera camera, AsyncExecutor executor, int slicesPerTask) {
+		build(camera, executor, slicesPerTask);
+		upload();
+	}
+
+	/** Assigns the lights to the clusters without uploading them, may be called on any thread. */
+	public void build (Camera camera) {
+		prepare(camera);
+		fill(0, slices);
+		compact();
+	}
+
+	/** Like {@link #build(Camera)}, but distributes the assignment over the threads of the executor and waits until all clusters
+	 * are filled.
+	 * @param slicesPerTask the number of slices filled by a single task */
+	public void build (Camera camera, AsyncExecutor executor, int slicesPerTask) {
+		if (slicesPerTask < 1) throw new IllegalArgumentException("slicesPerTask must be > 0: " + slicesPerTask);
+		prepare(camera);
+		if (slices <= slicesPerTask)
+			fill(0, slices);
+		else {
+			final Array<AsyncResult<Void>> results = new Array<AsyncResult<Void>>(false, slices / slicesPerTask + 1);
+			for (int start = slicesPerTask; start < slices; start += slicesPerTask)
+				results.add(executor.submit(new FillTask(this, start, Math.min(start + slicesPerTask, slices))));
+			// The first slices are filled on this thread
+			fill(0, slicesPerTask);
+			for (int i = 0; i < results.size; i++)
+				results.get(i).get();
+		}
+		compact();
+	}
+
+	/** Writes the lights to the light buffer and calculates the clusters each light overlaps. */
+	private void prepare (Camera camera) {
+		if (viewportWidth <= 0 || viewportHeight <= 0)
+			setViewport(0, 0, Gdx.graphics.getBackBufferWidth(), Gdx.graphics.getBackBufferHeight());
+		position.set(camera.position);
+		direction.set(camera.direction).nor();
+		view.set(camera.view);
+		projection.set(camera.projection);
+		near = Math.max(camera.near, 0.0001f);
+		far = Math.max(camera.far, near * 1.001f);
+		sliceScale = slices / (float)Math.log(far / near);
+
+		final FloatBuffer buffer = lightBuffer;
+		buffer.clear();
+		final int total = pointLights.size + spotLights.size;
+		lightCount = Math.min(total, maxLights);
+		overflowCount = total - lightCount;
+		for (int i = 0; i < lightCount; i++) {
+			if (i < pointLights.size) {
+				final PointLight light = pointLights.get(i);
+				final float range = range(light.color, light.intensity);
+				putLight(buffer, light.position, range, light.color, light.intensity, 0f, Vector3.Zero, -2f);
+				calculateRange(i, light.position, range);
+			} else {
+				final SpotLight light = spotLights.get(i - pointLights.size);
+				final float range = range(light.color, light.intensity);
+				putLight(buffer, light.position, range, light.color, light.intensity, light.exponent, light.direction,
+					MathUtils.cosDeg(light.cutoffAngle));
+				calculateRange(i, light.position, range);
+			}
+		}
+		buffer.flip();
+	}
+
+	private float range (Color color, float intensity) {
+		final float max = Math.max(color.r, Math.max(color.g, color.b)) * intensity;
+		return (float)Math.sqrt(Math.max(0f, max / attenuationThreshold - 1f));
+	}
+
+	private static void putLight (FloatBuffer buffer, Vector3 position, float range, Color color, float intensity, float exponent,
+		Vector3 direction, float cosCutoff) {
+		buffer.put(position.x).put(position.y).put(position.z).put(range);
+		buffer.put(color.r * intensity).put(color.g * intensity).put(color.b * intensity).put(exponent);
+		buffer.put(direction.x).put(direction.y).put(direction.z).put(cosCutoff);
+	}
+
+	/** Calculates the tiles and slices overlapped by the bounding box of the sphere in view space. */
+	private void calculateRange (int light, Vector3 center, float radius) {
+		final int[] ranges = this.ranges;
+		final int r = light * 6;
+		ranges[r] = -1;
+		if (radius <= 0f) return;
+		final float[] v = view.val;
+		final float x = v[Matrix4.M00] * center.x + v[Matrix4.M01] * center.y + v[Matrix4.M02] * center.z + v[Matrix4.M03];
+		final float y = v[Matrix4.M10] * center.x + v[Matrix4.M11] * center.y + v[Matrix4.M12] * center.z + v[Matrix4.M13];
+		final float depth = -(v[Matrix4.M20] * center.x + v[Matrix4.M21] * center.y + v[Matrix4.M22] * center.z + v[Matrix4.M23]);
+		if (depth + radius < near || depth - radius > far) return;
+		final float minDepth = Math.max(depth - radius, near), maxDepth = Math.min(depth + radius, far);
+
+		// Project the corners of the box, the depth is clamped to the near plane so w is positive
+		final float[] p = projection.val;
+		float minX = Float.MAX_VALUE, minY = Float.MAX_VALUE, maxX = -Float.MAX_VALUE, maxY = -Float.MAX_VALUE;
+		for (int i = 0; i < 8; i++) {
+			final float cx = (i & 1) == 0 ? x - radius : x + radius;
+			final float cy = (i & 2) == 0 ? y - radius : y + radius;
+			final float cz = (i & 4) == 0 ? -minDepth : -maxDepth;
+			final float w = p[Matrix4.M30] * cx + p[Matrix4.M31] * cy + p[Matrix4.M32] * cz + p[Matrix4.M33];
+			final float nx = (p[Matrix4.M00] * cx + p[Matrix4.M01] * cy + p[Matrix4.M02] * cz + p[Matrix4.M03]) / w;
+			final float ny = (p[Matrix4.M10] * cx + p[Matrix4.M11] * cy + p[Matrix4.M12] * cz + p[Matrix4.M13]) / w;
+			if (nx < minX) minX = nx;
+			if (nx > maxX) maxX = nx;
+			if (ny < minY) minY = ny;
+			if (ny > maxY) maxY = ny;
+		}
+		if (maxX < -1f || minX > 1f || maxY < -1f || minY > 1f) return;
+		ranges[r] = tile(minX, tilesX);
+		ranges[r + 1] = tile(maxX, tilesX);
+		ranges[r + 2] = tile(minY, tilesY);
+		ranges[r + 3] = tile(maxY, tilesY);
+		ranges[r + 4] = getSlice(minDepth);
+		ranges[r + 5] = getSlice(maxDepth);
+	}
+
+	private static int tile (float ndc, int tiles) {
+		return MathUtils.clamp((int)((ndc * 0.5f + 0.5f) * tiles), 0, tiles - 1);
+	}
+
+	/** @return the slice containing the view space depth, the same way the shader calculates it */
+	public int getSlice (float depth) {
+		if (depth <= near) return 0;
+		return Math.min((int)((float)Math.log(depth / near) * sliceScale), slices - 1);
+	}
+
+	/** Adds the lights to the clusters of the slices from start (inclusive) to end (exclusive). */
+	void fill (int start, int end) {
+		final int[] ranges = this.ranges, counts = this.counts, lists = this.lists;
+		final int max = maxLightsPerCluster, sliceSize = tilesX * tilesY;
+		for (int c = start * sliceSize, n = end * sliceSize; c < n; c++)
+			counts[c] = 0;
+		for (int light = 0, r = 0; light < lightCount; light++, r += 6) {
+			if (ranges[r] < 0) continue;
+			final int firstSlice = Math.max(ranges[r + 4], start), lastSlice = Math.min(ranges[r + 5], end - 1);
+			for (int s = firstSlice; s <= lastSlice; s++) {
+				for (int ty = ranges[r + 2]; ty <= ranges[r + 3]; ty++) {
+					for (int tx = ranges[r], c = (s * tilesY + ty) * tilesX + tx; tx <= ranges[r + 1]; tx++, c++) {
+						final int count = counts[c]++;
+						if (count < max) lists[c * max + count] = light;
+					}
+				}
+			}
+		}
+	}
+
+	/** Writes the offsets and counts of the clusters and their light indices to the buffers. */
+	private void compact () {
+		final FloatBuffer clusterBuffer = this.clusterBuffer, indexBuffer = this.indexBuffer;
+		final int[] counts = this.counts, lists = this.lists;
+		final int max = maxLightsPerCluster;
+		clusterBuffer.clear();
+		indexBuffer.clear();
+		int offset = 0;
+		for (int c = 0; c < counts.length; c++) {
+			final int count = Math.min(counts[c], max);
+			clusterBuffer.put(offset).put(count).put(0f).put(0f);
+			for (int i = c * max, n = i + count; i < n; i++)
+				indexBuffer.put(lists[i]);
+			offset += count;
+		}
+		clusterBuffer.flip();
+		indexCount = offset;
+		// Pad the last texel
+		while ((indexBuffer.position() & 3) != 0)
+			indexBuffer.put(0f);
+		indexBuffer.flip();
+	}
+
+	/** Uploads the lights and the light lists built by the last call to {@link #build(Camera)} to the textures, creating them if
+	 * needed. */
+	public void upload () {
+		if (clusterTexture == null) {
+			clusterTexture = createTexture(tilesX * tilesY, slices);
+			lightTexture = createTexture(LIGHT_TEXELS, maxLights);
+			indexTexture = createTexture(INDEX_WIDTH, indexRows);
+		}
+		clusterTexture.bind();
+		Gdx.gl.glTexSubImage2D(GL20.GL_TEXTURE_2D, 0, 0, 0, tilesX * tilesY, slices, GL20.GL_RGBA, GL20.GL_FLOAT, clusterBuffer);
+		if (lightCount > 0) {
+			lightTexture.bind();
+			Gdx.gl.glTexSubImage2D(GL20.GL_TEXTURE_2D, 0, 0, 0, LIGHT_TEXELS, lightCount, GL20.GL_RGBA, GL20.GL_FLOAT, lightBuffer);
+		}
+		if (indexCount > 0) {
+			indexTexture.bind();
+			final int texels = (indexCount + 3) / 4;
+			final int rows = texels / INDEX_WIDTH;
+			if (rows > 0) Gdx.gl.glTexSubImage2D(GL20.GL_TEXTURE_2D, 0, 0, 0, INDEX_WIDTH, rows, GL20.GL_RGBA, GL20.GL_FLOAT,
+				indexBuffer);
+			if (texels % INDEX_WIDTH != 0) {
+				indexBuffer.position(rows * INDEX_WIDTH * 4);
+				Gdx.gl.glTexSubImage2D(GL20.GL_TEXTURE_2D, 0, 0, rows, texels % INDEX_WIDTH, 1, GL20.GL_RGBA, GL20.GL_FLOAT,
+					indexBuffer);
+				indexBuffer.position(0);
+			}
+		}
+	}
+
+	private static Texture createTexture (int width, int height) {
+		final Texture texture = new Texture(new FloatTextureData(width, height));
+		texture.setFilter(Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest);
+		return texture;
+	}
+
+	/** @return the number of lights in the cluster after the last build, at most the maximum number of lights per cluster */
+	public int getClusterLightCount (int tileX, int tileY, int slice) {
+		return Math.min(counts[(slice * tilesY + tileY) * tilesX + tileX], maxLightsPerCluster);
+	}
+
+	/** @return the index of a light of the cluster, the point lights come first, followed by the spot lights */
+	public int getClusterLight (int tileX, int tileY, int slice, int index) {
+		return lists[((slice * tilesY + tileY) * tilesX + tileX) * maxLightsPerCluster + index];
+	}
+
+	/** @return the number of light indices of all clusters after the last build */
+	public int getIndexCount () {
+		return indexCount;
+	}
+
+	/** @return the number of lights assigned in the last build */
+	public int getLightCount () {
+		return lightCount;
+	}
+
+	/** @return the number of lights ignored in the last build because there were more than {@link #getMaxLights()} */
+	public int getOverflowCount () {
+		return overflowCount;
+	}
+
+	public int getTilesX () {
+		return tilesX;
+	}
+
+	public int getTilesY () {
+		return tilesY;
+	}
+
+	public int getSlices () {
+		return slices;
+	}
+
+	public int getMaxLights () {
+		return maxLights;
+	}
+
+	public int getMaxLightsPerCluster () {
+		return maxLightsPerCluster;
+	}
+
+	/** @return the number of rows of the index texture */
+	public int getIndexRows () {
+		return indexRows;
+	}
+
+	public int getViewportX () {
+		return viewportX;
+	}
+
+	public int getViewportY () {
+		return viewportY;
+	}
+
+	public int getViewportWidth () {
+		return viewportWidth;
+	}
+
+	public int getViewportHeight () {
+		return viewportHeight;
+	}
+
+	/** @return the position of the camera of the last build */
+	public Vector3 getPosition () {
+		return position;
+	}
+
+	/** @return the normalized direction of the camera of the last build */
+	public Vector3 getDirection () {
+		return direction;
+	}
+
+	/** @return the near plane of the camera of the last build, the depth at which the first slice starts */
+	public float getNear () {
+		return near;
+	}
+
+	/** @return the factor converting the logarithm of the depth divided by the near plane to the slice */
+	public float getSliceScale () {
+		return sliceScale;
+	}
+
+	/** @return the texture holding the offset and number of light indices of each cluster, one RGBA texel per cluster */
+	public Texture getClusterTexture () {
+		return clusterTexture;
+	}
+
+	/** @return the texture holding the lights, {@link #LIGHT_TEXELS} texels per row, one row per light */
+	public Texture getLightTexture () {
+		return lightTexture;
+	}
+
+	/** @return the texture holding the light indices of the clusters, four per texel */
+	public Texture getIndexTexture () {
+		return indexTexture;
+	}
+
+	@Override
+	public void dispose () {
+		if (clusterTexture != null) {
+			clusterTexture.dispose();
+			lightTexture.dispose();
+			indexTexture.dispose();
+			clusterTexture = lightTexture = indexTexture = null;
+		}
+	}
+
+	static private class FillTask implements AsyncTask<Void> {
+		private final ClusteredLights lights;
+		private final int start, end;
+
+		public FillTask (ClusteredLights lights, int start, int end) {
+			this.lights = lights;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		public Void call () throws Exception {
+			lights.fill(start, end);
+			return null;
+		}
+	}
+}
@@ -0,0 +1,235 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g3d.utils;
+
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.graphics.VertexAttributes.Usage;
+import com.badlogic.gdx.graphics.g3d.Renderable;
+import com.badlogic.gdx.math.Intersector;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.collision.BoundingBox;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.badlogic.gdx.utils.async.AsyncTask;
+
+/** Skins vertices on the CPU the same way the default shaders do on the GPU, for example to calculate the bounds of an animated
+ * model or to pick it with {@link Intersector#intersectRayTriangles(com.badlogic.gdx.math.collision.Ray, float[], short[], int,
+ * com.badlogic.gdx.math.Vector3)} on a headless server. The skinned positions and normals are written as three floats per vertex.
+ * <p>
+ * The skinning matrix of a vertex is the sum of the {@link Renderable#bones bone matrices} weighted by its
+ * {@link Usage#BoneWeight} attributes, null bones and bone indices out of range are treated as the identity matrix. All methods
+ * are thread safe as long as the output arrays are not shared. */
+public class CpuSkinning {
+	/** Skins the vertices.
+	 * @param vertices the vertices, as returned by {@link com.badlogic.gdx.graphics.Mesh#getVertices(float[])}
+	 * @param attributes the attributes of the vertices
+	 * @param first the index of the first vertex to skin
+	 * @param count the number of vertices to skin
+	 * @param bones the bone matrices, may be null to only transform the vertices
+	 * @param transform the transform applied after skinning, usually the world transform, may be null
+	 * @param positions receives the skinned positions, three floats per vertex, the position of vertex i is stored at i * 3
+	 * @param normals receives the skinned normals in the same layout, may be null. Ignored if the vertices have no normals. */
+	public static void skin (final float[] vertices, final VertexAttributes attributes, final int first, final int count,
+		final Matrix4[] bones, final Matrix4 transform, final float[] positions, final float[] normals) {
+		final int stride = attributes.vertexSize / 4;
+		final int positionOffset = attributes.getOffset(Usage.Position);
+		final int normalOffset = normals == null ? -1 : attributes.getOffset(Usage.Normal, -1);
+		int weightCount = 0;
+		for (int i = 0, n = attributes.size(); i < n; i++)
+			if (attributes.get(i).usage == Usage.BoneWeight) weightCount++;
+		if (bones == null) weightCount = 0;
+		// At most eight bone weights are supported by the shaders, keep their offsets on the stack
+		int w0 = -1, w1 = -1, w2 = -1, w3 = -1, w4 = -1, w5 = -1, w6 = -1, w7 = -1;
+		for (int i = 0, n = attributes.size(), w = 0; i < n && w < weightCount; i++) {
+			final VertexAttribute attribute = attributes.get(i);
+			if (attribute.usage != Usage.BoneWeight) continue;
+			final int offset = attribute.offset / 4;
+			switch (w++) {
+			case 0: w0 = offset; break;
+			case 1: w1 = offset; break;
+			case 2: w2 = offset; break;
+			case 3: w3 = offset; break;
+			case 4: w4 = offset; break;
+			case 5: w5 = offset; break;
+			case 6: w6 = offset; break;
+			case 7: w7 = offset; break;
+			}
+		}
+		final float[] t = transform == null ? null : transform.val;
+		final float[] m = new float[12];
+
+		for (int v = first, end = first + count; v < end; v++) {
+			final int o = v * stride;
+			if (weightCount > 0) {
+				for (int i = 0; i < 12; i++)
+					m[i] = 0;
+				addBone(m, vertices, o + w0, bones);
+				if (w1 >= 0) addBone(m, vertices, o + w1, bones);
+				if (w2 >= 0) addBone(m, vertices, o + w2, bones);
+				if (w3 >= 0) addBone(m, vertices, o + w3, bones);
+				if (w4 >= 0) addBone(m, vertices, o + w4, bones);
+				if (w5 >= 0) addBone(m, vertices, o + w5, bones);
+				if (w6 >= 0) addBone(m, vertices, o + w6, bones);
+				if (w7 >= 0) addBone(m, vertices, o + w7, bones);
+			}
+
+			float x = vertices[o + positionOffset], y = vertices[o + positionOffset + 1], z = vertices[o + positionOffset + 2];
+			if (weightCount > 0) {
+				final float sx = m[0] * x + m[3] * y + m[6] * z + m[9];
+				final float sy = m[1] * x + m[4] * y + m[7] * z + m[10];
+				final float sz = m[2] * x + m[5] * y + m[8] * z + m[11];
+				x = sx;
+				y = sy;
+				z = sz;
+			}
+			final int p = v * 3;
+			if (t != null) {
+				positions[p] = t[Matrix4.M00] * x + t[Matrix4.M01] * y + t[Matrix4.M02] * z + t[Matrix4.M03];
+				positions[p + 1] = t[Matrix4.M10] * x + t[Matrix4.M11] * y + t[Matrix4.M12] * z + t[Matrix4.M13];
+				positions[p + 2] = t[Matrix4.M20] * x + t[Matrix4.M21] * y + t[Matrix4.M22] * z + t[Matrix4.M23];
+			} else {
+				positions[p] = x;
+				positions[p + 1] = y;
+				positions[p + 2] = z;
+			}
+
+			if (normalOffset < 0) continue;
+			x = vertices[o + normalOffset];
+			y = vertices[o + normalOffset + 1];
+			z = vertices[o + normalOffset + 2];
+			if (weightCount > 0) {
+				final float sx = m[0] * x + m[3] * y + m[6] * z;
+				final float sy = m[1] * x + m[4] * y + m[7] * z;
+				final float sz = m[2] * x + m[5] * y + m[8] * z;
+				x = sx;
+				y = sy;
+				z = sz;
+			}
+			if (t != null) {
+				final float tx = t[Matrix4.M00] * x + t[Matrix4.M01] * y + t[Matrix4.M02] * z;
+				final float ty = t[Matrix4.M10] * x + t[Matrix4.M11] * y + t[Matrix4.M12] * z;
+				final float tz = t[Matrix4.M20] * x + t[Matrix4.M21] * y + t[Matrix4.M22] * z;
+				x = tx;
+				y = ty;
+				z = tz;
+			}
+			final float len2 = x * x + y * y + z * z;
+			final float scale = len2 == 0f ? 0f : 1f / (float)Math.sqrt(len2);
+			normals[p] = x * scale;
+			normals[p + 1] = y * scale;
+			normals[p + 2] = z * scale;
+		}
+	}
+
+	/** Adds the weighted bone matrix to the 3x4 column major matrix. */
+	private static void addBone (final float[] m, final float[] vertices, final int offset, final Matrix4[] bones) {
+		final float weight = vertices[offset + 1];
+		if (weight == 0f) return;
+		final int index = (int)vertices[offset];
+		if (index < 0 || index >= bones.length || bones[index] == null) {
+			m[0] += weight;
+			m[4] += weight;
+			m[8] += weight;
+			return;
+		}
+		final float[] b = bones[index].val;
+		m[0] += weight * b[Matrix4.M00];
+		m[1] += weight * b[Matrix4.M10];
+		m[2] += weight * b[Matrix4.M20];
+		m[3] += weight * b[Matrix4.M01];
+		m[4] += weight * b[Matrix4.M11];
+		m[5] += weight * b[Matrix4.M21];
+		m[6] += weight * b[Matrix4.M02];
+		m[7] += weight * b[Matrix4.M12];
+		m[8] += weight * b[Matrix4.M22];
+		m[9] += weight * b[Matrix4.M03];
+		m[10] += weight * b[Matrix4.M13];
+		m[11] += weight * b[Matrix4.M23];
+	}
+
+	/** Skins the vertices like {@link #skin(float[], VertexAttributes, int, int, Matrix4[], Matrix4, float[], float[])},
+	 * distributed over the threads of the executor, and waits until all vertices are skinned.
+	 * @param verticesPerTask the number of vertices skinned by a single task */
+	public static void skin (final float[] vertices, final VertexAttributes attributes, final int first, final int count,
+		final Matrix4[] bones, final Matrix4 transform, final float[] positions, final float[] normals, AsyncExecutor executor,
+		int verticesPerTask) {
+		if (verticesPerTask < 1) throw new IllegalArgumentException("verticesPerTask must be > 0: " + verticesPerTask);
+		if (count <= verticesPerTask) {
+			skin(vertices, attributes, first, count, bones, transform, positions, normals);
+			return;
+		}
+		final int end = first + count;
+		final Array<AsyncResult<Void>> results = new Array<AsyncResult<Void>>(false, count / verticesPerTask + 1);
+		for (int start = first + verticesPerTask; start < end; start += verticesPerTask)
+			results.add(executor.submit(new SkinTask(vertices, attributes, start, Math.min(verticesPerTask, end - start), bones,
+				transform, positions, normals)));
+		// The first range is skinned on this thread
+		skin(vertices, attributes, first, verticesPerTask, bones, transform, positions, normals);
+		for (int i = 0; i < results.size; i++)
+			results.get(i).get();
+	}
+
+	/** Extends the bounding box with the skinned positions.
+	 * @param positions the positions, three floats per vertex
+	 * @param first the index of the first vertex
+	 * @param count the number of vertices
+	 * @return the out parameter for chaining */
+	public static BoundingBox extendBoundingBox (final float[] positions, final int first, final int count, final BoundingBox out) {
+		if (count <= 0) return out;
+		float minX = out.min.x, minY = out.min.y, minZ = out.min.z;
+		float maxX = out.max.x, maxY = out.max.y, maxZ = out.max.z;
+		for (int i = first * 3, n = (first + count) * 3; i < n; i += 3) {
+			final float x = positions[i], y = positions[i + 1], z = positions[i + 2];
+			if (x < minX) minX = x;
+			if (x > maxX) maxX = x;
+			if (y < minY) minY = y;
+			if (y > maxY) maxY = y;
+			if (z < minZ) minZ = z;
+			if (z > maxZ) maxZ = z;
+		}
+		return out.set(out.min.set(minX, minY, minZ), out.max.set(maxX, maxY, maxZ));
+	}
+
+	static private class SkinTask implements AsyncTask<Void> {
+		private final float[] vertices;
+		private final VertexAttributes attributes;
+		private final int first, count;
+		private final Matrix4[] bones;
+		private final Matrix4 transform;
+		private final float[] positions, normals;
+
+		public SkinTask (float[] vertices, VertexAttributes attributes, int first, int count, Matrix4[] bones, Matrix4 transform,
+			float[] positions, float[] normals) {
+			this.vertices = vertices;
+			this.attributes = attributes;
+			this.first = first;
+			this.count = count;
+			this.bones = bones;
+			this.transform = transform;
+			this.positions = positions;
+			this.normals = normals;
+		}
+
+		@Override
+		public Void call () throws Exception {
+			skin(vertices, attributes, first, count, bones, transform, positions, normals);
+			return null;
+		}
+	}
+}
@@ -24,16 +24,59 @@ import com.badlogic.gdx.graphics.g3d.attributes.BlendingAttribute;
 import com.badlogic.gdx.math.Matrix4;
 import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.RadixSort;
 
+/** Sorts the opaque renderables front to back, followed by the blended renderables back to front. A sort key is computed once for
+ * each renderable and the keys are sorted with a {@link RadixSort}. When the same number of renderables is sorted again, the order
+ * of the previous call is used as the starting point, which is usually almost sorted already. */
 public class DefaultRenderableSorter implements RenderableSorter, Comparator<Renderable> {
 	private Camera camera;
 	private final Vector3 tmpV1 = new Vector3();
 	private final Vector3 tmpV2 = new Vector3();
+	private final RadixSort radixSort = new RadixSort();
+	private long[] keys = new long[0];
+	private int[] indices = new int[0];
+	private Renderable[] sorted = new Renderable[0];
+	private int lastCount;
 
 	@Override
 	public void sort (final Camera camera, final Array<Renderable> renderables) {
 		this.camera = camera;
-		renderables.sort(this);
+		final int count = renderables.size;
+		if (keys.length < count) {
+			keys = new long[count];
+			indices = new int[count];
+			sorted = new Renderable[count];
+			lastCount = 0;
+		}
+		final long[] keys = this.keys;
+		final int[] indices = this.indices;
+		final Renderable[] items = renderables.items;
+		if (count != lastCount) {
+			for (int i = 0; i < count; i++)
+				indices[i] = i;
+			lastCount = count;
+		}
+		for (int i = 0; i < count; i++)
+			keys[i] = getKey(items[indices[i]]);
+		radixSort.sort(keys, indices, count);
+
+		final Renderable[] sorted = this.sorted;
+		for (int i = 0; i < count; i++)
+			sorted[i] = items[indices[i]];
+		System.arraycopy(sorted, 0, items, 0, count);
+		for (int i = 0; i < count; i++)
+			sorted[i] = null;
+	}
+
+	/** @return the sort key, opaque renderables are ordered before blended renderables, opaque renderables are ordered by
+	 *         ascending and blended renderables by descending distance to the camera. */
+	protected long getKey (final Renderable renderable) {
+		final boolean blended = renderable.material.has(BlendingAttribute.Type)
+			&& ((BlendingAttribute)renderable.material.get(BlendingAttribute.Type)).blended;
+		getTranslation(renderable.worldTransform, renderable.meshPart.center, tmpV1);
+		final long distance = RadixSort.floatToKey(camera.position.dst2(tmpV1));
+		return blended ? (1L << 32) | (~distance & 0xffffffffL) : distance;
 	}
 
 	private Vector3 getTranslation (Matrix4 worldTransform, Vector3 center, Vector3 output) {
@@ -46,6 +89,8 @@ public class DefaultRenderableSorter implements RenderableSorter, Comparator<Ren
 		return output;
 	}
 
+	/** Compares in the same order as {@link #sort(Camera, Array)}, using the camera of the last sort. Not used by
+	 * {@link #sort(Camera, Array)} itself, it is kept so the sorter can still be used as a {@link Comparator}. */
 	@Override
 	public int compare (final Renderable o1, final Renderable o2) {
 		final boolean b1 = o1.material.has(BlendingAttribute.Type) && ((BlendingAttribute)o1.material.get(BlendingAttribute.Type)).blended;
@@ -0,0 +1,808 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g3d.utils;
+
+import java.nio.ByteOrder;
+
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.graphics.VertexAttributes.Usage;
+import com.badlogic.gdx.graphics.g3d.ModelInstance;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelData;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelMesh;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelMeshPart;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.RadixSort;
+
+/** Optimizes indexed triangle meshes for rendering: welds duplicate vertices, reorders the triangles for the post transform vertex
+ * cache and to reduce overdraw, reorders the vertices for fetch locality and generates levels of detail by quadric error metric
+ * simplification. The methods work on vertices laid out as in a {@link com.badlogic.gdx.graphics.Mesh}, with vertexSize floats
+ * per vertex, and 16 bit indices, so they can be used in tools as well as at load time, see {@link #optimize(ModelData, Config)}.
+ * All methods are thread safe as long as the arrays are not shared. */
+public class MeshOptimizer {
+	/** The number of vertices in the simulated post transform cache. */
+	public static final int CACHE_SIZE = 32;
+
+	private static final float LAST_TRIANGLE_SCORE = 0.75f;
+	private static final float CACHE_DECAY_POWER = 1.5f;
+	private static final float VALENCE_BOOST_SCALE = 2f;
+	private static final float VALENCE_BOOST_POWER = 0.5f;
+	private static final float[] cacheScores = new float[CACHE_SIZE];
+	private static final float[] valenceScores = new float[64];
+
+	static {
+		for (int i = 0; i < CACHE_SIZE; i++)
+			cacheScores[i] = i < 3 ? LAST_TRIANGLE_SCORE
+				: (float)Math.pow(1 - (i - 3) / (float)(CACHE_SIZE - 3), CACHE_DECAY_POWER);
+		for (int i = 1; i < valenceScores.length; i++)
+			valenceScores[i] = VALENCE_BOOST_SCALE * (float)Math.pow(i, -VALENCE_BOOST_POWER);
+	}
+
+	/** The settings of {@link MeshOptimizer#optimize(ModelData, Config)}. */
+	public static class Config {
+		/** Vertices whose components are equal after rounding to a multiple of this value are welded, 0 only welds identical
+		 * vertices and a negative value disables welding. */
+		public float weldEpsilon = 0;
+		/** Whether to reorder the triangles for the post transform vertex cache. */
+		public boolean optimizeVertexCache = true;
+		/** The maximum factor by which reordering the triangles to reduce overdraw may increase the average cache miss ratio, values
+		 * below 1 disable it. See {@link MeshOptimizer#optimizeOverdraw(short[], int, int, float[], int, int, float)}. */
+		public float overdrawThreshold = 1.05f;
+		/** Whether to reorder the vertices in the order they are first used, also removes unused vertices. */
+		public boolean optimizeVertexFetch = true;
+		/** The number of triangles of each level of detail relative to the full part, for example {0.5f, 0.25f, 0.1f}. May be null to
+		 * not generate levels of detail. */
+		public float[] lodRatios;
+		/** The screen size below which the level of detail with the same index is used, see {@link ModelInstance#selectLods}. Must
+		 * be as long as {@link #lodRatios}. */
+		public float[] lodScreenSizes;
+		/** The maximum distance in model units by which a level of detail may deviate from the full part. */
+		public float lodMaxError = Float.MAX_VALUE;
+	}
+
+	/** Optimizes all meshes of the model, see {@link #optimize(ModelMesh, Config)}. */
+	public static void optimize (ModelData model, Config config) {
+		for (ModelMesh mesh : model.meshes)
+			optimize(mesh, config);
+	}
+
+	/** Welds the vertices of the mesh, reorders the triangles of its {@link GL20#GL_TRIANGLES} parts for the vertex cache and
+	 * overdraw, generates their {@link ModelMeshPart#lods} and finally reorders the vertices for fetch locality, as set by the
+	 * config. The mesh is converted to {@link ModelMesh#vertices} and {@link ModelMeshPart#indices} if it used buffers. */
+	public static void optimize (ModelMesh mesh, Config config) {
+		final VertexAttributes attributes = new VertexAttributes(mesh.attributes);
+		final int vertexSize = attributes.vertexSize / 4;
+		final VertexAttribute position = attributes.findByUsage(Usage.Position);
+		final int positionOffset = position == null ? -1 : position.offset / 4;
+		float[] vertices = mesh.vertices;
+		if (vertices == null) {
+			vertices = new float[mesh.vertexData.remaining() / 4];
+			mesh.vertexData.duplicate().order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().get(vertices);
+		}
+		int numVertices = vertices.length / vertexSize;
+		for (ModelMeshPart part : mesh.parts) {
+			toIndices(part);
+			if (part.lods != null) for (ModelMeshPart lod : part.lods)
+				toIndices(lod);
+		}
+
+		if (config.weldEpsilon >= 0) {
+			final int[] remap = new int[numVertices];
+			numVertices = weldVertices(vertices, vertexSize, numVertices, config.weldEpsilon, remap);
+			for (ModelMeshPart part : mesh.parts) {
+				remapIndices(part.indices, 0, part.indices.length, remap);
+				if (part.lods != null) for (ModelMeshPart lod : part.lods)
+					remapIndices(lod.indices, 0, lod.indices.length, remap);
+			}
+		}
+
+		for (ModelMeshPart part : mesh.parts) {
+			if (part.primitiveType != GL20.GL_TRIANGLES) continue;
+			final short[] indices = part.indices;
+			if (config.optimizeVertexCache) optimizeVertexCache(indices, 0, indices.length, numVertices);
+			if (config.overdrawThreshold >= 1 && positionOffset >= 0)
+				optimizeOverdraw(indices, 0, indices.length, vertices, vertexSize, positionOffset, config.overdrawThreshold);
+			if (config.lodRatios != null && positionOffset >= 0) generateLods(part, vertices, vertexSize, positionOffset,
+				numVertices, config);
+		}
+
+		if (config.optimizeVertexFetch) {
+			int total = 0;
+			for (ModelMeshPart part : mesh.parts) {
+				total += part.indices.length;
+				if (part.lods != null) for (ModelMeshPart lod : part.lods)
+					total += lod.indices.length;
+			}
+			// All parts share the vertices, so they are reordered by their first use in any part
+			final short[] all = new short[total];
+			int offset = 0;
+			for (ModelMeshPart part : mesh.parts) {
+				System.arraycopy(part.indices, 0, all, offset, part.indices.length);
+				offset += part.indices.length;
+				if (part.lods != null) for (ModelMeshPart lod : part.lods) {
+					System.arraycopy(lod.indices, 0, all, offset, lod.indices.length);
+					offset += lod.indices.length;
+				}
+			}
+			numVertices = optimizeVertexFetch(vertices, vertexSize, numVertices, all, 0, total, new int[numVertices]);
+			offset = 0;
+			for (ModelMeshPart part : mesh.parts) {
+				System.arraycopy(all, offset, part.indices, 0, part.indices.length);
+				offset += part.indices.length;
+				if (part.lods != null) for (ModelMeshPart lod : part.lods) {
+					System.arraycopy(all, offset, lod.indices, 0, lod.indices.length);
+					offset += lod.indices.length;
+				}
+			}
+		}
+
+		if (numVertices * vertexSize != vertices.length) {
+			final float[] trimmed = new float[numVertices * vertexSize];
+			System.arraycopy(vertices, 0, trimmed, 0, trimmed.length);
+			vertices = trimmed;
+		}
+		mesh.vertices = vertices;
+		mesh.vertexData = null;
+	}
+
+	private static void toIndices (ModelMeshPart part) {
+		if (part.indices != null) return;
+		part.indices = new short[part.indexData.remaining() / 2];
+		part.indexData.duplicate().order(ByteOrder.LITTLE_ENDIAN).asShortBuffer().get(part.indices);
+		part.indexData = null;
+	}
+
+	private static void generateLods (ModelMeshPart part, float[] vertices, int vertexSize, int positionOffset, int numVertices,
+		Config config) {
+		final float[] ratios = config.lodRatios, screenSizes = config.lodScreenSizes;
+		if (screenSizes == null || screenSizes.length != ratios.length)
+			throw new IllegalArgumentException("lodScreenSizes must be as long as lodRatios");
+		final int count = part.indices.length;
+		final short[] buffer = new short[count];
+		final Array<ModelMeshPart> lods = new Array<ModelMeshPart>(ModelMeshPart.class);
+		final FloatArray lodScreenSizes = new FloatArray();
+		short[] previous = part.indices;
+		for (int i = 0; i < ratios.length; i++) {
+			final int target = (int)(count / 3 * ratios[i]) * 3;
+			if (target >= previous.length) continue;
+			final int size = simplify(vertices, vertexSize, positionOffset, numVertices, previous, 0, previous.length, target,
+				config.lodMaxError, buffer, 0);
+			// Stop when the error doesn't allow a meaningful reduction anymore
+			if (size == 0 || size > previous.length * 0.95f) break;
+			final ModelMeshPart lod = new ModelMeshPart();
+			lod.id = part.id + "_lod" + (lods.size + 1);
+			lod.primitiveType = part.primitiveType;
+			lod.indices = new short[size];
+			System.arraycopy(buffer, 0, lod.indices, 0, size);
+			if (config.optimizeVertexCache) optimizeVertexCache(lod.indices, 0, size, numVertices);
+			lods.add(lod);
+			lodScreenSizes.add(screenSizes[i]);
+			previous = lod.indices;
+		}
+		part.lods = lods.size == 0 ? null : lods.toArray();
+		part.lodScreenSizes = lods.size == 0 ? null : lodScreenSizes.toArray();
+	}
+
+	/** Welds the vertices whose components are equal after rounding to a multiple of epsilon. The remaining vertices are moved to
+	 * the front of the array, keeping their order.
+	 * @param vertexSize the number of floats per vertex
+	 * @param epsilon 0 to only weld identical vertices
+	 * @param remap receives the new index of every vertex, use {@link #remapIndices(short[], int, int, int[])} to apply it. Must be
+	 *           at least numVertices long.
+	 * @return the number of vertices after welding */
+	public static int weldVertices (float[] vertices, int vertexSize, int numVertices, float epsilon, int[] remap) {
+		final float scale = epsilon > 0 ? 1 / epsilon : 0;
+		final int mask = nextPowerOfTwo(numVertices * 2) - 1;
+		final int[] table = new int[mask + 1];
+		for (int i = 0; i <= mask; i++)
+			table[i] = -1;
+		int count = 0;
+		for (int v = 0; v < numVertices; v++) {
+			final int o = v * vertexSize;
+			int hash = 0;
+			for (int c = 0; c < vertexSize; c++)
+				hash = hash * 31 + quantize(vertices[o + c], scale);
+			hash ^= hash >>> 16;
+			int slot = hash & mask, found = -1;
+			while (table[slot] != -1) {
+				// The table holds the new indices, vertices at those indices are already moved
+				final int other = table[slot] * vertexSize;
+				int c = 0;
+				while (c < vertexSize && quantize(vertices[o + c], scale) == quantize(vertices[other + c], scale))
+					c++;
+				if (c == vertexSize) {
+					found = table[slot];
+					break;
+				}
+				slot = (slot + 1) & mask;
+			}
+			if (found == -1) {
+				table[slot] = found = count;
+				if (count != v) System.arraycopy(vertices, o, vertices, count * vertexSize, vertexSize);
+				count++;
+			}
+			remap[v] = found;
+		}
+		return count;
+	}
+
+	private static int quantize (float value, float scale) {
+		// Adding 0 makes -0 equal to 0
+		return scale == 0 ? Float.floatToIntBits(value + 0f) : Math.round(value * scale);
+	}
+
+	private static int nextPowerOfTwo (int value) {
+		int result = 16;
+		while (result < value)
+			result <<= 1;
+		return result;
+	}
+
+	/** Replaces every index i by remap[i]. */
+	public static void remapIndices (short[] indices, int offset, int count, int[] remap) {
+		for (int i = offset, n = offset + count; i < n; i++)
+			indices[i] = (short)remap[indices[i] & 0xFFFF];
+	}
+
+	/** @return the average number of vertices transformed per triangle with a FIFO post transform cache of the specified size,
+	 *         between 0.5 for an ideal and 3 for the worst order. */
+	public static float calculateAcmr (short[] indices, int offset, int count, int cacheSize) {
+		if (count < 3) return 0;
+		int maxIndex = 0;
+		for (int i = offset, n = offset + count; i < n; i++)
+			maxIndex = Math.max(maxIndex, indices[i] & 0xFFFF);
+		final int[] timestamps = new int[maxIndex + 1];
+		int time = cacheSize + 1, misses = 0;
+		for (int i = offset, n = offset + count; i < n; i++) {
+			final int v = indices[i] & 0xFFFF;
+			if (time - timestamps[v] > cacheSize) {
+				timestamps[v] = time++;
+				misses++;
+			}
+		}
+		return misses / (float)(count / 3);
+	}
+
+	/** Reorders the triangles to make the best use of the post transform vertex cache, using Tom Forsyth's linear speed vertex
+	 * cache optimization. The triangles are greedily emitted by a score which favors the vertices recently used and the vertices
+	 * with few remaining triangles, it works well for any cache size.
+	 * @param numVertices one more than the highest index */
+	public static void optimizeVertexCache (short[] indices, int offset, int count, int numVertices) {
+		final int numTriangles = count / 3;
+		if (numTriangles < 2) return;
+		// The triangles of every vertex, used ones are swapped to the end of the range of the vertex
+		final int[] remaining = new int[numVertices], starts = new int[numVertices + 1];
+		for (int i = 0; i < count; i++)
+			remaining[indices[offset + i] & 0xFFFF]++;
+		for (int v = 0; v < numVertices; v++)
+			starts[v + 1] = starts[v] + remaining[v];
+		final int[] triangles = new int[count], fill = new int[numVertices];
+		for (int i = 0; i < count; i++) {
+			final int v = indices[offset + i] & 0xFFFF;
+			triangles[starts[v] + fill[v]++] = i / 3;
+		}
+		final int[] cachePositions = new int[numVertices];
+		final float[] scores = new float[numVertices];
+		for (int v = 0; v < numVertices; v++) {
+			cachePositions[v] = -1;
+			scores[v] = vertexScore(-1, remaining[v]);
+		}
+		final boolean[] emitted = new boolean[numTriangles];
+		final short[] result = new short[numTriangles * 3];
+		int[] cache = new int[CACHE_SIZE + 3], newCache = new int[CACHE_SIZE + 3];
+		int cacheCount = 0, best = -1, cursor = 0;
+		for (int e = 0; e < numTriangles; e++) {
+			if (best < 0) {
+				// Nothing in the cache has triangles left, continue with the first triangle not emitted yet
+				while (emitted[cursor])
+					cursor++;
+				best = cursor;
+			}
+			final int t = best;
+			emitted[t] = true;
+			final int a = indices[offset + t * 3] & 0xFFFF, b = indices[offset + t * 3 + 1] & 0xFFFF,
+				c = indices[offset + t * 3 + 2] & 0xFFFF;
+			result[e * 3] = (short)a;
+			result[e * 3 + 1] = (short)b;
+			result[e * 3 + 2] = (short)c;
+			int n = 0;
+			for (int k = 0; k < 3; k++) {
+				final int v = k == 0 ? a : k == 1 ? b : c;
+				if (k > 0 && (v == a || (k == 2 && v == b))) continue;
+				// Remove the triangle from the vertex
+				final int start = starts[v], last = start + remaining[v] - 1;
+				for (int i = start; i <= last; i++) {
+					if (triangles[i] != t) continue;
+					triangles[i] = triangles[last];
+					triangles[last] = t;
+					break;
+				}
+				remaining[v]--;
+				newCache[n++] = v;
+			}
+			for (int i = 0; i < cacheCount; i++) {
+				final int v = cache[i];
+				if (v != a && v != b && v != c) newCache[n++] = v;
+			}
+			final int[] swap = cache;
+			cache = newCache;
+			newCache = swap;
+			for (int i = 0; i < n; i++) {
+				final int v = cache[i];
+				cachePositions[v] = i < CACHE_SIZE ? i : -1;
+				scores[v] = vertexScore(cachePositions[v], remaining[v]);
+			}
+			// Only the triangles of the cached vertices changed their score
+			float bestScore = -1;
+			best = -1;
+			cacheCount = Math.min(n, CACHE_SIZE);
+			for (int i = 0; i < cacheCount; i++) {
+				final int v = cache[i];
+				for (int j = starts[v], m = starts[v] + remaining[v]; j < m; j++) {
+					// Degenerate triangles are listed twice for a vertex but only removed once
+					if (emitted[triangles[j]]) continue;
+					final int o = offset + triangles[j] * 3;
+					final float score = scores[indices[o] & 0xFFFF] + scores[indices[o + 1] & 0xFFFF]
+						+ scores[indices[o + 2] & 0xFFFF];
+					if (score > bestScore) {
+						bestScore = score;
+						best = triangles[j];
+					}
+				}
+			}
+		}
+		System.arraycopy(result, 0, indices, offset, numTriangles * 3);
+	}
+
+	private static float vertexScore (int cachePosition, int remaining) {
+		if (remaining == 0) return -1;
+		final float score = cachePosition < 0 ? 0 : cacheScores[cachePosition];
+		return score + (remaining < valenceScores.length ? valenceScores[remaining]
+			: VALENCE_BOOST_SCALE * (float)Math.pow(remaining, -VALENCE_BOOST_POWER));
+	}
+
+	/** Reorders clusters of triangles so the triangles facing away from the center of the mesh are drawn first, which occlude the
+	 * others for most view directions. The clusters are split where the vertex cache is flushed anyway, and further while the
+	 * average cache miss ratio of a cluster stays below threshold times the ratio of the original order, so call this after
+	 * {@link #optimizeVertexCache(short[], int, int, int)}.
+	 * @param positionOffset the offset in floats of the position in a vertex
+	 * @param threshold at least 1, for example 1.05 */
+	public static void optimizeOverdraw (short[] indices, int offset, int count, float[] vertices, int vertexSize,
+		int positionOffset, float threshold) {
+		final int numTriangles = count / 3;
+		if (numTriangles < 2) return;
+		int maxIndex = 0;
+		for (int i = offset, n = offset + count; i < n; i++)
+			maxIndex = Math.max(maxIndex, indices[i] & 0xFFFF);
+		final int cacheSize = 16;
+		final int[] timestamps = new int[maxIndex + 1];
+		final int[] misses = new int[numTriangles];
+		final int[] clusters = new int[numTriangles + 1];
+		int clusterCount = 0, time = cacheSize + 1;
+		// Hard boundaries, where all three vertices of a triangle miss the cache
+		for (int t = 0; t < numTriangles; t++) {
+			int m = 0;
+			for (int k = 0; k < 3; k++) {
+				final int v = indices[offset + t * 3 + k] & 0xFFFF;
+				if (time - timestamps[v] > cacheSize) {
+					timestamps[v] = time++;
+					m++;
+				}
+			}
+			misses[t] = m;
+			if (t == 0 || m == 3) clusters[clusterCount++] = t;
+		}
+		clusters[clusterCount] = numTriangles;
+		// Soft boundaries, the cache is assumed to be flushed at the start of every cluster
+		final int[] softClusters = new int[numTriangles + 1];
+		int softCount = 0;
+		for (int i = 0; i < clusterCount; i++) {
+			final int start = clusters[i], end = clusters[i + 1];
+			int clusterMisses = 0;
+			for (int t = start; t < end; t++)
+				clusterMisses += misses[t];
+			final float clusterThreshold = threshold * clusterMisses / (end - start);
+			softClusters[softCount++] = start;
+			time += cacheSize + 1;
+			int runningMisses = 0, runningTriangles = 0;
+			for (int t = start; t < end; t++) {
+				for (int k = 0; k < 3; k++) {
+					final int v = indices[offset + t * 3 + k] & 0xFFFF;
+					if (time - timestamps[v] > cacheSize) {
+						timestamps[v] = time++;
+						runningMisses++;
+					}
+				}
+				runningTriangles++;
+				if (t + 1 < end && runningMisses <= clusterThreshold * runningTriangles) {
+					softClusters[softCount++] = t + 1;
+					time += cacheSize + 1;
+					runningMisses = runningTriangles = 0;
+				}
+			}
+		}
+		softClusters[softCount] = numTriangles;
+
+		// The area weighted centroid of the mesh and of every cluster, and the area weighted normal of every cluster
+		final float[] clusterData = new float[softCount * 7];
+		float meshX = 0, meshY = 0, meshZ = 0, meshArea = 0;
+		for (int i = 0; i < softCount; i++) {
+			final int d = i * 7;
+			for (int t = softClusters[i]; t < softClusters[i + 1]; t++) {
+				final int o = offset + t * 3;
+				final int p0 = (indices[o] & 0xFFFF) * vertexSize + positionOffset;
+				final int p1 = (indices[o + 1] & 0xFFFF) * vertexSize + positionOffset;
+				final int p2 = (indices[o + 2] & 0xFFFF) * vertexSize + positionOffset;
+				final float ux = vertices[p1] - vertices[p0], uy = vertices[p1 + 1] - vertices[p0 + 1],
+					uz = vertices[p1 + 2] - vertices[p0 + 2];
+				final float vx = vertices[p2] - vertices[p0], vy = vertices[p2 + 1] - vertices[p0 + 1],
+					vz = vertices[p2 + 2] - vertices[p0 + 2];
+				final float nx = uy * vz - uz * vy, ny = uz * vx - ux * vz, nz = ux * vy - uy * vx;
+				final float area = (float)Math.sqrt(nx * nx + ny * ny + nz * nz);
+				final float cx = (vertices[p0] + vertices[p1] + vertices[p2]) / 3;
+				final float cy = (vertices[p0 + 1] + vertices[p1 + 1] + vertices[p2 + 1]) / 3;
+				final float cz = (vertices[p0 + 2] + vertices[p1 + 2] + vertices[p2 + 2]) / 3;
+				clusterData[d] += cx * area;
+				clusterData[d + 1] += cy * area;
+				clusterData[d + 2] += cz * area;
+				clusterData[d + 3] += area;
+				clusterData[d + 4] += nx;
+				clusterData[d + 5] += ny;
+				clusterData[d + 6] += nz;
+			}
+			meshX += clusterData[d];
+			meshY += clusterData[d + 1];
+			meshZ += clusterData[d + 2];
+			meshArea += clusterData[d + 3];
+		}
+		if (meshArea > 0) {
+			meshX /= meshArea;
+			meshY /= meshArea;
+			meshZ /= meshArea;
+		}
+		final long[] keys = new long[softCount];
+		final int[] order = new int[softCount];
+		for (int i = 0; i < softCount; i++) {
+			final int d = i * 7;
+			final float area = clusterData[d + 3];
+			float dot = 0;
+			if (area > 0) {
+				final float nx = clusterData[d + 4], ny = clusterData[d + 5], nz = clusterData[d + 6];
+				final float length = (float)Math.sqrt(nx * nx + ny * ny + nz * nz);
+				if (length > 0) dot = ((clusterData[d] / area - meshX) * nx + (clusterData[d + 1] / area - meshY) * ny
+					+ (clusterData[d + 2] / area - meshZ) * nz) / length;
+			}
+			// The clusters furthest out along their normal first
+			keys[i] = RadixSort.floatToKey(-dot);
+			order[i] = i;
+		}
+		new RadixSort().sort(keys, order, softCount);
+		final short[] result = new short[numTriangles * 3];
+		int r = 0;
+		for (int i = 0; i < softCount; i++) {
+			final int cluster = order[i];
+			final int start = softClusters[cluster] * 3, size = softClusters[cluster + 1] * 3 - start;
+			System.arraycopy(indices, offset + start, result, r, size);
+			r += size;
+		}
+		System.arraycopy(result, 0, indices, offset, r);
+	}
+
+	/** Reorders the vertices in the order they are first used by the indices and removes the unused vertices.
+	 * @param remap receives the new index of every vertex, or -1 for unused vertices. Must be at least numVertices long.
+	 * @return the number of used vertices */
+	public static int optimizeVertexFetch (float[] vertices, int vertexSize, int numVertices, short[] indices, int offset,
+		int count, int[] remap) {
+		for (int v = 0; v < numVertices; v++)
+			remap[v] = -1;
+		int next = 0;
+		for (int i = offset, n = offset + count; i < n; i++) {
+			final int v = indices[i] & 0xFFFF;
+			if (remap[v] < 0) remap[v] = next++;
+			indices[i] = (short)remap[v];
+		}
+		final float[] copy = new float[numVertices * vertexSize];
+		System.arraycopy(vertices, 0, copy, 0, copy.length);
+		for (int v = 0; v < numVertices; v++)
+			if (remap[v] >= 0) System.arraycopy(copy, v * vertexSize, vertices, remap[v] * vertexSize, vertexSize);
+		return next;
+	}
+
+	private static final int MANIFOLD = 0, BORDER = 1, LOCKED = 2;
+	private static final float BORDER_WEIGHT = 10;
+
+	/** Simplifies the triangles by collapsing edges in the order of their quadric error, the vertices are not changed so all levels
+	 * of detail can share them. Vertices on open borders only move along the border, vertices on attribute seams (with the same
+	 * position as another vertex) and corners don't move.
+	 * @param positionOffset the offset in floats of the position in a vertex
+	 * @param targetCount the number of indices to reduce to
+	 * @param maxError the maximum distance between the simplified and the original surface, in the units of the positions
+	 * @param out receives the indices of the simplified triangles, may be the same array as the indices
+	 * @return the number of indices written to out, may be more than the target count if the error or the topology doesn't allow
+	 *         more collapses */
+	public static int simplify (float[] vertices, int vertexSize, int positionOffset, int numVertices, short[] indices,
+		int offset, int count, int targetCount, float maxError, short[] out, int outOffset) {
+		count -= count % 3;
+		System.arraycopy(indices, offset, out, outOffset, count);
+		if (count <= targetCount) return count;
+		final int targetTriangles = targetCount / 3;
+		final float maxError2 = maxError == Float.MAX_VALUE ? Float.MAX_VALUE : maxError * maxError;
+
+		// Vertices with the same position share a position id, vertices with a twin are on an attribute seam
+		final int[] positionIds = new int[numVertices];
+		final int[] twins = new int[numVertices];
+		{
+			final int mask = nextPowerOfTwo(numVertices * 2) - 1;
+			final int[] table = new int[mask + 1];
+			for (int i = 0; i <= mask; i++)
+				table[i] = -1;
+			for (int v = 0; v < numVertices; v++) {
+				final int p = v * vertexSize + positionOffset;
+				int hash = (Float.floatToIntBits(vertices[p] + 0f) * 31 + Float.floatToIntBits(vertices[p + 1] + 0f)) * 31
+					+ Float.floatToIntBits(vertices[p + 2] + 0f);
+				hash ^= hash >>> 16;
+				int slot = hash & mask;
+				positionIds[v] = v;
+				while (table[slot] != -1) {
+					final int q = table[slot] * vertexSize + positionOffset;
+					if (vertices[p] == vertices[q] && vertices[p + 1] == vertices[q + 1] && vertices[p + 2] == vertices[q + 2]) {
+						positionIds[v] = table[slot];
+						break;
+					}
+					slot = (slot + 1) & mask;
+				}
+				if (positionIds[v] == v) table[slot] = v;
+				twins[positionIds[v]]++;
+			}
+		}
+
+		// The triangles of every position id, to find the open borders
+		int[] starts = new int[numVertices + 1], triangles = new int[count];
+		buildAdjacency(out, outOffset, count, positionIds, starts, triangles);
+		final int[] kinds = new int[numVertices];
+		final int[] borderNeighbors = new int[numVertices * 2];
+		for (int v = 0; v < numVertices; v++) {
+			borderNeighbors[v * 2] = borderNeighbors[v * 2 + 1] = -1;
+			if (twins[positionIds[v]] > 1) kinds[v] = LOCKED;
+		}
+		final double[] quadrics = new double[numVertices * 11];
+		for (int i = 0; i < count; i += 3) {
+			final int o = outOffset + i;
+			final int a = out[o] & 0xFFFF, b = out[o + 1] & 0xFFFF, c = out[o + 2] & 0xFFFF;
+			final int pa = a * vertexSize + positionOffset, pb = b * vertexSize + positionOffset, pc = c * vertexSize + positionOffset;
+			final double ux = vertices[pb] - vertices[pa], uy = vertices[pb + 1] - vertices[pa + 1], uz = vertices[pb + 2] - vertices[pa + 2];
+			final double vx = vertices[pc] - vertices[pa], vy = vertices[pc + 1] - vertices[pa + 1], vz = vertices[pc + 2] - vertices[pa + 2];
+			double nx = uy * vz - uz * vy, ny = uz * vx - ux * vz, nz = ux * vy - uy * vx;
+			final double length = Math.sqrt(nx * nx + ny * ny + nz * nz);
+			if (length == 0) continue;
+			nx /= length;
+			ny /= length;
+			nz /= length;
+			final double area = length * 0.5;
+			final double d = -(nx * vertices[pa] + ny * vertices[pa + 1] + nz * vertices[pa + 2]);
+			addQuadric(quadrics, a, nx, ny, nz, d, area, area);
+			addQuadric(quadrics, b, nx, ny, nz, d, area, area);
+			addQuadric(quadrics, c, nx, ny, nz, d, area, area);
+			// Open borders keep their shape with a plane through the edge, perpendicular to the triangle
+			for (int k = 0; k < 3; k++) {
+				final int e0 = k == 0 ? a : k == 1 ? b : c, e1 = k == 0 ? b : k == 1 ? c : a;
+				if (!isBorderEdge(out, outOffset, positionIds, starts, triangles, positionIds[e0], positionIds[e1])) continue;
+				for (int j = 0; j < 2; j++) {
+					final int v = j == 0 ? e0 : e1, other = j == 0 ? e1 : e0;
+					if (kinds[v] == LOCKED) continue;
+					if (borderNeighbors[v * 2] == -1)
+						borderNeighbors[v * 2] = other;
+					else if (borderNeighbors[v * 2 + 1] == -1)
+						borderNeighbors[v * 2 + 1] = other;
+					else
+						kinds[v] = LOCKED;
+				}
+				final int q0 = e0 * vertexSize + positionOffset, q1 = e1 * vertexSize + positionOffset;
+				final double ex = vertices[q1] - vertices[q0], ey = vertices[q1 + 1] - vertices[q0 + 1], ez = vertices[q1 + 2] - vertices[q0 + 2];
+				double bx = ey * nz - ez * ny, by = ez * nx - ex * nz, bz = ex * ny - ey * nx;
+				final double bLength = Math.sqrt(bx * bx + by * by + bz * bz);
+				if (bLength == 0) continue;
+				bx /= bLength;
+				by /= bLength;
+				bz /= bLength;
+				final double bd = -(bx * vertices[q0] + by * vertices[q0 + 1] + bz * vertices[q0 + 2]);
+				final double weight = (ex * ex + ey * ey + ez * ez) * BORDER_WEIGHT;
+				addQuadric(quadrics, e0, bx, by, bz, bd, weight, 0);
+				addQuadric(quadrics, e1, bx, by, bz, bd, weight, 0);
+			}
+		}
+		for (int v = 0; v < numVertices; v++) {
+			if (kinds[v] != LOCKED && borderNeighbors[v * 2] != -1)
+				kinds[v] = borderNeighbors[v * 2 + 1] == -1 ? LOCKED : BORDER;
+		}
+
+		// Collapse the cheapest edges in passes, every vertex takes part in at most one collapse per pass
+		final int[] collapses = new int[numVertices];
+		final boolean[] passLocked = new boolean[numVertices];
+		// Up to two candidates per edge, every index starts an edge
+		final int[] candidates = new int[count * 4];
+		final long[] keys = new long[count * 2];
+		final int[] order = new int[count * 2];
+		final RadixSort sort = new RadixSort();
+		int triangleCount = count / 3;
+		while (triangleCount > targetTriangles) {
+			buildAdjacency(out, outOffset, triangleCount * 3, null, starts, triangles);
+			int candidateCount = 0;
+			for (int i = 0, n = triangleCount * 3; i < n; i++) {
+				final int a = out[outOffset + i] & 0xFFFF;
+				final int b = out[outOffset + (i % 3 == 2 ? i - 2 : i + 1)] & 0xFFFF;
+				for (int j = 0; j < 2; j++) {
+					final int from = j == 0 ? a : b, to = j == 0 ? b : a;
+					final int kind = kinds[from];
+					if (kind == LOCKED) continue;
+					if (kind == BORDER && (kinds[to] == MANIFOLD
+						|| (borderNeighbors[from * 2] != to && borderNeighbors[from * 2 + 1] != to))) continue;
+					final float error = collapseError(quadrics, from, to, vertices, to * vertexSize + positionOffset);
+					if (error > maxError2) continue;
+					candidates[candidateCount] = from;
+					candidates[candidateCount + 1] = to;
+					keys[candidateCount >> 1] = RadixSort.floatToKey(error);
+					order[candidateCount >> 1] = candidateCount;
+					candidateCount += 2;
+				}
+			}
+			if (candidateCount == 0) break;
+			sort.sort(keys, order, candidateCount >> 1);
+
+			for (int v = 0; v < numVertices; v++) {
+				collapses[v] = v;
+				passLocked[v] = false;
+			}
+			int removed = 0, collapsed = 0;
+			for (int i = 0, n = candidateCount >> 1; i < n && triangleCount - removed > targetTriangles; i++) {
+				final int from = candidates[order[i]], to = candidates[order[i] + 1];
+				if (passLocked[from] || passLocked[to]) continue;
+				if (flips(vertices, vertexSize, positionOffset, out, outOffset, starts, triangles, from, to)) continue;
+				collapses[from] = to;
+				collapsed++;
+				for (int q = 0; q < 11; q++)
+					quadrics[to * 11 + q] += quadrics[from * 11 + q];
+				if (kinds[from] == BORDER && kinds[to] == BORDER) {
+					// The border now continues from the target to the other border neighbor of the collapsed vertex
+					final int next = borderNeighbors[from * 2] == to ? borderNeighbors[from * 2 + 1] : borderNeighbors[from * 2];
+					if (borderNeighbors[to * 2] == from)
+						borderNeighbors[to * 2] = next;
+					else if (borderNeighbors[to * 2 + 1] == from) borderNeighbors[to * 2 + 1] = next;
+					if (kinds[next] == BORDER) {
+						if (borderNeighbors[next * 2] == from)
+							borderNeighbors[next * 2] = to;
+						else if (borderNeighbors[next * 2 + 1] == from) borderNeighbors[next * 2 + 1] = to;
+					}
+				}
+				passLocked[from] = passLocked[to] = true;
+				for (int j = starts[from], m = starts[from + 1]; j < m; j++) {
+					final int o = outOffset + triangles[j] * 3;
+					final int a = out[o] & 0xFFFF, b = out[o + 1] & 0xFFFF, c = out[o + 2] & 0xFFFF;
+					passLocked[a] = passLocked[b] = passLocked[c] = true;
+					if (a == to || b == to || c == to) removed++;
+				}
+			}
+			if (collapsed == 0) break;
+
+			// Apply the collapses and remove the degenerate triangles
+			int write = outOffset;
+			for (int i = 0, n = triangleCount * 3; i < n; i += 3) {
+				final int a = collapses[out[outOffset + i] & 0xFFFF], b = collapses[out[outOffset + i + 1] & 0xFFFF],
+					c = collapses[out[outOffset + i + 2] & 0xFFFF];
+				if (positionIds[a] == positionIds[b] || positionIds[b] == positionIds[c] || positionIds[a] == positionIds[c])
+					continue;
+				out[write++] = (short)a;
+				out[write++] = (short)b;
+				out[write++] = (short)c;
+			}
+			triangleCount = (write - outOffset) / 3;
+		}
+		return triangleCount * 3;
+	}
+
+	/** Fills starts and triangles with the triangles of every vertex, or of every position id if positionIds isn't null. */
+	private static void buildAdjacency (short[] indices, int offset, int count, int[] positionIds, int[] starts,
+		int[] triangles) {
+		final int numVertices = starts.length - 1;
+		for (int v = 0; v <= numVertices; v++)
+			starts[v] = 0;
+		for (int i = 0; i < count; i++) {
+			int v = indices[offset + i] & 0xFFFF;
+			if (positionIds != null) v = positionIds[v];
+			starts[v + 1]++;
+		}
+		for (int v = 0; v < numVertices; v++)
+			starts[v + 1] += starts[v];
+		// Fill using starts as cursors, then shift them back
+		for (int i = 0; i < count; i++) {
+			int v = indices[offset + i] & 0xFFFF;
+			if (positionIds != null) v = positionIds[v];
+			triangles[starts[v]++] = i / 3;
+		}
+		for (int v = numVertices; v > 0; v--)
+			starts[v] = starts[v - 1];
+		starts[0] = 0;
+	}
+
+	/** @return whether no triangle has the edge from position id p1 to p0, the opposite of the edge from p0 to p1. */
+	private static boolean isBorderEdge (short[] indices, int offset, int[] positionIds, int[] starts, int[] triangles, int p0,
+		int p1) {
+		for (int j = starts[p1], m = starts[p1 + 1]; j < m; j++) {
+			final int o = offset + triangles[j] * 3;
+			for (int k = 0; k < 3; k++)
+				if (positionIds[indices[o + k] & 0xFFFF] == p1 && positionIds[indices[o + (k + 1) % 3] & 0xFFFF] == p0)
+					return false;
+		}
+		return true;
+	}
+
+	private static void addQuadric (double[] quadrics, int v, double a, double b, double c, double d, double weight,
+		double area) {
+		final int q = v * 11;
+		quadrics[q] += a * a * weight;
+		quadrics[q + 1] += b * b * weight;
+		quadrics[q + 2] += c * c * weight;
+		quadrics[q + 3] += d * d * weight;
+		quadrics[q + 4] += a * b * weight;
+		quadrics[q + 5] += a * c * weight;
+		quadrics[q + 6] += a * d * weight;
+		quadrics[q + 7] += b * c * weight;
+		quadrics[q + 8] += b * d * weight;
+		quadrics[q + 9] += c * d * weight;
+		quadrics[q + 10] += area;
+	}
+
+	/** @return the area weighted mean squared distance of the position to the planes of the quadrics of both vertices */
+	private static float collapseError (double[] quadrics, int v0, int v1, float[] vertices, int p) {
+		final double x = vertices[p], y = vertices[p + 1], z = vertices[p + 2];
+		double error = 0, weight = 0;
+		for (int j = 0; j < 2; j++) {
+			final int q = (j == 0 ? v0 : v1) * 11;
+			error += quadrics[q] * x * x + quadrics[q + 1] * y * y + quadrics[q + 2] * z * z + quadrics[q + 3]
+				+ 2 * (quadrics[q + 4] * x * y + quadrics[q + 5] * x * z + quadrics[q + 6] * x + quadrics[q + 7] * y * z
+					+ quadrics[q + 8] * y + quadrics[q + 9] * z);
+			weight += quadrics[q + 10];
+		}
+		return (float)Math.max(weight > 0 ? error / weight : error, 0);
+	}
+
+	/** @return whether moving vertex from onto vertex to flips the normal of one of the triangles of from that remain */
+	private static boolean flips (float[] vertices, int vertexSize, int positionOffset, short[] indices, int offset, int[] starts,
+		int[] triangles, int from, int to) {
+		final int pt = to * vertexSize + positionOffset;
+		for (int j = starts[from], m = starts[from + 1]; j < m; j++) {
+			final int o = offset + triangles[j] * 3;
+			final int a = indices[o] & 0xFFFF, b = indices[o + 1] & 0xFFFF, c = indices[o + 2] & 0xFFFF;
+			if (a == to || b == to || c == to) continue;
+			// Rotate so the collapsed vertex comes first
+			final int v1 = a == from ? b : b == from ? c : a, v2 = a == from ? c : b == from ? a : b;
+			final int p0 = from * vertexSize + positionOffset, p1 = v1 * vertexSize + positionOffset,
+				p2 = v2 * vertexSize + positionOffset;
+			final float e1x = vertices[p1] - vertices[p2], e1y = vertices[p1 + 1] - vertices[p2 + 1],
+				e1z = vertices[p1 + 2] - vertices[p2 + 2];
+			final float ox = vertices[p0] - vertices[p2], oy = vertices[p0 + 1] - vertices[p2 + 1], oz = vertices[p0 + 2] - vertices[p2 + 2];
+			final float nx = vertices[pt] - vertices[p2], ny = vertices[pt + 1] - vertices[p2 + 1], nz = vertices[pt + 2] - vertices[p2 + 2];
+			// The normals of (p2, p1, p0) before and (p2, p1, to) after the collapse
+			final float ax = e1y * oz - e1z * oy, ay = e1z * ox - e1x * oz, az = e1x * oy - e1y * ox;
+			final float bx = e1y * nz - e1z * ny, by = e1z * nx - e1x * nz, bz = e1x * ny - e1y * nx;
+			if (ax * bx + ay * by + az * bz <= 0) return true;
+		}
+		return false;
+	}
+}
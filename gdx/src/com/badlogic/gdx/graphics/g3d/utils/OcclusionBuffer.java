@@ -0,0 +1,147 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g3d.utils;
+
+import com.badlogic.gdx.math.Matrix4;
+
+/** A small depth buffer rasterized on the CPU, used to test whether axis aligned bounding boxes are hidden behind occluders. It
+ * doesn't need a GPU, so it also works on headless servers.
+ * <p>
+ * Call {@link #begin(Matrix4)} with the combined camera matrix, then {@link #addOccluder(float[], int)} for the solid boxes, for
+ * example walls and buildings, nearest first. Afterwards {@link #isVisible(float[], int)} tells whether a box might be visible. The
+ * boxes are given as six floats: the minimum x, y, z followed by the maximum x, y, z. The occludee test is conservative: a box is
+ * only reported hidden if the occluders cover its whole screen rectangle, grown by one pixel, in front of its nearest corner. */
+public class OcclusionBuffer {
+	/** The indices of the corners of the twelve triangles of a box, the corner index bits select max x, y and z. */
+	private static final int[] boxTriangles = {0, 1, 3, 0, 3, 2, 4, 6, 7, 4, 7, 5, 0, 4, 5, 0, 5, 1, 2, 3, 7, 2, 7, 6, 0, 2, 6,
+		0, 6, 4, 1, 5, 7, 1, 7, 3};
+
+	public final int width, height;
+	private final float[] depth;
+	private final float[] matrix = new float[16];
+	/** The projected corners of the current box: screen x, y and normalized device z. */
+	private final float[] corners = new float[8 * 3];
+
+	public OcclusionBuffer (int width, int height) {
+		if (width < 1 || height < 1) throw new IllegalArgumentException("Invalid size: " + width + "x" + height);
+		this.width = width;
+		this.height = height;
+		depth = new float[width * height];
+	}
+
+	/** Clears the buffer and sets the matrix used to project the boxes.
+	 * @param combined the combined projection and view matrix, as in {@link com.badlogic.gdx.graphics.Camera#combined} */
+	public void begin (Matrix4 combined) {
+		System.arraycopy(combined.val, 0, matrix, 0, 16);
+		final float[] depth = this.depth;
+		for (int i = 0, n = depth.length; i < n; i++)
+			depth[i] = 1f;
+	}
+
+	/** Projects the corners of the box to {@link #corners}.
+	 * @return false if a corner is behind the near plane of the camera */
+	private boolean project (float[] bounds, int offset) {
+		final float[] m = matrix, corners = this.corners;
+		final float halfWidth = width * 0.5f, halfHeight = height * 0.5f;
+		for (int i = 0; i < 8; i++) {
+			final float x = bounds[offset + ((i & 1) == 0 ? 0 : 3)];
+			final float y = bounds[offset + ((i & 2) == 0 ? 1 : 4)];
+			final float z = bounds[offset + ((i & 4) == 0 ? 2 : 5)];
+			final float w = m[Matrix4.M30] * x + m[Matrix4.M31] * y + m[Matrix4.M32] * z + m[Matrix4.M33];
+			final float cz = m[Matrix4.M20] * x + m[Matrix4.M21] * y + m[Matrix4.M22] * z + m[Matrix4.M23];
+			if (w <= 0f || cz < -w) return false;
+			final float invW = 1f / w;
+			corners[i * 3] = ((m[Matrix4.M00] * x + m[Matrix4.M01] * y + m[Matrix4.M02] * z + m[Matrix4.M03]) * invW + 1f)
+				* halfWidth;
+			corners[i * 3 + 1] = ((m[Matrix4.M10] * x + m[Matrix4.M11] * y + m[Matrix4.M12] * z + m[Matrix4.M13]) * invW + 1f)
+				* halfHeight;
+			corners[i * 3 + 2] = cz * invW;
+		}
+		return true;
+	}
+
+	/** Rasterizes a solid box into the buffer. The box must be completely filled by the object it stands for, otherwise objects
+	 * behind it are wrongly culled. Boxes crossing the near plane of the camera are ignored.
+	 * @return whether the box was rasterized */
+	public boolean addOccluder (float[] bounds, int offset) {
+		if (!project(bounds, offset)) return false;
+		final float[] corners = this.corners;
+		for (int i = 0; i < boxTriangles.length; i += 3) {
+			final int a = boxTriangles[i] * 3, b = boxTriangles[i + 1] * 3, c = boxTriangles[i + 2] * 3;
+			rasterize(corners[a], corners[a + 1], corners[a + 2], corners[b], corners[b + 1], corners[b + 2], corners[c],
+				corners[c + 1], corners[c + 2]);
+		}
+		return true;
+	}
+
+	/** Writes the depth of the pixels whose center is inside the triangle, keeping the nearest depth. */
+	private void rasterize (float x0, float y0, float z0, float x1, float y1, float z1, float x2, float y2, float z2) {
+		float area = (x1 - x0) * (y2 - y0) - (x2 - x0) * (y1 - y0);
+		if (area == 0f) return;
+		final int minX = Math.max(0, (int)Math.floor(Math.min(x0, Math.min(x1, x2))));
+		final int maxX = Math.min(width - 1, (int)Math.ceil(Math.max(x0, Math.max(x1, x2))));
+		final int minY = Math.max(0, (int)Math.floor(Math.min(y0, Math.min(y1, y2))));
+		final int maxY = Math.min(height - 1, (int)Math.ceil(Math.max(y0, Math.max(y1, y2))));
+		if (minX > maxX || minY > maxY) return;
+		final float invArea = 1f / area;
+		final float[] depth = this.depth;
+		for (int y = minY; y <= maxY; y++) {
+			final float py = y + 0.5f;
+			for (int x = minX; x <= maxX; x++) {
+				final float px = x + 0.5f;
+				// Barycentric weights, all positive inside the triangle for either winding
+				final float w0 = ((x1 - px) * (y2 - py) - (x2 - px) * (y1 - py)) * invArea;
+				if (w0 < 0f) continue;
+				final float w1 = ((x2 - px) * (y0 - py) - (x0 - px) * (y2 - py)) * invArea;
+				if (w1 < 0f) continue;
+				final float w2 = 1f - w0 - w1;
+				if (w2 < 0f) continue;
+				final float z = w0 * z0 + w1 * z1 + w2 * z2;
+				final int index = y * width + x;
+				if (z < depth[index]) depth[index] = z;
+			}
+		}
+	}
+
+	/** @return false if the box is completely hidden behind the occluders or outside the screen, true if it might be visible. Boxes
+	 *         crossing the near plane of the camera are always visible. */
+	public boolean isVisible (float[] bounds, int offset) {
+		if (!project(bounds, offset)) return true;
+		final float[] corners = this.corners;
+		float minX = corners[0], minY = corners[1], minZ = corners[2], maxX = minX, maxY = minY;
+		for (int i = 3; i < corners.length; i += 3) {
+			final float x = corners[i], y = corners[i + 1], z = corners[i + 2];
+			if (x < minX) minX = x;
+			if (x > maxX) maxX = x;
+			if (y < minY) minY = y;
+			if (y > maxY) maxY = y;
+			if (z < minZ) minZ = z;
+		}
+		final int x0 = Math.max(0, (int)Math.floor(minX) - 1), x1 = Math.min(width - 1, (int)Math.ceil(maxX) + 1);
+		final int y0 = Math.max(0, (int)Math.floor(minY) - 1), y1 = Math.min(height - 1, (int)Math.ceil(maxY) + 1);
+		final float[] depth = this.depth;
+		for (int y = y0; y <= y1; y++)
+			for (int i = y * width + x0, n = y * width + x1; i <= n; i++)
+				if (minZ <= depth[i]) return true;
+		return false;
+	}
+
+	/** @return the depth buffer, width * height normalized device depths, row by row from the bottom of the screen. */
+	public float[] getDepth () {
+		return depth;
+	}
+}
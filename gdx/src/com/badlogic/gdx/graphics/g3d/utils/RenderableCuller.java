@@ -0,0 +1,35 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g3d.utils;
+
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.g3d.ModelBatch;
+import com.badlogic.gdx.graphics.g3d.RenderableProvider;
+
+/** Responsible for deciding which {@link RenderableProvider}s are visible to the camera of a {@link ModelBatch}, so the batch can
+ * skip the providers which are not, before their renderables are fetched and sorted.
+ * @see ModelBatch#setCuller(RenderableCuller) */
+public interface RenderableCuller {
+	/** Called by the {@link ModelBatch} when its camera is set, once per {@link ModelBatch#begin(Camera)} or
+	 * {@link ModelBatch#setCamera(Camera)}. Implementations usually calculate the visibility of all their providers here.
+	 * @param camera the camera, its {@link Camera#frustum} and {@link Camera#combined} matrix are up to date */
+	public void begin (Camera camera);
+
+	/** @return false if the provider is certainly not visible to the camera passed to {@link #begin(Camera)}, true if it might be
+	 *         visible or is unknown to this culler. */
+	public boolean isVisible (RenderableProvider provider);
+}
@@ -0,0 +1,650 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.math;
+
+/** A dynamic bounding volume hierarchy of axis aligned boxes, the base of {@link DynamicTree2} and {@link DynamicTree3}. Each
+ * object is a proxy, identified by an int id, which is a leaf of a balanced binary tree. Internal nodes enclose their children.
+ * <p>
+ * The leaves store the exact bounds of their objects and enlarged "fat" bounds, grown by {@link #margin} and by the predicted
+ * displacement when moved. An object only has to be reinserted when it moves out of its fat bounds, so small movements are cheap.
+ * The tree is kept balanced by tree rotations, like the dynamic tree of Box2D.
+ * <p>
+ * The nodes are stored in primitive arrays, queries don't allocate once the internal stack is big enough. The tree is not thread
+ * safe, queries must not run concurrently or be started from the callback of another query.
+ * @param <T> the type of the user data of the proxies */
+public abstract class DynamicTree<T> {
+	/** The null node and proxy id. */
+	public static final int NULL = -1;
+
+	/** Reports the proxies found by a query. */
+	public interface QueryCallback {
+		/** @return false to stop the query */
+		public boolean reportProxy (int proxyId);
+	}
+
+	/** Reports the proxies hit by a ray cast. */
+	public interface RayCastCallback {
+		/** @param fraction the fraction of the ray where it enters the bounds of the proxy
+		 * @return -1 to ignore the proxy and continue, 0 to stop the ray cast, a fraction to clip the ray to it or 1 to continue */
+		public float reportRayHit (int proxyId, float fraction);
+	}
+
+	/** Reports pairs of proxies whose fat bounds overlap. */
+	public interface PairCallback {
+		/** @param proxyA the smaller id of the pair
+		 * @param proxyB the larger id of the pair */
+		public void addPair (int proxyA, int proxyB);
+	}
+
+	/** The distance by which the fat bounds are larger than the bounds of the objects. */
+	public float margin;
+	/** The factor applied to the displacement passed when moving a proxy, to extend its fat bounds in the direction of movement. */
+	public float displacementMultiplier = 2f;
+
+	protected final int dimensions;
+	/** The number of floats per box, the minimum of each axis followed by the maximum of each axis. */
+	protected final int stride;
+	/** The fat bounds of all nodes. */
+	protected float[] fatBounds;
+	/** The exact bounds of the leaves. */
+	protected float[] bounds;
+	/** The parent of each node, the next free node for free nodes. */
+	protected int[] parent;
+	protected int[] child1, child2;
+	/** The height of each node, 0 for leaves and -1 for free nodes. */
+	protected int[] height;
+	protected Object[] userData;
+	protected boolean[] moved;
+	protected int root = NULL;
+	private int freeList = NULL, nodeCount, proxyCount;
+
+	private int[] moveBuffer = new int[16];
+	private int moveCount;
+	protected int[] stack = new int[64];
+	protected final float[] tmpBox, tmpPoint;
+
+	protected DynamicTree (int dimensions, float margin, int initialCapacity) {
+		this.dimensions = dimensions;
+		this.stride = dimensions * 2;
+		this.margin = margin;
+		tmpBox = new float[stride];
+		tmpPoint = new float[dimensions];
+		initialCapacity = Math.max(initialCapacity, 16);
+		fatBounds = new float[initialCapacity * stride];
+		bounds = new float[initialCapacity * stride];
+		parent = new int[initialCapacity];
+		child1 = new int[initialCapacity];
+		child2 = new int[initialCapacity];
+		height = new int[initialCapacity];
+		userData = new Object[initialCapacity];
+		moved = new boolean[initialCapacity];
+		linkFreeNodes(0, initialCapacity);
+	}
+
+	private void linkFreeNodes (int start, int end) {
+		for (int i = start; i < end - 1; i++) {
+			parent[i] = i + 1;
+			height[i] = -1;
+		}
+		parent[end - 1] = NULL;
+		height[end - 1] = -1;
+		freeList = start;
+	}
+
+	private int allocateNode () {
+		if (freeList == NULL) {
+			final int capacity = parent.length, newCapacity = capacity << 1;
+			fatBounds = resize(fatBounds, newCapacity * stride);
+			bounds = resize(bounds, newCapacity * stride);
+			parent = resize(parent, newCapacity);
+			child1 = resize(child1, newCapacity);
+			child2 = resize(child2, newCapacity);
+			height = resize(height, newCapacity);
+			Object[] newUserData = new Object[newCapacity];
+			System.arraycopy(userData, 0, newUserData, 0, capacity);
+			userData = newUserData;
+			boolean[] newMoved = new boolean[newCapacity];
+			System.arraycopy(moved, 0, newMoved, 0, capacity);
+			moved = newMoved;
+			linkFreeNodes(capacity, newCapacity);
+		}
+		final int node = freeList;
+		freeList = parent[node];
+		parent[node] = NULL;
+		child1[node] = NULL;
+		child2[node] = NULL;
+		height[node] = 0;
+		userData[node] = null;
+		moved[node] = false;
+		nodeCount++;
+		return node;
+	}
+
+	private void freeNode (int node) {
+		parent[node] = freeList;
+		height[node] = -1;
+		userData[node] = null;
+		freeList = node;
+		nodeCount--;
+	}
+
+	private static float[] resize (float[] array, int size) {
+		float[] newArray = new float[size];
+		System.arraycopy(array, 0, newArray, 0, array.length);
+		return newArray;
+	}
+
+	protected static int[] resize (int[] array, int size) {
+		int[] newArray = new int[size];
+		System.arraycopy(array, 0, newArray, 0, array.length);
+		return newArray;
+	}
+
+	/** Creates a proxy for the box in {@link #tmpBox}.
+	 * @return the proxy id */
+	protected int createProxy (T data) {
+		final int proxy = allocateNode();
+		final int s = stride, d = dimensions, o = proxy * s;
+		final float[] box = tmpBox;
+		for (int i = 0; i < d; i++) {
+			bounds[o + i] = box[i];
+			bounds[o + d + i] = box[d + i];
+			fatBounds[o + i] = box[i] - margin;
+			fatBounds[o + d + i] = box[d + i] + margin;
+		}
+		userData[proxy] = data;
+		insertLeaf(proxy);
+		proxyCount++;
+		bufferMove(proxy);
+		return proxy;
+	}
+
+	/** Moves a proxy to the box in {@link #tmpBox}, the displacement in {@link #tmpPoint}.
+	 * @return true if the proxy was reinserted because it left its fat bounds */
+	protected boolean moveProxy (int proxy) {
+		checkProxy(proxy);
+		final int d = dimensions, o = proxy * stride;
+		final float[] box = tmpBox, bounds = this.bounds, fatBounds = this.fatBounds;
+		boolean contained = true;
+		for (int i = 0; i < d; i++) {
+			bounds[o + i] = box[i];
+			bounds[o + d + i] = box[d + i];
+			if (box[i] < fatBounds[o + i] || box[d + i] > fatBounds[o + d + i]) contained = false;
+		}
+		if (contained) return false;
+
+		removeLeaf(proxy);
+		final float[] displacement = tmpPoint;
+		for (int i = 0; i < d; i++) {
+			float min = box[i] - margin, max = box[d + i] + margin;
+			final float delta = displacementMultiplier * displacement[i];
+			if (delta < 0)
+				min += delta;
+			else
+				max += delta;
+			fatBounds[o + i] = min;
+			fatBounds[o + d + i] = max;
+		}
+		insertLeaf(proxy);
+		bufferMove(proxy);
+		return true;
+	}
+
+	/** Removes the proxy, its id may be reused by proxies added later. */
+	public void remove (int proxy) {
+		checkProxy(proxy);
+		if (moved[proxy]) {
+			for (int i = 0; i < moveCount; i++)
+				if (moveBuffer[i] == proxy) moveBuffer[i] = NULL;
+			moved[proxy] = false;
+		}
+		removeLeaf(proxy);
+		freeNode(proxy);
+		proxyCount--;
+	}
+
+	/** Removes all proxies. */
+	public void clear () {
+		for (int i = 0, n = parent.length; i < n; i++)
+			userData[i] = null;
+		linkFreeNodes(0, parent.length);
+		for (int i = 0, n = moved.length; i < n; i++)
+			moved[i] = false;
+		root = NULL;
+		nodeCount = proxyCount = moveCount = 0;
+	}
+
+	protected void checkProxy (int proxy) {
+		if (proxy < 0 || proxy >= height.length || height[proxy] != 0)
+			throw new IllegalArgumentException("Invalid proxy: " + proxy);
+	}
+
+	/** Marks the proxy as moved, so {@link #updatePairs(PairCallback)} finds its new pairs. */
+	private void bufferMove (int proxy) {
+		if (moved[proxy]) return;
+		moved[proxy] = true;
+		if (moveCount == moveBuffer.length) moveBuffer = resize(moveBuffer, moveCount << 1);
+		moveBuffer[moveCount++] = proxy;
+	}
+
+	/** @return the user data of the proxy */
+	@SuppressWarnings("unchecked")
+	public T getUserData (int proxy) {
+		checkProxy(proxy);
+		return (T)userData[proxy];
+	}
+
+	/** @return the number of proxies */
+	public int getProxyCount () {
+		return proxyCount;
+	}
+
+	/** @return the number of nodes, leaves and internal nodes */
+	public int getNodeCount () {
+		return nodeCount;
+	}
+
+	/** @return the height of the tree, 0 for a single leaf and -1 for an empty tree */
+	public int getHeight () {
+		return root == NULL ? -1 : height[root];
+	}
+
+	/** Reports the pairs of proxies whose fat bounds overlap, for the proxies added or reinserted since the last call. Each pair
+	 * is reported once. */
+	public void updatePairs (PairCallback callback) {
+		for (int i = 0; i < moveCount; i++) {
+			final int proxy = moveBuffer[i];
+			if (proxy == NULL) continue;
+			queryPairs(proxy, callback, true);
+		}
+		clearMoved();
+	}
+
+	/** Forgets the proxies added or reinserted since the last call to {@link #updatePairs(PairCallback)}. Trees which are only
+	 * queried call this after adding or moving proxies, so removing a proxy doesn't search the growing list of moved proxies. */
+	public void clearMoved () {
+		for (int i = 0; i < moveCount; i++) {
+			final int proxy = moveBuffer[i];
+			if (proxy != NULL) moved[proxy] = false;
+		}
+		moveCount = 0;
+	}
+
+	/** Reports all the pairs of proxies whose fat bounds overlap, each pair once. */
+	public void queryPairs (PairCallback callback) {
+		final int[] height = this.height;
+		for (int proxy = 0, n = height.length; proxy < n; proxy++)
+			if (height[proxy] == 0) queryPairs(proxy, callback, false);
+	}
+
+	private void queryPairs (int proxy, PairCallback callback, boolean movedOnly) {
+		final int s = stride, q = proxy * s;
+		final float[] fatBounds = this.fatBounds;
+		int[] stack = this.stack;
+		int top = 0;
+		if (root != NULL) stack[top++] = root;
+		while (top > 0) {
+			final int node = stack[--top];
+			if (node == proxy || !overlaps(fatBounds, node * s, fatBounds, q)) continue;
+			if (height[node] == 0) {
+				if (movedOnly) {
+					// Both proxies moved, the pair is reported when querying the larger one
+					if (moved[node] && node > proxy) continue;
+				} else if (node < proxy) continue;
+				if (node < proxy)
+					callback.addPair(node, proxy);
+				else
+					callback.addPair(proxy, node);
+				continue;
+			}
+			if (top + 2 > stack.length) this.stack = stack = resize(stack, stack.length << 1);
+			stack[top++] = child1[node];
+			stack[top++] = child2[node];
+		}
+	}
+
+	/** Reports the proxies whose exact bounds overlap the box in {@link #tmpBox}. */
+	protected void query (QueryCallback callback) {
+		final int s = stride;
+		final float[] box = tmpBox, fatBounds = this.fatBounds, bounds = this.bounds;
+		int[] stack = this.stack;
+		int top = 0;
+		if (root != NULL) stack[top++] = root;
+		while (top > 0) {
+			final int node = stack[--top];
+			if (!overlaps(fatBounds, node * s, box, 0)) continue;
+			if (height[node] == 0) {
+				if (overlaps(bounds, node * s, box, 0) && !callback.reportProxy(node)) return;
+				continue;
+			}
+			if (top + 2 > stack.length) this.stack = stack = resize(stack, stack.length << 1);
+			stack[top++] = child1[node];
+			stack[top++] = child2[node];
+		}
+	}
+
+	/** Casts the ray from the point in {@link #tmpPoint} along the direction in {@link #tmpBox}, up to maxFraction times the
+	 * direction, against the exact bounds of the proxies. */
+	protected void rayCast (float maxFraction, RayCastCallback callback) {
+		final int s = stride;
+		final float[] fatBounds = this.fatBounds, bounds = this.bounds;
+		int[] stack = this.stack;
+		int top = 0;
+		if (root != NULL) stack[top++] = root;
+		while (top > 0) {
+			final int node = stack[--top];
+			if (rayFraction(fatBounds, node * s, maxFraction) < 0) continue;
+			if (height[node] == 0) {
+				final float fraction = rayFraction(bounds, node * s, maxFraction);
+				if (fraction < 0) continue;
+				final float value = callback.reportRayHit(node, fraction);
+				if (value == 0) return;
+				if (value > 0 && value < maxFraction) maxFraction = value;
+				continue;
+			}
+			if (top + 2 > stack.length) this.stack = stack = resize(stack, stack.length << 1);
+			stack[top++] = child1[node];
+			stack[top++] = child2[node];
+		}
+	}
+
+	/** @return the fraction where the ray enters the box, clamped to 0 when it starts inside, or -1 if it misses the box */
+	private float rayFraction (float[] boxes, int o, float maxFraction) {
+		final int d = dimensions;
+		final float[] start = tmpPoint, direction = tmpBox;
+		float tmin = 0, tmax = maxFraction;
+		for (int i = 0; i < d; i++) {
+			final float p = start[i], v = direction[i], min = boxes[o + i], max = boxes[o + d + i];
+			if (v == 0) {
+				if (p < min || p > max) return -1;
+				continue;
+			}
+			final float inv = 1f / v;
+			float t1 = (min - p) * inv, t2 = (max - p) * inv;
+			if (t1 > t2) {
+				final float tmp = t1;
+				t1 = t2;
+				t2 = tmp;
+			}
+			if (t1 > tmin) tmin = t1;
+			if (t2 < tmax) tmax = t2;
+			if (tmin > tmax) return -1;
+		}
+		return tmin;
+	}
+
+	/** Finds the proxies whose exact bounds are nearest to the point in {@link #tmpPoint}.
+	 * @param ids receives the ids of the nearest proxies, nearest first, its length must be at least k
+	 * @param distances2 receives the squared distances from the point to the bounds of the proxies, its length must be at least k.
+	 *           May be null
+	 * @return the number of proxies found, k unless there are less proxies */
+	protected int nearest (int k, int[] ids, float[] distances2) {
+		if (k <= 0) return 0;
+		final int s = stride;
+		final float[] fatBounds = this.fatBounds, bounds = this.bounds;
+		final float[] found = distances2 != null ? distances2 : tmpDistances(k);
+		int count = 0;
+		float worst = Float.POSITIVE_INFINITY;
+		int[] stack = this.stack;
+		int top = 0;
+		if (root != NULL) stack[top++] = root;
+		while (top > 0) {
+			final int node = stack[--top];
+			if (count == k && distance2(fatBounds, node * s) >= worst) continue;
+			if (height[node] == 0) {
+				final float dst2 = distance2(bounds, node * s);
+				if (count == k && dst2 >= worst) continue;
+				// Insert sorted, dropping the farthest when full
+				int i = count < k ? count++ : k - 1;
+				while (i > 0 && found[i - 1] > dst2) {
+					found[i] = found[i - 1];
+					ids[i] = ids[i - 1];
+					i--;
+				}
+				found[i] = dst2;
+				ids[i] = node;
+				if (count == k) worst = found[k - 1];
+				continue;
+			}
+			if (top + 2 > stack.length) this.stack = stack = resize(stack, stack.length << 1);
+			// Visit the nearer child first
+			final int c1 = child1[node], c2 = child2[node];
+			if (distance2(fatBounds, c1 * s) <= distance2(fatBounds, c2 * s)) {
+				stack[top++] = c2;
+				stack[top++] = c1;
+			} else {
+				stack[top++] = c1;
+				stack[top++] = c2;
+			}
+		}
+		return count;
+	}
+
+	private float[] distances = new float[0];
+
+	private float[] tmpDistances (int k) {
+		if (distances.length < k) distances = new float[k];
+		return distances;
+	}
+
+	/** @return the squared distance from the point in {@link #tmpPoint} to the box, 0 if the point is inside */
+	private float distance2 (float[] boxes, int o) {
+		final int d = dimensions;
+		final float[] point = tmpPoint;
+		float dst2 = 0;
+		for (int i = 0; i < d; i++) {
+			final float p = point[i], min = boxes[o + i], max = boxes[o + d + i];
+			final float delta = p < min ? min - p : (p > max ? p - max : 0);
+			dst2 += delta * delta;
+		}
+		return dst2;
+	}
+
+	protected final boolean overlaps (float[] a, int ao, float[] b, int bo) {
+		final int d = dimensions;
+		for (int i = 0; i < d; i++)
+			if (a[ao + d + i] < b[bo + i] || a[ao + i] > b[bo + d + i]) return false;
+		return true;
+	}
+
+	/** @return the cost of a box, its perimeter in 2D and its surface area in 3D */
+	private float cost (float[] a, int ao) {
+		final int d = dimensions;
+		if (d == 2) return 2f * ((a[ao + 2] - a[ao]) + (a[ao + 3] - a[ao + 1]));
+		final float x = a[ao + 3] - a[ao], y = a[ao + 4] - a[ao + 1], z = a[ao + 5] - a[ao + 2];
+		return 2f * (x * y + y * z + z * x);
+	}
+
+	/** @return the cost of the box enclosing both boxes */
+	private float combinedCost (float[] a, int ao, float[] b, int bo) {
+		final float[] box = combined;
+		combine(a, ao, b, bo, box, 0);
+		return cost(box, 0);
+	}
+
+	private final float[] combined = new float[6];
+
+	private void combine (float[] a, int ao, float[] b, int bo, float[] out, int oo) {
+		final int d = dimensions;
+		for (int i = 0; i < d; i++) {
+			out[oo + i] = Math.min(a[ao + i], b[bo + i]);
+			out[oo + d + i] = Math.max(a[ao + d + i], b[bo + d + i]);
+		}
+	}
+
+	private void combineChildren (int node) {
+		final int s = stride;
+		combine(fatBounds, child1[node] * s, fatBounds, child2[node] * s, fatBounds, node * s);
+	}
+
+	private void insertLeaf (int leaf) {
+		if (root == NULL) {
+			root = leaf;
+			parent[leaf] = NULL;
+			return;
+		}
+
+		// Find the best sibling
+		final int s = stride, lo = leaf * s;
+		final float[] fatBounds = this.fatBounds;
+		int index = root;
+		while (child1[index] != NULL) {
+			final int c1 = child1[index], c2 = child2[index];
+			final float area = cost(fatBounds, index * s);
+			final float combinedArea = combinedCost(fatBounds, index * s, fatBounds, lo);
+			// Cost of creating a new parent for this node and the new leaf
+			final float cost = 2f * combinedArea;
+			// Minimum cost of pushing the leaf further down the tree
+			final float inheritanceCost = 2f * (combinedArea - area);
+			float cost1 = combinedCost(fatBounds, c1 * s, fatBounds, lo) + inheritanceCost;
+			if (child1[c1] != NULL) cost1 -= cost(fatBounds, c1 * s);
+			float cost2 = combinedCost(fatBounds, c2 * s, fatBounds, lo) + inheritanceCost;
+			if (child1[c2] != NULL) cost2 -= cost(fatBounds, c2 * s);
+			if (cost < cost1 && cost < cost2) break;
+			index = cost1 < cost2 ? c1 : c2;
+		}
+		final int sibling = index;
+
+		// Create a new parent
+		final int oldParent = parent[sibling];
+		final int newParent = allocateNode();
+		parent[newParent] = oldParent;
+		combine(this.fatBounds, lo, this.fatBounds, sibling * s, this.fatBounds, newParent * s);
+		height[newParent] = height[sibling] + 1;
+		if (oldParent != NULL) {
+			if (child1[oldParent] == sibling)
+				child1[oldParent] = newParent;
+			else
+				child2[oldParent] = newParent;
+		} else
+			root = newParent;
+		child1[newParent] = sibling;
+		child2[newParent] = leaf;
+		parent[sibling] = newParent;
+		parent[leaf] = newParent;
+
+		refit(parent[leaf]);
+	}
+
+	private void removeLeaf (int leaf) {
+		if (leaf == root) {
+			root = NULL;
+			return;
+		}
+		final int p = parent[leaf], grandParent = parent[p];
+		final int sibling = child1[p] == leaf ? child2[p] : child1[p];
+		if (grandParent != NULL) {
+			if (child1[grandParent] == p)
+				child1[grandParent] = sibling;
+			else
+				child2[grandParent] = sibling;
+			parent[sibling] = grandParent;
+			freeNode(p);
+			refit(grandParent);
+		} else {
+			root = sibling;
+			parent[sibling] = NULL;
+			freeNode(p);
+		}
+	}
+
+	/** Walks up from the node, balancing and fixing the heights and bounds of the ancestors. */
+	private void refit (int index) {
+		while (index != NULL) {
+			index = balance(index);
+			height[index] = 1 + Math.max(height[child1[index]], height[child2[index]]);
+			combineChildren(index);
+			index = parent[index];
+		}
+	}
+
+	/** Performs a left or right rotation if node a is imbalanced.
+	 * @return the new root of the subtree */
+	private int balance (int a) {
+		final int[] parent = this.parent, child1 = this.child1, child2 = this.child2, height = this.height;
+		if (child1[a] == NULL || height[a] < 2) return a;
+		final int b = child1[a], c = child2[a];
+		final int balance = height[c] - height[b];
+
+		// Rotate c up
+		if (balance > 1) {
+			final int f = child1[c], g = child2[c];
+			child1[c] = a;
+			parent[c] = parent[a];
+			parent[a] = c;
+			if (parent[c] != NULL) {
+				if (child1[parent[c]] == a)
+					child1[parent[c]] = c;
+				else
+					child2[parent[c]] = c;
+			} else
+				root = c;
+			if (height[f] > height[g]) {
+				child2[c] = f;
+				child2[a] = g;
+				parent[g] = a;
+				combineChildren(a);
+				combineChildren(c);
+				height[a] = 1 + Math.max(height[b], height[g]);
+				height[c] = 1 + Math.max(height[a], height[f]);
+			} else {
+				child2[c] = g;
+				child2[a] = f;
+				parent[f] = a;
+				combineChildren(a);
+				combineChildren(c);
+				height[a] = 1 + Math.max(height[b], height[f]);
+				height[c] = 1 + Math.max(height[a], height[g]);
+			}
+			return c;
+		}
+
+		// Rotate b up
+		if (balance < -1) {
+			final int d = child1[b], e = child2[b];
+			child1[b] = a;
+			parent[b] = parent[a];
+			parent[a] = b;
+			if (parent[b] != NULL) {
+				if (child1[parent[b]] == a)
+					child1[parent[b]] = b;
+				else
+					child2[parent[b]] = b;
+			} else
+				root = b;
+			if (height[d] > height[e]) {
+				child2[b] = d;
+				child1[a] = e;
+				parent[e] = a;
+				combineChildren(a);
+				combineChildren(b);
+				height[a] = 1 + Math.max(height[c], height[e]);
+				height[b] = 1 + Math.max(height[a], height[d]);
+			} else {
+				child2[b] = e;
+				child1[a] = d;
+				parent[d] = a;
+				combineChildren(a);
+				combineChildren(b);
+				height[a] = 1 + Math.max(height[c], height[d]);
+				height[b] = 1 + Math.max(height[a], height[e]);
+			}
+			return b;
+		}
+		return a;
+	}
+}
@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.math;
+
+/** A {@link DynamicTree} of {@link Rectangle}s, for example to find the objects under the mouse, in the view or near a point.
+ * @param <T> the type of the user data of the proxies */
+public class DynamicTree2<T> extends DynamicTree<T> {
+	/** Creates a tree with a margin of 0.1. */
+	public DynamicTree2 () {
+		this(0.1f, 16);
+	}
+
+	/** @param margin the distance by which the fat bounds are larger than the bounds of the objects
+	 * @param initialCapacity the initial number of nodes, there are about two nodes per proxy */
+	public DynamicTree2 (float margin, int initialCapacity) {
+		super(2, margin, initialCapacity);
+	}
+
+	private void setBox (float x, float y, float width, float height) {
+		final float[] box = tmpBox;
+		box[0] = x;
+		box[1] = y;
+		box[2] = x + width;
+		box[3] = y + height;
+	}
+
+	/** Adds a proxy for the rectangle.
+	 * @return the proxy id */
+	public int add (float x, float y, float width, float height, T userData) {
+		setBox(x, y, width, height);
+		return createProxy(userData);
+	}
+
+	/** Adds a proxy for the rectangle.
+	 * @return the proxy id */
+	public int add (Rectangle rectangle, T userData) {
+		return add(rectangle.x, rectangle.y, rectangle.width, rectangle.height, userData);
+	}
+
+	/** Moves the proxy to the rectangle.
+	 * @param displacementX the predicted movement along the x axis, used to extend the fat bounds
+	 * @param displacementY the predicted movement along the y axis, used to extend the fat bounds
+	 * @return true if the proxy left its fat bounds and was reinserted */
+	public boolean move (int proxy, float x, float y, float width, float height, float displacementX, float displacementY) {
+		setBox(x, y, width, height);
+		tmpPoint[0] = displacementX;
+		tmpPoint[1] = displacementY;
+		return moveProxy(proxy);
+	}
+
+	/** Moves the proxy to the rectangle.
+	 * @param displacement the predicted movement, used to extend the fat bounds
+	 * @return true if the proxy left its fat bounds and was reinserted */
+	public boolean move (int proxy, Rectangle rectangle, Vector2 displacement) {
+		return move(proxy, rectangle.x, rectangle.y, rectangle.width, rectangle.height, displacement.x, displacement.y);
+	}
+
+	/** Reports the proxies overlapping the rectangle. */
+	public void query (float x, float y, float width, float height, QueryCallback callback) {
+		setBox(x, y, width, height);
+		query(callback);
+	}
+
+	/** Reports the proxies overlapping the rectangle. */
+	public void query (Rectangle rectangle, QueryCallback callback) {
+		query(rectangle.x, rectangle.y, rectangle.width, rectangle.height, callback);
+	}
+
+	/** Reports the proxies containing the point. */
+	public void query (float x, float y, QueryCallback callback) {
+		query(x, y, 0, 0, callback);
+	}
+
+	/** Casts a ray along the segment from start to end, the reported fractions are relative to the segment. */
+	public void rayCast (float startX, float startY, float endX, float endY, RayCastCallback callback) {
+		tmpPoint[0] = startX;
+		tmpPoint[1] = startY;
+		tmpBox[0] = endX - startX;
+		tmpBox[1] = endY - startY;
+		rayCast(1, callback);
+	}
+
+	/** Casts a ray along the segment from start to end, the reported fractions are relative to the segment. */
+	public void rayCast (Vector2 start, Vector2 end, RayCastCallback callback) {
+		rayCast(start.x, start.y, end.x, end.y, callback);
+	}
+
+	/** Finds the k proxies nearest to the point, measured to their bounds.
+	 * @param ids receives the ids of the nearest proxies, nearest first, its length must be at least k
+	 * @param distances2 receives the squared distances, its length must be at least k. May be null.
+	 * @return the number of proxies found, k unless there are less proxies */
+	public int nearest (float x, float y, int k, int[] ids, float[] distances2) {
+		tmpPoint[0] = x;
+		tmpPoint[1] = y;
+		return nearest(k, ids, distances2);
+	}
+
+	/** @return the bounds of the proxy, as passed when it was added or last moved */
+	public Rectangle getBounds (int proxy, Rectangle out) {
+		checkProxy(proxy);
+		final int o = proxy * 4;
+		return out.set(bounds[o], bounds[o + 1], bounds[o + 2] - bounds[o], bounds[o + 3] - bounds[o + 1]);
+	}
+
+	/** @return the fat bounds of the proxy */
+	public Rectangle getFatBounds (int proxy, Rectangle out) {
+		checkProxy(proxy);
+		final int o = proxy * 4;
+		return out.set(fatBounds[o], fatBounds[o + 1], fatBounds[o + 2] - fatBounds[o], fatBounds[o + 3] - fatBounds[o + 1]);
+	}
+}
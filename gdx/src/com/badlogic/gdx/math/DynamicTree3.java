@@ -0,0 +1,193 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.math;
+
+import com.badlogic.gdx.math.collision.BoundingBox;
+import com.badlogic.gdx.math.collision.Ray;
+
+/** A {@link DynamicTree} of {@link BoundingBox}es, for example to cull objects against a {@link Frustum}, pick them with a
+ * {@link Ray} or find the objects near a point.
+ * @param <T> the type of the user data of the proxies */
+public class DynamicTree3<T> extends DynamicTree<T> {
+	/** Creates a tree with a margin of 0.1. */
+	public DynamicTree3 () {
+		this(0.1f, 16);
+	}
+
+	/** @param margin the distance by which the fat bounds are larger than the bounds of the objects
+	 * @param initialCapacity the initial number of nodes, there are about two nodes per proxy */
+	public DynamicTree3 (float margin, int initialCapacity) {
+		super(3, margin, initialCapacity);
+	}
+
+	private void setBox (float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+		final float[] box = tmpBox;
+		box[0] = minX;
+		box[1] = minY;
+		box[2] = minZ;
+		box[3] = maxX;
+		box[4] = maxY;
+		box[5] = maxZ;
+	}
+
+	/** Adds a proxy for the box.
+	 * @return the proxy id */
+	public int add (float minX, float minY, float minZ, float maxX, float maxY, float maxZ, T userData) {
+		setBox(minX, minY, minZ, maxX, maxY, maxZ);
+		return createProxy(userData);
+	}
+
+	/** Adds a proxy for the box.
+	 * @return the proxy id */
+	public int add (BoundingBox box, T userData) {
+		return add(box.min.x, box.min.y, box.min.z, box.max.x, box.max.y, box.max.z, userData);
+	}
+
+	/** Moves the proxy to the box.
+	 * @param displacementX the predicted movement along the x axis, used to extend the fat bounds
+	 * @return true if the proxy left its fat bounds and was reinserted */
+	public boolean move (int proxy, float minX, float minY, float minZ, float maxX, float maxY, float maxZ, float displacementX,
+		float displacementY, float displacementZ) {
+		setBox(minX, minY, minZ, maxX, maxY, maxZ);
+		tmpPoint[0] = displacementX;
+		tmpPoint[1] = displacementY;
+		tmpPoint[2] = displacementZ;
+		return moveProxy(proxy);
+	}
+
+	/** Moves the proxy to the box.
+	 * @param displacement the predicted movement, used to extend the fat bounds
+	 * @return true if the proxy left its fat bounds and was reinserted */
+	public boolean move (int proxy, BoundingBox box, Vector3 displacement) {
+		return move(proxy, box.min.x, box.min.y, box.min.z, box.max.x, box.max.y, box.max.z, displacement.x, displacement.y,
+			displacement.z);
+	}
+
+	/** Reports the proxies overlapping the box. */
+	public void query (float minX, float minY, float minZ, float maxX, float maxY, float maxZ, QueryCallback callback) {
+		setBox(minX, minY, minZ, maxX, maxY, maxZ);
+		query(callback);
+	}
+
+	/** Reports the proxies overlapping the box. */
+	public void query (BoundingBox box, QueryCallback callback) {
+		query(box.min.x, box.min.y, box.min.z, box.max.x, box.max.y, box.max.z, callback);
+	}
+
+	/** Reports the proxies inside or intersecting the frustum. Subtrees completely inside the frustum are reported without further
+	 * tests. */
+	public void query (Frustum frustum, QueryCallback callback) {
+		final Plane[] planes = frustum.planes;
+		final float[] fatBounds = this.fatBounds, bounds = this.bounds;
+		int[] stack = this.stack;
+		int top = 0;
+		if (root != NULL) stack[top++] = root;
+		while (top > 0) {
+			int node = stack[--top];
+			// The nodes completely inside the frustum are pushed inverted
+			boolean inside = node < 0;
+			if (inside)
+				node = ~node;
+			else {
+				final int result = classify(planes, fatBounds, node * 6);
+				if (result < 0) continue;
+				if (height[node] == 0) {
+					if ((result > 0 || classify(planes, bounds, node * 6) >= 0) && !callback.reportProxy(node)) return;
+					continue;
+				}
+				inside = result > 0;
+			}
+			if (height[node] == 0) {
+				if (!callback.reportProxy(node)) return;
+				continue;
+			}
+			if (top + 2 > stack.length) this.stack = stack = resize(stack, stack.length << 1);
+			if (inside) {
+				stack[top++] = ~child1[node];
+				stack[top++] = ~child2[node];
+			} else {
+				stack[top++] = child1[node];
+				stack[top++] = child2[node];
+			}
+		}
+	}
+
+	/** @return -1 if the box is outside the frustum, 1 if it is completely inside and 0 if it intersects the frustum. */
+	private static int classify (Plane[] planes, float[] bounds, int b) {
+		int result = 1;
+		for (int p = 0; p < 6; p++) {
+			final Plane plane = planes[p];
+			final float nx = plane.normal.x, ny = plane.normal.y, nz = plane.normal.z, d = plane.d;
+			if (nx * (nx >= 0 ? bounds[b + 3] : bounds[b]) + ny * (ny >= 0 ? bounds[b + 4] : bounds[b + 1])
+				+ nz * (nz >= 0 ? bounds[b + 5] : bounds[b + 2]) + d < 0) return -1;
+			if (nx * (nx >= 0 ? bounds[b] : bounds[b + 3]) + ny * (ny >= 0 ? bounds[b + 1] : bounds[b + 4])
+				+ nz * (nz >= 0 ? bounds[b + 2] : bounds[b + 5]) + d < 0) result = 0;
+		}
+		return result;
+	}
+
+	/** Casts the ray up to the specified distance, the reported fractions are relative to that distance. */
+	public void rayCast (Ray ray, float maxDistance, RayCastCallback callback) {
+		tmpPoint[0] = ray.origin.x;
+		tmpPoint[1] = ray.origin.y;
+		tmpPoint[2] = ray.origin.z;
+		tmpBox[0] = ray.direction.x * maxDistance;
+		tmpBox[1] = ray.direction.y * maxDistance;
+		tmpBox[2] = ray.direction.z * maxDistance;
+		rayCast(1, callback);
+	}
+
+	/** Casts a ray along the segment from start to end, the reported fractions are relative to the segment. */
+	public void rayCast (Vector3 start, Vector3 end, RayCastCallback callback) {
+		tmpPoint[0] = start.x;
+		tmpPoint[1] = start.y;
+		tmpPoint[2] = start.z;
+		tmpBox[0] = end.x - start.x;
+		tmpBox[1] = end.y - start.y;
+		tmpBox[2] = end.z - start.z;
+		rayCast(1, callback);
+	}
+
+	/** Finds the k proxies nearest to the point, measured to their bounds.
+	 * @param ids receives the ids of the nearest proxies, nearest first, its length must be at least k
+	 * @param distances2 receives the squared distances, its length must be at least k. May be null.
+	 * @return the number of proxies found, k unless there are less proxies */
+	public int nearest (Vector3 point, int k, int[] ids, float[] distances2) {
+		tmpPoint[0] = point.x;
+		tmpPoint[1] = point.y;
+		tmpPoint[2] = point.z;
+		return nearest(k, ids, distances2);
+	}
+
+	/** @return the bounds of the proxy, as passed when it was added or last moved */
+	public BoundingBox getBounds (int proxy, BoundingBox out) {
+		checkProxy(proxy);
+		final int o = proxy * 6;
+		out.min.set(bounds[o], bounds[o + 1], bounds[o + 2]);
+		out.max.set(bounds[o + 3], bounds[o + 4], bounds[o + 5]);
+		return out.set(out.min, out.max);
+	}
+
+	/** @return the fat bounds of the proxy */
+	public BoundingBox getFatBounds (int proxy, BoundingBox out) {
+		checkProxy(proxy);
+		final int o = proxy * 6;
+		out.min.set(fatBounds[o], fatBounds[o + 1], fatBounds[o + 2]);
+		out.max.set(fatBounds[o + 3], fatBounds[o + 4], fatBounds[o + 5]);
+		return out.set(out.min, out.max);
+	}
+}
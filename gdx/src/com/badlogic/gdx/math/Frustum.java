@@ -196,6 +196,61 @@ public class Frustum {
 		return true;
 	}
 
+	/** Tests multiple spheres against the frustum. The spheres array is assumed to hold the center x, y, z and the radius of each
+	 * sphere. This gives the same results as {@link #sphereInFrustum(float, float, float, float)} for each sphere.
+	 * 
+	 * @param spheres the spheres
+	 * @param offset the offset into the spheres array
+	 * @param numSpheres the number of spheres
+	 * @param out receives the indices of the spheres which are in the frustum, relative to the offset, must have room for
+	 *           numSpheres indices
+	 * @return the number of spheres in the frustum */
+	public int spheresInFrustum (float[] spheres, int offset, int numSpheres, int[] out) {
+		final Plane[] planes = this.planes;
+		final float nx0 = planes[0].normal.x, ny0 = planes[0].normal.y, nz0 = planes[0].normal.z, d0 = planes[0].d;
+		final float nx1 = planes[1].normal.x, ny1 = planes[1].normal.y, nz1 = planes[1].normal.z, d1 = planes[1].d;
+		final float nx2 = planes[2].normal.x, ny2 = planes[2].normal.y, nz2 = planes[2].normal.z, d2 = planes[2].d;
+		final float nx3 = planes[3].normal.x, ny3 = planes[3].normal.y, nz3 = planes[3].normal.z, d3 = planes[3].d;
+		final float nx4 = planes[4].normal.x, ny4 = planes[4].normal.y, nz4 = planes[4].normal.z, d4 = planes[4].d;
+		final float nx5 = planes[5].normal.x, ny5 = planes[5].normal.y, nz5 = planes[5].normal.z, d5 = planes[5].d;
+		int count = 0;
+		for (int i = 0, s = offset; i < numSpheres; i++, s += 4) {
+			final float x = spheres[s], y = spheres[s + 1], z = spheres[s + 2], r = -spheres[s + 3];
+			if (nx0 * x + ny0 * y + nz0 * z < r - d0 || nx1 * x + ny1 * y + nz1 * z < r - d1 || nx2 * x + ny2 * y + nz2 * z < r - d2
+				|| nx3 * x + ny3 * y + nz3 * z < r - d3 || nx4 * x + ny4 * y + nz4 * z < r - d4 || nx5 * x + ny5 * y + nz5 * z < r - d5)
+				continue;
+			out[count++] = i;
+		}
+		return count;
+	}
+
+	/** Tests multiple axis aligned bounding boxes against the frustum. The bounds array is assumed to hold the minimum x, y, z
+	 * followed by the maximum x, y, z of each bounding box. This gives the same results as {@link #boundsInFrustum(BoundingBox)}
+	 * for each bounding box, but only tests the corner which is the farthest along the normal of each plane.
+	 * 
+	 * @param bounds the bounding boxes
+	 * @param offset the offset into the bounds array
+	 * @param numBounds the number of bounding boxes
+	 * @param out receives the indices of the bounding boxes which are in the frustum, relative to the offset, must have room for
+	 *           numBounds indices
+	 * @return the number of bounding boxes in the frustum */
+	public int boundsInFrustum (float[] bounds, int offset, int numBounds, int[] out) {
+		int count = 0;
+		outer:
+		for (int i = 0, b = offset; i < numBounds; i++, b += 6) {
+			for (int p = 0; p < 6; p++) {
+				final Plane plane = planes[p];
+				final float nx = plane.normal.x, ny = plane.normal.y, nz = plane.normal.z;
+				final float x = nx >= 0 ? bounds[b + 3] : bounds[b];
+				final float y = ny >= 0 ? bounds[b + 4] : bounds[b + 1];
+				final float z = nz >= 0 ? bounds[b + 5] : bounds[b + 2];
+				if (nx * x + ny * y + nz * z + plane.d < 0) continue outer;
+			}
+			out[count++] = i;
+		}
+		return count;
+	}
+
 // /**
 // * Calculates the pick ray for the given window coordinates. Assumes the window coordinate system has it's y downwards. The
 // * returned Ray is a member of this instance so don't reuse it outside this class.
@@ -641,6 +641,76 @@ public class Quaternion implements Serializable {
 		return this;
 	}
 
+	/** Spherical linear interpolation between the quaternions of quatsa and quatsb, storing the results in out. The arrays are
+	 * assumed to hold consecutive quaternions as x, y, z and w. This is the same as {@link #slerp(Quaternion, float)} applied to
+	 * multiple quaternions. The out array may be the same as quatsa or quatsb, as long as the quaternions are at the same offsets.
+	 * 
+	 * @param quatsa the start quaternions
+	 * @param offseta the offset into quatsa
+	 * @param quatsb the end quaternions
+	 * @param offsetb the offset into quatsb
+	 * @param alphas the alpha of each interpolation, in the range [0,1]
+	 * @param alphaOffset the offset into alphas
+	 * @param out the resulting quaternions
+	 * @param outOffset the offset into out
+	 * @param numQuats the number of quaternions */
+	public static void slerp (float[] quatsa, int offseta, float[] quatsb, int offsetb, float[] alphas, int alphaOffset,
+		float[] out, int outOffset, int numQuats) {
+		for (int i = 0; i < numQuats; i++, offseta += 4, offsetb += 4, outOffset += 4) {
+			final float ax = quatsa[offseta], ay = quatsa[offseta + 1], az = quatsa[offseta + 2], aw = quatsa[offseta + 3];
+			final float bx = quatsb[offsetb], by = quatsb[offsetb + 1], bz = quatsb[offsetb + 2], bw = quatsb[offsetb + 3];
+			final float alpha = alphas[alphaOffset + i];
+			final float d = ax * bx + ay * by + az * bz + aw * bw;
+			final float absDot = d < 0.f ? -d : d;
+			float scale0 = 1f - alpha;
+			float scale1 = alpha;
+			if ((1 - absDot) > 0.1) {
+				final float angle = (float)Math.acos(absDot);
+				final float invSinTheta = 1f / (float)Math.sin(angle);
+				scale0 = ((float)Math.sin((1f - alpha) * angle) * invSinTheta);
+				scale1 = ((float)Math.sin((alpha * angle)) * invSinTheta);
+			}
+			if (d < 0.f) scale1 = -scale1;
+			out[outOffset] = scale0 * ax + scale1 * bx;
+			out[outOffset + 1] = scale0 * ay + scale1 * by;
+			out[outOffset + 2] = scale0 * az + scale1 * bz;
+			out[outOffset + 3] = scale0 * aw + scale1 * bw;
+		}
+	}
+
+	/** Normalized linear interpolation between the quaternions of quatsa and quatsb, storing the results in out. This is a cheaper
+	 * approximation of {@link #slerp(float[], int, float[], int, float[], int, float[], int, int)}, which is accurate enough for
+	 * the small differences between consecutive animation keyframes. Like slerp it takes the shortest path. The out array may be
+	 * the same as quatsa or quatsb, as long as the quaternions are at the same offsets.
+	 * 
+	 * @param quatsa the start quaternions
+	 * @param offseta the offset into quatsa
+	 * @param quatsb the end quaternions
+	 * @param offsetb the offset into quatsb
+	 * @param alphas the alpha of each interpolation, in the range [0,1]
+	 * @param alphaOffset the offset into alphas
+	 * @param out the resulting normalized quaternions
+	 * @param outOffset the offset into out
+	 * @param numQuats the number of quaternions */
+	public static void nlerp (float[] quatsa, int offseta, float[] quatsb, int offsetb, float[] alphas, int alphaOffset,
+		float[] out, int outOffset, int numQuats) {
+		for (int i = 0; i < numQuats; i++, offseta += 4, offsetb += 4, outOffset += 4) {
+			final float ax = quatsa[offseta], ay = quatsa[offseta + 1], az = quatsa[offseta + 2], aw = quatsa[offseta + 3];
+			final float bx = quatsb[offsetb], by = quatsb[offsetb + 1], bz = quatsb[offsetb + 2], bw = quatsb[offsetb + 3];
+			final float alpha = alphas[alphaOffset + i];
+			final float scale0 = 1f - alpha;
+			final float scale1 = ax * bx + ay * by + az * bz + aw * bw < 0.f ? -alpha : alpha;
+			final float x = scale0 * ax + scale1 * bx, y = scale0 * ay + scale1 * by;
+			final float z = scale0 * az + scale1 * bz, w = scale0 * aw + scale1 * bw;
+			final float len2 = x * x + y * y + z * z + w * w;
+			final float invLen = len2 != 0f ? 1f / (float)Math.sqrt(len2) : 0f;
+			out[outOffset] = x * invLen;
+			out[outOffset + 1] = y * invLen;
+			out[outOffset + 2] = z * invLen;
+			out[outOffset + 3] = w * invLen;
+		}
+	}
+
 	/** Calculates (this quaternion)^alpha where alpha is a real number and stores the result in this quaternion. See
 	 * http://en.wikipedia.org/wiki/Quaternion#Exponential.2C_logarithm.2C_and_power
 	 * @param alpha Exponent
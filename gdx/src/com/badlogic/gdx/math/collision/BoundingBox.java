@@ -268,6 +268,47 @@ public class BoundingBox implements Serializable {
 		return this;
 	}
 
+	/** Multiplies each of the bounding boxes with the matrix at the same index, storing the resulting axis aligned bounding boxes
+	 * in out. The bounds array is assumed to hold the minimum x, y, z followed by the maximum x, y, z of each bounding box and the
+	 * matrices array consecutive 4x4 column major matrices as you can get from {@link Matrix4#val}. This gives the same result as
+	 * {@link #mul(Matrix4)} applied to multiple bounding boxes, but only transforms the center and extents of each box. The out
+	 * array may be the same as the bounds array, as long as the bounding boxes are at the same offsets.
+	 * 
+	 * @param bounds the bounding boxes
+	 * @param boundsOffset the offset into the bounds array
+	 * @param mats the matrices
+	 * @param matsOffset the offset into the matrices array
+	 * @param out the resulting bounding boxes
+	 * @param outOffset the offset into out
+	 * @param numBounds the number of bounding boxes */
+	public static void mul (float[] bounds, int boundsOffset, float[] mats, int matsOffset, float[] out, int outOffset,
+		int numBounds) {
+		for (int i = 0; i < numBounds; i++, boundsOffset += 6, matsOffset += 16, outOffset += 6) {
+			final float cx = (bounds[boundsOffset] + bounds[boundsOffset + 3]) * 0.5f;
+			final float cy = (bounds[boundsOffset + 1] + bounds[boundsOffset + 4]) * 0.5f;
+			final float cz = (bounds[boundsOffset + 2] + bounds[boundsOffset + 5]) * 0.5f;
+			final float ex = (bounds[boundsOffset + 3] - bounds[boundsOffset]) * 0.5f;
+			final float ey = (bounds[boundsOffset + 4] - bounds[boundsOffset + 1]) * 0.5f;
+			final float ez = (bounds[boundsOffset + 5] - bounds[boundsOffset + 2]) * 0.5f;
+			final int m = matsOffset;
+			final float x = cx * mats[m + Matrix4.M00] + cy * mats[m + Matrix4.M01] + cz * mats[m + Matrix4.M02] + mats[m + Matrix4.M03];
+			final float y = cx * mats[m + Matrix4.M10] + cy * mats[m + Matrix4.M11] + cz * mats[m + Matrix4.M12] + mats[m + Matrix4.M13];
+			final float z = cx * mats[m + Matrix4.M20] + cy * mats[m + Matrix4.M21] + cz * mats[m + Matrix4.M22] + mats[m + Matrix4.M23];
+			final float hx = ex * Math.abs(mats[m + Matrix4.M00]) + ey * Math.abs(mats[m + Matrix4.M01])
+				+ ez * Math.abs(mats[m + Matrix4.M02]);
+			final float hy = ex * Math.abs(mats[m + Matrix4.M10]) + ey * Math.abs(mats[m + Matrix4.M11])
+				+ ez * Math.abs(mats[m + Matrix4.M12]);
+			final float hz = ex * Math.abs(mats[m + Matrix4.M20]) + ey * Math.abs(mats[m + Matrix4.M21])
+				+ ez * Math.abs(mats[m + Matrix4.M22]);
+			out[outOffset] = x - hx;
+			out[outOffset + 1] = y - hy;
+			out[outOffset + 2] = z - hz;
+			out[outOffset + 3] = x + hx;
+			out[outOffset + 4] = y + hy;
+			out[outOffset + 5] = z + hz;
+		}
+	}
+
 	/** Returns whether the given bounding box is contained in this bounding box.
 	 * @param b The bounding box
 	 * @return Whether the given bounding box is contained */
@@ -71,6 +71,7 @@ public class Actor {
 	float rotation;
 	final Color color = new Color(1, 1, 1, 1);
 	private Object userObject;
+	int spatialProxy = -1, spatialOrder;
 
 	/** Draws the actor. The batch is configured to draw in the parent's coordinate system.
 	 * {@link Batch#draw(com.badlogic.gdx.graphics.g2d.TextureRegion, float, float, float, float, float, float, float, float, float)
@@ -91,6 +92,7 @@ public class Actor {
 		Array<Action> actions = this.actions;
 		if (actions.size > 0) {
 			if (stage != null && stage.getActionsRequestRendering()) Gdx.graphics.requestRendering();
+			invalidateAncestorCaches();
 			for (int i = 0; i < actions.size; i++) {
 				Action action = actions.get(i);
 				if (action.act(delta) && i < actions.size) {
@@ -122,6 +124,9 @@ public class Actor {
 		if (event.getStage() == null) event.setStage(getStage());
 		event.setTarget(this);
 
+		// Events may change how actors are drawn, eg a button being pressed. Moving the mouse alone doesn't.
+		if (!(event instanceof InputEvent) || ((InputEvent)event).getType() != Type.mouseMoved) invalidateCache();
+
 		// Collect ancestors so event propagation is unaffected by hierarchy changes.
 		Array<Group> ancestors = Pools.obtain(Array.class);
 		Group parent = this.parent;
@@ -375,6 +380,7 @@ public class Actor {
 	/** If false, the actor will not be drawn and will not receive touch events. Default is true. */
 	public void setVisible (boolean visible) {
 		this.visible = visible;
+		invalidateAncestorCaches();
 	}
 
 	/** Returns an application specific object for convenience, or null. */
@@ -406,6 +412,7 @@ public class Actor {
 		if (this.x != x) {
 			this.x = x;
 			positionChanged();
+			boundsChanged();
 		}
 	}
 
@@ -421,6 +428,7 @@ public class Actor {
 		if (this.x != x) {
 			this.x = x;
 			positionChanged();
+			boundsChanged();
 		}
 	}
 
@@ -433,6 +441,7 @@ public class Actor {
 		if (this.y != y) {
 			this.y = y;
 			positionChanged();
+			boundsChanged();
 		}
 	}
 
@@ -448,6 +457,7 @@ public class Actor {
 		if (this.y != y) {
 			this.y = y;
 			positionChanged();
+			boundsChanged();
 		}
 	}
 
@@ -467,6 +477,7 @@ public class Actor {
 			this.x = x;
 			this.y = y;
 			positionChanged();
+			boundsChanged();
 		}
 	}
 
@@ -487,6 +498,7 @@ public class Actor {
 			this.x = x;
 			this.y = y;
 			positionChanged();
+			boundsChanged();
 		}
 	}
 
@@ -496,6 +508,7 @@ public class Actor {
 			this.x += x;
 			this.y += y;
 			positionChanged();
+			boundsChanged();
 		}
 	}
 
@@ -507,6 +520,7 @@ public class Actor {
 		if (this.width != width) {
 			this.width = width;
 			sizeChanged();
+			boundsChanged();
 		}
 	}
 
@@ -518,6 +532,7 @@ public class Actor {
 		if (this.height != height) {
 			this.height = height;
 			sizeChanged();
+			boundsChanged();
 		}
 	}
 
@@ -543,12 +558,38 @@ public class Actor {
 	protected void rotationChanged () {
 	}
 
+	/** Updates the bounds of this actor in the spatial index of the parent, if the parent has one, and invalidates the cache of
+	 * cached ancestors. */
+	void boundsChanged () {
+		Group parent = this.parent;
+		if (parent != null && parent.spatialIndex != null) parent.spatialIndex.update(this);
+		invalidateAncestorCaches();
+	}
+
+	/** Causes each {@link Group#setCached(boolean) cached} ancestor to draw its children again the next time it is drawn. This is
+	 * done automatically when this actor's bounds, color, visibility or z-index change, while it has actions, when an event is
+	 * fired on it and when a {@link com.badlogic.gdx.scenes.scene2d.utils.Layout Layout} is invalidated. Actors which draw
+	 * differently for other reasons, or whose {@link #getColor() color} is modified directly, must call this method. A cached
+	 * group invalidates its own cache as well, see {@link Group#invalidateCache()}. */
+	public void invalidateCache () {
+		invalidateAncestorCaches();
+	}
+
+	/** Invalidates the cache of the cached ancestors only, for changes which a cached group applies when its cache is drawn. */
+	void invalidateAncestorCaches () {
+		Stage stage = this.stage;
+		if (stage != null && stage.cachedGroups == 0) return;
+		for (Group group = parent; group != null; group = group.parent)
+			group.cacheDirty = true;
+	}
+
 	/** Sets the width and height. */
 	public void setSize (float width, float height) {
 		if (this.width != width || this.height != height) {
 			this.width = width;
 			this.height = height;
 			sizeChanged();
+			boundsChanged();
 		}
 	}
 
@@ -558,6 +599,7 @@ public class Actor {
 			width += size;
 			height += size;
 			sizeChanged();
+			boundsChanged();
 		}
 	}
 
@@ -567,21 +609,26 @@ public class Actor {
 			this.width += width;
 			this.height += height;
 			sizeChanged();
+			boundsChanged();
 		}
 	}
 
 	/** Set bounds the x, y, width, and height. */
 	public void setBounds (float x, float y, float width, float height) {
+		boolean changed = false;
 		if (this.x != x || this.y != y) {
 			this.x = x;
 			this.y = y;
 			positionChanged();
+			changed = true;
 		}
 		if (this.width != width || this.height != height) {
 			this.width = width;
 			this.height = height;
 			sizeChanged();
+			changed = true;
 		}
+		if (changed) boundsChanged();
 	}
 
 	public float getOriginX () {
@@ -590,6 +637,7 @@ public class Actor {
 
 	public void setOriginX (float originX) {
 		this.originX = originX;
+		boundsChanged();
 	}
 
 	public float getOriginY () {
@@ -598,12 +646,14 @@ public class Actor {
 
 	public void setOriginY (float originY) {
 		this.originY = originY;
+		boundsChanged();
 	}
 
 	/** Sets the origin position which is relative to the actor's bottom left corner. */
 	public void setOrigin (float originX, float originY) {
 		this.originX = originX;
 		this.originY = originY;
+		boundsChanged();
 	}
 
 	/** Sets the origin position to the specified {@link Align alignment}. */
@@ -621,6 +671,7 @@ public class Actor {
 			originY = height;
 		else
 			originY = height / 2;
+		boundsChanged();
 	}
 
 	public float getScaleX () {
@@ -629,6 +680,7 @@ public class Actor {
 
 	public void setScaleX (float scaleX) {
 		this.scaleX = scaleX;
+		boundsChanged();
 	}
 
 	public float getScaleY () {
@@ -637,30 +689,35 @@ public class Actor {
 
 	public void setScaleY (float scaleY) {
 		this.scaleY = scaleY;
+		boundsChanged();
 	}
 
 	/** Sets the scale for both X and Y */
 	public void setScale (float scaleXY) {
 		this.scaleX = scaleXY;
 		this.scaleY = scaleXY;
+		boundsChanged();
 	}
 
 	/** Sets the scale X and scale Y. */
 	public void setScale (float scaleX, float scaleY) {
 		this.scaleX = scaleX;
 		this.scaleY = scaleY;
+		boundsChanged();
 	}
 
 	/** Adds the specified scale to the current scale. */
 	public void scaleBy (float scale) {
 		scaleX += scale;
 		scaleY += scale;
+		boundsChanged();
 	}
 
 	/** Adds the specified scale to the current scale. */
 	public void scaleBy (float scaleX, float scaleY) {
 		this.scaleX += scaleX;
 		this.scaleY += scaleY;
+		boundsChanged();
 	}
 
 	public float getRotation () {
@@ -671,6 +728,7 @@ public class Actor {
 		if (this.rotation != degrees) {
 			this.rotation = degrees;
 			rotationChanged();
+			boundsChanged();
 		}
 	}
 
@@ -679,15 +737,18 @@ public class Actor {
 		if (amountInDegrees != 0) {
 			rotation += amountInDegrees;
 			rotationChanged();
+			boundsChanged();
 		}
 	}
 
 	public void setColor (Color color) {
 		this.color.set(color);
+		invalidateAncestorCaches();
 	}
 
 	public void setColor (float r, float g, float b, float a) {
 		color.set(r, g, b, a);
+		invalidateAncestorCaches();
 	}
 
 	/** Returns the color the actor will be tinted when drawn. The returned instance can be modified to change the color. */
@@ -731,6 +792,7 @@ public class Actor {
 		if (children.get(index) == this) return;
 		if (!children.removeValue(this, true)) return;
 		children.insert(index, this);
+		invalidateAncestorCaches();
 	}
 
 	/** Returns the z-index of this actor.
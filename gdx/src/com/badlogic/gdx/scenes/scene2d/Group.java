@@ -24,6 +24,7 @@ import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.scenes.scene2d.utils.Cullable;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
 import com.badlogic.gdx.utils.SnapshotArray;
 
 /** 2D scene graph node that may contain other actors.
@@ -41,6 +42,9 @@ public class Group extends Actor implements Cullable {
 	private final Matrix4 oldTransform = new Matrix4();
 	boolean transform = true;
 	private Rectangle cullingArea;
+	SpatialIndex spatialIndex;
+	GroupCache cache;
+	boolean cacheDirty = true;
 
 	public void act (float delta) {
 		super.act(delta);
@@ -67,7 +71,35 @@ public class Group extends Actor implements Cullable {
 		SnapshotArray<Actor> children = this.children;
 		Actor[] actors = children.begin();
 		Rectangle cullingArea = this.cullingArea;
-		if (cullingArea != null) {
+		if (cullingArea != null && spatialIndex != null) {
+			// Draw only the children the spatial index finds in the culling area, in z-order.
+			IntArray visible = spatialIndex.query(cullingArea);
+			int[] indices = visible.items;
+			if (transform) {
+				for (int i = 0, n = visible.size; i < n; i++) {
+					Actor child = actors[indices[i]];
+					if (!child.isVisible()) continue;
+					drawChild(child, batch, parentAlpha);
+				}
+			} else {
+				// No transform for this group, offset each child.
+				float offsetX = x, offsetY = y;
+				x = 0;
+				y = 0;
+				for (int i = 0, n = visible.size; i < n; i++) {
+					Actor child = actors[indices[i]];
+					if (!child.isVisible()) continue;
+					float cx = child.x, cy = child.y;
+					child.x = cx + offsetX;
+					child.y = cy + offsetY;
+					drawChild(child, batch, parentAlpha);
+					child.x = cx;
+					child.y = cy;
+				}
+				x = offsetX;
+				y = offsetY;
+			}
+		} else if (cullingArea != null) {
 			// Draw children only if inside culling area.
 			float cullLeft = cullingArea.x;
 			float cullRight = cullLeft + cullingArea.width;
@@ -79,7 +111,7 @@ public class Group extends Actor implements Cullable {
 					if (!child.isVisible()) continue;
 					float cx = child.x, cy = child.y;
 					if (cx <= cullRight && cy <= cullTop && cx + child.width >= cullLeft && cy + child.height >= cullBottom)
-						child.draw(batch, parentAlpha);
+						drawChild(child, batch, parentAlpha);
 				}
 			} else {
 				// No transform for this group, offset each child.
@@ -93,7 +125,7 @@ public class Group extends Actor implements Cullable {
 					if (cx <= cullRight && cy <= cullTop && cx + child.width >= cullLeft && cy + child.height >= cullBottom) {
 						child.x = cx + offsetX;
 						child.y = cy + offsetY;
-						child.draw(batch, parentAlpha);
+						drawChild(child, batch, parentAlpha);
 						child.x = cx;
 						child.y = cy;
 					}
@@ -107,7 +139,7 @@ public class Group extends Actor implements Cullable {
 				for (int i = 0, n = children.size; i < n; i++) {
 					Actor child = actors[i];
 					if (!child.isVisible()) continue;
-					child.draw(batch, parentAlpha);
+					drawChild(child, batch, parentAlpha);
 				}
 			} else {
 				// No transform for this group, offset each child.
@@ -120,7 +152,7 @@ public class Group extends Actor implements Cullable {
 					float cx = child.x, cy = child.y;
 					child.x = cx + offsetX;
 					child.y = cy + offsetY;
-					child.draw(batch, parentAlpha);
+					drawChild(child, batch, parentAlpha);
 					child.x = cx;
 					child.y = cy;
 				}
@@ -131,6 +163,15 @@ public class Group extends Actor implements Cullable {
 		children.end();
 	}
 
+	/** Draws the child, or the cache of the child if it is a {@link #setCached(boolean) cached} group. */
+	private void drawChild (Actor child, Batch batch, float parentAlpha) {
+		if (child instanceof Group) {
+			GroupCache cache = ((Group)child).cache;
+			if (cache != null && cache.draw(batch, parentAlpha)) return;
+		}
+		child.draw(batch, parentAlpha);
+	}
+
 	/** Draws this actor's debug lines if {@link #getDebug()} is true and, regardless of {@link #getDebug()}, calls
 	 * {@link Actor#drawDebug(ShapeRenderer)} on each child. */
 	public void drawDebug (ShapeRenderer shapes) {
@@ -225,7 +266,7 @@ public class Group extends Actor implements Cullable {
 	}
 
 	/** Children completely outside of this rectangle will not be drawn. This is only valid for use with unrotated and unscaled
-	 * actors.
+	 * actors, unless the group has a {@link #setSpatialIndex(boolean) spatial index}.
 	 * @param cullingArea May be null. */
 	public void setCullingArea (Rectangle cullingArea) {
 		this.cullingArea = cullingArea;
@@ -237,10 +278,79 @@ public class Group extends Actor implements Cullable {
 		return cullingArea;
 	}
 
+	/** Enables a spatial index of the children's bounds, so {@link #hit(float, float, boolean)} and drawing with a
+	 * {@link #setCullingArea(Rectangle) culling area} only visit the children near the point or area instead of all children.
+	 * This is worthwhile for groups with thousands of children. The bounds are updated when a child is moved, resized, scaled or
+	 * rotated. Children are only hit if the point is within their bounds, so children of a child group must be within the bounds
+	 * of that group. Children must be added and removed using the methods of the group, not through {@link #getChildren()}.
+	 * Default is false. */
+	public void setSpatialIndex (boolean enabled) {
+		if (enabled) {
+			if (spatialIndex != null) return;
+			spatialIndex = new SpatialIndex(this);
+			Actor[] childrenArray = children.items;
+			for (int i = 0, n = children.size; i < n; i++)
+				spatialIndex.add(childrenArray[i]);
+		} else if (spatialIndex != null) {
+			spatialIndex.clear();
+			spatialIndex = null;
+		}
+	}
+
+	public boolean hasSpatialIndex () {
+		return spatialIndex != null;
+	}
+
+	/** When true, the group is drawn into a {@link com.badlogic.gdx.graphics.glutils.FrameBuffer FrameBuffer} once and the frame
+	 * buffer is drawn instead of the group until the group or one of its descendants changes, see {@link Actor#invalidateCache()}.
+	 * This saves drawing groups with many children which rarely change, such as most of a HUD. The group's position, rotation,
+	 * scale and alpha are applied when the frame buffer is drawn, so they can change without drawing the group again. The frame
+	 * buffer has the size of the group at the resolution of the stage's viewport, descendants outside the group's bounds are
+	 * not visible. Clipping with {@link com.badlogic.gdx.scenes.scene2d.utils.ScissorStack ScissorStack} and drawing other than
+	 * with the batch don't work in a cached group. The frame buffer is disposed when the group is removed from the stage or
+	 * caching is disabled. Default is false. */
+	public void setCached (boolean cached) {
+		if (cached) {
+			if (cache != null) return;
+			cache = new GroupCache(this);
+			cacheDirty = true;
+			Stage stage = getStage();
+			if (stage != null) stage.cachedGroups++;
+		} else if (cache != null) {
+			cache.dispose();
+			cache = null;
+			Stage stage = getStage();
+			if (stage != null) stage.cachedGroups--;
+		}
+	}
+
+	public boolean isCached () {
+		return cache != null;
+	}
+
+	/** Also causes this group to draw its children again if it is {@link #setCached(boolean) cached}. Changes of its own bounds
+	 * and color don't invalidate its cache, they are applied when the cache is drawn. */
+	public void invalidateCache () {
+		cacheDirty = true;
+		super.invalidateCache();
+	}
+
 	public Actor hit (float x, float y, boolean touchable) {
 		if (touchable && getTouchable() == Touchable.disabled) return null;
 		Vector2 point = tmp;
 		Actor[] childrenArray = children.items;
+		if (spatialIndex != null) {
+			IntArray candidates = spatialIndex.query(x, y);
+			int[] indices = candidates.items;
+			for (int i = candidates.size - 1; i >= 0; i--) {
+				Actor child = childrenArray[indices[i]];
+				if (!child.isVisible()) continue;
+				child.parentToLocalCoordinates(point.set(x, y));
+				Actor hit = child.hit(point.x, point.y, touchable);
+				if (hit != null) return hit;
+			}
+			return super.hit(x, y, touchable);
+		}
 		for (int i = children.size - 1; i >= 0; i--) {
 			Actor child = childrenArray[i];
 			if (!child.isVisible()) continue;
@@ -265,6 +375,8 @@ public class Group extends Actor implements Cullable {
 		children.add(actor);
 		actor.setParent(this);
 		actor.setStage(getStage());
+		if (spatialIndex != null) spatialIndex.add(actor);
+		actor.invalidateAncestorCaches();
 		childrenChanged();
 	}
 
@@ -282,6 +394,8 @@ public class Group extends Actor implements Cullable {
 			children.insert(index, actor);
 		actor.setParent(this);
 		actor.setStage(getStage());
+		if (spatialIndex != null) spatialIndex.add(actor);
+		actor.invalidateAncestorCaches();
 		childrenChanged();
 	}
 
@@ -296,6 +410,8 @@ public class Group extends Actor implements Cullable {
 		children.insert(index, actor);
 		actor.setParent(this);
 		actor.setStage(getStage());
+		if (spatialIndex != null) spatialIndex.add(actor);
+		actor.invalidateAncestorCaches();
 		childrenChanged();
 	}
 
@@ -313,6 +429,8 @@ public class Group extends Actor implements Cullable {
 			children.insert(index + 1, actor);
 		actor.setParent(this);
 		actor.setStage(getStage());
+		if (spatialIndex != null) spatialIndex.add(actor);
+		actor.invalidateAncestorCaches();
 		childrenChanged();
 	}
 
@@ -328,6 +446,8 @@ public class Group extends Actor implements Cullable {
 	 * @return true if the actor was removed from this group. */
 	public boolean removeActor (Actor actor, boolean unfocus) {
 		if (!children.removeValue(actor, true)) return false;
+		if (spatialIndex != null) spatialIndex.remove(actor);
+		actor.invalidateAncestorCaches();
 		if (unfocus) {
 			Stage stage = getStage();
 			if (stage != null) stage.unfocus(actor);
@@ -347,7 +467,9 @@ public class Group extends Actor implements Cullable {
 			child.setParent(null);
 		}
 		children.end();
+		if (spatialIndex != null) spatialIndex.clear();
 		children.clear();
+		invalidateCache();
 		childrenChanged();
 	}
 
@@ -374,7 +496,13 @@ public class Group extends Actor implements Cullable {
 	}
 
 	protected void setStage (Stage stage) {
+		Stage oldStage = getStage();
+		if (cache != null && stage != oldStage) {
+			if (oldStage != null) oldStage.cachedGroups--;
+			if (stage != null) stage.cachedGroups++;
+		}
 		super.setStage(stage);
+		if (stage == null && cache != null) cache.dispose();
 		Actor[] childrenArray = children.items;
 		for (int i = 0, n = children.size; i < n; i++)
 			childrenArray[i].setStage(stage); // StackOverflowError here means the group is its own ancestor.
@@ -386,6 +514,7 @@ public class Group extends Actor implements Cullable {
 		if (first < 0 || first >= maxIndex) return false;
 		if (second < 0 || second >= maxIndex) return false;
 		children.swap(first, second);
+		invalidateCache();
 		return true;
 	}
 
@@ -395,6 +524,7 @@ public class Group extends Actor implements Cullable {
 		int secondIndex = children.indexOf(second, true);
 		if (firstIndex == -1 || secondIndex == -1) return false;
 		children.swap(firstIndex, secondIndex);
+		invalidateCache();
 		return true;
 	}
 
@@ -0,0 +1,167 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.scenes.scene2d;
+
+import java.nio.IntBuffer;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap.Format;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.BufferUtils;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.viewport.Viewport;
+
+/** Draws a {@link Group#setCached(boolean) cached} group into a {@link FrameBuffer}, then draws the frame buffer's texture until
+ * the cache is invalidated, see {@link Actor#invalidateCache()}. The group is drawn at the origin without rotation, scale or
+ * alpha, those are applied when the texture is drawn so they can change without drawing the group again. The frame buffer holds
+ * premultiplied alpha. */
+class GroupCache implements Disposable {
+	static private final IntBuffer ints = BufferUtils.newIntBuffer(16);
+
+	private final Group group;
+	private final TextureRegion region = new TextureRegion();
+	private final Matrix4 projection = new Matrix4(), inverse = new Matrix4(), oldProjection = new Matrix4();
+	private FrameBuffer frameBuffer;
+	private float width, height, r, g, b;
+
+	GroupCache (Group group) {
+		this.group = group;
+	}
+
+	/** Draws the texture of the cache, drawing the group into it first if the cache is invalid.
+	 * @return false if the group can't be cached and must be drawn normally. */
+	boolean draw (Batch batch, float parentAlpha) {
+		Group group = this.group;
+		float width = group.width, height = group.height;
+		if (width <= 0 || height <= 0) return false;
+		Color color = group.color;
+		if (group.cacheDirty || frameBuffer == null || width != this.width || height != this.height || color.r != r
+			|| color.g != g || color.b != b) {
+			if (!update(batch, width, height)) return false;
+		}
+
+		int srcFunc = batch.getBlendSrcFunc(), dstFunc = batch.getBlendDstFunc();
+		int srcFuncAlpha = batch.getBlendSrcFuncAlpha(), dstFuncAlpha = batch.getBlendDstFuncAlpha();
+		float oldColor = batch.getPackedColor();
+		float alpha = color.a * parentAlpha;
+		batch.setBlendFunction(GL20.GL_ONE, GL20.GL_ONE_MINUS_SRC_ALPHA);
+		batch.setColor(alpha, alpha, alpha, alpha);
+		if (group.transform)
+			batch.draw(region, group.x, group.y, group.originX, group.originY, width, height, group.scaleX, group.scaleY,
+				group.rotation);
+		else
+			batch.draw(region, group.x, group.y, width, height);
+		batch.setBlendFunctionSeparate(srcFunc, dstFunc, srcFuncAlpha, dstFuncAlpha);
+		batch.setColor(oldColor);
+		return true;
+	}
+
+	private boolean update (Batch batch, float width, float height) {
+		inverse.set(batch.getTransformMatrix());
+		if (inverse.det() == 0) return false;
+		inverse.inv();
+
+		// The frame buffer has the resolution of the stage's viewport.
+		Group group = this.group;
+		Stage stage = group.getStage();
+		Viewport viewport = stage != null ? stage.getViewport() : null;
+		float pixelsX = 1, pixelsY = 1;
+		if (viewport != null && viewport.getWorldWidth() > 0 && viewport.getWorldHeight() > 0) {
+			pixelsX = viewport.getScreenWidth() / viewport.getWorldWidth();
+			pixelsY = viewport.getScreenHeight() / viewport.getWorldHeight();
+		}
+		int pixelWidth = MathUtils.ceil(width * pixelsX), pixelHeight = MathUtils.ceil(height * pixelsY);
+		if (frameBuffer == null || frameBuffer.getWidth() != pixelWidth || frameBuffer.getHeight() != pixelHeight) {
+			if (frameBuffer != null) frameBuffer.dispose();
+			frameBuffer = new FrameBuffer(Format.RGBA8888, pixelWidth, pixelHeight, false);
+			region.setRegion(frameBuffer.getColorBufferTexture());
+			region.flip(false, true);
+		}
+
+		batch.end();
+		// The frame buffer and viewport are restored afterwards, they may be those of a cached ancestor or of an application's
+		// own frame buffer the stage is drawn to.
+		IntBuffer ints = GroupCache.ints;
+		Gdx.gl.glGetIntegerv(GL20.GL_FRAMEBUFFER_BINDING, ints);
+		int oldFrameBuffer = ints.get(0);
+		Gdx.gl.glGetIntegerv(GL20.GL_VIEWPORT, ints);
+		int viewportX = ints.get(0), viewportY = ints.get(1), viewportWidth = ints.get(2), viewportHeight = ints.get(3);
+		frameBuffer.begin();
+		// The scissor of a clipping ancestor, eg a ScrollPane, is in screen coordinates and doesn't apply to the frame buffer.
+		boolean scissor = Gdx.gl.glIsEnabled(GL20.GL_SCISSOR_TEST);
+		if (scissor) Gdx.gl.glDisable(GL20.GL_SCISSOR_TEST);
+		Gdx.gl.glClearColor(0, 0, 0, 0);
+		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+
+		// The projection undoes the batch transform, so the group's bounds map to the frame buffer.
+		oldProjection.set(batch.getProjectionMatrix());
+		batch.setProjectionMatrix(projection.setToOrtho2D(0, 0, width, height).mul(inverse));
+		int srcFunc = batch.getBlendSrcFunc(), dstFunc = batch.getBlendDstFunc();
+		int srcFuncAlpha = batch.getBlendSrcFuncAlpha(), dstFuncAlpha = batch.getBlendDstFuncAlpha();
+		batch.setBlendFunctionSeparate(srcFunc, dstFunc, GL20.GL_ONE, GL20.GL_ONE_MINUS_SRC_ALPHA);
+		batch.begin();
+
+		Color color = group.color;
+		float x = group.x, y = group.y, rotation = group.rotation, scaleX = group.scaleX, scaleY = group.scaleY, alpha = color.a;
+		Rectangle cullingArea = group.getCullingArea();
+		group.x = 0;
+		group.y = 0;
+		group.rotation = 0;
+		group.scaleX = 1;
+		group.scaleY = 1;
+		color.a = 1;
+		group.setCullingArea(null);
+		group.draw(batch, 1);
+		group.x = x;
+		group.y = y;
+		group.rotation = rotation;
+		group.scaleX = scaleX;
+		group.scaleY = scaleY;
+		color.a = alpha;
+		group.setCullingArea(cullingArea);
+
+		batch.end();
+		batch.setBlendFunctionSeparate(srcFunc, dstFunc, srcFuncAlpha, dstFuncAlpha);
+		batch.setProjectionMatrix(oldProjection);
+		Gdx.gl.glBindFramebuffer(GL20.GL_FRAMEBUFFER, oldFrameBuffer);
+		Gdx.gl.glViewport(viewportX, viewportY, viewportWidth, viewportHeight);
+		if (scissor) Gdx.gl.glEnable(GL20.GL_SCISSOR_TEST);
+		batch.begin();
+
+		// Changes while the group was drawn, eg layout, are in the cache.
+		group.cacheDirty = false;
+		this.width = width;
+		this.height = height;
+		r = color.r;
+		g = color.g;
+		b = color.b;
+		return true;
+	}
+
+	public void dispose () {
+		if (frameBuffer == null) return;
+		frameBuffer.dispose();
+		frameBuffer = null;
+	}
+}
@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.scenes.scene2d;
+
+import com.badlogic.gdx.math.DynamicTree.QueryCallback;
+import com.badlogic.gdx.math.DynamicTree2;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.IntArray;
+
+/** The bounds of the children of a {@link Group} in the group's coordinate system, see {@link Group#setSpatialIndex(boolean)}.
+ * Queries return the indices of the children in z-order. The index of each child is cached in {@link Actor#spatialOrder} and
+ * renumbered when a child is found at a different index, eg after children were inserted, removed or swapped. */
+class SpatialIndex implements QueryCallback {
+	private final Group group;
+	private final DynamicTree2<Actor> tree = new DynamicTree2<Actor>(1, 16);
+	private final IntArray results = new IntArray();
+	private float minX, minY, maxX, maxY;
+
+	SpatialIndex (Group group) {
+		this.group = group;
+	}
+
+	void add (Actor actor) {
+		computeBounds(actor);
+		actor.spatialProxy = tree.add(minX, minY, maxX - minX, maxY - minY, actor);
+		tree.clearMoved();
+	}
+
+	void remove (Actor actor) {
+		if (actor.spatialProxy == -1) return;
+		tree.remove(actor.spatialProxy);
+		actor.spatialProxy = -1;
+	}
+
+	void update (Actor actor) {
+		if (actor.spatialProxy == -1) return;
+		computeBounds(actor);
+		if (tree.move(actor.spatialProxy, minX, minY, maxX - minX, maxY - minY, 0, 0)) tree.clearMoved();
+	}
+
+	void clear () {
+		Actor[] actors = group.children.items;
+		for (int i = 0, n = group.children.size; i < n; i++)
+			actors[i].spatialProxy = -1;
+		tree.clear();
+	}
+
+	/** @return the indices of the children whose bounds may contain the point, sorted by z-order. Valid until the next query. */
+	IntArray query (float x, float y) {
+		results.clear();
+		tree.query(x, y, this);
+		results.sort();
+		return results;
+	}
+
+	/** @return the indices of the children whose bounds may overlap the area, sorted by z-order. Valid until the next query. */
+	IntArray query (Rectangle area) {
+		results.clear();
+		tree.query(area, this);
+		results.sort();
+		return results;
+	}
+
+	public boolean reportProxy (int proxy) {
+		Actor actor = tree.getUserData(proxy);
+		int index = actor.spatialOrder;
+		Actor[] actors = group.children.items;
+		if (index >= group.children.size || actors[index] != actor) {
+			for (int i = 0, n = group.children.size; i < n; i++)
+				actors[i].spatialOrder = i;
+			index = actor.spatialOrder;
+		}
+		results.add(index);
+		return true;
+	}
+
+	/** Computes the axis aligned bounds of the scaled and rotated actor in the parent's coordinate system. */
+	private void computeBounds (Actor actor) {
+		float x = actor.x, y = actor.y, width = actor.width, height = actor.height;
+		float rotation = actor.rotation, scaleX = actor.scaleX, scaleY = actor.scaleY;
+		if (rotation == 0 && scaleX == 1 && scaleY == 1) {
+			minX = x;
+			minY = y;
+			maxX = x + width;
+			maxY = y + height;
+			return;
+		}
+		float originX = actor.originX, originY = actor.originY;
+		float left = -originX * scaleX, right = (width - originX) * scaleX;
+		float bottom = -originY * scaleY, top = (height - originY) * scaleY;
+		float cos = (float)Math.cos(rotation * MathUtils.degreesToRadians);
+		float sin = (float)Math.sin(rotation * MathUtils.degreesToRadians);
+		float x1 = cos * left - sin * bottom, y1 = sin * left + cos * bottom;
+		float x2 = cos * right - sin * bottom, y2 = sin * right + cos * bottom;
+		float x3 = cos * right - sin * top, y3 = sin * right + cos * top;
+		float x4 = cos * left - sin * top, y4 = sin * left + cos * top;
+		x += originX;
+		y += originY;
+		minX = x + Math.min(Math.min(x1, x2), Math.min(x3, x4));
+		minY = y + Math.min(Math.min(y1, y2), Math.min(y3, y4));
+		maxX = x + Math.max(Math.max(x1, x2), Math.max(x3, x4));
+		maxY = y + Math.max(Math.max(y1, y2), Math.max(y3, y4));
+	}
+}
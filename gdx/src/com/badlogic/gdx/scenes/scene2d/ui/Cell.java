@@ -39,6 +39,8 @@ public class Cell<T extends Actor> implements Poolable {
 	int column, row;
 	int cellAboveIndex;
 	float computedPadTop, computedPadLeft, computedPadBottom, computedPadRight;
+	int sizeGeneration = -1;
+	float cachedMinWidth, cachedMinHeight, cachedPrefWidth, cachedPrefHeight, cachedMaxWidth, cachedMaxHeight;
 
 	public Cell () {
 		reset();
@@ -918,6 +920,7 @@ public class Cell<T extends Actor> implements Poolable {
 		table = null;
 		endRow = false;
 		cellAboveIndex = -1;
+		sizeGeneration = -1;
 
 		Cell defaults = defaults();
 		if (defaults != null) set(defaults);
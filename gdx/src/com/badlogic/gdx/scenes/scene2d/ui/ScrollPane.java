@@ -360,6 +360,7 @@ public class ScrollPane extends WidgetGroup {
 		}
 
 		if (animating) {
+			invalidateCache();
 			Stage stage = getStage();
 			if (stage != null && stage.getActionsRequestRendering()) Gdx.graphics.requestRendering();
 		}
@@ -747,11 +748,13 @@ public class ScrollPane extends WidgetGroup {
 	/** Called whenever the visual x scroll amount is changed. */
 	protected void visualScrollX (float pixelsX) {
 		this.visualAmountX = pixelsX;
+		invalidateCache();
 	}
 
 	/** Called whenever the visual y scroll amount is changed. */
 	protected void visualScrollY (float pixelsY) {
 		this.visualAmountY = pixelsY;
+		invalidateCache();
 	}
 
 	/** Returns the amount to scroll horizontally when the mouse wheel is scrolled. */
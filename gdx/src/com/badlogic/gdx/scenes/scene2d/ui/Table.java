@@ -58,6 +58,8 @@ public class Table extends WidgetGroup {
 	private Cell rowDefaults;
 
 	private boolean sizeInvalid = true;
+	private int sizeGeneration;
+	private boolean incrementalLayout;
 	private float[] columnMinWidth, rowMinHeight;
 	private float[] columnPrefWidth, rowPrefHeight;
 	private float tableMinWidth, tableMinHeight;
@@ -147,6 +149,8 @@ public class Table extends WidgetGroup {
 			invalidateHierarchy();
 		else if (padTopOld != padTopNew || padLeftOld != padLeftNew || padBottomOld != padBottomNew || padRightOld != padRightNew)
 			invalidate();
+		else
+			invalidateCache();
 	}
 
 	/** @see #setBackground(Drawable) */
@@ -185,11 +189,36 @@ public class Table extends WidgetGroup {
 		return clip;
 	}
 
+	/** If true, a child in a cell that invalidates its hierarchy only causes this table to be laid out and the invalidation to
+	 * propagate to the table's parent if the child's min, pref or max size has changed since the table last computed its size.
+	 * Otherwise only the child is laid out. Eg, changing the text of a label in a cell with a fixed width then doesn't lay out the
+	 * table and all its ancestors. Default is false. */
+	public void setIncrementalLayout (boolean incrementalLayout) {
+		this.incrementalLayout = incrementalLayout;
+	}
+
+	public boolean getIncrementalLayout () {
+		return incrementalLayout;
+	}
+
 	public void invalidate () {
 		sizeInvalid = true;
 		super.invalidate();
 	}
 
+	protected void childInvalidated (Actor child) {
+		if (incrementalLayout && !sizeInvalid) {
+			Cell<Actor> c = getCell(child);
+			// The cell's sizes are cached by computeSize, compare them if they are from the last time the size was computed.
+			if (c != null && c.sizeGeneration == sizeGeneration) {
+				if (c.minWidth.get(child) == c.cachedMinWidth && c.minHeight.get(child) == c.cachedMinHeight
+					&& c.prefWidth.get(child) == c.cachedPrefWidth && c.prefHeight.get(child) == c.cachedPrefHeight
+					&& c.maxWidth.get(child) == c.cachedMaxWidth && c.maxHeight.get(child) == c.cachedMaxHeight) return;
+			}
+		}
+		invalidateHierarchy();
+	}
+
 	/** Adds a new cell to the table with the specified actor. */
 	public <T extends Actor> Cell<T> add (T actor) {
 		Cell<T> cell = obtainCell();
@@ -788,6 +817,7 @@ public class Table extends WidgetGroup {
 
 	private void computeSize () {
 		sizeInvalid = false;
+		int sizeGeneration = ++this.sizeGeneration;
 
 		Array<Cell> cells = this.cells;
 		int cellCount = cells.size;
@@ -838,6 +868,13 @@ public class Table extends WidgetGroup {
 			float minHeight = c.minHeight.get(a);
 			float maxWidth = c.maxWidth.get(a);
 			float maxHeight = c.maxHeight.get(a);
+			c.cachedMinWidth = minWidth;
+			c.cachedMinHeight = minHeight;
+			c.cachedPrefWidth = prefWidth;
+			c.cachedPrefHeight = prefHeight;
+			c.cachedMaxWidth = maxWidth;
+			c.cachedMaxHeight = maxHeight;
+			c.sizeGeneration = sizeGeneration;
 			if (prefWidth < minWidth) prefWidth = minWidth;
 			if (prefHeight < minHeight) prefHeight = minHeight;
 			if (maxWidth > 0 && prefWidth > maxWidth) prefWidth = maxWidth;
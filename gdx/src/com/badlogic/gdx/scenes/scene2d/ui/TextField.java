@@ -287,6 +287,14 @@ public class TextField extends Widget implements Disableable {
 			: ((focused && style.focusedBackground != null) ? style.focusedBackground : style.background);
 	}
 
+	@Override
+	public void act (float delta) {
+		super.act(delta);
+		// The cursor blinks while the text field has focus.
+		Stage stage = getStage();
+		if (stage != null && stage.getKeyboardFocus() == this && !disabled) invalidateCache();
+	}
+
 	@Override
 	public void draw (Batch batch, float parentAlpha) {
 		Stage stage = getStage();
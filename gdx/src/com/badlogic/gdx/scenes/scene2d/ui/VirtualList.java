@@ -0,0 +1,257 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.scenes.scene2d.ui;
+
+import java.util.Iterator;
+
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.Group;
+import com.badlogic.gdx.scenes.scene2d.utils.Cullable;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.IntMap.Entry;
+import com.badlogic.gdx.utils.Pool;
+
+/** A list which only has actors for the items that are visible, so it can show a very large number of items. The list is
+ * usually the widget of a {@link ScrollPane}, which sets the {@link #setCullingArea(Rectangle) culling area}. Without a
+ * culling area every item has an actor.
+ * <p>
+ * An {@link ItemAdapter} provides the number of items, the height of each item and the actors. Actors are obtained from a
+ * {@link Pool} when an item becomes visible, bound to the item and freed when the item is scrolled out of view, so only about
+ * as many actors as fit into the culling area are ever created. Items are laid out top to bottom at the width of the list. The
+ * offsets of the items are kept as prefix sums of their heights, so finding the visible items is a binary search and items can
+ * have different heights. A table with many rows is a virtual list whose actors are {@link Table tables} with fixed column
+ * widths.
+ * <p>
+ * When the items change, {@link #itemChanged(int)} or {@link #dataChanged()} must be called.
+ * <p>
+ * The preferred height of the list is the sum of the item heights. The preferred width is 0, the list is sized by its
+ * parent. */
+public class VirtualList<T extends Actor> extends WidgetGroup implements Cullable {
+	final ItemAdapter<T> adapter;
+	final Pool<T> pool;
+	private final IntMap<T> visible = new IntMap<T>();
+	private Rectangle cullingArea;
+	private int itemCount, firstVisible, lastVisible = -1;
+	/** The distance of the top of each item from the top of the list. offsets[itemCount] is the total height. */
+	private float[] offsets = new float[1];
+	/** The number of offsets which are computed. */
+	private int validOffsets = 1;
+
+	public VirtualList (final ItemAdapter<T> adapter) {
+		if (adapter == null) throw new IllegalArgumentException("adapter cannot be null.");
+		this.adapter = adapter;
+		pool = new Pool<T>() {
+			protected T newObject () {
+				return adapter.newActor();
+			}
+		};
+		dataChanged();
+	}
+
+	/** Frees all item actors and rereads the number of items and their heights from the adapter. */
+	public void dataChanged () {
+		for (Iterator<Entry<T>> iter = visible.entries().iterator(); iter.hasNext();) {
+			Entry<T> entry = iter.next();
+			freeActor(entry.value, entry.key);
+			iter.remove();
+		}
+		firstVisible = 0;
+		lastVisible = -1;
+		itemCount = adapter.getCount();
+		if (offsets.length < itemCount + 1) offsets = new float[itemCount + 1];
+		validOffsets = 1;
+		invalidateHierarchy();
+	}
+
+	/** Binds the actor of the item again if the item is visible. If the height of the item changed, the offsets of the items
+	 * after it are recomputed when needed. */
+	public void itemChanged (int index) {
+		if (index < 0 || index >= itemCount) throw new IndexOutOfBoundsException("index can't be >= count: " + index);
+		T actor = visible.get(index);
+		if (actor != null) adapter.bind(actor, index);
+		if (index + 1 < validOffsets && offsets[index + 1] - offsets[index] == adapter.getHeight(index)) return;
+		validOffsets = Math.min(validOffsets, index + 1);
+		invalidateHierarchy();
+	}
+
+	/** Computes the offsets up to and including the specified index. */
+	private void computeOffsets (int index) {
+		if (index < validOffsets) return;
+		float[] offsets = this.offsets;
+		for (int i = validOffsets; i <= index; i++)
+			offsets[i] = offsets[i - 1] + adapter.getHeight(i - 1);
+		validOffsets = index + 1;
+	}
+
+	/** @return the index of the last item whose top is at or above the distance from the top of the list. */
+	private int search (float distance) {
+		float[] offsets = this.offsets;
+		int low = 0, high = itemCount - 1;
+		while (low < high) {
+			int mid = (low + high + 1) >>> 1;
+			if (offsets[mid] <= distance)
+				low = mid;
+			else
+				high = mid - 1;
+		}
+		return low;
+	}
+
+	public void draw (Batch batch, float parentAlpha) {
+		validate();
+		updateItems();
+		super.draw(batch, parentAlpha);
+	}
+
+	/** Frees the actors of the items outside the culling area, binds actors to the items which became visible and positions the
+	 * actors. This is done when the list is drawn and only needs to be called to access the actors before that. */
+	public void updateItems () {
+		computeOffsets(itemCount);
+		float[] offsets = this.offsets;
+		float width = getWidth(), height = getHeight();
+		int first = 0, last = itemCount - 1;
+		if (cullingArea != null && itemCount > 0) {
+			float top = height - cullingArea.y - cullingArea.height, bottom = height - cullingArea.y;
+			first = search(top);
+			if (offsets[first + 1] <= top) first++;
+			last = search(bottom);
+			if (last > first && offsets[last] >= bottom) last--;
+		}
+		firstVisible = first;
+		lastVisible = last;
+
+		for (Iterator<Entry<T>> iter = visible.entries().iterator(); iter.hasNext();) {
+			Entry<T> entry = iter.next();
+			if (entry.key >= first && entry.key <= last) continue;
+			freeActor(entry.value, entry.key);
+			iter.remove();
+		}
+
+		for (int i = first; i <= last; i++) {
+			T actor = visible.get(i);
+			if (actor == null) {
+				actor = pool.obtain();
+				adapter.bind(actor, i);
+				visible.put(i, actor);
+				addActor(actor);
+			}
+			float itemTop = offsets[i], itemBottom = offsets[i + 1];
+			actor.setBounds(0, height - itemBottom, width, itemBottom - itemTop);
+		}
+	}
+
+	private void freeActor (T actor, int index) {
+		removeActor(actor);
+		adapter.unbind(actor, index);
+		pool.free(actor);
+	}
+
+	/** Item actors are positioned by the list, adding and removing them doesn't change the size of the list. */
+	protected void childrenChanged () {
+	}
+
+	/** The size of item actors is set by the list, their preferred size doesn't change the size of the list. */
+	protected void childInvalidated (Actor child) {
+	}
+
+	/** @return the actor of the item or null if the item isn't visible. */
+	public T getActor (int index) {
+		return visible.get(index);
+	}
+
+	/** @return the index of the item at the y coordinate in the list's coordinate system, or -1. */
+	public int getItemIndex (float y) {
+		computeOffsets(itemCount);
+		float distance = getHeight() - y;
+		if (itemCount == 0 || distance < 0 || distance >= offsets[itemCount]) return -1;
+		return search(distance);
+	}
+
+	/** @return the y coordinate of the bottom of the item in the list's coordinate system. */
+	public float getItemY (int index) {
+		if (index < 0 || index >= itemCount) throw new IndexOutOfBoundsException("index can't be >= count: " + index);
+		computeOffsets(index + 1);
+		return getHeight() - offsets[index + 1];
+	}
+
+	public float getItemHeight (int index) {
+		if (index < 0 || index >= itemCount) throw new IndexOutOfBoundsException("index can't be >= count: " + index);
+		computeOffsets(index + 1);
+		return offsets[index + 1] - offsets[index];
+	}
+
+	/** Scrolls the item into view if the list is the widget of a {@link ScrollPane}. */
+	public void scrollToItem (int index) {
+		Group parent = getParent();
+		if (!(parent instanceof ScrollPane)) return;
+		float y = getItemY(index);
+		((ScrollPane)parent).scrollTo(0, y, getWidth(), getItemHeight(index));
+	}
+
+	/** @return the index of the first item which had an actor when the list was last updated. */
+	public int getFirstVisibleIndex () {
+		return firstVisible;
+	}
+
+	/** @return the index of the last item which had an actor when the list was last updated, or -1. */
+	public int getLastVisibleIndex () {
+		return lastVisible;
+	}
+
+	public int getItemCount () {
+		return itemCount;
+	}
+
+	public ItemAdapter<T> getAdapter () {
+		return adapter;
+	}
+
+	public float getPrefWidth () {
+		return 0;
+	}
+
+	public float getPrefHeight () {
+		computeOffsets(itemCount);
+		return offsets[itemCount];
+	}
+
+	public void setCullingArea (Rectangle cullingArea) {
+		this.cullingArea = cullingArea;
+	}
+
+	/** Provides the items of a {@link VirtualList}. */
+	static public abstract class ItemAdapter<T extends Actor> {
+		abstract public int getCount ();
+
+		/** @return the height of the item. Called again only after {@link VirtualList#itemChanged(int)} or
+		 *         {@link VirtualList#dataChanged()}. */
+		abstract public float getHeight (int index);
+
+		/** @return a new actor to show items, actors are reused for other items. */
+		abstract public T newActor ();
+
+		/** Sets up the actor to show the item. */
+		abstract public void bind (T actor, int index);
+
+		/** Called when the item is no longer visible, before the actor is returned to the pool. If the actor implements
+		 * {@link com.badlogic.gdx.utils.Pool.Poolable Poolable} it is also reset. */
+		public void unbind (T actor, int index) {
+		}
+	}
+}
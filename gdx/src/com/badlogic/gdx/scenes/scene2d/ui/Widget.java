@@ -85,6 +85,7 @@ public class Widget extends Actor implements Layout {
 
 		if (!needsLayout) return;
 		needsLayout = false;
+		WidgetGroup.layoutCount++;
 		layout();
 	}
 
@@ -95,13 +96,17 @@ public class Widget extends Actor implements Layout {
 
 	public void invalidate () {
 		needsLayout = true;
+		invalidateCache();
 	}
 
 	public void invalidateHierarchy () {
 		if (!layoutEnabled) return;
 		invalidate();
 		Group parent = getParent();
-		if (parent instanceof Layout) ((Layout)parent).invalidateHierarchy();
+		if (parent instanceof WidgetGroup)
+			((WidgetGroup)parent).childInvalidated(this);
+		else if (parent instanceof Layout) //
+			((Layout)parent).invalidateHierarchy();
 	}
 
 	protected void sizeChanged () {
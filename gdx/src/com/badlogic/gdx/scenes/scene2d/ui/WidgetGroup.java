@@ -35,6 +35,10 @@ import com.badlogic.gdx.utils.SnapshotArray;
  * are added and removed.
  * @author Nathan Sweet */
 public class WidgetGroup extends Group implements Layout {
+	/** The number of times {@link #layout()} has been called by {@link #validate()} on any widget or widget group. Reset it each
+	 * frame to know how many layouts ran per frame. */
+	static public int layoutCount;
+
 	private boolean needsLayout = true;
 	private boolean fillParent;
 	private boolean layoutEnabled = true;
@@ -112,6 +116,7 @@ public class WidgetGroup extends Group implements Layout {
 
 		if (!needsLayout) return;
 		needsLayout = false;
+		layoutCount++;
 		layout();
 	}
 
@@ -122,12 +127,23 @@ public class WidgetGroup extends Group implements Layout {
 
 	public void invalidate () {
 		needsLayout = true;
+		invalidateCache();
 	}
 
 	public void invalidateHierarchy () {
 		invalidate();
 		Group parent = getParent();
-		if (parent instanceof Layout) ((Layout)parent).invalidateHierarchy();
+		if (parent instanceof WidgetGroup)
+			((WidgetGroup)parent).childInvalidated(this);
+		else if (parent instanceof Layout) //
+			((Layout)parent).invalidateHierarchy();
+	}
+
+	/** Called when a child widget or widget group has invalidated its hierarchy. The default implementation calls
+	 * {@link #invalidateHierarchy()}. A subclass may stop the propagation if the child's size in its layout can't have changed,
+	 * the child is then laid out when it is validated. */
+	protected void childInvalidated (Actor child) {
+		invalidateHierarchy();
 	}
 
 	protected void childrenChanged () {
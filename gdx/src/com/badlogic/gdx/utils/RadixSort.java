@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+/** Sorts long keys, compared as unsigned numbers, together with int values, usually the indices of the sorted objects. This is
+ * much faster than a {@link Sort comparison sort} when the sort key can be computed once per element.
+ * <p>
+ * The keys are first sorted with an insertion sort, which is very fast when they are almost sorted already, for example when they
+ * are laid out in the order of the previous frame. If the insertion sort has to move too many elements, it bails out to a least
+ * significant digit radix sort. Bytes that are equal for all keys are skipped, so small keys are cheaper to sort. Both sorts are
+ * stable and, once the internal buffers are big enough, don't allocate.
+ * <p>
+ * Use {@link #floatToKey(float)} to build keys from floats. */
+public class RadixSort {
+	private long[] keyBuffer = new long[0];
+	private int[] valueBuffer = new int[0];
+	private final int[] counts = new int[8 * 256];
+
+	/** Sorts the first count keys in ascending order, the values are moved along with the keys. */
+	public void sort (long[] keys, int[] values, int count) {
+		if (count < 2) return;
+		if (insertionSort(keys, values, count, count)) return;
+		radixSort(keys, values, count);
+	}
+
+	/** @param maxMoves the maximum number of element moves before giving up
+	 * @return false if the keys are not sorted because too many moves were needed. */
+	private boolean insertionSort (long[] keys, int[] values, int count, int maxMoves) {
+		for (int i = 1; i < count; i++) {
+			long key = keys[i];
+			long unsignedKey = key ^ Long.MIN_VALUE;
+			int j = i - 1;
+			if ((keys[j] ^ Long.MIN_VALUE) <= unsignedKey) continue;
+			int value = values[i];
+			do {
+				keys[j + 1] = keys[j];
+				values[j + 1] = values[j];
+				j--;
+				maxMoves--;
+			} while (j >= 0 && (keys[j] ^ Long.MIN_VALUE) > unsignedKey);
+			keys[j + 1] = key;
+			values[j + 1] = value;
+			if (maxMoves < 0) return false;
+		}
+		return true;
+	}
+
+	private void radixSort (long[] keys, int[] values, int count) {
+		if (keyBuffer.length < count) {
+			keyBuffer = new long[count];
+			valueBuffer = new int[count];
+		}
+		int[] counts = this.counts;
+		for (int i = 0; i < counts.length; i++)
+			counts[i] = 0;
+		for (int i = 0; i < count; i++) {
+			long key = keys[i];
+			for (int b = 0; b < 8; b++)
+				counts[(b << 8) + (int)((key >>> (b << 3)) & 0xff)]++;
+		}
+
+		long[] srcKeys = keys, dstKeys = keyBuffer;
+		int[] srcValues = values, dstValues = valueBuffer;
+		for (int b = 0; b < 8; b++) {
+			int offset = b << 8;
+			// Skip the bytes which are the same for all the keys
+			if (counts[offset + (int)((srcKeys[0] >>> (b << 3)) & 0xff)] == count) continue;
+			for (int i = 0, total = 0; i < 256; i++) {
+				int c = counts[offset + i];
+				counts[offset + i] = total;
+				total += c;
+			}
+			int shift = b << 3;
+			for (int i = 0; i < count; i++) {
+				long key = srcKeys[i];
+				int index = counts[offset + (int)((key >>> shift) & 0xff)]++;
+				dstKeys[index] = key;
+				dstValues[index] = srcValues[i];
+			}
+			long[] tmpKeys = srcKeys;
+			srcKeys = dstKeys;
+			dstKeys = tmpKeys;
+			int[] tmpValues = srcValues;
+			srcValues = dstValues;
+			dstValues = tmpValues;
+		}
+		if (srcKeys != keys) {
+			System.arraycopy(srcKeys, 0, keys, 0, count);
+			System.arraycopy(srcValues, 0, values, 0, count);
+		}
+	}
+
+	/** @return an unsigned key with the same order as the float values, -0 is ordered before 0. NaN is not supported. */
+	static public long floatToKey (float value) {
+		int bits = NumberUtils.floatToRawIntBits(value);
+		return (bits < 0 ? ~bits : bits | 0x80000000) & 0xffffffffL;
+	}
+}
@@ -0,0 +1,281 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils.async;
+
+import com.badlogic.gdx.math.WindowedMean;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.TimeUtils;
+
+/** Steps many independent simulations, such as physics worlds, with a fixed time step on an {@link AsyncExecutor}. Each
+ * {@link #update(float)} adds the elapsed time to every {@link Entry} and runs the whole steps it owes, each entry stepped by a
+ * single task so a simulation never runs on two threads at once. The first task runs on the calling thread.
+ * <p>
+ * An entry never runs more than its maximum steps per update, the excess time is dropped and counted as skipped steps. When a
+ * deadline is set, catch-up steps which would start after it are deferred to the next update. Every entry makes at least one
+ * step per update if it owes one. After all tasks finished, the {@link StepListener} of each entry is called on the calling
+ * thread, in the order the entries were added.
+ * @param <T> the type of the simulations */
+public abstract class StepScheduler<T> {
+	/** Called on the thread calling {@link StepScheduler#update(float)} after all entries are stepped. */
+	public interface StepListener<T> {
+		/** @param entry the entry which made at least one step */
+		public void stepped (Entry<T> entry);
+	}
+
+	/** A simulation of the scheduler with its fixed time step, accumulated time and step time metrics. */
+	public static class Entry<T> {
+		public final T world;
+		public final float timeStep;
+		/** The maximum number of steps run by one update, more are skipped. */
+		public int maxSteps;
+		public StepListener<T> listener;
+
+		float accumulator;
+		int pending, steps, deferred;
+		long skipped;
+		long lastStepNanos, maxStepNanos;
+		final WindowedMean stepTime = new WindowedMean(60);
+
+		Entry (T world, float timeStep, int maxSteps) {
+			this.world = world;
+			this.timeStep = timeStep;
+			this.maxSteps = maxSteps;
+		}
+
+		/** @return the number of steps made by the last update */
+		public int getSteps () {
+			return steps;
+		}
+
+		/** @return the number of steps deferred to the next update by the deadline of the last update */
+		public int getDeferredSteps () {
+			return deferred;
+		}
+
+		/** @return the total number of steps skipped because the entry fell behind by more than its maximum steps */
+		public long getSkippedSteps () {
+			return skipped;
+		}
+
+		/** @return the fraction of a time step accumulated but not yet stepped, from 0 to 1, to interpolate between the previous
+		 *         and the current state of the simulation */
+		public float getAlpha () {
+			return Math.min(accumulator / timeStep, 1f);
+		}
+
+		/** @return whether the last update deferred steps, which means the scheduler can't keep up with this entry */
+		public boolean isBehind () {
+			return deferred > 0;
+		}
+
+		/** @return the duration of the last step in seconds */
+		public float getLastStepTime () {
+			return lastStepNanos / 1000000000f;
+		}
+
+		/** @return the longest step in seconds since the entry was added or {@link #resetMetrics()} */
+		public float getMaxStepTime () {
+			return maxStepNanos / 1000000000f;
+		}
+
+		/** @return the average duration of the last 60 steps in seconds, 0 until 60 steps were made */
+		public float getMeanStepTime () {
+			return stepTime.getMean();
+		}
+
+		public void resetMetrics () {
+			skipped = 0;
+			maxStepNanos = 0;
+			stepTime.clear();
+		}
+	}
+
+	private final AsyncExecutor executor;
+	private final Array<Entry<T>> entries = new Array<Entry<T>>();
+	private final StepTask<T>[] tasks;
+	private final float[] loads;
+	private final Array<AsyncResult<Void>> results = new Array<AsyncResult<Void>>();
+	private final Array<Entry<T>> stepped = new Array<Entry<T>>();
+	private float deadline;
+	long deadlineNanos;
+
+	/** @param executor runs all tasks but the first, null to step all entries on the calling thread
+	 * @param tasks the number of tasks the entries are split in, usually the number of threads of the executor plus one */
+	public StepScheduler (AsyncExecutor executor, int tasks) {
+		if (tasks < 1) throw new IllegalArgumentException("tasks must be at least 1: " + tasks);
+		this.executor = executor;
+		if (executor == null) tasks = 1;
+		// Only StepTask<T> instances are stored in the array and it is never exposed, so the cast is safe
+		@SuppressWarnings("unchecked")
+		final StepTask<T>[] array = (StepTask<T>[])new StepTask<?>[tasks];
+		for (int i = 0; i < tasks; i++)
+			array[i] = new StepTask<T>(this);
+		this.tasks = array;
+		loads = new float[tasks];
+	}
+
+	/** Makes a single step of the simulation, called on the thread of the task owning the entry. */
+	protected abstract void step (T world, float timeStep);
+
+	/** Adds a simulation stepped with the given fixed time step.
+	 * @param maxSteps the maximum number of steps run by one update, limiting the catch-up after a slow frame */
+	public Entry<T> add (T world, float timeStep, int maxSteps) {
+		if (timeStep <= 0) throw new IllegalArgumentException("timeStep must be > 0: " + timeStep);
+		if (maxSteps < 1) throw new IllegalArgumentException("maxSteps must be at least 1: " + maxSteps);
+		Entry<T> entry = new Entry<T>(world, timeStep, maxSteps);
+		entries.add(entry);
+		return entry;
+	}
+
+	/** @return the entry of the simulation or null */
+	public Entry<T> get (T world) {
+		for (int i = 0, n = entries.size; i < n; i++)
+			if (entries.get(i).world == world) return entries.get(i);
+		return null;
+	}
+
+	/** @return whether the simulation was removed */
+	public boolean remove (T world) {
+		for (int i = 0, n = entries.size; i < n; i++) {
+			if (entries.get(i).world == world) {
+				entries.removeIndex(i);
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public Array<Entry<T>> getEntries () {
+		return entries;
+	}
+
+	/** Sets the time after the start of an update from which no more catch-up steps are started.
+	 * @param seconds 0 for no deadline */
+	public void setDeadline (float seconds) {
+		deadline = seconds;
+	}
+
+	public float getDeadline () {
+		return deadline;
+	}
+
+	/** Adds the elapsed time to every entry, steps them and calls their listeners. Blocks until all steps are done. If a step
+	 * throws, the exception is rethrown once all tasks finished and no listener is called. */
+	public void update (float delta) {
+		final long start = TimeUtils.nanoTime();
+		deadlineNanos = deadline > 0 ? start + (long)(deadline * 1000000000.0) : Long.MAX_VALUE;
+
+		// Assign the entries to the least loaded task by their mean step time.
+		final StepTask<T>[] tasks = this.tasks;
+		final float[] loads = this.loads;
+		for (int i = 0; i < tasks.length; i++) {
+			tasks[i].entries.clear();
+			loads[i] = 0;
+		}
+		for (int i = 0, n = entries.size; i < n; i++) {
+			final Entry<T> entry = entries.get(i);
+			entry.accumulator += delta;
+			int pending = (int)(entry.accumulator / entry.timeStep);
+			if (pending > entry.maxSteps) {
+				entry.skipped += pending - entry.maxSteps;
+				entry.accumulator -= (pending - entry.maxSteps) * entry.timeStep;
+				pending = entry.maxSteps;
+			}
+			entry.pending = pending;
+			entry.steps = 0;
+			entry.deferred = 0;
+			if (pending == 0) continue;
+			int task = 0;
+			for (int t = 1; t < tasks.length; t++)
+				if (loads[t] < loads[task]) task = t;
+			tasks[task].entries.add(entry);
+			loads[task] += pending * Math.max(entry.stepTime.getMean(), 1e-6f);
+		}
+
+		final Array<AsyncResult<Void>> results = this.results;
+		RuntimeException exception = null;
+		try {
+			for (int i = 1; i < tasks.length; i++)
+				if (tasks[i].entries.size > 0) results.add(executor.submit(tasks[i]));
+			tasks[0].call();
+		} catch (RuntimeException ex) {
+			exception = ex;
+		} finally {
+			// Wait for every task even if one failed, so none still steps its entries when the next update starts.
+			for (int i = 0; i < results.size; i++) {
+				try {
+					results.get(i).get();
+				} catch (RuntimeException ex) {
+					if (exception == null) exception = ex;
+				}
+			}
+			results.clear();
+		}
+		if (exception != null) throw exception;
+
+		// The listeners may add or remove entries, so they are called for a copy of the stepped entries.
+		final Array<Entry<T>> stepped = this.stepped;
+		for (int i = 0, n = entries.size; i < n; i++)
+			if (entries.get(i).steps > 0) stepped.add(entries.get(i));
+		try {
+			for (int i = 0; i < stepped.size; i++) {
+				final Entry<T> entry = stepped.get(i);
+				if (entry.listener != null) entry.listener.stepped(entry);
+			}
+		} finally {
+			stepped.clear();
+		}
+	}
+
+	/** Steps the entries of a task in rounds, so the deadline defers the catch-up steps of all entries alike. */
+	static private class StepTask<T> implements AsyncTask<Void> {
+		final StepScheduler<T> scheduler;
+		final Array<Entry<T>> entries = new Array<Entry<T>>();
+
+		StepTask (StepScheduler<T> scheduler) {
+			this.scheduler = scheduler;
+		}
+
+		@Override
+		public Void call () {
+			final Array<Entry<T>> entries = this.entries;
+			boolean stepped = true;
+			for (int round = 0; stepped; round++) {
+				stepped = false;
+				for (int i = 0, n = entries.size; i < n; i++) {
+					final Entry<T> entry = entries.get(i);
+					if (round >= entry.pending) continue;
+					long start = TimeUtils.nanoTime();
+					if (round > 0 && start >= scheduler.deadlineNanos) {
+						entry.deferred = entry.pending - round;
+						entry.pending = round;
+						continue;
+					}
+					scheduler.step(entry.world, entry.timeStep);
+					final long time = TimeUtils.nanoTime() - start;
+					entry.accumulator -= entry.timeStep;
+					entry.steps++;
+					entry.lastStepNanos = time;
+					if (time > entry.maxStepNanos) entry.maxStepNanos = time;
+					entry.stepTime.addValue(time / 1000000000f);
+					stepped = true;
+				}
+			}
+			return null;
+		}
+	}
+}
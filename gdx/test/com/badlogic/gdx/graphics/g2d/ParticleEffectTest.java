@@ -0,0 +1,103 @@
+package com.badlogic.gdx.graphics.g2d;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.collision.BoundingBox;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+
+public class ParticleEffectTest {
+	/** Sets up an emitter whose properties change over the life of the particles. Without random ranges the emitter draws no
+	 * values from the shared random which affect the particles, so emitters updated in parallel are deterministic. */
+	private static void setup (ParticleEmitter emitter, int index, boolean randomRanges) {
+		emitter.setMaxParticleCount(500);
+		emitter.setContinuous(true);
+		emitter.getDuration().setLow(1000);
+		emitter.getEmission().setHigh(150 + index * 50);
+		if (randomRanges)
+			emitter.getLife().setHigh(400, 900);
+		else
+			emitter.getLife().setHigh(500 + index * 100);
+		emitter.getXScale().setHigh(8, randomRanges ? 16 : 8);
+		emitter.getXScale().setTimeline(new float[] {0, 1});
+		emitter.getXScale().setScaling(new float[] {1, 0.5f});
+		emitter.getTransparency().setHigh(1);
+		emitter.getVelocity().setActive(true);
+		emitter.getVelocity().setHigh(50 + index * 20, randomRanges ? 150 : 50 + index * 20);
+		emitter.getAngle().setActive(true);
+		emitter.getAngle().setHigh(index * 90, randomRanges ? 360 : index * 90);
+		emitter.getAngle().setTimeline(new float[] {0, 1});
+		emitter.getAngle().setScaling(new float[] {0, 1});
+		emitter.getRotation().setActive(true);
+		emitter.getRotation().setHigh(randomRanges ? 0 : 90, 90);
+		emitter.getRotation().setTimeline(new float[] {0, 1});
+		emitter.getRotation().setScaling(new float[] {0, 1});
+		emitter.getGravity().setActive(true);
+		emitter.getGravity().setHigh(-40);
+		Array<Sprite> sprites = new Array<Sprite>();
+		Sprite sprite = new Sprite();
+		sprite.setSize(16, 16);
+		sprites.add(sprite);
+		emitter.setSprites(sprites);
+	}
+
+	private static void assertSameParticles (ParticleEmitter expectedEmitter, ParticleEmitter actualEmitter) {
+		assertEquals(expectedEmitter.getActiveCount(), actualEmitter.getActiveCount());
+		BoundingBox expected = expectedEmitter.getBoundingBox(), actual = actualEmitter.getBoundingBox();
+		assertEquals(expected.min.x, actual.min.x, 0.01f);
+		assertEquals(expected.min.y, actual.min.y, 0.01f);
+		assertEquals(expected.max.x, actual.max.x, 0.01f);
+		assertEquals(expected.max.y, actual.max.y, 0.01f);
+	}
+
+	@Test
+	public void arrayEmitterTest () {
+		ParticleEmitter emitter = new ParticleEmitter();
+		ArrayParticleEmitter arrayEmitter = new ArrayParticleEmitter();
+		setup(emitter, 0, true);
+		setup(arrayEmitter, 0, true);
+
+		// Both emitters draw the same random values, so they are seeded the same before starting and before each frame.
+		MathUtils.random.setSeed(0);
+		emitter.start();
+		MathUtils.random.setSeed(0);
+		arrayEmitter.start();
+		for (int frame = 0; frame < 120; frame++) {
+			MathUtils.random.setSeed(frame);
+			emitter.update(1 / 60f);
+			MathUtils.random.setSeed(frame);
+			arrayEmitter.update(1 / 60f);
+			assertSameParticles(emitter, arrayEmitter);
+		}
+		assertTrue(emitter.getActiveCount() > 0);
+	}
+
+	@Test
+	public void parallelUpdateTest () {
+		AsyncExecutor executor = new AsyncExecutor(4);
+		ParticleEffect sequential = new ParticleEffect(), parallel = new ArrayParticleEffect();
+		for (int i = 0; i < 4; i++) {
+			ParticleEmitter emitter = new ParticleEmitter();
+			setup(emitter, i, false);
+			sequential.getEmitters().add(emitter);
+			ArrayParticleEmitter arrayEmitter = new ArrayParticleEmitter();
+			setup(arrayEmitter, i, false);
+			parallel.getEmitters().add(arrayEmitter);
+		}
+		sequential.start();
+		parallel.start();
+
+		for (int frame = 0; frame < 120; frame++) {
+			sequential.update(1 / 60f);
+			parallel.update(1 / 60f, executor);
+			for (int i = 0; i < 4; i++)
+				assertSameParticles(sequential.getEmitters().get(i), parallel.getEmitters().get(i));
+		}
+		for (int i = 0; i < 4; i++)
+			assertTrue(sequential.getEmitters().get(i).getActiveCount() > 0);
+		executor.dispose();
+	}
+}
@@ -0,0 +1,183 @@
+
+package com.badlogic.gdx.graphics.g3d.loader;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes.Usage;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelAnimation;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelData;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelMaterial;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelMesh;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelMeshPart;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelNode;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelNodeAnimation;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelNodeKeyframe;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelNodePart;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelTexture;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Quaternion;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ArrayMap;
+
+public class G3dmModelLoaderTest {
+	private static ModelData createModel () {
+		ModelData model = new ModelData();
+		model.id = "model";
+		model.version[1] = 1;
+
+		ModelMesh mesh = new ModelMesh();
+		mesh.id = "mesh";
+		mesh.attributes = new VertexAttribute[] {VertexAttribute.Position(), VertexAttribute.Normal(),
+			new VertexAttribute(Usage.ColorPacked, 4, GL20.GL_UNSIGNED_BYTE, true, "a_color")};
+		mesh.vertices = new float[7 * 5];
+		for (int i = 0; i < mesh.vertices.length; i++)
+			mesh.vertices[i] = i * 0.5f;
+		ModelMeshPart part1 = new ModelMeshPart(), part2 = new ModelMeshPart();
+		part1.id = "part1";
+		part1.primitiveType = GL20.GL_TRIANGLES;
+		part1.indices = new short[] {0, 1, 2};
+		ModelMeshPart lod = new ModelMeshPart();
+		lod.id = "part1_lod1";
+		lod.primitiveType = GL20.GL_TRIANGLES;
+		lod.indices = new short[] {0, 2, 3};
+		part1.lods = new ModelMeshPart[] {lod};
+		part1.lodScreenSizes = new float[] {0.25f};
+		part2.id = "part2";
+		part2.primitiveType = GL20.GL_LINES;
+		part2.indices = new short[] {2, 3, 3, 4};
+		mesh.parts = new ModelMeshPart[] {part1, part2};
+		model.meshes.add(mesh);
+
+		ModelMaterial material = new ModelMaterial();
+		material.id = "material";
+		material.type = ModelMaterial.MaterialType.Phong;
+		material.diffuse = new Color(1, 0.5f, 0.25f, 1);
+		material.shininess = 8;
+		material.opacity = 0.5f;
+		ModelTexture texture = new ModelTexture();
+		texture.id = "texture";
+		texture.fileName = "source/textures/diffuse.png";
+		texture.usage = ModelTexture.USAGE_DIFFUSE;
+		material.textures = new Array<ModelTexture>();
+		material.textures.add(texture);
+		model.materials.add(material);
+
+		ModelNode node = new ModelNode(), child = new ModelNode();
+		node.id = "node";
+		node.translation = new Vector3(1, 2, 3);
+		node.rotation = new Quaternion(Vector3.Y, 90);
+		child.id = "child";
+		child.meshId = "mesh";
+		ModelNodePart nodePart = new ModelNodePart();
+		nodePart.meshPartId = "part1";
+		nodePart.materialId = "material";
+		nodePart.bones = new ArrayMap<String, Matrix4>();
+		nodePart.bones.put("node", new Matrix4().setToTranslation(4, 5, 6));
+		child.parts = new ModelNodePart[] {nodePart};
+		node.children = new ModelNode[] {child};
+		model.nodes.add(node);
+
+		ModelAnimation animation = new ModelAnimation();
+		animation.id = "animation";
+		ModelNodeAnimation nodeAnimation = new ModelNodeAnimation();
+		nodeAnimation.nodeId = "node";
+		nodeAnimation.rotation = new Array<ModelNodeKeyframe<Quaternion>>();
+		for (int i = 0; i < 3; i++) {
+			ModelNodeKeyframe<Quaternion> keyframe = new ModelNodeKeyframe<Quaternion>();
+			keyframe.keytime = i;
+			keyframe.value = new Quaternion(Vector3.X, i * 45);
+			nodeAnimation.rotation.add(keyframe);
+		}
+		animation.nodeAnimations.add(nodeAnimation);
+		model.animations.add(animation);
+		return model;
+	}
+
+	private static ByteBuffer write (ModelData model, String textureDir) throws IOException {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		new G3dmModelWriter().write(model, output, textureDir);
+		return ByteBuffer.wrap(output.toByteArray());
+	}
+
+	@Test
+	public void roundTripTest () throws IOException {
+		ModelData original = createModel();
+		ModelData model = new G3dmModelLoader().parseModel(write(original, "source/"), "assets");
+
+		assertEquals("model", model.id);
+		assertEquals(1, model.version[1]);
+
+		ModelMesh mesh = model.meshes.get(0);
+		assertNull(mesh.vertices);
+		assertEquals(3, mesh.attributes.length);
+		assertEquals(Usage.ColorPacked, mesh.attributes[2].usage);
+		assertEquals(GL20.GL_UNSIGNED_BYTE, mesh.attributes[2].type);
+		assertTrue(mesh.attributes[2].normalized);
+		assertEquals("a_color", mesh.attributes[2].alias);
+		// The blocks are aligned and laid out like the vertex and index buffers
+		assertEquals(0, mesh.vertexData.arrayOffset() % G3dmModelLoader.ALIGNMENT);
+		assertEquals(0, mesh.parts[0].indexData.arrayOffset() % G3dmModelLoader.ALIGNMENT);
+		assertEquals(original.meshes.get(0).vertices.length * 4, mesh.vertexData.remaining());
+		for (int i = 0; i < original.meshes.get(0).vertices.length; i++)
+			assertEquals(original.meshes.get(0).vertices[i], mesh.vertexData.getFloat(i * 4), 0);
+		assertEquals("part2", mesh.parts[1].id);
+		assertEquals(GL20.GL_LINES, mesh.parts[1].primitiveType);
+		assertEquals(4, mesh.parts[1].indexData.remaining() / 2);
+		assertEquals(3, mesh.parts[1].indexData.getShort(4));
+		assertNull(mesh.parts[1].lods);
+		assertEquals(1, mesh.parts[0].lods.length);
+		assertEquals("part1_lod1", mesh.parts[0].lods[0].id);
+		assertEquals(0.25f, mesh.parts[0].lodScreenSizes[0], 0);
+		assertEquals(3, mesh.parts[0].lods[0].indexData.getShort(4));
+
+		ModelMaterial material = model.materials.get(0);
+		assertEquals(ModelMaterial.MaterialType.Phong, material.type);
+		assertNull(material.ambient);
+		assertEquals(new Color(1, 0.5f, 0.25f, 1), material.diffuse);
+		assertEquals(0.5f, material.opacity, 0);
+		assertEquals("assets/textures/diffuse.png", material.textures.get(0).fileName);
+		assertNull(material.textures.get(0).uvScaling);
+
+		ModelNode node = model.nodes.get(0);
+		assertEquals(new Vector3(1, 2, 3), node.translation);
+		assertEquals(original.nodes.get(0).rotation, node.rotation);
+		assertNull(node.scale);
+		assertNull(node.parts);
+		ModelNode child = node.children[0];
+		assertEquals("mesh", child.meshId);
+		assertNull(child.children);
+		assertEquals("material", child.parts[0].materialId);
+		assertEquals(6, child.parts[0].bones.get("node").val[Matrix4.M23], 0);
+
+		ModelNodeAnimation nodeAnimation = model.animations.get(0).nodeAnimations.get(0);
+		assertNull(nodeAnimation.translation);
+		assertEquals(3, nodeAnimation.rotation.size);
+		assertEquals(2, nodeAnimation.rotation.get(2).keytime, 0);
+		assertEquals(original.animations.get(0).nodeAnimations.get(0).rotation.get(2).value, nodeAnimation.rotation.get(2).value);
+
+		// Model data with buffers is written the same as model data with arrays
+		assertEquals(write(original, "source"), write(model, "assets"));
+	}
+
+	@Test
+	public void directBufferTest () throws IOException {
+		ByteBuffer heap = write(createModel(), null);
+		ByteBuffer direct = ByteBuffer.allocateDirect(heap.remaining()).order(ByteOrder.BIG_ENDIAN);
+		direct.put(heap).flip();
+		ModelData model = new G3dmModelLoader().parseModel(direct, "");
+		assertEquals(ByteOrder.LITTLE_ENDIAN, model.meshes.get(0).vertexData.order());
+		assertEquals(0.5f, model.meshes.get(0).vertexData.getFloat(4), 0);
+		assertEquals(0, direct.position());
+	}
+}
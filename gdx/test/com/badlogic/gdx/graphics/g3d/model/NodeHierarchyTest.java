@@ -0,0 +1,118 @@
+
+package com.badlogic.gdx.graphics.g3d.model;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ArrayMap;
+
+public class NodeHierarchyTest {
+	private final Random random = new Random(1);
+
+	private Node createNode () {
+		Node node = new Node();
+		node.translation.set(random.nextFloat() * 10 - 5, random.nextFloat() * 10 - 5, random.nextFloat() * 10 - 5);
+		node.rotation.setEulerAngles(random.nextFloat() * 360, random.nextFloat() * 360, random.nextFloat() * 360);
+		node.scale.set(0.5f + random.nextFloat(), 0.5f + random.nextFloat(), 0.5f + random.nextFloat());
+		return node;
+	}
+
+	private void addChildren (Node parent, Array<Node> all, int depth) {
+		all.add(parent);
+		if (depth == 0) return;
+		for (int i = 0, n = 1 + random.nextInt(3); i < n; i++)
+			addChildren(parent.getChild(parent.addChild(createNode())), all, depth - 1);
+	}
+
+	/** Transforms the vector through the local transforms of the node and its parents. */
+	private Vector3 transform (Node node, Vector3 v) {
+		for (; node != null; node = node.inheritTransform ? node.getParent() : null)
+			v.mul(node.localTransform);
+		return v;
+	}
+
+	private void assertTransforms (Array<Node> nodes) {
+		Vector3 expected = new Vector3(), actual = new Vector3();
+		Matrix4 local = new Matrix4();
+		for (Node node : nodes) {
+			if (!node.isAnimated) assertArrayEquals(local.set(node.translation, node.rotation, node.scale).val, node.localTransform.val, 0);
+			transform(node, expected.set(1, 2, 3));
+			actual.set(1, 2, 3).mul(node.globalTransform);
+			assertTrue(expected + " != " + actual, expected.epsilonEquals(actual, 0.001f));
+		}
+	}
+
+	@Test
+	public void calculateTransformsTest () {
+		Array<Node> roots = new Array<Node>(), all = new Array<Node>();
+		for (int i = 0; i < 3; i++) {
+			roots.add(createNode());
+			addChildren(roots.peek(), all, 4);
+		}
+		all.get(5).inheritTransform = false;
+		all.get(7).isAnimated = true;
+		all.get(7).localTransform.setToTranslation(1, 2, 3);
+
+		NodeHierarchy hierarchy = new NodeHierarchy();
+		hierarchy.calculateTransforms(roots);
+		assertEquals(all.size, hierarchy.getNodeCount());
+		for (int i = 0; i < hierarchy.getNodeCount(); i++) {
+			int parent = hierarchy.getParentIndex(i);
+			if (parent == -1)
+				assertFalse(hierarchy.getNode(i).hasParent());
+			else {
+				assertTrue(parent < i);
+				assertSame(hierarchy.getNode(parent), hierarchy.getNode(i).getParent());
+			}
+		}
+		assertTransforms(all);
+
+		// Changing the tree rebuilds the hierarchy
+		Node node = all.get(10);
+		node.detach();
+		all.get(1).addChild(node);
+		all.get(2).addChild(createNode());
+		assertFalse(hierarchy.isValid(roots));
+		all.clear();
+		for (Node root : roots)
+			collect(root, all);
+		all.get(3).translation.set(5, 5, 5);
+		hierarchy.calculateTransforms(roots);
+		assertTrue(hierarchy.isValid(roots));
+		assertEquals(all.size, hierarchy.getNodeCount());
+		assertTransforms(all);
+	}
+
+	private void collect (Node node, Array<Node> out) {
+		out.add(node);
+		for (Node child : node.getChildren())
+			collect(child, out);
+	}
+
+	@Test
+	public void boneTransformsTest () {
+		Array<Node> roots = new Array<Node>(), all = new Array<Node>();
+		roots.add(createNode());
+		addChildren(roots.peek(), all, 3);
+		NodePart part = new NodePart();
+		part.invBoneBindTransforms = new ArrayMap<Node, Matrix4>(Node.class, Matrix4.class);
+		part.invBoneBindTransforms.put(all.get(1), new Matrix4().setToTranslation(1, 0, 0));
+		part.invBoneBindTransforms.put(all.get(all.size - 1), new Matrix4().setToScaling(2, 2, 2));
+		part.bones = new Matrix4[] {new Matrix4(), new Matrix4()};
+		all.get(0).parts.add(part);
+
+		new NodeHierarchy().calculateTransforms(roots);
+		Vector3 expected = new Vector3(), actual = new Vector3();
+		for (int i = 0; i < 2; i++) {
+			expected.set(1, 2, 3).mul(part.invBoneBindTransforms.values[i]).mul(part.invBoneBindTransforms.keys[i].globalTransform);
+			actual.set(1, 2, 3).mul(part.bones[i]);
+			assertTrue(expected.epsilonEquals(actual, 0.001f));
+		}
+	}
+}
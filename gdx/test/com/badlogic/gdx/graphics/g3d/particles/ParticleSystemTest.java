@@ -0,0 +1,108 @@
+package com.badlogic.gdx.graphics.g3d.particles;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.graphics.g3d.particles.ParallelArray.ChannelDescriptor;
+import com.badlogic.gdx.graphics.g3d.particles.ParallelArray.FloatChannel;
+import com.badlogic.gdx.graphics.g3d.particles.emitters.RegularEmitter;
+import com.badlogic.gdx.graphics.g3d.particles.influencers.ColorInfluencer;
+import com.badlogic.gdx.graphics.g3d.particles.influencers.DynamicsInfluencer;
+import com.badlogic.gdx.graphics.g3d.particles.influencers.DynamicsModifier;
+import com.badlogic.gdx.graphics.g3d.particles.influencers.ScaleInfluencer;
+import com.badlogic.gdx.graphics.g3d.particles.influencers.SpawnInfluencer;
+import com.badlogic.gdx.graphics.g3d.particles.renderers.PointSpriteRenderer;
+import com.badlogic.gdx.graphics.g3d.particles.values.PointSpawnShapeValue;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+
+public class ParticleSystemTest {
+	/** Creates a controller without random ranges, so its particles don't depend on the order in which the random values are
+	 * drawn by concurrent updates. */
+	private ParticleController createController (int index) {
+		RegularEmitter emitter = new RegularEmitter();
+		emitter.setParticleCount(0, 2000);
+		emitter.getEmission().setHigh(3000 + index * 1000);
+		emitter.getLife().setHigh(500 + index * 100);
+		emitter.getDuration().setLow(3000);
+
+		ColorInfluencer.Single color = new ColorInfluencer.Single();
+		color.colorValue.setColors(new float[] {1, 0, 0, 0, 0, 1});
+		color.colorValue.setTimeline(new float[] {0, 1});
+		color.alphaValue.setHigh(0.8f);
+		color.alphaValue.setTimeline(new float[] {0, 1});
+		color.alphaValue.setScaling(new float[] {1, 0});
+
+		ScaleInfluencer scale = new ScaleInfluencer();
+		scale.value.setHigh(2);
+		scale.value.setTimeline(new float[] {0, 1});
+		scale.value.setScaling(new float[] {0, 1});
+
+		DynamicsModifier.PolarAcceleration polar = new DynamicsModifier.PolarAcceleration();
+		polar.strengthValue.setHigh(5 + index);
+		polar.strengthValue.setTimeline(new float[] {0, 1});
+		polar.strengthValue.setScaling(new float[] {1, 0.5f});
+		polar.thetaValue.setHigh(30 * index);
+		polar.phiValue.setHigh(60);
+		DynamicsModifier.CentripetalAcceleration centripetal = new DynamicsModifier.CentripetalAcceleration();
+		centripetal.isGlobal = true;
+		centripetal.strengthValue.setHigh(-2);
+
+		ParticleController controller = new ParticleController("test" + index, emitter, new PointSpriteRenderer(),
+			new SpawnInfluencer(new PointSpawnShapeValue()), color, scale, new DynamicsInfluencer(polar, centripetal));
+		controller.setTranslation(new Vector3(index, 2, 3));
+		return controller;
+	}
+
+	private ParticleSystem createSystem (Array<ParticleEffect> effects) {
+		ParticleSystem system = new ParticleSystem();
+		for (int i = 0; i < 2; i++) {
+			ParticleEffect effect = new ParticleEffect(createController(i * 2), createController(i * 2 + 1));
+			effect.init();
+			effect.start();
+			system.add(effect);
+			effects.add(effect);
+		}
+		return system;
+	}
+
+	private void assertSameChannel (ParticleController expected, ParticleController actual, ChannelDescriptor descriptor) {
+		FloatChannel expectedChannel = expected.particles.getChannel(descriptor);
+		FloatChannel actualChannel = actual.particles.getChannel(descriptor);
+		for (int i = 0, n = expected.particles.size * expectedChannel.strideSize; i < n; i++)
+			assertEquals(expectedChannel.data[i], actualChannel.data[i], 0);
+	}
+
+	@Test
+	public void parallelUpdateTest () {
+		AsyncExecutor executor = new AsyncExecutor(4);
+		Array<ParticleEffect> serialEffects = new Array<ParticleEffect>(), parallelEffects = new Array<ParticleEffect>();
+		ParticleSystem serial = createSystem(serialEffects), parallel = createSystem(parallelEffects);
+		// Split the controllers in several particle ranges.
+		parallel.setParticlesPerTask(100);
+
+		for (int frame = 0; frame < 60; frame++) {
+			serial.update();
+			parallel.update(executor);
+
+			int particles = 0;
+			for (int i = 0; i < 2; i++) {
+				Array<ParticleController> expected = serialEffects.get(i).getControllers();
+				Array<ParticleController> actual = parallelEffects.get(i).getControllers();
+				for (int j = 0; j < expected.size; j++) {
+					ParticleController expectedController = expected.get(j), actualController = actual.get(j);
+					assertEquals(expectedController.particles.size, actualController.particles.size);
+					assertSameChannel(expectedController, actualController, ParticleChannels.Position);
+					assertSameChannel(expectedController, actualController, ParticleChannels.Color);
+					assertSameChannel(expectedController, actualController, ParticleChannels.Scale);
+					assertSameChannel(expectedController, actualController, ParticleChannels.Life);
+					particles += expectedController.particles.size;
+				}
+			}
+			if (frame > 10) assertTrue(particles > 400);
+		}
+		executor.dispose();
+	}
+}
@@ -0,0 +1,116 @@
+package com.badlogic.gdx.graphics.g3d.particles.gpu;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.graphics.g3d.particles.ParallelArray.FloatChannel;
+import com.badlogic.gdx.graphics.g3d.particles.ParticleChannels;
+import com.badlogic.gdx.graphics.g3d.particles.ParticleController;
+import com.badlogic.gdx.graphics.g3d.particles.emitters.RegularEmitter;
+import com.badlogic.gdx.graphics.g3d.particles.influencers.ColorInfluencer;
+import com.badlogic.gdx.graphics.g3d.particles.influencers.DynamicsInfluencer;
+import com.badlogic.gdx.graphics.g3d.particles.influencers.DynamicsModifier;
+import com.badlogic.gdx.graphics.g3d.particles.influencers.ScaleInfluencer;
+import com.badlogic.gdx.graphics.g3d.particles.influencers.SpawnInfluencer;
+import com.badlogic.gdx.graphics.g3d.particles.renderers.BillboardRenderer;
+import com.badlogic.gdx.graphics.g3d.particles.renderers.PointSpriteRenderer;
+import com.badlogic.gdx.graphics.g3d.particles.values.PointSpawnShapeValue;
+import com.badlogic.gdx.math.Vector3;
+
+public class ParticleKernelTest {
+	private ParticleController createController () {
+		RegularEmitter emitter = new RegularEmitter();
+		emitter.setParticleCount(1, 1);
+		emitter.getEmission().setHigh(0);
+		emitter.getLife().setHigh(1000);
+		emitter.getDuration().setLow(3000);
+
+		ColorInfluencer.Single color = new ColorInfluencer.Single();
+		color.colorValue.setColors(new float[] {1, 0, 0, 0, 0, 1});
+		color.colorValue.setTimeline(new float[] {0, 1});
+		color.alphaValue.setHigh(0.8f);
+		color.alphaValue.setTimeline(new float[] {0, 1});
+		color.alphaValue.setScaling(new float[] {1, 0});
+
+		ScaleInfluencer scale = new ScaleInfluencer();
+		scale.value.setHigh(2);
+		scale.value.setTimeline(new float[] {0, 1});
+		scale.value.setScaling(new float[] {0, 1});
+
+		DynamicsModifier.PolarAcceleration polar = new DynamicsModifier.PolarAcceleration();
+		polar.strengthValue.setHigh(5);
+		polar.strengthValue.setTimeline(new float[] {0, 1});
+		polar.strengthValue.setScaling(new float[] {1, 0.5f});
+		polar.thetaValue.setHigh(30);
+		polar.phiValue.setHigh(60);
+		DynamicsModifier.CentripetalAcceleration centripetal = new DynamicsModifier.CentripetalAcceleration();
+		centripetal.isGlobal = true;
+		centripetal.strengthValue.setHigh(-2);
+
+		ParticleController controller = new ParticleController("test", emitter, new PointSpriteRenderer(), new SpawnInfluencer(
+			new PointSpawnShapeValue()), color, scale, new DynamicsInfluencer(polar, centripetal));
+		controller.setTranslation(new Vector3(1, 2, 3));
+		controller.init();
+		controller.start();
+		return controller;
+	}
+
+	@Test
+	public void testSupported () {
+		ParticleController controller = createController();
+		assertTrue(ParticleKernel.isSupported(controller));
+		controller.influencers.add(new DynamicsInfluencer(new DynamicsModifier.BrownianAcceleration()));
+		assertFalse(ParticleKernel.isSupported(controller));
+		controller = createController();
+		controller.renderer = new BillboardRenderer();
+		assertFalse(ParticleKernel.isSupported(controller));
+	}
+
+	@Test
+	public void testMatchesController () {
+		ParticleController controller = createController();
+		ParticleKernel kernel = new ParticleKernel(createController());
+		float[] state = new float[ParticleKernel.STATE_SIZE];
+		float[] appearance = new float[5];
+
+		for (int frame = 0; frame < 50; frame++) {
+			controller.update();
+			if (frame == 0) {
+				assertEquals(1, controller.particles.size);
+				FloatChannel life = controller.particles.getChannel(ParticleChannels.Life);
+				kernel.spawn(state, 0, controller.emitter.percent, life.data[ParticleChannels.TotalLifeOffset],
+					life.data[ParticleChannels.TotalLifeOffset]);
+			}
+			kernel.update(state, 0, 1);
+
+			FloatChannel position = controller.particles.getChannel(ParticleChannels.Position);
+			FloatChannel color = controller.particles.getChannel(ParticleChannels.Color);
+			FloatChannel scale = controller.particles.getChannel(ParticleChannels.Scale);
+			FloatChannel life = controller.particles.getChannel(ParticleChannels.Life);
+			assertEquals(life.data[ParticleChannels.CurrentLifeOffset], state[ParticleKernel.CURRENT_LIFE], 0);
+			for (int i = 0; i < 3; i++)
+				assertEquals(position.data[i], state[ParticleKernel.POSITION + i], 0.001f);
+			kernel.getAppearance(state, 0, appearance);
+			for (int i = 0; i < 4; i++)
+				assertEquals(color.data[i], appearance[i], 0.001f);
+			assertEquals(scale.data[0], appearance[4], 0.001f);
+		}
+	}
+
+	@Test
+	public void testDeath () {
+		ParticleKernel kernel = new ParticleKernel(createController());
+		float[] state = new float[ParticleKernel.STATE_SIZE];
+		kernel.spawn(state, 0, 0, 20, 20);
+		kernel.update(state, 0, 1);
+		float x = state[ParticleKernel.POSITION];
+		kernel.update(state, 0, 1);
+		assertTrue(state[ParticleKernel.CURRENT_LIFE] <= 0);
+		kernel.update(state, 0, 1);
+		assertEquals(x, state[ParticleKernel.POSITION], 0);
+		float[] appearance = new float[5];
+		kernel.getAppearance(state, 0, appearance);
+		assertEquals(0, appearance[3], 0);
+	}
+}
@@ -0,0 +1,136 @@
+
+package com.badlogic.gdx.graphics.g3d.utils;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.graphics.g3d.Model;
+import com.badlogic.gdx.graphics.g3d.ModelInstance;
+import com.badlogic.gdx.graphics.g3d.model.Animation;
+import com.badlogic.gdx.graphics.g3d.model.Node;
+import com.badlogic.gdx.graphics.g3d.model.NodeAnimation;
+import com.badlogic.gdx.graphics.g3d.model.NodeKeyframe;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Quaternion;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+
+public class AnimationControllerTest {
+	private Model createModel () {
+		Model model = new Model();
+		Node root = new Node();
+		root.id = "root";
+		Node child = new Node();
+		child.id = "child";
+		child.translation.set(0, 1, 0);
+		root.addChild(child);
+		model.nodes.add(root);
+
+		Animation animation = new Animation();
+		animation.id = "walk";
+		animation.duration = 2f;
+		NodeAnimation rootAnim = new NodeAnimation();
+		rootAnim.node = root;
+		rootAnim.translation = new Array<NodeKeyframe<Vector3>>();
+		rootAnim.translation.add(new NodeKeyframe<Vector3>(0f, new Vector3(0, 0, 0)));
+		rootAnim.translation.add(new NodeKeyframe<Vector3>(1f, new Vector3(1, 2, 3)));
+		rootAnim.translation.add(new NodeKeyframe<Vector3>(2f, new Vector3(0, 0, 0)));
+		animation.nodeAnimations.add(rootAnim);
+		NodeAnimation childAnim = new NodeAnimation();
+		childAnim.node = child;
+		childAnim.rotation = new Array<NodeKeyframe<Quaternion>>();
+		childAnim.rotation.add(new NodeKeyframe<Quaternion>(0f, new Quaternion(Vector3.Y, 0)));
+		childAnim.rotation.add(new NodeKeyframe<Quaternion>(1f, new Quaternion(Vector3.Y, 90)));
+		childAnim.rotation.add(new NodeKeyframe<Quaternion>(2f, new Quaternion(Vector3.Y, 180)));
+		childAnim.scaling = new Array<NodeKeyframe<Vector3>>();
+		childAnim.scaling.add(new NodeKeyframe<Vector3>(0f, new Vector3(1, 1, 1)));
+		childAnim.scaling.add(new NodeKeyframe<Vector3>(2f, new Vector3(2, 2, 2)));
+		animation.nodeAnimations.add(childAnim);
+		model.animations.add(animation);
+		return model;
+	}
+
+	private void assertSameTransforms (ModelInstance expected, ModelInstance actual, float epsilon) {
+		for (String id : new String[] {"root", "child"}) {
+			float[] e = expected.getNode(id).globalTransform.val, a = actual.getNode(id).globalTransform.val;
+			for (int i = 0; i < 16; i++)
+				assertEquals(e[i], a[i], epsilon);
+		}
+	}
+
+	@Test
+	public void bakedAnimationTest () {
+		Model model = createModel();
+		ModelInstance keyframed = new ModelInstance(model);
+		model.bakeAnimations(60);
+		assertEquals(60, model.animations.first().sampleRate, 0);
+		ModelInstance baked = new ModelInstance(model);
+		assertNotNull(baked.animations.first().nodeAnimations.first().samples);
+
+		AnimationController keyframedController = new AnimationController(keyframed);
+		AnimationController bakedController = new AnimationController(baked);
+		keyframedController.setAnimation("walk", -1);
+		bakedController.setAnimation("walk", -1);
+		for (int i = 0; i < 30; i++) {
+			keyframedController.update(0.13f);
+			bakedController.update(0.13f);
+			assertSameTransforms(keyframed, baked, 0.001f);
+		}
+	}
+
+	@Test
+	public void bakedNonIntegralDurationTest () {
+		// 1.05 seconds at 30 samples per second, the last interval is only 0.5 samples long.
+		Model model = new Model();
+		Node root = new Node();
+		root.id = "root";
+		model.nodes.add(root);
+		Animation animation = new Animation();
+		animation.id = "move";
+		animation.duration = 1.05f;
+		NodeAnimation nodeAnim = new NodeAnimation();
+		nodeAnim.node = root;
+		nodeAnim.translation = new Array<NodeKeyframe<Vector3>>();
+		nodeAnim.translation.add(new NodeKeyframe<Vector3>(0f, new Vector3(0, 0, 0)));
+		nodeAnim.translation.add(new NodeKeyframe<Vector3>(1.05f, new Vector3(1.05f, 0, 0)));
+		animation.nodeAnimations.add(nodeAnim);
+		model.animations.add(animation);
+		model.bakeAnimations(30);
+
+		ModelInstance instance = new ModelInstance(model);
+		for (float time = 0.98f; time < 1.045f; time += 0.01f) {
+			AnimationController controller = new AnimationController(instance);
+			controller.setAnimation("move", 1);
+			controller.update(time);
+			assertEquals(time, instance.getNode("root").localTransform.val[Matrix4.M03], 0.001f);
+		}
+	}
+
+	@Test
+	public void parallelUpdateTest () {
+		Model model = createModel();
+		model.bakeAnimations(30);
+		Array<AnimationController> serial = new Array<AnimationController>();
+		Array<AnimationController> parallel = new Array<AnimationController>();
+		for (int i = 0; i < 9; i++) {
+			serial.add(new AnimationController(new ModelInstance(model)));
+			parallel.add(new AnimationController(new ModelInstance(model)));
+			serial.peek().setAnimation("walk", -1, 1 + i * 0.1f, null);
+			parallel.peek().setAnimation("walk", -1, 1 + i * 0.1f, null);
+		}
+		AsyncExecutor executor = new AsyncExecutor(3);
+		try {
+			for (int frame = 0; frame < 10; frame++) {
+				for (AnimationController controller : serial)
+					controller.update(0.1f);
+				AnimationController.update(parallel, 0.1f, executor, 2);
+				for (int i = 0; i < serial.size; i++)
+					assertSameTransforms(serial.get(i).target, parallel.get(i).target, 0);
+			}
+		} finally {
+			executor.dispose();
+		}
+	}
+}
@@ -0,0 +1,148 @@
+
+package com.badlogic.gdx.graphics.g3d.utils;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.graphics.PerspectiveCamera;
+import com.badlogic.gdx.graphics.g3d.Model;
+import com.badlogic.gdx.graphics.g3d.ModelInstance;
+import com.badlogic.gdx.graphics.g3d.Renderable;
+import com.badlogic.gdx.graphics.g3d.RenderableProvider;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.math.collision.BoundingBox;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Pool;
+
+public class BvhCullerTest {
+	private static class Provider implements RenderableProvider {
+		@Override
+		public void getRenderables (Array<Renderable> renderables, Pool<Renderable> pool) {
+		}
+	}
+
+	/** Updates a camera at the origin looking along -z like {@link PerspectiveCamera#update()}, without the native matrix
+	 * methods. */
+	private PerspectiveCamera createCamera () {
+		PerspectiveCamera camera = new PerspectiveCamera();
+		camera.near = 1;
+		camera.far = 100;
+		camera.projection.setToProjection(camera.near, camera.far, 60, 2);
+		camera.view.idt();
+		Matrix4.mul(camera.projection.val, 0, camera.view.val, 0, camera.combined.val, 0, 1);
+		camera.invProjectionView.set(camera.combined).inv();
+		Vector3[] points = camera.frustum.planePoints;
+		points[0].set(-1, -1, -1);
+		points[1].set(1, -1, -1);
+		points[2].set(1, 1, -1);
+		points[3].set(-1, 1, -1);
+		points[4].set(-1, -1, 1);
+		points[5].set(1, -1, 1);
+		points[6].set(1, 1, 1);
+		points[7].set(-1, 1, 1);
+		for (Vector3 point : points)
+			point.prj(camera.invProjectionView);
+		camera.frustum.planes[0].set(points[1], points[0], points[2]);
+		camera.frustum.planes[1].set(points[4], points[5], points[7]);
+		camera.frustum.planes[2].set(points[0], points[4], points[3]);
+		camera.frustum.planes[3].set(points[5], points[1], points[6]);
+		camera.frustum.planes[4].set(points[2], points[3], points[6]);
+		camera.frustum.planes[5].set(points[4], points[0], points[1]);
+		return camera;
+	}
+
+	@Test
+	public void frustumTest () {
+		PerspectiveCamera camera = createCamera();
+		BvhCuller culler = new BvhCuller();
+		Random random = new Random(1);
+		Array<Provider> providers = new Array<Provider>();
+		Array<BoundingBox> bounds = new Array<BoundingBox>();
+		for (int i = 0; i < 2000; i++) {
+			float x = random.nextFloat() * 400 - 200, y = random.nextFloat() * 40 - 20, z = random.nextFloat() * 400 - 200;
+			BoundingBox box = new BoundingBox(new Vector3(x, y, z), new Vector3(x + 2, y + 3, z + 1));
+			Provider provider = new Provider();
+			culler.add(provider, box, false);
+			providers.add(provider);
+			bounds.add(box);
+		}
+		// Removing rebuilds the hierarchy with the last provider moved
+		culler.remove(providers.removeIndex(5));
+		bounds.removeIndex(5);
+
+		culler.begin(camera);
+		int visible = 0;
+		for (int i = 0; i < providers.size; i++) {
+			boolean expected = camera.frustum.boundsInFrustum(bounds.get(i));
+			assertEquals(expected, culler.isVisible(providers.get(i)));
+			if (expected) visible++;
+		}
+		assertTrue(visible > 0);
+		assertEquals(visible, culler.getVisibleCount());
+		assertEquals(providers.size - visible, culler.getCulledCount());
+		assertTrue(culler.getNodesTested() < providers.size);
+		assertTrue(culler.isVisible(new Provider()));
+
+		// Move a culled provider in front of the camera, which refits the hierarchy
+		int culled = 0;
+		while (culler.isVisible(providers.get(culled)))
+			culled++;
+		culler.update(providers.get(culled), new BoundingBox(new Vector3(-1, -1, -12), new Vector3(1, 1, -10)));
+		culler.begin(camera);
+		assertTrue(culler.isVisible(providers.get(culled)));
+		assertEquals(visible + 1, culler.getVisibleCount());
+	}
+
+	@Test
+	public void occlusionTest () {
+		PerspectiveCamera camera = createCamera();
+		BvhCuller culler = new BvhCuller();
+		culler.setOcclusionBuffer(new OcclusionBuffer(64, 32));
+		Provider wall = new Provider(), hidden = new Provider(), beside = new Provider(), front = new Provider();
+		culler.add(wall, new BoundingBox(new Vector3(-10, -10, -21), new Vector3(10, 10, -20)), true);
+		culler.add(hidden, new BoundingBox(new Vector3(-2, -2, -40), new Vector3(2, 2, -36)), false);
+		culler.add(beside, new BoundingBox(new Vector3(30, -2, -40), new Vector3(34, 2, -36)), false);
+		culler.add(front, new BoundingBox(new Vector3(-2, -2, -10), new Vector3(2, 2, -8)), false);
+
+		culler.begin(camera);
+		assertTrue(culler.isVisible(wall));
+		assertFalse(culler.isVisible(hidden));
+		assertTrue(culler.isVisible(beside));
+		assertTrue(culler.isVisible(front));
+		assertEquals(3, culler.getVisibleCount());
+		assertEquals(1, culler.getOccludedCount());
+
+		culler.setOcclusionBuffer(null);
+		culler.begin(camera);
+		assertTrue(culler.isVisible(hidden));
+	}
+
+	@Test
+	public void worldBoundsInstanceTest () {
+		BvhCuller culler = new BvhCuller();
+		ModelInstance instance = new ModelInstance(new Model());
+		culler.add(instance, new BoundingBox(new Vector3(-1, -1, -12), new Vector3(1, 1, -10)), false);
+		try {
+			culler.update(instance);
+			fail();
+		} catch (IllegalArgumentException expected) {
+		}
+		try {
+			culler.updateLocalBounds(instance);
+			fail();
+		} catch (IllegalArgumentException expected) {
+		}
+
+		// The world bounds are kept and can still be set
+		PerspectiveCamera camera = createCamera();
+		culler.begin(camera);
+		assertTrue(culler.isVisible(instance));
+		culler.update(instance, new BoundingBox(new Vector3(-1, -1, 10), new Vector3(1, 1, 12)));
+		culler.begin(camera);
+		assertFalse(culler.isVisible(instance));
+	}
+}
@@ -0,0 +1,113 @@
+
+package com.badlogic.gdx.graphics.g3d.utils;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.PerspectiveCamera;
+import com.badlogic.gdx.graphics.g3d.environment.PointLight;
+import com.badlogic.gdx.graphics.g3d.environment.SpotLight;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+
+public class ClusteredLightsTest {
+	/** @return a camera at the origin looking down the negative z axis, without calling the native matrix functions */
+	private static PerspectiveCamera camera () {
+		PerspectiveCamera camera = new PerspectiveCamera();
+		camera.fieldOfView = 90;
+		camera.near = 1f;
+		camera.far = 100f;
+		camera.projection.setToProjection(camera.near, camera.far, camera.fieldOfView, 1f);
+		return camera;
+	}
+
+	private static ClusteredLights lights (int maxLightsPerCluster) {
+		ClusteredLights lights = new ClusteredLights(4, 4, 8, 16, maxLightsPerCluster);
+		lights.setViewport(0, 0, 100, 100);
+		// A range of 2 units
+		lights.attenuationThreshold = 1f / 256f;
+		return lights;
+	}
+
+	private static PointLight pointLight (float x, float y, float z) {
+		return new PointLight().set(Color.WHITE, x, y, z, 5f / 256f);
+	}
+
+	private static boolean contains (ClusteredLights lights, int tileX, int tileY, int slice, int light) {
+		for (int i = 0; i < lights.getClusterLightCount(tileX, tileY, slice); i++)
+			if (lights.getClusterLight(tileX, tileY, slice, i) == light) return true;
+		return false;
+	}
+
+	@Test
+	public void assignTest () {
+		ClusteredLights lights = lights(8);
+		lights.pointLights.add(pointLight(0, 0, -10));
+		lights.pointLights.add(pointLight(0, 0, 10));
+		lights.spotLights.add(new SpotLight().set(Color.WHITE, -30, -30, -40, 0, 0, -1, 5f / 256f, 30, 1));
+		lights.build(camera());
+		assertEquals(3, lights.getLightCount());
+
+		final int slice = lights.getSlice(10);
+		for (int x = 0; x < 4; x++)
+			for (int y = 0; y < 4; y++) {
+				boolean center = x >= 1 && x <= 2 && y >= 1 && y <= 2;
+				assertEquals(center, contains(lights, x, y, slice, 0));
+				for (int s = 0; s < 8; s++)
+					assertFalse("Light behind the camera", contains(lights, x, y, s, 1));
+			}
+		assertFalse(contains(lights, 1, 1, lights.getSlice(20), 0));
+		// The spot light comes after the point lights
+		assertTrue(contains(lights, 0, 0, lights.getSlice(40), 2));
+		assertFalse(contains(lights, 3, 3, lights.getSlice(40), 2));
+
+		int total = 0;
+		for (int s = 0; s < 8; s++)
+			for (int y = 0; y < 4; y++)
+				for (int x = 0; x < 4; x++)
+					total += lights.getClusterLightCount(x, y, s);
+		assertEquals(total, lights.getIndexCount());
+	}
+
+	@Test
+	public void overflowTest () {
+		ClusteredLights lights = lights(2);
+		for (int i = 0; i < 20; i++)
+			lights.pointLights.add(pointLight(0, 0, -10));
+		lights.build(camera());
+		assertEquals(16, lights.getLightCount());
+		assertEquals(4, lights.getOverflowCount());
+		assertEquals(2, lights.getClusterLightCount(1, 1, lights.getSlice(10)));
+		assertEquals(0, lights.getClusterLightCount(0, 0, lights.getSlice(10)));
+	}
+
+	@Test
+	public void parallelTest () {
+		ClusteredLights serial = lights(8), parallel = lights(8);
+		long seed = 12345;
+		for (int i = 0; i < 16; i++) {
+			float[] position = new float[3];
+			for (int k = 0; k < 3; k++) {
+				seed = seed * 6364136223846793005L + 1442695040888963407L;
+				position[k] = (seed >>> 40) / (float)(1 << 24) * 40f - 20f;
+			}
+			position[2] -= 25f;
+			serial.pointLights.add(pointLight(position[0], position[1], position[2]));
+			parallel.pointLights.add(serial.pointLights.peek());
+		}
+		serial.build(camera());
+		AsyncExecutor executor = new AsyncExecutor(3);
+		parallel.build(camera(), executor, 2);
+		executor.dispose();
+		assertEquals(serial.getIndexCount(), parallel.getIndexCount());
+		assertTrue(serial.getIndexCount() > 0);
+		for (int s = 0; s < 8; s++)
+			for (int y = 0; y < 4; y++)
+				for (int x = 0; x < 4; x++) {
+					assertEquals(serial.getClusterLightCount(x, y, s), parallel.getClusterLightCount(x, y, s));
+					for (int i = 0; i < serial.getClusterLightCount(x, y, s); i++)
+						assertEquals(serial.getClusterLight(x, y, s, i), parallel.getClusterLight(x, y, s, i));
+				}
+	}
+}
@@ -0,0 +1,84 @@
+
+package com.badlogic.gdx.graphics.g3d.utils;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Quaternion;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.math.collision.BoundingBox;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+
+public class CpuSkinningTest {
+	private final VertexAttributes attributes = new VertexAttributes(VertexAttribute.Position(), VertexAttribute.Normal(),
+		VertexAttribute.BoneWeight(0), VertexAttribute.BoneWeight(1));
+
+	private float[] createVertices (int count) {
+		final int stride = attributes.vertexSize / 4;
+		float[] vertices = new float[count * stride];
+		for (int i = 0; i < count; i++) {
+			int o = i * stride;
+			vertices[o] = i;
+			vertices[o + 1] = i % 7;
+			vertices[o + 2] = -i % 3;
+			vertices[o + 5] = 1;
+			vertices[o + 6] = i % 2;
+			vertices[o + 7] = 0.25f;
+			vertices[o + 8] = 2;
+			vertices[o + 9] = 0.75f;
+		}
+		return vertices;
+	}
+
+	private Matrix4[] createBones () {
+		return new Matrix4[] {new Matrix4().setToTranslation(1, 2, 3), null,
+			new Matrix4().set(new Vector3(0, 5, 0), new Quaternion(Vector3.Z, 90))};
+	}
+
+	@Test
+	public void skinTest () {
+		final int stride = attributes.vertexSize / 4;
+		final int count = 10;
+		float[] vertices = createVertices(count);
+		Matrix4[] bones = createBones();
+		Matrix4 transform = new Matrix4().setToTranslation(0, 0, -10);
+		float[] positions = new float[count * 3], normals = new float[count * 3];
+		CpuSkinning.skin(vertices, attributes, 0, count, bones, transform, positions, normals);
+
+		Vector3 expected = new Vector3(), tmp = new Vector3();
+		for (int i = 0; i < count; i++) {
+			int o = i * stride;
+			Vector3 position = new Vector3(vertices[o], vertices[o + 1], vertices[o + 2]);
+			Matrix4 bone0 = bones[i % 2] == null ? new Matrix4() : bones[i % 2];
+			expected.set(position).mul(bone0).scl(0.25f).add(tmp.set(position).mul(bones[2]).scl(0.75f)).mul(transform);
+			assertEquals(expected.x, positions[i * 3], 0.0001f);
+			assertEquals(expected.y, positions[i * 3 + 1], 0.0001f);
+			assertEquals(expected.z, positions[i * 3 + 2], 0.0001f);
+			assertEquals(1f, new Vector3(normals[i * 3], normals[i * 3 + 1], normals[i * 3 + 2]).len(), 0.0001f);
+		}
+	}
+
+	@Test
+	public void parallelTest () {
+		final int count = 1000;
+		float[] vertices = createVertices(count);
+		Matrix4[] bones = createBones();
+		float[] serial = new float[count * 3], parallel = new float[count * 3];
+		CpuSkinning.skin(vertices, attributes, 0, count, bones, null, serial, null);
+		AsyncExecutor executor = new AsyncExecutor(3);
+		try {
+			CpuSkinning.skin(vertices, attributes, 0, count, bones, null, parallel, null, executor, 64);
+		} finally {
+			executor.dispose();
+		}
+		assertArrayEquals(serial, parallel, 0f);
+
+		BoundingBox bounds = CpuSkinning.extendBoundingBox(serial, 0, count, new BoundingBox().inf());
+		for (int i = 0; i < count; i++)
+			assertTrue(bounds.contains(new Vector3(serial[i * 3], serial[i * 3 + 1], serial[i * 3 + 2])));
+	}
+}
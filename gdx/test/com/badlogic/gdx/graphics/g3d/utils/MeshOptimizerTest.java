@@ -0,0 +1,211 @@
+
+package com.badlogic.gdx.graphics.g3d.utils;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelMesh;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelMeshPart;
+
+public class MeshOptimizerTest {
+	/** @return the positions of a flat grid of size by size quads in the xy plane, with an unwelded copy of every vertex if
+	 *         duplicate is true */
+	private static float[] grid (int size, boolean duplicate) {
+		int n = (size + 1) * (size + 1);
+		float[] vertices = new float[n * 3 * (duplicate ? 2 : 1)];
+		for (int y = 0, i = 0; y <= size; y++)
+			for (int x = 0; x <= size; x++, i++) {
+				vertices[i * 3] = x;
+				vertices[i * 3 + 1] = y;
+				if (duplicate) {
+					vertices[(n + i) * 3] = x;
+					vertices[(n + i) * 3 + 1] = y;
+				}
+			}
+		return vertices;
+	}
+
+	/** @return the counter clockwise triangles of the grid, using the duplicate vertices for every other quad if duplicate is
+	 *         true */
+	private static short[] gridIndices (int size, boolean duplicate) {
+		short[] indices = new short[size * size * 6];
+		int n = (size + 1) * (size + 1);
+		for (int y = 0, i = 0; y < size; y++)
+			for (int x = 0; x < size; x++) {
+				int base = duplicate && (x + y) % 2 == 1 ? n : 0;
+				int v = base + y * (size + 1) + x;
+				indices[i++] = (short)v;
+				indices[i++] = (short)(v + 1);
+				indices[i++] = (short)(v + size + 2);
+				indices[i++] = (short)v;
+				indices[i++] = (short)(v + size + 2);
+				indices[i++] = (short)(v + size + 1);
+			}
+		return indices;
+	}
+
+	private static void shuffleTriangles (short[] indices) {
+		long seed = 12345;
+		for (int t = indices.length / 3 - 1; t > 0; t--) {
+			seed = seed * 6364136223846793005L + 1442695040888963407L;
+			int s = (int)((seed >>> 33) % (t + 1));
+			for (int k = 0; k < 3; k++) {
+				short tmp = indices[t * 3 + k];
+				indices[t * 3 + k] = indices[s * 3 + k];
+				indices[s * 3 + k] = tmp;
+			}
+		}
+	}
+
+	/** @return the triangles as sorted strings of their positions, so they can be compared regardless of the order of the
+	 *         triangles, the vertices and the rotation of the triangles */
+	private static String[] triangles (float[] vertices, short[] indices, int count) {
+		String[] triangles = new String[count / 3];
+		for (int t = 0; t < triangles.length; t++) {
+			String[] corners = new String[3];
+			for (int k = 0; k < 3; k++) {
+				int v = indices[t * 3 + k];
+				corners[k] = vertices[v * 3] + "," + vertices[v * 3 + 1] + "," + vertices[v * 3 + 2];
+			}
+			// Keep the winding by rotating the smallest corner to the front
+			int first = 0;
+			for (int k = 1; k < 3; k++)
+				if (corners[k].compareTo(corners[first]) < 0) first = k;
+			triangles[t] = corners[first] + ";" + corners[(first + 1) % 3] + ";" + corners[(first + 2) % 3];
+		}
+		Arrays.sort(triangles);
+		return triangles;
+	}
+
+	private static float area (float[] vertices, short[] indices, int count) {
+		float area = 0;
+		for (int i = 0; i < count; i += 3) {
+			int a = indices[i] * 3, b = indices[i + 1] * 3, c = indices[i + 2] * 3;
+			area += ((vertices[b] - vertices[a]) * (vertices[c + 1] - vertices[a + 1])
+				- (vertices[c] - vertices[a]) * (vertices[b + 1] - vertices[a + 1])) / 2;
+		}
+		return area;
+	}
+
+	@Test
+	public void weldTest () {
+		final int size = 4, n = (size + 1) * (size + 1);
+		float[] vertices = grid(size, true);
+		short[] indices = gridIndices(size, true);
+		String[] expected = triangles(vertices, indices, indices.length);
+		int[] remap = new int[n * 2];
+		assertEquals(n, MeshOptimizer.weldVertices(vertices, 3, n * 2, 0, remap));
+		MeshOptimizer.remapIndices(indices, 0, indices.length, remap);
+		for (short index : indices)
+			assertTrue(index < n);
+		assertArrayEquals(expected, triangles(vertices, indices, indices.length));
+
+		// Within epsilon
+		vertices = grid(size, true);
+		vertices[n * 3] += 0.001f;
+		assertEquals(n + 1, MeshOptimizer.weldVertices(vertices.clone(), 3, n * 2, 0, remap));
+		assertEquals(n, MeshOptimizer.weldVertices(vertices, 3, n * 2, 0.01f, remap));
+	}
+
+	@Test
+	public void vertexCacheTest () {
+		final int size = 32, n = (size + 1) * (size + 1);
+		float[] vertices = grid(size, false);
+		short[] indices = gridIndices(size, false);
+		shuffleTriangles(indices);
+		String[] expected = triangles(vertices, indices, indices.length);
+		float before = MeshOptimizer.calculateAcmr(indices, 0, indices.length, 16);
+		MeshOptimizer.optimizeVertexCache(indices, 0, indices.length, n);
+		float after = MeshOptimizer.calculateAcmr(indices, 0, indices.length, 16);
+		assertTrue("ACMR " + before + " -> " + after, after < 0.8f && after < before / 2);
+		assertArrayEquals(expected, triangles(vertices, indices, indices.length));
+	}
+
+	@Test
+	public void overdrawTest () {
+		final int size = 16;
+		float[] vertices = grid(size, false);
+		short[] indices = gridIndices(size, false);
+		MeshOptimizer.optimizeVertexCache(indices, 0, indices.length, (size + 1) * (size + 1));
+		String[] expected = triangles(vertices, indices, indices.length);
+		float acmr = MeshOptimizer.calculateAcmr(indices, 0, indices.length, MeshOptimizer.CACHE_SIZE);
+		MeshOptimizer.optimizeOverdraw(indices, 0, indices.length, vertices, 3, 0, 1.05f);
+		assertArrayEquals(expected, triangles(vertices, indices, indices.length));
+		assertTrue(MeshOptimizer.calculateAcmr(indices, 0, indices.length, MeshOptimizer.CACHE_SIZE) <= acmr * 1.05f + 0.001f);
+	}
+
+	@Test
+	public void vertexFetchTest () {
+		float[] vertices = {0, 0, 0, 1, 1, 1, 2, 2, 2, 3, 3, 3, 4, 4, 4};
+		short[] indices = {3, 1, 4, 4, 1, 3};
+		int[] remap = new int[5];
+		assertEquals(3, MeshOptimizer.optimizeVertexFetch(vertices, 3, 5, indices, 0, indices.length, remap));
+		assertArrayEquals(new short[] {0, 1, 2, 2, 1, 0}, indices);
+		assertArrayEquals(new int[] {-1, 1, -1, 0, 2}, remap);
+		assertEquals(3, vertices[0], 0);
+		assertEquals(1, vertices[3], 0);
+		assertEquals(4, vertices[6], 0);
+	}
+
+	@Test
+	public void simplifyTest () {
+		final int size = 16, n = (size + 1) * (size + 1);
+		float[] vertices = grid(size, false);
+		short[] indices = gridIndices(size, false);
+		short[] out = new short[indices.length];
+		int target = indices.length / 4;
+		int count = MeshOptimizer.simplify(vertices, 3, 0, n, indices, 0, indices.length, target, Float.MAX_VALUE, out, 0);
+		assertTrue(count + " > " + target, count <= target);
+		assertTrue(count > 0);
+		// A flat grid is simplified without error, so it still covers the same square and the corners are kept
+		assertEquals(size * size, area(vertices, out, count), 0.001f);
+		boolean[] used = new boolean[n];
+		for (int i = 0; i < count; i++)
+			used[out[i]] = true;
+		assertTrue(used[0] && used[size] && used[n - 1] && used[n - 1 - size]);
+
+		// No collapse is allowed when the error can't be 0 and the max error is 0
+		long seed = 12345;
+		for (int i = 0; i < n; i++) {
+			seed = seed * 6364136223846793005L + 1442695040888963407L;
+			vertices[i * 3 + 2] = (seed >>> 40) / (float)(1 << 24);
+		}
+		count = MeshOptimizer.simplify(vertices, 3, 0, n, indices, 0, indices.length, target, 0, out, 0);
+		assertEquals(indices.length, count);
+	}
+
+	@Test
+	public void optimizeMeshTest () {
+		final int size = 16, n = (size + 1) * (size + 1);
+		ModelMesh mesh = new ModelMesh();
+		mesh.attributes = new VertexAttribute[] {VertexAttribute.Position()};
+		mesh.vertices = grid(size, true);
+		ModelMeshPart part = new ModelMeshPart();
+		part.id = "part";
+		part.primitiveType = GL20.GL_TRIANGLES;
+		part.indices = gridIndices(size, true);
+		mesh.parts = new ModelMeshPart[] {part};
+
+		MeshOptimizer.Config config = new MeshOptimizer.Config();
+		config.lodRatios = new float[] {0.5f, 0.1f};
+		config.lodScreenSizes = new float[] {0.2f, 0.05f};
+		MeshOptimizer.optimize(mesh, config);
+
+		assertEquals(n * 3, mesh.vertices.length);
+		assertEquals(size * size * 6, part.indices.length);
+		assertEquals(2, part.lods.length);
+		assertEquals("part_lod1", part.lods[0].id);
+		assertEquals(0.05f, part.lodScreenSizes[1], 0);
+		assertTrue(part.lods[0].indices.length <= part.indices.length / 2);
+		assertTrue(part.lods[1].indices.length < part.lods[0].indices.length);
+		for (ModelMeshPart lod : part.lods)
+			assertEquals(size * size, area(mesh.vertices, lod.indices, lod.indices.length), 0.001f);
+		// The vertices are ordered by their first use
+		assertEquals(0, part.indices[0]);
+	}
+}
@@ -0,0 +1,203 @@
+
+package com.badlogic.gdx.math;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.math.DynamicTree.PairCallback;
+import com.badlogic.gdx.math.DynamicTree.QueryCallback;
+import com.badlogic.gdx.math.DynamicTree.RayCastCallback;
+import com.badlogic.gdx.math.collision.BoundingBox;
+import com.badlogic.gdx.math.collision.Ray;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.LongArray;
+
+public class DynamicTreeTest {
+	private static class Collector implements QueryCallback, PairCallback {
+		final IntArray proxies = new IntArray();
+		final LongArray pairs = new LongArray();
+
+		@Override
+		public boolean reportProxy (int proxyId) {
+			proxies.add(proxyId);
+			return true;
+		}
+
+		@Override
+		public void addPair (int proxyA, int proxyB) {
+			assertTrue(proxyA < proxyB);
+			pairs.add(((long)proxyA << 32) | proxyB);
+		}
+	}
+
+	private static boolean overlaps (Rectangle a, Rectangle b) {
+		return a.x <= b.x + b.width && a.x + a.width >= b.x && a.y <= b.y + b.height && a.y + a.height >= b.y;
+	}
+
+	@Test
+	public void tree2Test () {
+		Random random = new Random(1);
+		DynamicTree2<Rectangle> tree = new DynamicTree2<Rectangle>();
+		IntMap<Rectangle> rectangles = new IntMap<Rectangle>();
+		for (int i = 0; i < 500; i++) {
+			Rectangle rectangle = new Rectangle(random.nextFloat() * 100, random.nextFloat() * 100, random.nextFloat() * 5,
+				random.nextFloat() * 5);
+			rectangles.put(tree.add(rectangle, rectangle), rectangle);
+		}
+		// Remove some and move the others
+		IntArray keys = rectangles.keys().toArray();
+		for (int i = 0; i < keys.size; i += 7) {
+			tree.remove(keys.get(i));
+			rectangles.remove(keys.get(i));
+		}
+		for (IntMap.Entry<Rectangle> entry : rectangles.entries()) {
+			Rectangle rectangle = entry.value;
+			float dx = random.nextFloat() * 4 - 2, dy = random.nextFloat() * 4 - 2;
+			rectangle.x += dx;
+			rectangle.y += dy;
+			tree.move(entry.key, rectangle, new Vector2(dx, dy));
+		}
+		assertEquals(rectangles.size, tree.getProxyCount());
+		assertEquals(rectangles.size * 2 - 1, tree.getNodeCount());
+		assertTrue("Tree not balanced: " + tree.getHeight(), tree.getHeight() < 20);
+
+		Collector collector = new Collector();
+		Rectangle area = new Rectangle();
+		for (int q = 0; q < 50; q++) {
+			area.set(random.nextFloat() * 100, random.nextFloat() * 100, random.nextFloat() * 20, random.nextFloat() * 20);
+			collector.proxies.clear();
+			tree.query(area, collector);
+			int expected = 0;
+			for (IntMap.Entry<Rectangle> entry : rectangles.entries()) {
+				if (!overlaps(area, entry.value)) continue;
+				expected++;
+				assertTrue(collector.proxies.contains(entry.key));
+			}
+			assertEquals(expected, collector.proxies.size);
+		}
+
+		// The nearest proxies, compared to the brute force distances
+		int[] ids = new int[5];
+		float[] distances2 = new float[5];
+		for (int q = 0; q < 20; q++) {
+			float x = random.nextFloat() * 100, y = random.nextFloat() * 100;
+			assertEquals(5, tree.nearest(x, y, 5, ids, distances2));
+			int closer = 0;
+			for (IntMap.Entry<Rectangle> entry : rectangles.entries()) {
+				Rectangle r = entry.value;
+				float dx = Math.max(Math.max(r.x - x, x - (r.x + r.width)), 0);
+				float dy = Math.max(Math.max(r.y - y, y - (r.y + r.height)), 0);
+				if (dx * dx + dy * dy < distances2[4]) closer++;
+			}
+			assertTrue(closer <= 4);
+			for (int i = 1; i < 5; i++)
+				assertTrue(distances2[i - 1] <= distances2[i]);
+		}
+
+		// All pairs, compared to brute force on the fat bounds
+		tree.queryPairs(collector);
+		Rectangle a = new Rectangle(), b = new Rectangle();
+		int expected = 0;
+		for (IntMap.Entry<Rectangle> entryA : rectangles.entries()) {
+			for (IntMap.Entry<Rectangle> entryB : new IntMap.Entries<Rectangle>(rectangles)) {
+				if (entryA.key >= entryB.key) continue;
+				if (!overlaps(tree.getFatBounds(entryA.key, a), tree.getFatBounds(entryB.key, b))) continue;
+				expected++;
+				assertTrue(collector.pairs.contains(((long)entryA.key << 32) | entryB.key));
+			}
+		}
+		assertEquals(expected, collector.pairs.size);
+	}
+
+	@Test
+	public void updatePairsTest () {
+		DynamicTree2<Object> tree = new DynamicTree2<Object>(0, 16);
+		int a = tree.add(0, 0, 1, 1, null);
+		int b = tree.add(5, 0, 1, 1, null);
+		int c = tree.add(0.5f, 0.5f, 1, 1, null);
+		Collector collector = new Collector();
+		tree.updatePairs(collector);
+		assertEquals(1, collector.pairs.size);
+		assertEquals(((long)a << 32) | c, collector.pairs.get(0));
+
+		// Nothing moved, nothing reported
+		collector.pairs.clear();
+		tree.updatePairs(collector);
+		assertEquals(0, collector.pairs.size);
+
+		assertTrue(tree.move(b, 1, 0, 1, 1, -4, 0));
+		tree.updatePairs(collector);
+		assertEquals(2, collector.pairs.size);
+		assertTrue(collector.pairs.contains(((long)a << 32) | b));
+		assertTrue(collector.pairs.contains(((long)b << 32) | c));
+	}
+
+	@Test
+	public void tree3Test () {
+		Random random = new Random(2);
+		DynamicTree3<BoundingBox> tree = new DynamicTree3<BoundingBox>();
+		IntMap<BoundingBox> boxes = new IntMap<BoundingBox>();
+		for (int i = 0; i < 500; i++) {
+			float x = random.nextFloat() * 40 - 20, y = random.nextFloat() * 40 - 20, z = random.nextFloat() * 40 - 20;
+			BoundingBox box = new BoundingBox(new Vector3(x, y, z), new Vector3(x + random.nextFloat() * 3, y + 1, z + 2));
+			boxes.put(tree.add(box, box), box);
+		}
+
+		Frustum frustum = new Frustum();
+		frustum.planes[0].set(1, 0, 0, 10);
+		frustum.planes[1].set(-1, 0, 0, 10);
+		frustum.planes[2].set(0, 1, 0, 10);
+		frustum.planes[3].set(0, -1, 0, 10);
+		frustum.planes[4].set(0, 0, 1, 10);
+		frustum.planes[5].set(0, -0.70710677f, -0.70710677f, 10);
+		Collector collector = new Collector();
+		tree.query(frustum, collector);
+		int expected = 0;
+		for (IntMap.Entry<BoundingBox> entry : boxes.entries()) {
+			if (!frustum.boundsInFrustum(entry.value)) continue;
+			expected++;
+			assertTrue(collector.proxies.contains(entry.key));
+		}
+		assertEquals(expected, collector.proxies.size);
+
+		// The closest hits of rays through the boxes, compared to the brute force intersections
+		final float[] closest = new float[1];
+		RayCastCallback callback = new RayCastCallback() {
+			@Override
+			public float reportRayHit (int proxyId, float fraction) {
+				closest[0] = Math.min(closest[0], fraction);
+				return fraction;
+			}
+		};
+		Vector3 start = new Vector3(), end = new Vector3(), hit = new Vector3();
+		for (BoundingBox target : boxes.values()) {
+			start.set(-30, random.nextFloat() * 40 - 20, random.nextFloat() * 40 - 20);
+			target.getCenter(end).sub(start).scl(2).add(start);
+			closest[0] = 1;
+			tree.rayCast(start, end, callback);
+			Ray ray = new Ray(start, new Vector3(end).sub(start).nor());
+			float length = start.dst(end), expectedFraction = 1;
+			for (BoundingBox box : new IntMap.Values<BoundingBox>(boxes))
+				if (Intersector.intersectRayBounds(ray, box, hit)) expectedFraction = Math.min(expectedFraction, hit.dst(start) / length);
+			assertTrue(closest[0] < 1);
+			assertEquals(expectedFraction, closest[0], 0.0001f);
+		}
+
+		int[] ids = new int[1];
+		float[] distances2 = new float[1];
+		Vector3 point = new Vector3(30, 5, -3);
+		assertEquals(1, tree.nearest(point, 1, ids, distances2));
+		float min = Float.POSITIVE_INFINITY;
+		for (BoundingBox box : boxes.values()) {
+			float dx = Math.max(Math.max(box.min.x - point.x, point.x - box.max.x), 0);
+			float dy = Math.max(Math.max(box.min.y - point.y, point.y - box.max.y), 0);
+			float dz = Math.max(Math.max(box.min.z - point.z, point.z - box.max.z), 0);
+			min = Math.min(min, dx * dx + dy * dy + dz * dz);
+		}
+		assertEquals(min, distances2[0], 0.0001f);
+	}
+}
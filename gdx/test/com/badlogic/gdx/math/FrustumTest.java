@@ -0,0 +1,62 @@
+package com.badlogic.gdx.math;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.math.collision.BoundingBox;
+
+public class FrustumTest {
+	@Test
+	public void testArrays () {
+		Frustum frustum = new Frustum();
+		// A box from -10 to 10 on each axis, with a slanted far plane
+		frustum.planes[0].set(1, 0, 0, 10);
+		frustum.planes[1].set(-1, 0, 0, 10);
+		frustum.planes[2].set(0, 1, 0, 10);
+		frustum.planes[3].set(0, -1, 0, 10);
+		frustum.planes[4].set(0, 0, 1, 10);
+		frustum.planes[5].set(0, -0.70710677f, -0.70710677f, 10);
+
+		Random random = new Random(1);
+		int count = 200;
+		float[] spheres = new float[2 + count * 4], bounds = new float[count * 6];
+		for (int i = 0; i < count; i++) {
+			float x = random.nextFloat() * 40 - 20, y = random.nextFloat() * 40 - 20, z = random.nextFloat() * 40 - 20;
+			float size = random.nextFloat() * 5;
+			spheres[2 + i * 4] = x;
+			spheres[2 + i * 4 + 1] = y;
+			spheres[2 + i * 4 + 2] = z;
+			spheres[2 + i * 4 + 3] = size;
+			bounds[i * 6] = x - size;
+			bounds[i * 6 + 1] = y - size * 0.5f;
+			bounds[i * 6 + 2] = z;
+			bounds[i * 6 + 3] = x + size;
+			bounds[i * 6 + 4] = y + size * 0.5f;
+			bounds[i * 6 + 5] = z + size;
+		}
+
+		int[] visible = new int[count];
+		int visibleCount = frustum.spheresInFrustum(spheres, 2, count, visible);
+		assertTrue(visibleCount > 0 && visibleCount < count);
+		for (int i = 0, v = 0; i < count; i++) {
+			boolean expected = frustum.sphereInFrustum(spheres[2 + i * 4], spheres[2 + i * 4 + 1], spheres[2 + i * 4 + 2],
+				spheres[2 + i * 4 + 3]);
+			assertEquals(expected, v < visibleCount && visible[v] == i);
+			if (expected) v++;
+		}
+
+		visibleCount = frustum.boundsInFrustum(bounds, 0, count, visible);
+		assertTrue(visibleCount > 0 && visibleCount < count);
+		BoundingBox box = new BoundingBox();
+		for (int i = 0, v = 0; i < count; i++) {
+			box.set(new Vector3(bounds[i * 6], bounds[i * 6 + 1], bounds[i * 6 + 2]),
+				new Vector3(bounds[i * 6 + 3], bounds[i * 6 + 4], bounds[i * 6 + 5]));
+			boolean expected = frustum.boundsInFrustum(box);
+			assertEquals(expected, v < visibleCount && visible[v] == i);
+			if (expected) v++;
+		}
+	}
+}
@@ -0,0 +1,72 @@
+package com.badlogic.gdx.math;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class Matrix4Test {
+	private final Random random = new Random(1);
+
+	private Matrix4 randomMatrix (Matrix4 out) {
+		Quaternion rotation = new Quaternion().setEulerAngles(random.nextFloat() * 360, random.nextFloat() * 360,
+			random.nextFloat() * 360);
+		return out.set(random.nextFloat() * 10, random.nextFloat() * 10, random.nextFloat() * 10, rotation.x, rotation.y,
+			rotation.z, rotation.w, 0.5f + random.nextFloat(), 0.5f + random.nextFloat(), 0.5f + random.nextFloat());
+	}
+
+	@Test
+	public void testSetTRS () {
+		float[] trs = new float[3 + 2 * 10];
+		Matrix4 expected = new Matrix4();
+		for (int i = 0; i < 2; i++) {
+			Quaternion rotation = new Quaternion().setEulerAngles(i * 30, i * 60, 90);
+			float[] values = {i + 1, i + 2, i + 3, rotation.x, rotation.y, rotation.z, rotation.w, i + 1, 2, 3};
+			System.arraycopy(values, 0, trs, 3 + i * 10, 10);
+		}
+		float[] out = new float[1 + 2 * 16];
+		Matrix4.setTRS(trs, 3, out, 1, 2);
+		for (int i = 0; i < 2; i++) {
+			int t = 3 + i * 10;
+			expected.set(trs[t], trs[t + 1], trs[t + 2], trs[t + 3], trs[t + 4], trs[t + 5], trs[t + 6], trs[t + 7], trs[t + 8],
+				trs[t + 9]);
+			for (int j = 0; j < 16; j++)
+				assertEquals(expected.val[j], out[1 + i * 16 + j], 0);
+		}
+	}
+
+	@Test
+	public void testMul () {
+		int count = 5;
+		float[] a = new float[count * 16], b = new float[count * 16], out = new float[count * 16];
+		Matrix4 m = new Matrix4();
+		for (int i = 0; i < count; i++) {
+			System.arraycopy(randomMatrix(m).val, 0, a, i * 16, 16);
+			System.arraycopy(randomMatrix(m).val, 0, b, i * 16, 16);
+		}
+		Matrix4.mul(a, 0, b, 0, out, 0, count);
+		Matrix4 ma = new Matrix4(), mb = new Matrix4(), mo = new Matrix4();
+		Vector3 expected = new Vector3(), actual = new Vector3();
+		for (int i = 0; i < count; i++) {
+			System.arraycopy(a, i * 16, ma.val, 0, 16);
+			System.arraycopy(b, i * 16, mb.val, 0, 16);
+			System.arraycopy(out, i * 16, mo.val, 0, 16);
+			expected.set(1, 2, 3).mul(mb).mul(ma);
+			actual.set(1, 2, 3).mul(mo);
+			assertTrue(expected.epsilonEquals(actual, 0.0001f));
+		}
+
+		// The same left matrix for all, in place
+		System.arraycopy(b, 0, out, 0, out.length);
+		Matrix4.mul(a, out, 0, out, 0, count);
+		System.arraycopy(a, 0, ma.val, 0, 16);
+		for (int i = 0; i < count; i++) {
+			System.arraycopy(b, i * 16, mb.val, 0, 16);
+			System.arraycopy(out, i * 16, mo.val, 0, 16);
+			expected.set(1, 2, 3).mul(mb).mul(ma);
+			actual.set(1, 2, 3).mul(mo);
+			assertTrue(expected.epsilonEquals(actual, 0.0001f));
+		}
+	}
+}
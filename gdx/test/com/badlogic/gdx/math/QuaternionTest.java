@@ -0,0 +1,43 @@
+package com.badlogic.gdx.math;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class QuaternionTest {
+	@Test
+	public void testInterpolateArrays () {
+		Quaternion[] starts = {new Quaternion().setEulerAngles(0, 0, 0), new Quaternion().setEulerAngles(10, 20, 30),
+			new Quaternion().setEulerAngles(170, 0, 0)};
+		Quaternion[] ends = {new Quaternion().setEulerAngles(90, 0, 0), new Quaternion().setEulerAngles(12, 21, 33),
+			new Quaternion(new Vector3(0, 1, 0), -170)};
+		float[] alphas = {0.25f, 0.5f, 0.75f};
+		float[] a = new float[12], b = new float[12], slerped = new float[12], nlerped = new float[12];
+		for (int i = 0; i < 3; i++) {
+			a[i * 4] = starts[i].x;
+			a[i * 4 + 1] = starts[i].y;
+			a[i * 4 + 2] = starts[i].z;
+			a[i * 4 + 3] = starts[i].w;
+			b[i * 4] = ends[i].x;
+			b[i * 4 + 1] = ends[i].y;
+			b[i * 4 + 2] = ends[i].z;
+			b[i * 4 + 3] = ends[i].w;
+		}
+		Quaternion.slerp(a, 0, b, 0, alphas, 0, slerped, 0, 3);
+		Quaternion.nlerp(a, 0, b, 0, alphas, 0, nlerped, 0, 3);
+		for (int i = 0; i < 3; i++) {
+			Quaternion expected = new Quaternion(starts[i]).slerp(ends[i], alphas[i]);
+			assertEquals(expected.x, slerped[i * 4], 0);
+			assertEquals(expected.y, slerped[i * 4 + 1], 0);
+			assertEquals(expected.z, slerped[i * 4 + 2], 0);
+			assertEquals(expected.w, slerped[i * 4 + 3], 0);
+			// nlerp is only close to slerp for small angles
+			float epsilon = i == 1 ? 0.0001f : 0.1f;
+			assertEquals(expected.x, nlerped[i * 4], epsilon);
+			assertEquals(expected.y, nlerped[i * 4 + 1], epsilon);
+			assertEquals(expected.z, nlerped[i * 4 + 2], epsilon);
+			assertEquals(expected.w, nlerped[i * 4 + 3], epsilon);
+			assertEquals(1, new Quaternion(nlerped[i * 4], nlerped[i * 4 + 1], nlerped[i * 4 + 2], nlerped[i * 4 + 3]).len(), 0.0001f);
+		}
+	}
+}
@@ -2,10 +2,13 @@
 package com.badlogic.gdx.math.collision;
 
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
 
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Quaternion;
 import com.badlogic.gdx.math.Vector3;
 
 public class CollisionTest {
@@ -20,4 +23,18 @@ public class CollisionTest {
 		// Note, in stage the bottom and left sides are inclusive while the right and top sides are exclusive.
 	}
 
+	@Test
+	public void testBoundingBoxArrays () {
+		BoundingBox box = new BoundingBox(new Vector3(-1, -2, -3), new Vector3(1, 3, 2));
+		Matrix4 transform = new Matrix4().set(new Vector3(5, 6, 7), new Quaternion().setEulerAngles(30, 45, 60), new Vector3(1, 2, 3));
+		float[] bounds = {box.min.x, box.min.y, box.min.z, box.max.x, box.max.y, box.max.z};
+		BoundingBox.mul(bounds, 0, transform.val, 0, bounds, 0, 1);
+		box.mul(transform);
+		assertEquals(box.min.x, bounds[0], 0.0001f);
+		assertEquals(box.min.y, bounds[1], 0.0001f);
+		assertEquals(box.min.z, bounds[2], 0.0001f);
+		assertEquals(box.max.x, bounds[3], 0.0001f);
+		assertEquals(box.max.y, bounds[4], 0.0001f);
+		assertEquals(box.max.z, bounds[5], 0.0001f);
+	}
 }
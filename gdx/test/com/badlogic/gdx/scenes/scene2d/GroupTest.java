@@ -0,0 +1,174 @@
+
+package com.badlogic.gdx.scenes.scene2d;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.scenes.scene2d.actions.Actions;
+import com.badlogic.gdx.scenes.scene2d.ui.Widget;
+import com.badlogic.gdx.scenes.scene2d.ui.WidgetGroup;
+import com.badlogic.gdx.scenes.scene2d.utils.ChangeListener.ChangeEvent;
+import com.badlogic.gdx.utils.Align;
+
+public class GroupTest {
+	private static void assertSameHits (Group indexed, Group linear, Random random) {
+		for (int i = 0; i < 2000; i++) {
+			float x = random.nextFloat() * 1100 - 50, y = random.nextFloat() * 1100 - 50;
+			Actor expected = linear.hit(x, y, true), actual = indexed.hit(x, y, true);
+			if (expected == null)
+				assertNull(actual);
+			else {
+				assertNotNull(actual);
+				assertEquals(expected.getName(), actual.getName());
+			}
+		}
+	}
+
+	@Test
+	public void spatialIndexHitTest () {
+		Random random = new Random(3);
+		Group indexed = new Group(), linear = new Group();
+		indexed.setSpatialIndex(true);
+		for (int i = 0; i < 500; i++) {
+			float x = random.nextFloat() * 1000, y = random.nextFloat() * 1000;
+			float width = 5 + random.nextFloat() * 60, height = 5 + random.nextFloat() * 60;
+			for (Group group : new Group[] {indexed, linear}) {
+				Actor actor = new Actor();
+				actor.setName(Integer.toString(i));
+				actor.setBounds(x, y, width, height);
+				group.addActor(actor);
+			}
+		}
+		assertSameHits(indexed, linear, random);
+
+		// Move, rotate, scale, reorder and remove children.
+		for (int i = 0; i < 300; i++) {
+			int index = random.nextInt(indexed.getChildren().size);
+			Actor a = indexed.getChildren().get(index), b = linear.getChildren().get(index);
+			switch (random.nextInt(5)) {
+			case 0:
+				float x = random.nextFloat() * 1000, y = random.nextFloat() * 1000;
+				a.setPosition(x, y);
+				b.setPosition(x, y);
+				break;
+			case 1:
+				float rotation = random.nextFloat() * 360;
+				a.setOrigin(Align.center);
+				b.setOrigin(Align.center);
+				a.setRotation(rotation);
+				b.setRotation(rotation);
+				break;
+			case 2:
+				float scale = 0.5f + random.nextFloat() * 2;
+				a.setScale(scale);
+				b.setScale(scale);
+				break;
+			case 3:
+				a.setZIndex(0);
+				b.setZIndex(0);
+				break;
+			case 4:
+				a.remove();
+				b.remove();
+				break;
+			}
+		}
+		assertSameHits(indexed, linear, random);
+
+		indexed.setSpatialIndex(false);
+		assertFalse(indexed.hasSpatialIndex());
+		assertSameHits(indexed, linear, random);
+		indexed.setSpatialIndex(true);
+		assertSameHits(indexed, linear, random);
+		indexed.clearChildren();
+		assertNull(indexed.hit(500, 500, true));
+	}
+
+	@Test
+	public void cacheInvalidationTest () {
+		Group cached = new Group(), inner = new Group();
+		cached.setCached(true);
+		Actor actor = new Actor();
+		Widget widget = new Widget();
+		inner.addActor(actor);
+		cached.addActor(inner);
+		cached.addActor(widget);
+		assertTrue(cached.cacheDirty);
+
+		// Moving, fading or rotating the cached group itself is applied when the cache is drawn.
+		cached.cacheDirty = false;
+		cached.setPosition(10, 20);
+		cached.setRotation(45);
+		cached.getColor().a = 0.5f;
+		cached.act(1);
+		assertFalse(cached.cacheDirty);
+
+		actor.setX(5);
+		assertTrue(cached.cacheDirty);
+		assertTrue(inner.cacheDirty);
+
+		cached.cacheDirty = false;
+		actor.setColor(1, 0, 0, 1);
+		assertTrue(cached.cacheDirty);
+
+		cached.cacheDirty = false;
+		actor.setVisible(false);
+		assertTrue(cached.cacheDirty);
+
+		cached.cacheDirty = false;
+		widget.invalidate();
+		assertTrue(cached.cacheDirty);
+
+		cached.cacheDirty = false;
+		actor.addAction(Actions.delay(5));
+		cached.act(1);
+		assertTrue(cached.cacheDirty);
+		actor.clearActions();
+
+		cached.cacheDirty = false;
+		widget.toBack();
+		assertTrue(cached.cacheDirty);
+
+		cached.cacheDirty = false;
+		inner.removeActor(actor);
+		assertTrue(cached.cacheDirty);
+
+		cached.cacheDirty = false;
+		actor.setX(50);
+		assertFalse(cached.cacheDirty);
+
+		cached.setCached(false);
+		assertFalse(cached.isCached());
+	}
+
+	@Test
+	public void cachedGroupInvalidationTest () {
+		Group root = new Group();
+		WidgetGroup widgetGroup = new WidgetGroup();
+		Group cached = widgetGroup;
+		cached.setCached(true);
+		root.addActor(cached);
+
+		// Only the ancestors draw differently when the cached group is moved.
+		cached.cacheDirty = false;
+		root.cacheDirty = false;
+		cached.setPosition(5, 5);
+		assertFalse(cached.cacheDirty);
+		assertTrue(root.cacheDirty);
+
+		// A cached group which is laid out again or receives an event draws its children again.
+		widgetGroup.invalidate();
+		assertTrue(cached.cacheDirty);
+
+		cached.cacheDirty = false;
+		cached.fire(new ChangeEvent());
+		assertTrue(cached.cacheDirty);
+
+		cached.cacheDirty = false;
+		cached.invalidateCache();
+		assertTrue(cached.cacheDirty);
+	}
+}
@@ -0,0 +1,94 @@
+
+package com.badlogic.gdx.scenes.scene2d.ui;
+
+import static org.junit.Assert.*;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.badlogic.gdx.Files;
+import com.badlogic.gdx.Gdx;
+
+public class TableTest {
+	private Files files;
+
+	@Before
+	public void setup () {
+		// Cell defaults are created per Gdx.files instance, no files are used.
+		files = Gdx.files;
+		if (files == null) Gdx.files = (Files)Proxy.newProxyInstance(Files.class.getClassLoader(), new Class[] {Files.class},
+			new InvocationHandler() {
+				public Object invoke (Object proxy, Method method, Object[] args) {
+					throw new UnsupportedOperationException();
+				}
+			});
+	}
+
+	@After
+	public void tearDown () {
+		Gdx.files = files;
+	}
+
+	static class SizedWidget extends Widget {
+		float prefWidth = 10, prefHeight = 10;
+		int layouts;
+
+		public float getPrefWidth () {
+			return prefWidth;
+		}
+
+		public float getPrefHeight () {
+			return prefHeight;
+		}
+
+		public void layout () {
+			layouts++;
+		}
+	}
+
+	@Test
+	public void incrementalLayoutTest () {
+		Table root = new Table(), table = new Table();
+		root.add(table);
+		SizedWidget fixed = new SizedWidget(), sized = new SizedWidget();
+		table.add(fixed).width(50);
+		table.add(sized);
+		table.setIncrementalLayout(true);
+		root.setSize(200, 100);
+		root.validate();
+		assertFalse(root.needsLayout());
+		assertFalse(table.needsLayout());
+		assertEquals(50, fixed.getWidth(), 0);
+
+		// The cell of the widget has a fixed size, only the widget is laid out.
+		int layoutCount = WidgetGroup.layoutCount;
+		fixed.prefWidth = 30;
+		fixed.invalidateHierarchy();
+		assertFalse(table.needsLayout());
+		assertFalse(root.needsLayout());
+		fixed.validate();
+		assertEquals(1, WidgetGroup.layoutCount - layoutCount);
+
+		// The pref size of the widget has not changed.
+		sized.invalidateHierarchy();
+		assertFalse(table.needsLayout());
+
+		// The pref size has changed, the table and its ancestors are laid out.
+		sized.prefWidth = 20;
+		sized.invalidateHierarchy();
+		assertTrue(table.needsLayout());
+		assertTrue(root.needsLayout());
+		root.validate();
+		assertEquals(20, sized.getWidth(), 0);
+
+		// Without incremental layout the whole hierarchy is invalidated.
+		table.setIncrementalLayout(false);
+		fixed.invalidateHierarchy();
+		assertTrue(root.needsLayout());
+	}
+}
@@ -0,0 +1,97 @@
+
+package com.badlogic.gdx.scenes.scene2d.ui;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.ui.VirtualList.ItemAdapter;
+
+public class VirtualListTest {
+	static class Adapter extends ItemAdapter<Actor> {
+		final float[] heights;
+		int created;
+
+		Adapter (int count) {
+			heights = new float[count];
+			for (int i = 0; i < count; i++)
+				heights[i] = 10 + i % 7;
+		}
+
+		public int getCount () {
+			return heights.length;
+		}
+
+		public float getHeight (int index) {
+			return heights[index];
+		}
+
+		public Actor newActor () {
+			created++;
+			return new Actor();
+		}
+
+		public void bind (Actor actor, int index) {
+			actor.setName(Integer.toString(index));
+		}
+	}
+
+	private static void assertVisible (VirtualList<Actor> list, Rectangle area) {
+		list.updateItems();
+		int first = list.getFirstVisibleIndex(), last = list.getLastVisibleIndex();
+		assertEquals(last - first + 1, list.getChildren().size);
+		for (int i = first; i <= last; i++) {
+			Actor actor = list.getActor(i);
+			assertEquals(Integer.toString(i), actor.getName());
+			assertEquals(list.getItemY(i), actor.getY(), 0);
+			assertEquals(list.getItemHeight(i), actor.getHeight(), 0);
+			assertTrue(actor.getY() < area.y + area.height && actor.getY() + actor.getHeight() > area.y);
+		}
+		if (first > 0) assertTrue(list.getItemY(first - 1) >= area.y + area.height);
+		if (last < list.getItemCount() - 1) assertTrue(list.getItemY(last + 1) + list.getItemHeight(last + 1) <= area.y);
+	}
+
+	@Test
+	public void virtualListTest () {
+		Adapter adapter = new Adapter(100000);
+		VirtualList<Actor> list = new VirtualList<Actor>(adapter);
+		float total = 0;
+		for (float height : adapter.heights)
+			total += height;
+		assertEquals(total, list.getPrefHeight(), 0.5f);
+		list.setSize(200, list.getPrefHeight());
+
+		Rectangle area = new Rectangle(0, 0, 200, 300);
+		list.setCullingArea(area);
+		for (float y = list.getHeight() - 300; y > 0; y -= 997) {
+			area.y = y;
+			assertVisible(list, area);
+		}
+		area.y = 0;
+		assertVisible(list, area);
+		assertTrue(adapter.created < 40);
+
+		for (int i = 0; i < 100000; i += 101) {
+			float y = list.getItemY(i);
+			assertEquals(i, list.getItemIndex(y + 0.5f));
+			assertEquals(i, list.getItemIndex(y + list.getItemHeight(i) - 0.5f));
+		}
+		assertEquals(-1, list.getItemIndex(-1));
+		assertEquals(-1, list.getItemIndex(list.getHeight() + 1));
+
+		// Changing a height moves the items after it.
+		float y = list.getItemY(99999);
+		adapter.heights[500] += 20;
+		list.itemChanged(500);
+		assertEquals(total + 20, list.getPrefHeight(), 0.5f);
+		assertEquals(y - 20, list.getItemY(99999), 0.5f);
+
+		adapter.created = 0;
+		list.dataChanged();
+		assertEquals(0, list.getChildren().size);
+		assertVisible(list, area);
+		assertEquals(0, adapter.created);
+	}
+}
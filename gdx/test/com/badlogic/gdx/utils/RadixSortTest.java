@@ -0,0 +1,75 @@
+
+package com.badlogic.gdx.utils;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class RadixSortTest {
+
+	@Test
+	public void sortTest () {
+		Random random = new Random(1);
+		RadixSort sort = new RadixSort();
+		for (int count : new int[] {0, 1, 2, 10, 1000}) {
+			long[] keys = new long[count];
+			int[] values = new int[count];
+			for (int i = 0; i < count; i++) {
+				keys[i] = random.nextLong();
+				values[i] = i;
+			}
+			long[] original = keys.clone();
+			sort.sort(keys, values, count);
+			for (int i = 0; i < count; i++) {
+				assertEquals(original[values[i]], keys[i]);
+				if (i > 0) assertTrue("Keys not sorted", (keys[i - 1] ^ Long.MIN_VALUE) <= (keys[i] ^ Long.MIN_VALUE));
+			}
+		}
+	}
+
+	@Test
+	public void stableTest () {
+		RadixSort sort = new RadixSort();
+		int count = 500;
+		long[] keys = new long[count];
+		int[] values = new int[count];
+		for (int i = 0; i < count; i++) {
+			keys[i] = (count - i) % 7;
+			values[i] = i;
+		}
+		sort.sort(keys, values, count);
+		for (int i = 1; i < count; i++) {
+			assertTrue(keys[i - 1] <= keys[i]);
+			if (keys[i - 1] == keys[i]) assertTrue("Sort not stable", values[i - 1] < values[i]);
+		}
+	}
+
+	@Test
+	public void almostSortedTest () {
+		RadixSort sort = new RadixSort();
+		int count = 100;
+		long[] keys = new long[count];
+		int[] values = new int[count];
+		for (int i = 0; i < count; i++) {
+			keys[i] = i;
+			values[i] = i;
+		}
+		keys[10] = 20;
+		keys[20] = 10;
+		sort.sort(keys, values, count);
+		for (int i = 0; i < count; i++)
+			assertEquals(i, keys[i]);
+		assertEquals(20, values[10]);
+		assertEquals(10, values[20]);
+	}
+
+	@Test
+	public void floatKeyTest () {
+		float[] floats = {Float.NEGATIVE_INFINITY, -1e10f, -2.5f, -1f, -Float.MIN_VALUE, -0f, 0f, Float.MIN_VALUE, 1f, 2.5f, 1e10f,
+			Float.POSITIVE_INFINITY};
+		for (int i = 1; i < floats.length; i++)
+			assertTrue(RadixSort.floatToKey(floats[i - 1]) < RadixSort.floatToKey(floats[i]));
+	}
+}
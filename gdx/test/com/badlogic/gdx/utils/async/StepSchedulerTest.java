@@ -0,0 +1,155 @@
+
+package com.badlogic.gdx.utils.async;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.async.StepScheduler.Entry;
+import com.badlogic.gdx.utils.async.StepScheduler.StepListener;
+
+public class StepSchedulerTest {
+	static class Counter {
+		int steps;
+	}
+
+	static class CounterScheduler extends StepScheduler<Counter> {
+		CounterScheduler (AsyncExecutor executor, int tasks) {
+			super(executor, tasks);
+		}
+
+		@Override
+		protected void step (Counter world, float timeStep) {
+			world.steps++;
+		}
+	}
+
+	@Test
+	public void fixedStepTest () {
+		CounterScheduler scheduler = new CounterScheduler(null, 1);
+		Counter counter = new Counter();
+		Entry<Counter> entry = scheduler.add(counter, 0.25f, 4);
+		scheduler.update(0.6f);
+		assertEquals(2, counter.steps);
+		assertEquals(2, entry.getSteps());
+		assertEquals(0.4f, entry.getAlpha(), 0.0001f);
+		scheduler.update(0.2f);
+		assertEquals(3, counter.steps);
+		assertEquals(0.2f, entry.getAlpha(), 0.0001f);
+		assertEquals(0, entry.getSkippedSteps());
+		// Falling behind by more than the maximum steps skips the rest.
+		scheduler.update(2f);
+		assertEquals(7, counter.steps);
+		assertEquals(4, entry.getSkippedSteps());
+	}
+
+	@Test
+	public void parallelTest () {
+		AsyncExecutor executor = new AsyncExecutor(3);
+		CounterScheduler scheduler = new CounterScheduler(executor, 4);
+		final Array<Counter> stepped = new Array<Counter>();
+		StepListener<Counter> listener = new StepListener<Counter>() {
+			@Override
+			public void stepped (Entry<Counter> entry) {
+				stepped.add(entry.world);
+			}
+		};
+		Array<Counter> counters = new Array<Counter>();
+		for (int i = 0; i < 20; i++) {
+			Counter counter = new Counter();
+			counters.add(counter);
+			scheduler.add(counter, (i % 3 + 1) / 60f, 10).listener = listener;
+		}
+		for (int i = 0; i < 30; i++) {
+			stepped.clear();
+			scheduler.update(1 / 60f);
+			// The listeners are called on the calling thread in the order of the entries.
+			for (int j = 1; j < stepped.size; j++)
+				assertTrue(counters.indexOf(stepped.get(j - 1), true) < counters.indexOf(stepped.get(j), true));
+		}
+		executor.dispose();
+		for (int i = 0; i < 20; i++)
+			assertEquals(30 / (i % 3 + 1), counters.get(i).steps, 1);
+		assertTrue(scheduler.remove(counters.first()));
+		assertNull(scheduler.get(counters.first()));
+	}
+
+	@Test
+	public void deadlineTest () {
+		CounterScheduler scheduler = new CounterScheduler(null, 1) {
+			@Override
+			protected void step (Counter world, float timeStep) {
+				super.step(world, timeStep);
+				try {
+					Thread.sleep(20);
+				} catch (InterruptedException ignored) {
+				}
+			}
+		};
+		Counter first = new Counter(), second = new Counter();
+		Entry<Counter> firstEntry = scheduler.add(first, 0.25f, 4);
+		Entry<Counter> secondEntry = scheduler.add(second, 0.25f, 4);
+		scheduler.setDeadline(0.01f);
+		// Every entry makes one step, the catch-up steps started after the deadline are deferred.
+		scheduler.update(1f);
+		assertEquals(1, first.steps);
+		assertEquals(1, second.steps);
+		assertEquals(3, firstEntry.getDeferredSteps());
+		assertEquals(3, secondEntry.getDeferredSteps());
+		assertTrue(firstEntry.isBehind());
+		assertEquals(1f, firstEntry.getAlpha(), 0.0001f);
+		assertEquals(0, firstEntry.getSkippedSteps());
+		// The deferred steps are made by the next update without a deadline.
+		scheduler.setDeadline(0);
+		scheduler.update(0);
+		assertEquals(4, first.steps);
+		assertEquals(4, second.steps);
+		assertEquals(0, firstEntry.getDeferredSteps());
+		assertFalse(firstEntry.isBehind());
+		assertEquals(0f, firstEntry.getAlpha(), 0.0001f);
+		assertTrue(firstEntry.getMaxStepTime() >= 0.02f);
+	}
+
+	@Test
+	public void removeInListenerTest () {
+		final CounterScheduler scheduler = new CounterScheduler(null, 1);
+		StepListener<Counter> listener = new StepListener<Counter>() {
+			@Override
+			public void stepped (Entry<Counter> entry) {
+				scheduler.remove(entry.world);
+			}
+		};
+		for (int i = 0; i < 3; i++)
+			scheduler.add(new Counter(), 0.25f, 4).listener = listener;
+		scheduler.update(0.25f);
+		assertEquals(0, scheduler.getEntries().size);
+	}
+
+	@Test
+	public void exceptionTest () {
+		AsyncExecutor executor = new AsyncExecutor(1);
+		final Counter failing = new Counter();
+		CounterScheduler scheduler = new CounterScheduler(executor, 2) {
+			@Override
+			protected void step (Counter world, float timeStep) {
+				if (world == failing && failing.steps == 0) throw new IllegalStateException();
+				super.step(world, timeStep);
+			}
+		};
+		Counter counter = new Counter();
+		scheduler.add(failing, 0.25f, 4);
+		scheduler.add(counter, 0.25f, 4);
+		try {
+			scheduler.update(0.25f);
+			fail();
+		} catch (RuntimeException expected) {
+		}
+		assertEquals(1, counter.steps);
+		// The failed update doesn't leave results behind which would be rethrown.
+		failing.steps = 1;
+		scheduler.update(0.25f);
+		assertEquals(2, counter.steps);
+		executor.dispose();
+	}
+}
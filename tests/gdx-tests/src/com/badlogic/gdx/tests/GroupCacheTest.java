@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.tests;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.Stage;
+import com.badlogic.gdx.scenes.scene2d.actions.Actions;
+import com.badlogic.gdx.scenes.scene2d.ui.CheckBox;
+import com.badlogic.gdx.scenes.scene2d.ui.Label;
+import com.badlogic.gdx.scenes.scene2d.ui.ScrollPane;
+import com.badlogic.gdx.scenes.scene2d.ui.Skin;
+import com.badlogic.gdx.scenes.scene2d.ui.Table;
+import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
+import com.badlogic.gdx.scenes.scene2d.utils.ChangeListener;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.tests.utils.GdxTest;
+
+/** A panel of 400 labels which is drawn into a frame buffer, only one label changes each second. Below it cached tables in a
+ * scroll pane, which clips them with the scissor test. */
+public class GroupCacheTest extends GdxTest {
+	static private final int count = 400;
+
+	private Stage stage;
+	private Skin skin;
+	private Table root, panel;
+	private final Array<Table> items = new Array<Table>();
+	private Label drawnLabel, timeLabel;
+	int drawn;
+	float time;
+
+	public void create () {
+		stage = new Stage();
+		Gdx.input.setInputProcessor(stage);
+		skin = new Skin(Gdx.files.internal("data/uiskin.json"));
+
+		root = new Table();
+		root.setFillParent(true);
+		stage.addActor(root);
+
+		panel = new Table(skin);
+		panel.setBackground("default-round");
+		panel.setCached(true);
+		for (int i = 0; i < count; i++) {
+			panel.add(new Label("Label " + i, skin) {
+				public void draw (Batch batch, float parentAlpha) {
+					super.draw(batch, parentAlpha);
+					drawn++;
+				}
+			}).pad(2);
+			if (i % 16 == 15) panel.row();
+		}
+		panel.row();
+		panel.add(timeLabel = new Label("", skin)).colspan(8);
+		final TextButton fade = new TextButton("Fade", skin);
+		fade.addListener(new ChangeListener() {
+			public void changed (ChangeEvent event, Actor actor) {
+				panel.addAction(Actions.sequence(Actions.fadeOut(0.5f), Actions.fadeIn(0.5f)));
+			}
+		});
+		panel.add(fade).colspan(8);
+
+		final CheckBox cached = new CheckBox(" Cached", skin);
+		cached.setChecked(true);
+		cached.addListener(new ChangeListener() {
+			public void changed (ChangeEvent event, Actor actor) {
+				panel.setCached(cached.isChecked());
+				for (Table item : items)
+					item.setCached(cached.isChecked());
+			}
+		});
+
+		Table list = new Table();
+		for (int i = 0; i < 30; i++) {
+			Table item = new Table(skin);
+			item.setBackground("default-round");
+			item.add(new Label("Cached item " + i, skin)).pad(4);
+			item.setCached(true);
+			items.add(item);
+			list.add(item).fillX().row();
+		}
+		ScrollPane scroll = new ScrollPane(list, skin);
+		scroll.setFadeScrollBars(false);
+
+		root.add(panel).expand();
+		root.row();
+		root.add(scroll).height(150);
+		root.row();
+		root.add(cached);
+		root.row();
+		root.add(drawnLabel = new Label("", skin));
+	}
+
+	public void render () {
+		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+		int seconds = (int)time;
+		time += Gdx.graphics.getDeltaTime();
+		if ((int)time != seconds) timeLabel.setText("Seconds: " + (int)time);
+
+		drawn = 0;
+		stage.act(Gdx.graphics.getDeltaTime());
+		stage.draw();
+		drawnLabel.setText("Labels drawn: " + drawn + "/" + count + ", fps: " + Gdx.graphics.getFramesPerSecond());
+	}
+
+	public void resize (int width, int height) {
+		stage.getViewport().update(width, height, true);
+	}
+
+	@Override
+	public void dispose () {
+		stage.dispose();
+		skin.dispose();
+	}
+}
@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.tests;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.scenes.scene2d.InputEvent;
+import com.badlogic.gdx.scenes.scene2d.Stage;
+import com.badlogic.gdx.scenes.scene2d.ui.Label;
+import com.badlogic.gdx.scenes.scene2d.ui.ScrollPane;
+import com.badlogic.gdx.scenes.scene2d.ui.Skin;
+import com.badlogic.gdx.scenes.scene2d.ui.Table;
+import com.badlogic.gdx.scenes.scene2d.ui.VirtualList;
+import com.badlogic.gdx.scenes.scene2d.ui.VirtualList.ItemAdapter;
+import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
+import com.badlogic.gdx.tests.utils.GdxTest;
+import com.badlogic.gdx.utils.Align;
+
+/** Shows 100000 rows with three columns in a scroll pane. Clicking a row changes its height. */
+public class VirtualListTest extends GdxTest {
+	static final int ROWS = 100000;
+
+	Stage stage;
+	Skin skin;
+	VirtualList<Table> list;
+	Label status;
+	final boolean[] expanded = new boolean[ROWS];
+	int created;
+
+	public void create () {
+		stage = new Stage();
+		skin = new Skin(Gdx.files.internal("data/uiskin.json"));
+		Gdx.input.setInputProcessor(stage);
+
+		list = new VirtualList<Table>(new ItemAdapter<Table>() {
+			public int getCount () {
+				return ROWS;
+			}
+
+			public float getHeight (int index) {
+				if (expanded[index]) return 60;
+				return index % 10 == 0 ? 36 : 24;
+			}
+
+			public Table newActor () {
+				created++;
+				final Table row = new Table();
+				row.left().padLeft(10);
+				row.add(new Label("", skin)).width(80);
+				row.add(new Label("", skin)).width(200);
+				row.add(new Label("", skin)).expandX().fillX();
+				row.addListener(new ClickListener() {
+					public void clicked (InputEvent event, float x, float y) {
+						int index = (Integer)row.getUserObject();
+						expanded[index] = !expanded[index];
+						list.itemChanged(index);
+					}
+				});
+				return row;
+			}
+
+			public void bind (Table row, int index) {
+				row.setUserObject(index);
+				((Label)row.getChildren().get(0)).setText(Integer.toString(index));
+				((Label)row.getChildren().get(1)).setText(index % 10 == 0 ? "Group " + index / 10 : "Item " + index);
+				Label value = (Label)row.getChildren().get(2);
+				value.setText(expanded[index] ? "expanded" : Integer.toHexString(index * 31));
+				value.setAlignment(expanded[index] ? Align.center : Align.left);
+			}
+		});
+
+		ScrollPane scroll = new ScrollPane(list, skin);
+		scroll.setFadeScrollBars(false);
+		status = new Label("", skin);
+
+		Table root = new Table();
+		root.setFillParent(true);
+		root.add(scroll).expand().fill().row();
+		root.add(status).left().pad(5);
+		stage.addActor(root);
+		stage.setScrollFocus(scroll);
+	}
+
+	public void render () {
+		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+		stage.act(Gdx.graphics.getDeltaTime());
+		stage.draw();
+		status.setText("Visible: " + list.getFirstVisibleIndex() + " - " + list.getLastVisibleIndex() + ", row actors: "
+			+ created + ", fps: " + Gdx.graphics.getFramesPerSecond());
+	}
+
+	public void resize (int width, int height) {
+		stage.getViewport().update(width, height, true);
+	}
+
+	public void dispose () {
+		stage.dispose();
+		skin.dispose();
+	}
+}
@@ -0,0 +1,203 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.tests.bench;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.DynamicTree.QueryCallback;
+import com.badlogic.gdx.math.DynamicTree.RayCastCallback;
+import com.badlogic.gdx.math.DynamicTree2;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.tests.utils.GdxTest;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.TimeUtils;
+
+/** Compares the queries of a {@link DynamicTree2} to brute force loops over the same rectangles, some of which move every frame. */
+public class DynamicTreeBench extends GdxTest {
+	static final int COUNT = 20000, MOVING = 2000, QUERIES = 200;
+	static final float WORLD_SIZE = 2000;
+
+	SpriteBatch batch;
+	BitmapFont font;
+	final Array<Rectangle> rectangles = new Array<Rectangle>();
+	final int[] proxies = new int[COUNT];
+	final DynamicTree2<Rectangle> tree = new DynamicTree2<Rectangle>(1, COUNT * 2);
+	final Rectangle area = new Rectangle();
+	final Vector2 start = new Vector2(), end = new Vector2();
+	int found;
+	long moveTime, treeQueryTime, bruteQueryTime, treeRayTime, bruteRayTime, treeNearestTime, bruteNearestTime;
+	final int[] nearest = new int[8];
+
+	final QueryCallback queryCallback = new QueryCallback() {
+		@Override
+		public boolean reportProxy (int proxyId) {
+			found++;
+			return true;
+		}
+	};
+
+	final RayCastCallback rayCallback = new RayCastCallback() {
+		@Override
+		public float reportRayHit (int proxyId, float fraction) {
+			found++;
+			return fraction;
+		}
+	};
+
+	@Override
+	public void create () {
+		batch = new SpriteBatch();
+		font = new BitmapFont();
+		for (int i = 0; i < COUNT; i++) {
+			Rectangle rectangle = new Rectangle(MathUtils.random(WORLD_SIZE), MathUtils.random(WORLD_SIZE), MathUtils.random(1, 20),
+				MathUtils.random(1, 20));
+			rectangles.add(rectangle);
+			proxies[i] = tree.add(rectangle, rectangle);
+		}
+	}
+
+	@Override
+	public void render () {
+		long time = TimeUtils.nanoTime();
+		for (int i = 0; i < MOVING; i++) {
+			Rectangle rectangle = rectangles.get(i);
+			float dx = MathUtils.random(-2f, 2f), dy = MathUtils.random(-2f, 2f);
+			rectangle.x = MathUtils.clamp(rectangle.x + dx, 0, WORLD_SIZE);
+			rectangle.y = MathUtils.clamp(rectangle.y + dy, 0, WORLD_SIZE);
+			tree.move(proxies[i], rectangle.x, rectangle.y, rectangle.width, rectangle.height, dx, dy);
+		}
+		moveTime = average(moveTime, TimeUtils.nanoTime() - time);
+
+		time = TimeUtils.nanoTime();
+		for (int q = 0; q < QUERIES; q++) {
+			setArea(q);
+			tree.query(area, queryCallback);
+		}
+		treeQueryTime = average(treeQueryTime, TimeUtils.nanoTime() - time);
+
+		time = TimeUtils.nanoTime();
+		for (int q = 0; q < QUERIES; q++) {
+			setArea(q);
+			for (int i = 0; i < COUNT; i++)
+				if (area.overlaps(rectangles.get(i))) found++;
+		}
+		bruteQueryTime = average(bruteQueryTime, TimeUtils.nanoTime() - time);
+
+		time = TimeUtils.nanoTime();
+		for (int q = 0; q < QUERIES; q++) {
+			setRay(q);
+			tree.rayCast(start, end, rayCallback);
+		}
+		treeRayTime = average(treeRayTime, TimeUtils.nanoTime() - time);
+
+		time = TimeUtils.nanoTime();
+		for (int q = 0; q < QUERIES; q++) {
+			setRay(q);
+			for (int i = 0; i < COUNT; i++)
+				if (intersects(rectangles.get(i))) found++;
+		}
+		bruteRayTime = average(bruteRayTime, TimeUtils.nanoTime() - time);
+
+		time = TimeUtils.nanoTime();
+		for (int q = 0; q < QUERIES; q++) {
+			setArea(q);
+			found += tree.nearest(area.x, area.y, nearest.length, nearest, null);
+		}
+		treeNearestTime = average(treeNearestTime, TimeUtils.nanoTime() - time);
+
+		time = TimeUtils.nanoTime();
+		for (int q = 0; q < QUERIES; q++) {
+			setArea(q);
+			// Only the single nearest, which is already slower than the tree for k nearest
+			float best = Float.POSITIVE_INFINITY;
+			for (int i = 0; i < COUNT; i++) {
+				Rectangle r = rectangles.get(i);
+				float dx = Math.max(Math.max(r.x - area.x, area.x - r.x - r.width), 0);
+				float dy = Math.max(Math.max(r.y - area.y, area.y - r.y - r.height), 0);
+				best = Math.min(best, dx * dx + dy * dy);
+			}
+			if (best < Float.POSITIVE_INFINITY) found++;
+		}
+		bruteNearestTime = average(bruteNearestTime, TimeUtils.nanoTime() - time);
+
+		Gdx.gl.glClearColor(0, 0, 0, 1);
+		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+		batch.begin();
+		float y = Gdx.graphics.getHeight() - 10;
+		font.draw(batch, COUNT + " rectangles, " + MOVING + " moving, " + QUERIES + " queries per frame, height "
+			+ tree.getHeight(), 10, y);
+		font.draw(batch, "move: " + micros(moveTime), 10, y -= 20);
+		font.draw(batch, "query: tree " + micros(treeQueryTime) + ", brute force " + micros(bruteQueryTime), 10, y -= 20);
+		font.draw(batch, "ray cast: tree " + micros(treeRayTime) + ", brute force " + micros(bruteRayTime), 10, y -= 20);
+		font.draw(batch, nearest.length + " nearest: tree " + micros(treeNearestTime) + ", brute force (1 nearest) "
+			+ micros(bruteNearestTime), 10, y -= 20);
+		font.draw(batch, "FPS: " + Gdx.graphics.getFramesPerSecond() + ", found: " + found, 10, y -= 20);
+		batch.end();
+		found = 0;
+	}
+
+	private void setArea (int q) {
+		// Deterministic per query, so the tree and the brute force see the same queries
+		float x = (q * 7919 % 1000) / 1000f * WORLD_SIZE, y = (q * 104729 % 1000) / 1000f * WORLD_SIZE;
+		area.set(x, y, 50, 50);
+	}
+
+	private void setRay (int q) {
+		setArea(q);
+		start.set(area.x, area.y);
+		end.set(WORLD_SIZE - area.y, area.x);
+	}
+
+	/** @return whether the segment from start to end intersects the rectangle */
+	private boolean intersects (Rectangle r) {
+		float tmin = 0, tmax = 1;
+		float dx = end.x - start.x, dy = end.y - start.y;
+		if (dx == 0) {
+			if (start.x < r.x || start.x > r.x + r.width) return false;
+		} else {
+			float t1 = (r.x - start.x) / dx, t2 = (r.x + r.width - start.x) / dx;
+			tmin = Math.max(tmin, Math.min(t1, t2));
+			tmax = Math.min(tmax, Math.max(t1, t2));
+		}
+		if (dy == 0) {
+			if (start.y < r.y || start.y > r.y + r.height) return false;
+		} else {
+			float t1 = (r.y - start.y) / dy, t2 = (r.y + r.height - start.y) / dy;
+			tmin = Math.max(tmin, Math.min(t1, t2));
+			tmax = Math.min(tmax, Math.max(t1, t2));
+		}
+		return tmin <= tmax;
+	}
+
+	private static long average (long average, long time) {
+		return average == 0 ? time : (average * 15 + time) / 16;
+	}
+
+	private static String micros (long nanos) {
+		return nanos / 1000 + " us";
+	}
+
+	@Override
+	public void dispose () {
+		batch.dispose();
+		font.dispose();
+	}
+}
@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.tests.bullet;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.math.WindowedMean;
+import com.badlogic.gdx.physics.bullet.collision.CollisionConstants;
+import com.badlogic.gdx.physics.bullet.collision.btBoxShape;
+import com.badlogic.gdx.physics.bullet.collision.btCollisionDispatcher;
+import com.badlogic.gdx.physics.bullet.collision.btCollisionDispatcherMt;
+import com.badlogic.gdx.physics.bullet.collision.btDbvtBroadphase;
+import com.badlogic.gdx.physics.bullet.collision.btDefaultCollisionConfiguration;
+import com.badlogic.gdx.physics.bullet.collision.btStaticPlaneShape;
+import com.badlogic.gdx.physics.bullet.dynamics.btConstraintSolver;
+import com.badlogic.gdx.physics.bullet.dynamics.btConstraintSolverPoolMt;
+import com.badlogic.gdx.physics.bullet.dynamics.btDiscreteDynamicsWorld;
+import com.badlogic.gdx.physics.bullet.dynamics.btDiscreteDynamicsWorldMt;
+import com.badlogic.gdx.physics.bullet.dynamics.btRigidBody;
+import com.badlogic.gdx.physics.bullet.dynamics.btRigidBody.btRigidBodyConstructionInfo;
+import com.badlogic.gdx.physics.bullet.dynamics.btSequentialImpulseConstraintSolver;
+import com.badlogic.gdx.physics.bullet.linearmath.LinearMath;
+import com.badlogic.gdx.physics.bullet.linearmath.btITaskScheduler;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.TimeUtils;
+
+/** Compares the step time of a single threaded and a multi threaded world, each with a stack of 10000 boxes which never fall
+ * asleep. Nothing is rendered, {@link #main(String[])} runs the same benchmark without a backend. */
+public class MultiThreadedWorldTest extends BulletTest {
+	static final int COLUMNS = 20, HEIGHT = 25;
+	static final float TIME_STEP = 1f / 60f;
+
+	/** A world with a grid of box columns on a ground plane. */
+	static class Stack {
+		final btDefaultCollisionConfiguration collisionConfiguration;
+		final btCollisionDispatcher dispatcher;
+		final btDbvtBroadphase broadphase;
+		final btConstraintSolver solver;
+		final btDiscreteDynamicsWorld world;
+		final btBoxShape boxShape;
+		final btStaticPlaneShape groundShape;
+		final Array<btRigidBody> bodies = new Array<btRigidBody>();
+		final WindowedMean stepTime = new WindowedMean(60);
+
+		Stack (boolean multiThreaded, int threads) {
+			collisionConfiguration = new btDefaultCollisionConfiguration();
+			broadphase = new btDbvtBroadphase();
+			if (multiThreaded) {
+				dispatcher = new btCollisionDispatcherMt(collisionConfiguration);
+				btConstraintSolverPoolMt pool = new btConstraintSolverPoolMt(threads);
+				solver = pool;
+				world = new btDiscreteDynamicsWorldMt(dispatcher, broadphase, pool, collisionConfiguration);
+			} else {
+				dispatcher = new btCollisionDispatcher(collisionConfiguration);
+				solver = new btSequentialImpulseConstraintSolver();
+				world = new btDiscreteDynamicsWorld(dispatcher, broadphase, solver, collisionConfiguration);
+			}
+			world.setGravity(new Vector3(0, -9.81f, 0));
+
+			groundShape = new btStaticPlaneShape(Vector3.Y, 0);
+			btRigidBodyConstructionInfo info = new btRigidBodyConstructionInfo(0f, null, groundShape, Vector3.Zero);
+			btRigidBody ground = new btRigidBody(info);
+			info.dispose();
+			world.addRigidBody(ground);
+			bodies.add(ground);
+
+			boxShape = new btBoxShape(new Vector3(0.5f, 0.5f, 0.5f));
+			final Vector3 inertia = new Vector3();
+			boxShape.calculateLocalInertia(1f, inertia);
+			info = new btRigidBodyConstructionInfo(1f, null, boxShape, inertia);
+			final Matrix4 transform = new Matrix4();
+			for (int x = 0; x < COLUMNS; x++) {
+				for (int z = 0; z < COLUMNS; z++) {
+					for (int y = 0; y < HEIGHT; y++) {
+						btRigidBody body = new btRigidBody(info);
+						body.setWorldTransform(transform.setToTranslation((x - COLUMNS / 2) * 3f, 0.5f + y * 1.01f,
+							(z - COLUMNS / 2) * 3f));
+						body.setActivationState(CollisionConstants.DISABLE_DEACTIVATION);
+						world.addRigidBody(body);
+						bodies.add(body);
+					}
+				}
+			}
+			info.dispose();
+		}
+
+		/** @return the duration of the step in seconds */
+		float step () {
+			final long start = TimeUtils.nanoTime();
+			world.stepSimulation(TIME_STEP, 0);
+			final float time = (TimeUtils.nanoTime() - start) / 1000000000f;
+			stepTime.addValue(time);
+			return time;
+		}
+
+		void dispose () {
+			for (int i = 0; i < bodies.size; i++) {
+				world.removeRigidBody(bodies.get(i));
+				bodies.get(i).dispose();
+			}
+			bodies.clear();
+			world.dispose();
+			solver.dispose();
+			broadphase.dispose();
+			dispatcher.dispose();
+			collisionConfiguration.dispose();
+			boxShape.dispose();
+			groundShape.dispose();
+		}
+	}
+
+	btITaskScheduler scheduler;
+	Stack singleThreaded, multiThreaded;
+
+	@Override
+	public void create () {
+		super.create();
+		instructions = "Swipe for next test";
+		BaseBulletTest.init();
+		scheduler = LinearMath.btCreateDefaultTaskScheduler();
+		LinearMath.btSetTaskScheduler(scheduler);
+		singleThreaded = new Stack(false, 1);
+		multiThreaded = new Stack(true, scheduler.getNumThreads());
+	}
+
+	@Override
+	public void render () {
+		Gdx.gl.glClearColor(0, 0, 0, 1);
+		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT | GL20.GL_DEPTH_BUFFER_BIT);
+		singleThreaded.step();
+		multiThreaded.step();
+
+		performance.setLength(0);
+		performance.append("ST: ").append((int)(singleThreaded.stepTime.getMean() * 1000f)).append(" ms, MT: ")
+			.append((int)(multiThreaded.stepTime.getMean() * 1000f)).append(" ms, threads: ").append(scheduler.getNumThreads());
+	}
+
+	@Override
+	public void dispose () {
+		singleThreaded.dispose();
+		multiThreaded.dispose();
+		LinearMath.btSetTaskScheduler(null);
+		scheduler.dispose();
+		super.dispose();
+	}
+
+	/** Runs the benchmark without a backend and prints the average step times. */
+	public static void main (String[] args) {
+		BaseBulletTest.init();
+		final int steps = args.length > 0 ? Integer.parseInt(args[0]) : 300;
+		btITaskScheduler scheduler = LinearMath.btCreateDefaultTaskScheduler();
+		LinearMath.btSetTaskScheduler(scheduler);
+		for (int i = 0; i < 2; i++) {
+			Stack stack = new Stack(i == 1, scheduler.getNumThreads());
+			for (int s = 0; s < 60; s++)
+				stack.step();
+			float total = 0;
+			for (int s = 0; s < steps; s++)
+				total += stack.step();
+			System.out.println((i == 1 ? "Multi threaded (" + scheduler.getNumThreads() + " threads): " : "Single threaded: ")
+				+ (total / steps * 1000f) + " ms per step");
+			stack.dispose();
+		}
+		LinearMath.btSetTaskScheduler(null);
+		scheduler.dispose();
+	}
+}
@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.tests.g3d;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.PerspectiveCamera;
+import com.badlogic.gdx.graphics.VertexAttributes.Usage;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g3d.Environment;
+import com.badlogic.gdx.graphics.g3d.Material;
+import com.badlogic.gdx.graphics.g3d.Model;
+import com.badlogic.gdx.graphics.g3d.ModelBatch;
+import com.badlogic.gdx.graphics.g3d.ModelInstance;
+import com.badlogic.gdx.graphics.g3d.attributes.ColorAttribute;
+import com.badlogic.gdx.graphics.g3d.environment.CascadedShadowLight;
+import com.badlogic.gdx.graphics.g3d.utils.BvhCuller;
+import com.badlogic.gdx.graphics.g3d.utils.CameraInputController;
+import com.badlogic.gdx.graphics.g3d.utils.DepthShaderProvider;
+import com.badlogic.gdx.graphics.g3d.utils.ModelBuilder;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.tests.utils.GdxTest;
+import com.badlogic.gdx.utils.Array;
+
+/** Shows a {@link CascadedShadowLight} over a large field of static boxes with a few moving spheres. The static casters are only
+ * rendered when a cascade moves, the shadow batch culls the casters of every cascade with a {@link BvhCuller}. */
+public class CascadedShadowMappingTest extends GdxTest {
+	static final int GRID = 40;
+	static final float SPACING = 6;
+
+	PerspectiveCamera cam;
+	CameraInputController camController;
+	ModelBatch modelBatch, shadowBatch;
+	SpriteBatch spriteBatch;
+	BitmapFont font;
+	Model boxModel, sphereModel, groundModel;
+	final Array<ModelInstance> staticInstances = new Array<ModelInstance>();
+	final Array<ModelInstance> dynamicInstances = new Array<ModelInstance>();
+	final Array<ModelInstance> instances = new Array<ModelInstance>();
+	final BvhCuller culler = new BvhCuller();
+	Environment environment;
+	CascadedShadowLight shadowLight;
+	float time;
+
+	@Override
+	public void create () {
+		modelBatch = new ModelBatch();
+		shadowBatch = new ModelBatch(new DepthShaderProvider());
+		shadowBatch.setCuller(culler);
+		spriteBatch = new SpriteBatch();
+		font = new BitmapFont();
+
+		environment = new Environment();
+		environment.set(new ColorAttribute(ColorAttribute.AmbientLight, .4f, .4f, .4f, 1f));
+		shadowLight = new CascadedShadowLight(4, 1024, 150f, 50f);
+		shadowLight.set(0.8f, 0.8f, 0.8f, -1f, -.8f, -.2f);
+		environment.add(shadowLight);
+		environment.shadowMap = shadowLight;
+
+		cam = new PerspectiveCamera(67, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+		cam.position.set(0f, 10f, 20f);
+		cam.lookAt(0, 0, 0);
+		cam.near = 0.5f;
+		cam.far = 300f;
+		cam.update();
+
+		final long attributes = Usage.Position | Usage.Normal;
+		ModelBuilder modelBuilder = new ModelBuilder();
+		boxModel = modelBuilder.createBox(2f, 4f, 2f, new Material(ColorAttribute.createDiffuse(Color.WHITE)), attributes);
+		sphereModel = modelBuilder.createSphere(2f, 2f, 2f, 16, 16, new Material(ColorAttribute.createDiffuse(Color.MAGENTA)),
+			attributes);
+		final float size = GRID * SPACING;
+		groundModel = modelBuilder.createBox(size, 1f, size, new Material(ColorAttribute.createDiffuse(Color.GRAY)), attributes);
+
+		ModelInstance ground = new ModelInstance(groundModel, 0, -0.5f, 0);
+		staticInstances.add(ground);
+		for (int x = 0; x < GRID; x++)
+			for (int z = 0; z < GRID; z++)
+				staticInstances.add(new ModelInstance(boxModel, (x - GRID / 2) * SPACING, 2f, (z - GRID / 2) * SPACING));
+		for (int i = 0; i < 16; i++)
+			dynamicInstances.add(new ModelInstance(sphereModel));
+		for (ModelInstance instance : staticInstances)
+			culler.add(instance);
+		for (ModelInstance instance : dynamicInstances)
+			culler.add(instance);
+		instances.addAll(staticInstances);
+		instances.addAll(dynamicInstances);
+
+		Gdx.input.setInputProcessor(camController = new CameraInputController(cam));
+	}
+
+	@Override
+	public void render () {
+		camController.update();
+		time += Gdx.graphics.getDeltaTime();
+		for (int i = 0; i < dynamicInstances.size; i++) {
+			final float angle = time + i * MathUtils.PI2 / dynamicInstances.size;
+			final ModelInstance instance = dynamicInstances.get(i);
+			instance.transform.setToTranslation(MathUtils.cos(angle) * 10f, 5f + MathUtils.sin(time * 2 + i),
+				MathUtils.sin(angle) * 10f);
+			culler.update(instance);
+		}
+
+		shadowLight.update(cam);
+		shadowLight.render(shadowBatch, staticInstances, dynamicInstances);
+
+		Gdx.gl.glViewport(0, 0, Gdx.graphics.getBackBufferWidth(), Gdx.graphics.getBackBufferHeight());
+		Gdx.gl.glClearColor(0, 0, 0, 1);
+		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT | GL20.GL_DEPTH_BUFFER_BIT);
+		modelBatch.begin(cam);
+		modelBatch.render(instances, environment);
+		modelBatch.end();
+
+		spriteBatch.begin();
+		font.draw(spriteBatch, "FPS: " + Gdx.graphics.getFramesPerSecond() + ", static cascade renders: "
+			+ shadowLight.getStaticRenderCount(), 10, Gdx.graphics.getHeight() - 10);
+		spriteBatch.end();
+	}
+
+	@Override
+	public void resize (int width, int height) {
+		cam.viewportWidth = width;
+		cam.viewportHeight = height;
+		cam.update();
+		spriteBatch.getProjectionMatrix().setToOrtho2D(0, 0, width, height);
+	}
+
+	@Override
+	public void dispose () {
+		modelBatch.dispose();
+		shadowBatch.dispose();
+		spriteBatch.dispose();
+		font.dispose();
+		shadowLight.dispose();
+		boxModel.dispose();
+		sphereModel.dispose();
+		groundModel.dispose();
+	}
+}
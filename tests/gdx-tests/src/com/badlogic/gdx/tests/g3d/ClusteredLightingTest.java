@@ -0,0 +1,152 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.tests.g3d;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.PerspectiveCamera;
+import com.badlogic.gdx.graphics.VertexAttributes.Usage;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g3d.Environment;
+import com.badlogic.gdx.graphics.g3d.Material;
+import com.badlogic.gdx.graphics.g3d.Model;
+import com.badlogic.gdx.graphics.g3d.ModelBatch;
+import com.badlogic.gdx.graphics.g3d.ModelInstance;
+import com.badlogic.gdx.graphics.g3d.attributes.ColorAttribute;
+import com.badlogic.gdx.graphics.g3d.environment.PointLight;
+import com.badlogic.gdx.graphics.g3d.shaders.DefaultShader;
+import com.badlogic.gdx.graphics.g3d.utils.CameraInputController;
+import com.badlogic.gdx.graphics.g3d.utils.ClusteredLights;
+import com.badlogic.gdx.graphics.g3d.utils.DefaultShaderProvider;
+import com.badlogic.gdx.graphics.g3d.utils.ModelBuilder;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.tests.utils.GdxTest;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+
+/** Renders a field of boxes lit by hundreds of moving point lights with {@link ClusteredLights}, the light lists are built on
+ * multiple threads every frame. */
+public class ClusteredLightingTest extends GdxTest {
+	static final int GRID = 20;
+	static final float SPACING = 4;
+	static final int LIGHTS = 512;
+
+	PerspectiveCamera cam;
+	CameraInputController camController;
+	ModelBatch modelBatch;
+	SpriteBatch spriteBatch;
+	BitmapFont font;
+	Model boxModel, groundModel;
+	final Array<ModelInstance> instances = new Array<ModelInstance>();
+	Environment environment;
+	ClusteredLights lights;
+	AsyncExecutor executor;
+	final float[] phases = new float[LIGHTS];
+	float time;
+
+	@Override
+	public void create () {
+		lights = new ClusteredLights(16, 9, 24, LIGHTS, 64);
+		lights.attenuationThreshold = 0.05f;
+		for (int i = 0; i < LIGHTS; i++) {
+			final Color color = new Color().fromHsv(MathUtils.random(360f), 0.8f, 1f);
+			lights.pointLights.add(new PointLight().set(color, 0, 0, 0, MathUtils.random(2f, 6f)));
+			phases[i] = MathUtils.random(MathUtils.PI2);
+		}
+		executor = new AsyncExecutor(4);
+
+		DefaultShader.Config config = new DefaultShader.Config();
+		config.numPointLights = 0;
+		config.clusteredLights = lights;
+		modelBatch = new ModelBatch(new DefaultShaderProvider(config));
+		spriteBatch = new SpriteBatch();
+		font = new BitmapFont();
+
+		environment = new Environment();
+		environment.set(new ColorAttribute(ColorAttribute.AmbientLight, .05f, .05f, .05f, 1f));
+
+		cam = new PerspectiveCamera(67, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+		cam.position.set(0f, 20f, 40f);
+		cam.lookAt(0, 0, 0);
+		cam.near = 0.5f;
+		cam.far = 200f;
+		cam.update();
+
+		final long attributes = Usage.Position | Usage.Normal;
+		ModelBuilder modelBuilder = new ModelBuilder();
+		boxModel = modelBuilder.createBox(1f, 3f, 1f, new Material(ColorAttribute.createDiffuse(Color.WHITE),
+			ColorAttribute.createSpecular(Color.WHITE)), attributes);
+		final float size = GRID * SPACING;
+		groundModel = modelBuilder.createBox(size, 1f, size, new Material(ColorAttribute.createDiffuse(Color.LIGHT_GRAY)),
+			attributes);
+		instances.add(new ModelInstance(groundModel, 0, -0.5f, 0));
+		for (int x = 0; x < GRID; x++)
+			for (int z = 0; z < GRID; z++)
+				instances.add(new ModelInstance(boxModel, (x - GRID / 2) * SPACING, 1.5f, (z - GRID / 2) * SPACING));
+
+		Gdx.input.setInputProcessor(camController = new CameraInputController(cam));
+	}
+
+	@Override
+	public void render () {
+		camController.update();
+		time += Gdx.graphics.getDeltaTime();
+		final float extent = GRID * SPACING * 0.5f;
+		for (int i = 0; i < LIGHTS; i++) {
+			final float phase = phases[i];
+			final float radius = extent * (0.1f + 0.9f * i / LIGHTS);
+			final float angle = phase + time * (0.2f + 0.3f * (i % 7) / 7f) * (i % 2 == 0 ? 1 : -1);
+			lights.pointLights.get(i).position.set(MathUtils.cos(angle) * radius, 1f + MathUtils.sin(time + phase),
+				MathUtils.sin(angle) * radius);
+		}
+		lights.setViewport(0, 0, Gdx.graphics.getBackBufferWidth(), Gdx.graphics.getBackBufferHeight());
+		lights.update(cam, executor, 4);
+
+		Gdx.gl.glViewport(0, 0, Gdx.graphics.getBackBufferWidth(), Gdx.graphics.getBackBufferHeight());
+		Gdx.gl.glClearColor(0, 0, 0, 1);
+		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT | GL20.GL_DEPTH_BUFFER_BIT);
+		modelBatch.begin(cam);
+		modelBatch.render(instances, environment);
+		modelBatch.end();
+
+		spriteBatch.begin();
+		font.draw(spriteBatch, "FPS: " + Gdx.graphics.getFramesPerSecond() + ", lights: " + lights.getLightCount()
+			+ ", light indices: " + lights.getIndexCount(), 10, Gdx.graphics.getHeight() - 10);
+		spriteBatch.end();
+	}
+
+	@Override
+	public void resize (int width, int height) {
+		cam.viewportWidth = width;
+		cam.viewportHeight = height;
+		cam.update();
+		spriteBatch.getProjectionMatrix().setToOrtho2D(0, 0, width, height);
+	}
+
+	@Override
+	public void dispose () {
+		modelBatch.dispose();
+		spriteBatch.dispose();
+		font.dispose();
+		lights.dispose();
+		executor.dispose();
+		boxModel.dispose();
+		groundModel.dispose();
+	}
+}
@@ -37,6 +37,7 @@ import java.util.Collections;
 import java.util.List;
 
 import com.badlogic.gdx.tests.*;
+import com.badlogic.gdx.tests.bench.DynamicTreeBench;
 import com.badlogic.gdx.tests.bench.TiledMapBench;
 import com.badlogic.gdx.tests.conformance.DisplayModeTest;
 import com.badlogic.gdx.tests.examples.MoveSpriteExample;
@@ -53,6 +54,8 @@ import com.badlogic.gdx.tests.g3d.Animation3DTest;
 import com.badlogic.gdx.tests.g3d.Basic3DSceneTest;
 import com.badlogic.gdx.tests.g3d.Basic3DTest;
 import com.badlogic.gdx.tests.g3d.Benchmark3DTest;
+import com.badlogic.gdx.tests.g3d.CascadedShadowMappingTest;
+import com.badlogic.gdx.tests.g3d.ClusteredLightingTest;
 import com.badlogic.gdx.tests.g3d.FogTest;
 import com.badlogic.gdx.tests.g3d.FrameBufferCubemapTest;
 import com.badlogic.gdx.tests.g3d.HeightMapTest;
@@ -110,6 +113,8 @@ public class GdxTests {
 		Bresenham2Test.class,
 		BufferUtilsTest.class,
 		BulletTestCollection.class,
+		CascadedShadowMappingTest.class,
+		ClusteredLightingTest.class,
 		CollectionsTest.class,
 		ColorTest.class,
 		ContainerTest.class,
@@ -120,6 +125,7 @@ public class GdxTests {
 		DeltaTimeTest.class,
 		DirtyRenderingTest.class,
 		DragAndDropTest.class,
+		DynamicTreeBench.class,
 		ETC1Test.class,
 //		EarClippingTriangulatorTest.class,
 		EdgeDetectionTest.class,
@@ -139,6 +145,7 @@ public class GdxTests {
 		GestureDetectorTest.class,
 		GLES30Test.class,
 		GLProfilerErrorTest.class,
+		GroupCacheTest.class,
 		GroupCullingTest.class,
 		GroupFadeTest.class,
 		GroupTest.class,
@@ -260,6 +267,7 @@ public class GdxTests {
 		ViewportTest1.class,
 		ViewportTest2.class,
 		ViewportTest3.class,
+		VirtualListTest.class,
 		YDownTest.class,
 		FreeTypeFontLoaderTest.class,
 		FreeTypeDisposeTest.class,